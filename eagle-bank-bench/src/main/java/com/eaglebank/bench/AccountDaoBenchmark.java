@@ -0,0 +1,87 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link InMemoryAccountDao} operation on a store of 1k, 100k and 1M accounts,
+ * {@value #ACCOUNTS_PER_USER} per user, with no write-ahead log. {@code save} re-saves an account
+ * with an unchanged owner, as every posting does; {@code deleteThenSave} removes an account and
+ * puts it back, so the store keeps its size and both index updates are paid each time.
+ * {@code findByUserId} returns one user's accounts through the userId index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AccountDaoBenchmark {
+
+  private static final int ACCOUNTS_PER_USER = 4;
+
+  @Param({"1000", "100000", "1000000"})
+  public int accounts;
+
+  private InMemoryAccountDao dao;
+  private AccountEntity[] stored;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dao = new InMemoryAccountDao();
+    stored = new AccountEntity[accounts];
+    OffsetDateTime now = OffsetDateTime.now();
+    int users = Math.max(1, accounts / ACCOUNTS_PER_USER);
+    for (int i = 0; i < accounts; i++) {
+      stored[i] = AccountEntity.builder()
+              .accountNumber(String.format("01%06d", i))
+              .userId("usr-" + (i % users))
+              .name("Account " + i)
+              .accountType("personal")
+              .balance(Money.ZERO)
+              .created(now)
+              .updated(now)
+              .build();
+      dao.save(stored[i]);
+    }
+  }
+
+  private AccountEntity anyAccount() {
+    return stored[ThreadLocalRandom.current().nextInt(accounts)];
+  }
+
+  @Benchmark
+  public void save() {
+    dao.save(anyAccount());
+  }
+
+  @Benchmark
+  public Optional<AccountEntity> findByNumber() {
+    return dao.findByNumber(anyAccount().getAccountNumber());
+  }
+
+  @Benchmark
+  public List<AccountEntity> findByUserId() {
+    return dao.findByUserId(anyAccount().getUserId());
+  }
+
+  @Benchmark
+  public List<AccountEntity> findByUserIdPage() {
+    return dao.findByUserId(anyAccount().getUserId(), null, 2);
+  }
+
+  @Benchmark
+  public void deleteThenSave() {
+    AccountEntity account = anyAccount();
+    dao.deleteByNumber(account.getAccountNumber());
+    dao.save(account);
+  }
+}
@@ -0,0 +1,122 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.controller.AccountApiImpl;
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.token.impl.InMemoryRevokedTokenDao;
+import com.eaglebank.dao.user.impl.InMemoryUserDao;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.UserEntity;
+import com.eaglebank.mapper.account.AccountApiMapper;
+import com.eaglebank.mapper.account.AccountEntityMapper;
+import com.eaglebank.mapper.user.UserEntityMapper;
+import com.eaglebank.security.AuthGuard;
+import com.eaglebank.security.JwtAuthFilter;
+import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.VerifiedTokenCache;
+import com.eaglebank.service.account.AccountNumberAllocator;
+import com.eaglebank.service.account.AccountService;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.service.security.StoreUserDetailsService;
+import com.eaglebank.service.security.TokenRevocationService;
+import com.eaglebank.service.user.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Latency of one authenticated {@code GET /v1/accounts/{accountNumber}} through MockMvc, with the
+ * real {@link JwtAuthFilter}, {@link AuthGuard}, controller and in-memory stores, among
+ * {@code users} registered users. {@code auth} selects how the caller is resolved:
+ * <ul>
+ *   <li>{@code user-store}: the token has no user ID, so the filter loads the user's details and
+ *       the guard looks the email up again (the per-request cost before IDs moved into the token)</li>
+ *   <li>{@code claims}: the caller comes straight from the verified token and is resolved once</li>
+ * </ul>
+ * Both modes use the verified-token cache, so the difference is the user-store work alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticatedRequestBenchmark {
+
+  private static final String SECRET = "0123456789abcdef0123456789abcdef";
+  private static final String ACCOUNT_NUMBER = "01000000";
+
+  @Param({"user-store", "claims"})
+  public String auth;
+
+  @Param({"100000"})
+  public int users;
+
+  private MockMvc mvc;
+  private RequestBuilder request;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    OffsetDateTime now = OffsetDateTime.now();
+    var userDao = new InMemoryUserDao();
+    for (int i = 0; i < users; i++) {
+      userDao.save(UserEntity.builder()
+              .id(String.format("usr-%08d", i))
+              .name("User " + i)
+              .email("user" + i + "@example.com")
+              .passwordHash("unused")
+              .created(now)
+              .updated(now)
+              .build());
+    }
+    String userId = String.format("usr-%08d", users / 2);
+    String email = "user" + (users / 2) + "@example.com";
+
+    var accountDao = new InMemoryAccountDao();
+    accountDao.save(AccountEntity.builder()
+            .accountNumber(ACCOUNT_NUMBER)
+            .userId(userId)
+            .sortCode("10-10-10")
+            .name("Main")
+            .accountType("personal")
+            .balance(Money.ZERO)
+            .created(now)
+            .updated(now)
+            .build());
+
+    // the encoder is never used on this path
+    var userService = new UserService(userDao, new BCryptPasswordEncoder(), new UserEntityMapper());
+    var jwtUtil = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1));
+    boolean claims = "claims".equals(auth);
+    var revocations = new TokenRevocationService(new InMemoryRevokedTokenDao(100_000),
+            TimeUnit.HOURS.toMillis(1), TimeUnit.MINUTES.toMillis(1));
+    var filter = new JwtAuthFilter(jwtUtil, new StoreUserDetailsService(userService),
+            new VerifiedTokenCache(10_000), revocations, !claims, Set.of());
+    var controller = new AccountApiImpl(
+            new AccountService(accountDao, new AccountEntityMapper(), new AccountLockTable(1024)),
+            new AuthGuard(userService), new AccountApiMapper(new AccountNumberAllocator(0)));
+
+    mvc = MockMvcBuilders.standaloneSetup(controller).addFilters(filter).build();
+    String token = jwtUtil.generateToken(email, claims ? userId : null);
+    request = get("/v1/accounts/{accountNumber}", ACCOUNT_NUMBER).header("Authorization", "Bearer " + token);
+  }
+
+  @Benchmark
+  public int fetchAccount() throws Exception {
+    try {
+      return mvc.perform(request).andReturn().getResponse().getStatus();
+    } finally {
+      // the filter only authenticates an empty context, as it would be on a fresh server thread
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
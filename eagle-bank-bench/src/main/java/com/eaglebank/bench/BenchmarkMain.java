@@ -0,0 +1,42 @@
+package com.eaglebank.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}: JMH's own runner, but by default with the GC profiler on
+ * and results written to {@code jmh-result.json}, so every run reports allocation per operation
+ * and leaves a machine-readable result to compare against. Passing {@code -prof}, {@code -rf} or
+ * {@code -rff} replaces the matching default; {@code -prof none} turns profiling off.
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(withDefaults(args));
+  }
+
+  static String[] withDefaults(String[] args) {
+    List<String> given = List.of(args);
+    List<String> out = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("-prof") && i + 1 < args.length && args[i + 1].equals("none")) {
+        i++;
+        continue;
+      }
+      out.add(args[i]);
+    }
+    if (!given.contains("-prof")) {
+      out.addAll(List.of("-prof", "gc"));
+    }
+    if (!given.contains("-rf")) {
+      out.addAll(List.of("-rf", "json"));
+    }
+    if (!given.contains("-rff")) {
+      out.addAll(List.of("-rff", "jmh-result.json"));
+    }
+    return out.toArray(String[]::new);
+  }
+}
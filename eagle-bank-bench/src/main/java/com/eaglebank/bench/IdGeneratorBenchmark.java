@@ -0,0 +1,31 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.util.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to mint a transaction id with {@link IdGenerator}, alone and with four threads drawing
+ * from the shared sequence at once. The contended score shows what the sequence CAS costs when
+ * postings on many request threads all need an id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+  @Benchmark
+  public String transactionId() {
+    return IdGenerator.transactionId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String transactionIdContended() {
+    return IdGenerator.transactionId();
+  }
+}
@@ -0,0 +1,135 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.wal.DurabilityMode;
+import com.eaglebank.dao.wal.FileWriteAheadLog;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.mapper.transaction.TransactionEntityMapper;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.service.transaction.TransactionService;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Postings/sec through {@link TransactionService#createTransaction} for a set of hot accounts.
+ * Sweep the thread count from the command line to get the scaling curve, e.g.
+ * {@code for t in 1 2 4 8 16; do java -jar target/benchmarks.jar LedgerPostingBenchmark -t $t; done}.
+ * With one hot account every posting contends on one stripe; with 100k accounts postings
+ * spread across all stripes and should scale with cores.
+ * <p>
+ * The {@code wal} parameter runs the same postings through a write-ahead log in a temp directory
+ * ({@code off} = purely in memory). Comparing {@code fsync-per-batch} at high thread counts with
+ * {@code off} shows how much of the fsync cost group commit hides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerPostingBenchmark {
+
+  private static final String USER_ID = "usr-bench";
+
+  @Param({"1", "100", "100000"})
+  public int hotAccounts;
+
+  @Param({"1024"})
+  public int lockStripes;
+
+  @Param({"off", "fsync-per-batch", "time-based", "async"})
+  public String wal;
+
+  private String[] accountNumbers;
+  private TransactionService service;
+  private WriteAheadLog writeAheadLog;
+  private Path walDir;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    if ("off".equals(wal)) {
+      writeAheadLog = WriteAheadLog.disabled();
+    } else {
+      walDir = Files.createTempDirectory("ledger-wal");
+      writeAheadLog = new FileWriteAheadLog(walDir, DurabilityMode.fromProperty(wal), 10, TimeUnit.MILLISECONDS, 64L << 20);
+    }
+    var accounts = new InMemoryAccountDao(writeAheadLog);
+    accountNumbers = new String[hotAccounts];
+    for (int i = 0; i < hotAccounts; i++) {
+      accountNumbers[i] = String.format("01%06d", i);
+      accounts.save(AccountEntity.builder()
+              .accountNumber(accountNumbers[i])
+              .userId(USER_ID)
+              .balance(Money.ZERO)
+              .build());
+    }
+    service = new TransactionService(new DiscardingTransactionDao(writeAheadLog), accounts,
+            new TransactionEntityMapper(), new AccountLockTable(lockStripes), writeAheadLog, new CompositeMeterRegistry());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    writeAheadLog.close();
+    if (walDir != null) {
+      try (var files = Files.walk(walDir)) {
+        for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(p);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public TransactionBO deposit() {
+    String account = accountNumbers[ThreadLocalRandom.current().nextInt(accountNumbers.length)];
+    return service.createTransaction(TransactionBO.builder()
+            .accountNumber(account)
+            .userId(USER_ID)
+            .amount(Money.ofPence(100))
+            .currency("GBP")
+            .type("deposit")
+            .build());
+  }
+
+  /**
+   * Keeps history out of the heap so long runs measure the ledger, not transaction-list growth.
+   * Still logs each transaction, so durable runs pay for both records of a posting.
+   */
+  static final class DiscardingTransactionDao implements TransactionDao {
+    private final WriteAheadLog wal;
+
+    DiscardingTransactionDao(WriteAheadLog wal) {
+      this.wal = wal;
+    }
+
+    @Override public void save(TransactionEntity transaction) {
+      if (wal.enabled()) {
+        wal.awaitDurable(wal.append(WalRecordType.TRANSACTION_SAVE, WalCodec.encodeTransaction(transaction)));
+      }
+    }
+    @Override public Optional<TransactionEntity> findById(String transactionId) { return Optional.empty(); }
+    @Override public List<TransactionEntity> findByAccountNumber(String accountNumber) { return List.of(); }
+    @Override public List<TransactionEntity> findByAccountNumber(String accountNumber, long beforeSequence, int limit) {
+      return List.of();
+    }
+    @Override public void forEachAccountNumber(Consumer<String> action) { }
+    @Override public Stats stats() { return new Stats(0, 0); }
+  }
+}
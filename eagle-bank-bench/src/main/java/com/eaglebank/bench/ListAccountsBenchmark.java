@@ -0,0 +1,66 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.bo.AccountBO;
+import com.eaglebank.bo.PageBO;
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.mapper.account.AccountEntityMapper;
+import com.eaglebank.service.account.AccountService;
+import com.eaglebank.service.ledger.AccountLockTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link AccountService#listUserAccounts} as the bank grows from 10k to 10M accounts.
+ * Each user owns {@value #ACCOUNTS_PER_USER} accounts, so the page returned is the same size at
+ * every scale; with the userId index the score should stay flat across {@code totalAccounts}.
+ * Account numbers are synthetic ({@code %08d}); the 10M case needs a multi-GB heap, set below.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ListAccountsBenchmark {
+
+  private static final int ACCOUNTS_PER_USER = 4;
+
+  @Param({"10000", "1000000", "10000000"})
+  public int totalAccounts;
+
+  private int users;
+  private AccountService service;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var accounts = new InMemoryAccountDao();
+    // one shared timestamp keeps the 10M-account heap down to the fields that matter
+    OffsetDateTime now = OffsetDateTime.now();
+    users = totalAccounts / ACCOUNTS_PER_USER;
+    for (int i = 0; i < totalAccounts; i++) {
+      accounts.save(AccountEntity.builder()
+              .accountNumber(String.format("%08d", i))
+              .userId(userId(i % users))
+              .balance(Money.ZERO)
+              .created(now)
+              .updated(now)
+              .build());
+    }
+    service = new AccountService(accounts, new AccountEntityMapper(), new AccountLockTable(1024));
+  }
+
+  @Benchmark
+  public PageBO<AccountBO> listAccounts() {
+    String userId = userId(ThreadLocalRandom.current().nextInt(users));
+    return service.listUserAccounts(userId, null, null);
+  }
+
+  private static String userId(int n) {
+    return "usr-" + n;
+  }
+}
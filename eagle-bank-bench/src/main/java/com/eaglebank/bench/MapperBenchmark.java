@@ -0,0 +1,63 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.gen.model.CreateTransactionRequest;
+import com.eaglebank.gen.model.TransactionResponse;
+import com.eaglebank.mapper.transaction.TransactionApiMapper;
+import com.eaglebank.mapper.transaction.TransactionEntityMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips through the transaction mappers that sit on every posting and listing.
+ * {@code entityRoundTrip} is entity to BO and back, as the service does around the store;
+ * {@code apiRoundTrip} is request to BO to response, as the controller does around the service
+ * (it includes minting a transaction id and reading the clock). Run with {@code -prof gc}
+ * to see what each round trip allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+  private final TransactionEntityMapper entityMapper = new TransactionEntityMapper();
+  private final TransactionApiMapper apiMapper = new TransactionApiMapper();
+
+  private TransactionEntity entity;
+  private CreateTransactionRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entity = TransactionEntity.builder()
+            .id("tan-bench")
+            .accountNumber("01000001")
+            .userId("usr-bench")
+            .amount(Money.ofPence(12_345))
+            .currency("GBP")
+            .type("deposit")
+            .reference("salary")
+            .created(OffsetDateTime.now())
+            .build();
+    request = new CreateTransactionRequest()
+            .amount(123.45)
+            .currency(CreateTransactionRequest.CurrencyEnum.GBP)
+            .type(CreateTransactionRequest.TypeEnum.DEPOSIT)
+            .reference("salary");
+  }
+
+  @Benchmark
+  public TransactionEntity entityRoundTrip() {
+    return entityMapper.toEntity(entityMapper.toBO(entity));
+  }
+
+  @Benchmark
+  public TransactionResponse apiRoundTrip() {
+    return apiMapper.toResponse(apiMapper.fromRequest(request, "01000001", "usr-bench"));
+  }
+}
@@ -0,0 +1,51 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.security.HashAlgorithm;
+import com.eaglebank.security.PasswordHashCalibrator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per hash for each supported password hashing algorithm across a range of costs, as
+ * {@code algorithm:cost}. This is the curve the startup calibration extrapolates along: bcrypt should
+ * double per cost step and PBKDF2 grow linearly with iterations. Compare the scores with the cost the
+ * service logs at startup for {@code app.security.hashing.target-ms}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+  private static final String PASSWORD = "correct horse battery staple";
+
+  @Param({"bcrypt:8", "bcrypt:10", "bcrypt:12", "bcrypt:14",
+          "pbkdf2:20000", "pbkdf2:600000", "pbkdf2:1200000"})
+  public String scheme;
+
+  private PasswordEncoder encoder;
+  private String hash;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    String[] parts = scheme.split(":");
+    encoder = PasswordHashCalibrator.encoder(HashAlgorithm.fromProperty(parts[0]), Integer.parseInt(parts[1]));
+    hash = encoder.encode(PASSWORD);
+  }
+
+  /** Signup cost: a fresh salt and a full hash. */
+  @Benchmark
+  public String encode() {
+    return encoder.encode(PASSWORD);
+  }
+
+  /** Login cost: re-deriving the stored hash. */
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(PASSWORD, hash);
+  }
+}
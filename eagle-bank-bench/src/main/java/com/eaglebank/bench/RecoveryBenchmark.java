@@ -0,0 +1,137 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.dao.user.impl.InMemoryUserDao;
+import com.eaglebank.dao.wal.DurabilityMode;
+import com.eaglebank.dao.wal.FileWriteAheadLog;
+import com.eaglebank.dao.wal.SnapshotStore;
+import com.eaglebank.dao.wal.Snapshotter;
+import com.eaglebank.dao.wal.WalRecovery;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start time: new DAOs plus {@link WalRecovery#recover()} over a prepared data directory.
+ * <p>
+ * {@code startFrom=log} replays the full history (an account save and a transaction save per
+ * posting); {@code startFrom=snapshot} loads a snapshot taken after all but {@value #TAIL_POSTINGS}
+ * postings and replays only that tail. Every transaction is live state, so the snapshot still
+ * grows with the number of transactions, but it holds one record per transaction and per account
+ * rather than two per posting, and the log tail stays the same size at every scale.
+ * The 50M case needs a large heap (set below) and several GB of disk under {@code java.io.tmpdir}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms24g", "-Xmx24g"})
+public class RecoveryBenchmark {
+
+  private static final int ACCOUNTS = 100_000;
+  private static final int TAIL_POSTINGS = 10_000;
+
+  @Param({"1000000", "50000000"})
+  public int transactions;
+
+  @Param({"log", "snapshot"})
+  public String startFrom;
+
+  private Path root;
+  private FileWriteAheadLog wal;
+
+  @Setup(Level.Trial)
+  public void prepareDataDirectory() throws IOException {
+    root = Files.createTempDirectory("recovery-bench");
+    try (FileWriteAheadLog log = openWal()) {
+      var accounts = new InMemoryAccountDao(log);
+      var history = new InMemoryTransactionDao(log);
+      int snapshotAt = "snapshot".equals(startFrom) ? transactions - TAIL_POSTINGS : -1;
+
+      OffsetDateTime now = OffsetDateTime.now();
+      AccountEntity[] byIndex = new AccountEntity[ACCOUNTS];
+      for (int i = 0; i < ACCOUNTS; i++) {
+        byIndex[i] = AccountEntity.builder()
+                .accountNumber(String.format("01%06d", i))
+                .userId("usr-" + (i / 4))
+                .created(now)
+                .updated(now)
+                .build();
+      }
+      for (int n = 0; n < transactions; n++) {
+        if (n == snapshotAt) {
+          snapshotter(log, targets(new InMemoryUserDao(log), accounts, history)).snapshotNow();
+        }
+        AccountEntity account = byIndex[n % ACCOUNTS];
+        account.setBalance(account.getBalance().plus(Money.ofPence(100)));
+        accounts.save(account);
+        history.save(TransactionEntity.builder()
+                .id("tan-" + n)
+                .accountNumber(account.getAccountNumber())
+                .userId(account.getUserId())
+                .amount(Money.ofPence(100))
+                .type("deposit")
+                .created(now)
+                .build());
+      }
+    }
+    System.gc();
+  }
+
+  @Setup(Level.Iteration)
+  public void openLog() throws IOException {
+    wal = openWal();
+  }
+
+  @Benchmark
+  public List<WalReplayTarget> recover() {
+    List<WalReplayTarget> targets = targets(new InMemoryUserDao(wal), new InMemoryAccountDao(wal),
+            new InMemoryTransactionDao(wal));
+    new WalRecovery(wal, snapshots(), targets).recover();
+    return targets;
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeLog() {
+    wal.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteDataDirectory() throws IOException {
+    try (var files = Files.walk(root)) {
+      for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(p);
+      }
+    }
+  }
+
+  private FileWriteAheadLog openWal() throws IOException {
+    return new FileWriteAheadLog(root.resolve("wal"), DurabilityMode.ASYNC, 100, TimeUnit.MILLISECONDS, 256L << 20);
+  }
+
+  private SnapshotStore snapshots() {
+    return new SnapshotStore(root.resolve("snapshots"), 1);
+  }
+
+  private Snapshotter snapshotter(FileWriteAheadLog log, List<WalReplayTarget> sources) {
+    var recovery = new WalRecovery(log, snapshots(), sources);
+    return new Snapshotter(log, snapshots(), sources, recovery, 0, 0);
+  }
+
+  private static List<WalReplayTarget> targets(InMemoryUserDao users, InMemoryAccountDao accounts,
+                                               InMemoryTransactionDao history) {
+    return List.of(users, accounts, history);
+  }
+}
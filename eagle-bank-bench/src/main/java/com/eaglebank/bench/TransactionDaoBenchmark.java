@@ -0,0 +1,120 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link InMemoryTransactionDao} operation on a store of 1k, 100k and 1M transactions,
+ * {@value #PER_ACCOUNT} per account, with no write-ahead log. Reads hit random stored transactions
+ * and accounts; {@code firstPage} is the newest {@value #PAGE} of an account, the common listing.
+ * <p>
+ * Transactions are immutable, so a save always grows the store. {@code save} therefore runs as a
+ * single shot of {@value #BATCH} appends per iteration, into a store rebuilt to the nominal size
+ * before each iteration, and reports time per batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class TransactionDaoBenchmark {
+
+  private static final int PER_ACCOUNT = 100;
+  private static final int PAGE = 20;
+  private static final int BATCH = 100_000;
+
+  @Param({"1000", "100000", "1000000"})
+  public int transactions;
+
+  private InMemoryTransactionDao dao;
+  private int accounts;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    accounts = Math.max(1, transactions / PER_ACCOUNT);
+    dao = populated(transactions, accounts);
+  }
+
+  @Benchmark
+  public Optional<TransactionEntity> findById() {
+    return dao.findById(transactionId(ThreadLocalRandom.current().nextInt(transactions)));
+  }
+
+  @Benchmark
+  public List<TransactionEntity> findByAccountNumber() {
+    return dao.findByAccountNumber(accountNumber(ThreadLocalRandom.current().nextInt(accounts)));
+  }
+
+  @Benchmark
+  public List<TransactionEntity> firstPage() {
+    return dao.findByAccountNumber(accountNumber(ThreadLocalRandom.current().nextInt(accounts)), Long.MAX_VALUE, PAGE);
+  }
+
+  /** A store at the nominal size and the batch to append to it, rebuilt every iteration. */
+  @State(Scope.Thread)
+  public static class Appends {
+    InMemoryTransactionDao dao;
+    TransactionEntity[] batch;
+    int next;
+
+    @Setup(Level.Iteration)
+    public void setUp(TransactionDaoBenchmark bench) {
+      dao = populated(bench.transactions, bench.accounts);
+      batch = new TransactionEntity[BATCH];
+      for (int i = 0; i < BATCH; i++) {
+        int n = bench.transactions + i;
+        batch[i] = transaction(n, n % bench.accounts);
+      }
+      next = 0;
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 3, batchSize = BATCH)
+  @Measurement(iterations = 5, batchSize = BATCH)
+  public void save(Appends appends) {
+    appends.dao.save(appends.batch[appends.next++]);
+  }
+
+  private static InMemoryTransactionDao populated(int transactions, int accounts) {
+    var dao = new InMemoryTransactionDao();
+    for (int i = 0; i < transactions; i++) {
+      dao.save(transaction(i, i % accounts));
+    }
+    return dao;
+  }
+
+  private static TransactionEntity transaction(int n, int account) {
+    return TransactionEntity.builder()
+            .id(transactionId(n))
+            .accountNumber(accountNumber(account))
+            .userId("usr-bench")
+            .amount(Money.ofPence(100))
+            .type("deposit")
+            .reference("ref-" + n)
+            .created(CREATED)
+            .build();
+  }
+
+  /** One shared timestamp keeps the 1M-transaction heap down to the fields that matter */
+  private static final OffsetDateTime CREATED = OffsetDateTime.now();
+
+  private static String transactionId(int n) {
+    return "tan-" + n;
+  }
+
+  private static String accountNumber(int n) {
+    return String.format("01%06d", n);
+  }
+}
@@ -0,0 +1,76 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.bo.TransferBO;
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.mapper.transaction.TransactionEntityMapper;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.service.transaction.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfers/sec through {@link TransactionService#transfer} between random pairs drawn from
+ * {@code accounts} accounts. Sweep the thread count to get the contention curve, e.g.
+ * {@code for t in 1 2 4 8 16; do java -jar target/benchmarks.jar TransferContentionBenchmark -t $t; done}.
+ * With 2 accounts every transfer needs the same two stripes; with 100k accounts most pairs are
+ * disjoint and should scale with cores. Opposing transfers run constantly, so a lock-ordering bug
+ * shows up here as a hang rather than a slow score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferContentionBenchmark {
+
+  private static final String USER_ID = "usr-bench";
+
+  /** Opening balance large enough that no run drains an account */
+  private static final Money OPENING_BALANCE = Money.ofPence(Long.MAX_VALUE / 4);
+
+  @Param({"2", "16", "1024", "100000"})
+  public int accounts;
+
+  @Param({"1024"})
+  public int lockStripes;
+
+  private String[] accountNumbers;
+  private TransactionService service;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var accountDao = new InMemoryAccountDao();
+    accountNumbers = new String[accounts];
+    for (int i = 0; i < accounts; i++) {
+      accountNumbers[i] = String.format("01%06d", i);
+      accountDao.save(AccountEntity.builder()
+              .accountNumber(accountNumbers[i])
+              .userId(USER_ID)
+              .balance(OPENING_BALANCE)
+              .build());
+    }
+    service = new TransactionService(new LedgerPostingBenchmark.DiscardingTransactionDao(WriteAheadLog.disabled()),
+            accountDao, new TransactionEntityMapper(), new AccountLockTable(lockStripes));
+  }
+
+  @Benchmark
+  public TransferBO transfer() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int from = random.nextInt(accounts);
+    int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+    return service.transfer(TransactionBO.builder()
+            .accountNumber(accountNumbers[from])
+            .userId(USER_ID)
+            .amount(Money.ofPence(1))
+            .currency("GBP")
+            .type("withdrawal")
+            .build(), accountNumbers[to]);
+  }
+}
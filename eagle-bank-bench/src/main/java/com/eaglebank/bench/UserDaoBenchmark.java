@@ -0,0 +1,74 @@
+package com.eaglebank.bench;
+
+import com.eaglebank.dao.user.impl.InMemoryUserDao;
+import com.eaglebank.domain.UserEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link InMemoryUserDao} operation on a store of 1k, 100k and 1M users, with no
+ * write-ahead log. {@code save} re-saves an existing user, the path every profile update takes.
+ * Lookups hit a random stored user; {@code findByEmailMissing} probes an address nobody has.
+ * Every operation is a hash lookup, so scores should stay flat apart from cache misses at 1M.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class UserDaoBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  public int users;
+
+  private InMemoryUserDao dao;
+  private UserEntity[] stored;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dao = new InMemoryUserDao();
+    stored = new UserEntity[users];
+    OffsetDateTime now = OffsetDateTime.now();
+    for (int i = 0; i < users; i++) {
+      stored[i] = UserEntity.builder()
+              .id("usr-" + i)
+              .email("user" + i + "@example.com")
+              .name("User " + i)
+              .phoneNumber("+447700900123")
+              .passwordHash("$2a$10$abcdefghijklmnopqrstuv")
+              .created(now)
+              .updated(now)
+              .build();
+      dao.save(stored[i]);
+    }
+  }
+
+  private UserEntity anyUser() {
+    return stored[ThreadLocalRandom.current().nextInt(users)];
+  }
+
+  @Benchmark
+  public void save() {
+    dao.save(anyUser());
+  }
+
+  @Benchmark
+  public Optional<UserEntity> findById() {
+    return dao.findById(anyUser().getId());
+  }
+
+  @Benchmark
+  public Optional<UserEntity> findByEmail() {
+    return dao.findByEmail(anyUser().getEmail());
+  }
+
+  @Benchmark
+  public Optional<UserEntity> findByEmailMissing() {
+    return dao.findByEmail("nobody@example.com");
+  }
+}
@@ -1,11 +1,11 @@
 package com.eaglebank.bo;
 
+import com.eaglebank.domain.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
@@ -15,7 +15,7 @@ public class AccountBO {
     private String sortCode;
     private String name;
     private String accountType;   // e.g. "personal"
-    private BigDecimal balance;
+    private Money balance;
     private String currency;      // e.g. "GBP"
     private OffsetDateTime created;
     private OffsetDateTime updated;
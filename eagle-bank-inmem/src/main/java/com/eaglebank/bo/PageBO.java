@@ -0,0 +1,14 @@
+package com.eaglebank.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class PageBO<T> {
+    private List<T> items;
+    private String nextCursor;  // null on the last page
+}
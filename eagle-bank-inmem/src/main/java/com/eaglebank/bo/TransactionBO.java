@@ -1,11 +1,11 @@
 package com.eaglebank.bo;
 
+import com.eaglebank.domain.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
@@ -13,9 +13,10 @@ public class TransactionBO {
     private String id;
     private String accountNumber;
     private String userId;
-    private BigDecimal amount;
+    private Money amount;
     private String currency;    // "GBP"
     private String type;        // "deposit" | "withdrawal"
     private String reference;
+    private String relatedTransactionId; // other leg of a transfer, else null
     private OffsetDateTime created;
 }
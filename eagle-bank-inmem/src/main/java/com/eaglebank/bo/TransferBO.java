@@ -0,0 +1,12 @@
+package com.eaglebank.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class TransferBO {
+    private TransactionBO debit;    // withdrawal on the source account
+    private TransactionBO credit;   // deposit on the destination account
+}
@@ -0,0 +1,18 @@
+package com.eaglebank.config;
+
+import com.eaglebank.util.IdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives {@link IdGenerator} this node's ID. Every node writing to shared storage needs a distinct
+ * {@code app.ids.node-id} between 0 and {@value IdGenerator#MAX_NODE_ID}; IDs from different nodes
+ * then never collide.
+ */
+@Configuration
+public class IdConfig {
+
+  public IdConfig(@Value("${app.ids.node-id:0}") int nodeId) {
+    IdGenerator.useNodeId(nodeId);
+  }
+}
@@ -0,0 +1,162 @@
+package com.eaglebank.config;
+
+import com.eaglebank.dao.DaoTimers;
+import com.eaglebank.dao.account.AccountDao;
+import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.user.UserDao;
+import com.eaglebank.security.BoundedPasswordEncoder;
+import com.eaglebank.security.RateLimiter;
+import com.eaglebank.security.VerifiedTokenCache;
+import com.eaglebank.service.account.AccountNumberAllocator;
+import com.eaglebank.service.security.RefreshTokenService;
+import com.eaglebank.service.security.TokenRevocationService;
+import com.eaglebank.service.transaction.IdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Application metrics, scraped from {@code /actuator/prometheus}.
+ * <p>
+ * Every DAO bean is wrapped by {@link DaoTimers}; ledger posting phases are timed in
+ * {@link com.eaglebank.service.transaction.TransactionService}. Everything else is read from the
+ * {@code stats()} counters the components already keep, so the hot paths pay nothing extra and
+ * the components stay free of Micrometer. Tags only ever take values listed here: no user, account
+ * or token ends up in a label.
+ */
+@Configuration
+public class MetricsConfig {
+
+  /** Static so the post-processor is registered before the DAOs it wraps are created. */
+  @Bean
+  static BeanPostProcessor daoTimers(ObjectProvider<MeterRegistry> meters) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AccountDao) {
+          return DaoTimers.timed(bean, AccountDao.class, "account", meters.getObject());
+        }
+        if (bean instanceof TransactionDao) {
+          return DaoTimers.timed(bean, TransactionDao.class, "transaction", meters.getObject());
+        }
+        if (bean instanceof UserDao) {
+          return DaoTimers.timed(bean, UserDao.class, "user", meters.getObject());
+        }
+        return bean;
+      }
+    };
+  }
+
+  /** Entity counts and secondary-index key counts of each store. */
+  @Bean
+  MeterBinder storeMetrics(AccountDao accounts, TransactionDao transactions, UserDao users) {
+    return registry -> {
+      entities(registry, "account", accounts, dao -> dao.stats().accounts());
+      entities(registry, "transaction", transactions, dao -> dao.stats().transactions());
+      entities(registry, "user", users, dao -> dao.stats().users());
+      indexKeys(registry, "account", "owner", accounts, dao -> dao.stats().owners());
+      indexKeys(registry, "transaction", "account", transactions, dao -> dao.stats().accounts());
+      indexKeys(registry, "user", "email", users, dao -> dao.stats().emails());
+    };
+  }
+
+  /** Token verification, the verified-token cache, revocation checks and refresh-token sessions. */
+  @Bean
+  MeterBinder tokenMetrics(VerifiedTokenCache cache, TokenRevocationService revocations,
+                           RefreshTokenService refreshTokens) {
+    return registry -> {
+      FunctionTimer.builder("eaglebank.auth.jwt.verify", cache,
+                      c -> c.stats().misses(), c -> c.stats().verifyNanos(), TimeUnit.NANOSECONDS)
+              .description("Full signature and claims verification of tokens not in the cache")
+              .register(registry);
+      counter(registry, "eaglebank.auth.jwt.cache", "result", "hit", cache, c -> c.stats().hits());
+      counter(registry, "eaglebank.auth.jwt.cache", "result", "miss", cache, c -> c.stats().misses());
+      FunctionCounter.builder("eaglebank.auth.jwt.cache.evictions", cache, c -> c.stats().evictions()).register(registry);
+      Gauge.builder("eaglebank.auth.jwt.cache.size", cache, c -> c.stats().size()).register(registry);
+
+      counter(registry, "eaglebank.auth.revocation.checks", "result", "clear", revocations,
+              r -> r.stats().checks() - r.stats().probableHits());
+      counter(registry, "eaglebank.auth.revocation.checks", "result", "revoked", revocations,
+              r -> r.stats().probableHits() - r.stats().falsePositives());
+      counter(registry, "eaglebank.auth.revocation.checks", "result", "false_positive", revocations,
+              r -> r.stats().falsePositives());
+      Gauge.builder("eaglebank.auth.revocation.tokens", revocations, r -> r.stats().revoked()).register(registry);
+
+      counter(registry, "eaglebank.auth.refresh", "outcome", "issued", refreshTokens, r -> r.stats().issued());
+      counter(registry, "eaglebank.auth.refresh", "outcome", "refreshed", refreshTokens, r -> r.stats().refreshed());
+      counter(registry, "eaglebank.auth.refresh", "outcome", "rejected", refreshTokens, r -> r.stats().rejected());
+      counter(registry, "eaglebank.auth.refresh", "outcome", "reuse_detected", refreshTokens,
+              r -> r.stats().reuseDetected());
+      Gauge.builder("eaglebank.auth.refresh.sessions", refreshTokens, r -> r.stats().sessions()).register(registry);
+    };
+  }
+
+  /** Password hashing: hash time on the pool, its backlog, and calls refused by it. */
+  @Bean
+  MeterBinder passwordHashMetrics(BoundedPasswordEncoder encoder) {
+    return registry -> {
+      FunctionTimer.builder("eaglebank.auth.password.hash", encoder,
+                      e -> e.stats().hashes(), e -> e.stats().totalHashNanos(), TimeUnit.NANOSECONDS)
+              .description("Password hashes and checks run on the hashing pool")
+              .register(registry);
+      Gauge.builder("eaglebank.auth.password.hash.slowest", encoder, e -> e.stats().maxHashNanos() / 1e9)
+              .baseUnit("seconds")
+              .register(registry);
+      Gauge.builder("eaglebank.auth.password.queue", encoder, e -> e.stats().queueDepth()).register(registry);
+      Gauge.builder("eaglebank.auth.password.active", encoder, e -> e.stats().activeThreads()).register(registry);
+      counter(registry, "eaglebank.auth.password.refused", "reason", "queue_full", encoder, e -> e.stats().rejected());
+      counter(registry, "eaglebank.auth.password.refused", "reason", "timeout", encoder, e -> e.stats().timedOut());
+    };
+  }
+
+  /** Rate limiting, idempotent replays and account-number headroom. */
+  @Bean
+  MeterBinder requestMetrics(RateLimiter rateLimiter, IdempotencyStore idempotency,
+                             AccountNumberAllocator accountNumbers) {
+    return registry -> {
+      counter(registry, "eaglebank.ratelimit.requests", "outcome", "allowed", rateLimiter, r -> r.stats().allowed());
+      counter(registry, "eaglebank.ratelimit.requests", "outcome", "rejected", rateLimiter, r -> r.stats().rejected());
+      Gauge.builder("eaglebank.ratelimit.buckets", rateLimiter, r -> r.stats().buckets()).register(registry);
+
+      counter(registry, "eaglebank.idempotency.requests", "outcome", "executed", idempotency,
+              i -> i.stats().executed());
+      counter(registry, "eaglebank.idempotency.requests", "outcome", "replayed", idempotency,
+              i -> i.stats().replayed());
+      Gauge.builder("eaglebank.idempotency.entries", idempotency, i -> i.stats().entries()).register(registry);
+
+      Gauge.builder("eaglebank.accounts.numbers.remaining", accountNumbers, AccountNumberAllocator::remaining)
+              .description("Account numbers still free to allocate")
+              .register(registry);
+    };
+  }
+
+  private static <T> void entities(MeterRegistry registry, String store, T dao, ToDoubleFunction<T> count) {
+    Gauge.builder("eaglebank.store.entities", dao, count)
+            .tag("store", store)
+            .register(registry);
+  }
+
+  private static <T> void indexKeys(MeterRegistry registry, String store, String index, T dao,
+                                    ToDoubleFunction<T> count) {
+    Gauge.builder("eaglebank.store.index.keys", dao, count)
+            .tag("store", store)
+            .tag("index", index)
+            .register(registry);
+  }
+
+  private static <T> void counter(MeterRegistry registry, String name, String tag, String value, T source,
+                                  ToDoubleFunction<T> count) {
+    FunctionCounter.builder(name, source, count)
+            .tag(tag, value)
+            .register(registry);
+  }
+}
@@ -1,7 +1,14 @@
 package com.eaglebank.config;
 
+import com.eaglebank.security.BoundedPasswordEncoder;
+import com.eaglebank.security.HashAlgorithm;
 import com.eaglebank.security.JwtAuthFilter;
+import com.eaglebank.security.PasswordHashCalibrator;
+import com.eaglebank.security.RateLimitFilter;
+import com.eaglebank.security.RateLimiter;
+import com.eaglebank.service.security.StoreUserDetailsService;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,32 +19,54 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
-  @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  /**
+   * Password hashing on a bounded pool of its own, so a login storm cannot take every core from the
+   * request threads. The pool defaults to half the cores, at least one. The cost is calibrated at
+   * startup to {@code app.security.hashing.target-ms} unless {@code app.security.hashing.cost} fixes it;
+   * a fixed cost outside the algorithm's range fails startup.
+   */
+  @Bean(destroyMethod = "close")
+  public BoundedPasswordEncoder passwordEncoder(
+          @Value("${app.security.hashing.algorithm:bcrypt}") String algorithm,
+          @Value("${app.security.hashing.cost:0}") int cost,
+          @Value("${app.security.hashing.target-ms:100}") long targetMs,
+          @Value("${app.security.hashing.threads:0}") int threads,
+          @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+          @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMs) {
+    HashAlgorithm hashAlgorithm = HashAlgorithm.fromProperty(algorithm);
+    int hashCost = cost > 0
+            ? hashAlgorithm.checkConfiguredCost(cost)
+            : PasswordHashCalibrator.calibrate(hashAlgorithm, Duration.ofMillis(targetMs));
+    int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return new BoundedPasswordEncoder(PasswordHashCalibrator.encoder(hashAlgorithm, hashCost), poolSize,
+            queueCapacity, timeoutMs, TimeUnit.MILLISECONDS);
   }
 
   @Bean
-  public AuthenticationManager authenticationManager(UserDetailsService uds, PasswordEncoder pe) {
+  public AuthenticationManager authenticationManager(StoreUserDetailsService uds, PasswordEncoder pe) {
     var provider = new DaoAuthenticationProvider();
     provider.setUserDetailsService(uds);
     provider.setPasswordEncoder(pe);
+    // re-hash with the current algorithm and cost after a successful login with an older hash
+    provider.setUserDetailsPasswordService(uds);
     return new ProviderManager(provider);
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthFilter jwt) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthFilter jwt, RateLimiter rateLimiter,
+                                         @Value("${app.ratelimit.enabled:true}") boolean rateLimited) throws Exception {
     http.csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
@@ -51,12 +80,18 @@ public class SecurityConfig {
             )
 
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers(HttpMethod.POST, "/v1/users", "/v1/auth/login").permitAll()
+                    .requestMatchers(HttpMethod.POST, "/v1/users", "/v1/auth/login", "/v1/auth/refresh").permitAll()
                     .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                     .anyRequest().authenticated()
             );
 
     http.addFilterBefore(jwt, UsernamePasswordAuthenticationFilter.class);
+    if (rateLimited) {
+      // per address before the token is verified, so a flood costs no signature checks; per user after it
+      http.addFilterBefore(new RateLimitFilter(rateLimiter, RateLimitFilter.Scope.ADDRESS), JwtAuthFilter.class);
+      http.addFilterAfter(new RateLimitFilter(rateLimiter, RateLimitFilter.Scope.USER), JwtAuthFilter.class);
+    }
     return http.build();
   }
 }
@@ -0,0 +1,47 @@
+package com.eaglebank.config;
+
+import com.eaglebank.util.trace.RequestTraceFilter;
+import com.eaglebank.util.trace.RequestTracer;
+import com.eaglebank.util.trace.TraceExporter;
+import com.eaglebank.util.trace.TracedJsonConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request tracing: samples {@code app.tracing.sample-rate} of requests (0, the default, turns it
+ * off), keeps {@code app.tracing.ring-spans} finished spans per request thread, and exports them
+ * as OTLP/JSON. See {@link RequestTracer}.
+ */
+@Configuration
+public class TracingConfig {
+
+  public TracingConfig(@Value("${app.tracing.sample-rate:0}") double sampleRate,
+                       @Value("${app.tracing.ring-spans:1024}") int ringSpans) {
+    RequestTracer.configure(sampleRate, ringSpans);
+  }
+
+  @Bean
+  public FilterRegistrationBean<RequestTraceFilter> requestTraceFilter() {
+    FilterRegistrationBean<RequestTraceFilter> registration = new FilterRegistrationBean<>(new RequestTraceFilter());
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+
+  /** Replaces Boot's default JSON converter, which backs off when one is defined. */
+  @Bean
+  public TracedJsonConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    return new TracedJsonConverter(objectMapper);
+  }
+
+  @Bean
+  public TraceExporter traceExporter(@Value("${app.tracing.export.file:}") String file,
+                                     @Value("${app.tracing.export.endpoint:}") String endpoint,
+                                     @Value("${app.tracing.export.interval-ms:5000}") long intervalMs,
+                                     @Value("${spring.application.name:eagle-bank}") String serviceName) {
+    return new TraceExporter(file, endpoint, intervalMs, serviceName);
+  }
+}
@@ -0,0 +1,40 @@
+package com.eaglebank.config;
+
+import com.eaglebank.dao.wal.DurabilityMode;
+import com.eaglebank.dao.wal.FileWriteAheadLog;
+import com.eaglebank.dao.wal.SnapshotStore;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead log and snapshot store for the in-memory DAOs. With {@code app.wal.enabled=false}
+ * the DAOs run purely in memory and lose their state on restart.
+ */
+@Configuration
+public class WalConfig {
+
+  @Bean(destroyMethod = "close")
+  public WriteAheadLog writeAheadLog(@Value("${app.wal.enabled:false}") boolean enabled,
+                                     @Value("${app.wal.dir:data/wal}") String directory,
+                                     @Value("${app.wal.durability:fsync-per-batch}") String durability,
+                                     @Value("${app.wal.flush-interval-ms:10}") long flushIntervalMs,
+                                     @Value("${app.wal.segment-bytes:67108864}") long segmentBytes) throws IOException {
+    if (!enabled) {
+      return WriteAheadLog.disabled();
+    }
+    return new FileWriteAheadLog(Path.of(directory), DurabilityMode.fromProperty(durability),
+            flushIntervalMs, TimeUnit.MILLISECONDS, segmentBytes);
+  }
+
+  @Bean
+  public SnapshotStore snapshotStore(@Value("${app.snapshot.dir:data/snapshots}") String directory,
+                                     @Value("${app.snapshot.retained:2}") int retained) {
+    return new SnapshotStore(Path.of(directory), retained);
+  }
+}
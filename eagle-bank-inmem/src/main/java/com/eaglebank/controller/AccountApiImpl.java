@@ -29,17 +29,18 @@ public class AccountApiImpl implements AccountApi {
   public ResponseEntity<BankAccountResponse> createAccount(CreateBankAccountRequest body) {
     var uid = authGuard.requireUserId(); // throws NotAuthenticatedException
 
-    var acc = accountService.createAccount(accountApiMapper.fromCreateRequest(body,authGuard.requireUserId()));
+    var acc = accountService.createAccount(accountApiMapper.fromCreateRequest(body, uid));
     return ResponseEntity.status(CREATED).body(accountApiMapper.toResponse((acc)));
   }
 
   @Override
-  public ResponseEntity<ListBankAccountsResponse> listAccounts() {
+  public ResponseEntity<ListBankAccountsResponse> listAccounts(Integer limit, String cursor) {
 
-    var list = accountService.listUserAccounts(authGuard.requireUserId()).stream()
+    var page = accountService.listUserAccounts(authGuard.requireUserId(), cursor, limit);
+    var list = page.getItems().stream()
             .map(accountApiMapper::toResponse)
             .collect(Collectors.toList());
-    return ResponseEntity.ok(new ListBankAccountsResponse().accounts(list));
+    return ResponseEntity.ok(new ListBankAccountsResponse().accounts(list).nextCursor(page.getNextCursor()));
   }
 
   @Override
@@ -1,14 +1,23 @@
 package com.eaglebank.controller;
 
 import com.eaglebank.gen.model.LoginRequest;
+import com.eaglebank.gen.model.RefreshRequest;
 import com.eaglebank.gen.model.TokenResponse;
 import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.VerifiedToken;
+import com.eaglebank.service.security.RefreshTokenService;
+import com.eaglebank.service.security.StoreUserDetails;
+import com.eaglebank.service.security.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,19 +28,58 @@ public class AuthController {
 
   private final AuthenticationManager authManager;
   private final JwtUtil jwt;
+  private final TokenRevocationService revocations;
+  private final RefreshTokenService refreshTokens;
 
-  public AuthController(AuthenticationManager authManager, JwtUtil jwt) {
+  public AuthController(AuthenticationManager authManager, JwtUtil jwt, TokenRevocationService revocations,
+                        RefreshTokenService refreshTokens) {
     this.authManager = authManager;
     this.jwt = jwt;
+    this.revocations = revocations;
+    this.refreshTokens = refreshTokens;
   }
 
   @PostMapping("/login")
   public ResponseEntity<?> login(@RequestBody LoginRequest req) {
     try {
-      authManager.authenticate(new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword()));
-      return ResponseEntity.ok(new TokenResponse(jwt.generateToken(req.getEmail())));
+      Authentication auth = authManager.authenticate(
+              new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword()));
+      String userId = auth.getPrincipal() instanceof StoreUserDetails user ? user.getUserId() : null;
+      return ResponseEntity.ok(toResponse(refreshTokens.issue(req.getEmail(), userId)));
     } catch (AuthenticationException ex) {
       return ResponseEntity.status(401).build();
     }
   }
+
+  /** Spends a refresh token for a new token pair; no password hash is involved. Failures map to 401. */
+  @PostMapping("/refresh")
+  public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshRequest req) {
+    return ResponseEntity.ok(toResponse(refreshTokens.refresh(req.getRefreshToken())));
+  }
+
+  /**
+   * Revokes the bearer token the request was made with; later requests with it get 401.
+   * If the body carries the session's refresh token, that session is ended too.
+   */
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String header,
+                                     @RequestBody(required = false) RefreshRequest req) {
+    if (header == null || !header.startsWith("Bearer ")) {
+      return ResponseEntity.status(401).build();
+    }
+    try {
+      VerifiedToken token = jwt.verify(header.substring(7));
+      revocations.revoke(token.tokenId(), token.expiresAt());
+      if (req != null) {
+        refreshTokens.revoke(req.getRefreshToken());
+      }
+      return ResponseEntity.noContent().build();
+    } catch (JwtException ex) {
+      return ResponseEntity.status(401).build();
+    }
+  }
+
+  private static TokenResponse toResponse(RefreshTokenService.Tokens tokens) {
+    return new TokenResponse(tokens.accessToken()).refreshToken(tokens.refreshToken());
+  }
 }
@@ -0,0 +1,30 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.security.AuthGuard;
+import com.eaglebank.service.security.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Administrative token operations, restricted to users whose ID is listed in {@code app.security.admin-user-ids}.
+ */
+@RestController
+@RequestMapping("/v1/admin/tokens")
+@RequiredArgsConstructor
+public class TokenAdminController {
+
+  private final AuthGuard authGuard;
+  private final TokenRevocationService revocations;
+
+  /** Revokes any token by its ID ({@code jti}), e.g. one reported stolen. */
+  @DeleteMapping("/{tokenId}")
+  public ResponseEntity<Void> revokeToken(@PathVariable("tokenId") String tokenId) {
+    authGuard.requireAdmin();
+    revocations.revoke(tokenId);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -1,42 +1,86 @@
 package com.eaglebank.controller;
 
 import com.eaglebank.gen.api.TransactionApi;
+import com.eaglebank.gen.model.CreateTransactionBatchRequest;
+import com.eaglebank.gen.model.CreateTransactionBatchResponse;
 import com.eaglebank.gen.model.CreateTransactionRequest;
+import com.eaglebank.gen.model.CreateTransferRequest;
 import com.eaglebank.gen.model.ListTransactionsResponse;
 import com.eaglebank.gen.model.TransactionResponse;
+import com.eaglebank.gen.model.TransferResponse;
 import com.eaglebank.mapper.transaction.TransactionApiMapper;
 import com.eaglebank.security.AuthGuard;
+import com.eaglebank.service.transaction.IdempotencyStore;
 import com.eaglebank.service.transaction.TransactionService;
+import com.eaglebank.util.trace.RequestTracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 import static org.springframework.http.HttpStatus.CREATED;
 
 @RestController
 @RequiredArgsConstructor
 public class TransactionApiImpl implements TransactionApi {
 
+  private static final int MAP_SPAN = RequestTracer.name("map.transaction-bo-to-response");
+
   private final AuthGuard authGuard;
   private final TransactionService transactionService;
   private final TransactionApiMapper txMapper;
+  private final IdempotencyStore idempotency;
+
+  /**
+   * Posts one transaction. With an {@code Idempotency-Key}, a retry of the same request returns the
+   * response of the first one, waiting for it if it is still running, instead of posting again.
+   */
+  @Override
+  public ResponseEntity<TransactionResponse> createTransaction(String accountNumber, CreateTransactionRequest body,
+                                                               String idempotencyKey) {
+    String userId = authGuard.requireUserId();
+    TransactionResponse response = idempotency.execute(userId, idempotencyKey, List.of(accountNumber, body), () -> {
+      var bo = txMapper.fromRequest(body, accountNumber, userId);
+      return txMapper.toResponse(transactionService.createTransaction(bo));
+    });
+    return ResponseEntity.status(CREATED).body(response);
+  }
+
+  @Override
+  public ResponseEntity<CreateTransactionBatchResponse> createTransactionBatch(String accountNumber,
+                                                                               CreateTransactionBatchRequest body) {
+    String userId = authGuard.requireUserId();
+    var bos = body.getTransactions()
+            .stream()
+            .map(item -> txMapper.fromRequest(item, accountNumber, userId))
+            .toList();
+    var created = transactionService.createTransactions(userId, accountNumber, bos)
+            .stream()
+            .map(txMapper::toResponse)
+            .toList();
+    return ResponseEntity.status(CREATED).body(new CreateTransactionBatchResponse().transactions(created));
+  }
 
   @Override
-  public ResponseEntity<TransactionResponse> createTransaction(String accountNumber, CreateTransactionRequest body) {
+  public ResponseEntity<TransferResponse> createTransfer(String accountNumber, CreateTransferRequest body) {
     String userId = authGuard.requireUserId();
-    var bo = txMapper.fromRequest(body, accountNumber, userId);
-    var tx = transactionService.createTransaction(bo);
-    return ResponseEntity.status(CREATED).body(txMapper.toResponse(tx));
+    var debit = txMapper.fromTransferRequest(body, accountNumber, userId);
+    var transfer = transactionService.transfer(debit, body.getToAccountNumber());
+    return ResponseEntity.status(CREATED).body(txMapper.toTransferResponse(transfer));
   }
 
   @Override
-  public ResponseEntity<ListTransactionsResponse> listAccountTransaction(String accountNumber) {
+  public ResponseEntity<ListTransactionsResponse> listAccountTransaction(String accountNumber, Integer limit, String cursor) {
     String userId = authGuard.requireUserId();
-    var items = transactionService.listTransactions(userId, accountNumber)
+    var page = transactionService.listTransactions(userId, accountNumber, cursor, limit);
+    int span = RequestTracer.begin(MAP_SPAN);
+    var items = page.getItems()
             .stream()
             .map(txMapper::toResponse)
             .toList();
-    return ResponseEntity.ok(new ListTransactionsResponse().transactions(items));
+    RequestTracer.end(span);
+    return ResponseEntity.ok(new ListTransactionsResponse().transactions(items).nextCursor(page.getNextCursor()));
   }
 
   @Override
@@ -0,0 +1,74 @@
+package com.eaglebank.dao;
+
+import com.eaglebank.util.trace.RequestTracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a DAO in a proxy that times every operation of its DAO interface into
+ * {@code eaglebank.dao.operation}, tagged with the store and the method name. Tags come from the
+ * interface alone, so the series count is fixed however many keys the store holds; overloads share
+ * a series. {@code stats()} is left untimed, since the metrics scrape is its only caller.
+ * In a traced request each operation is also a {@code dao.<store>.<operation>} span.
+ * <p>
+ * The proxy implements every interface of the target, so it still stands in wherever the DAO is
+ * injected as a {@link com.eaglebank.dao.wal.WalReplayTarget}; replay and snapshot calls pass
+ * straight through.
+ */
+public final class DaoTimers {
+
+  public static final String METRIC = "eaglebank.dao.operation";
+
+  private DaoTimers() {
+  }
+
+  /**
+   * Returns {@code target} behind a timing proxy.
+   *
+   * @param target   the DAO to time
+   * @param daoType  the DAO interface whose operations are timed
+   * @param store    value of the {@code dao} tag, e.g. {@code account}
+   * @param registry where the timers are registered
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T timed(Object target, Class<T> daoType, String store, MeterRegistry registry) {
+    Map<Method, Operation> operations = new HashMap<>();
+    for (Method method : daoType.getMethods()) {
+      if (!method.getName().equals("stats")) {
+        Timer timer = Timer.builder(METRIC)
+                .description("Latency of DAO operations")
+                .tag("dao", store)
+                .tag("operation", method.getName())
+                .register(registry);
+        operations.put(method, new Operation(timer, RequestTracer.name("dao." + store + "." + method.getName())));
+      }
+    }
+
+    ProxyFactory proxy = new ProxyFactory(target);
+    proxy.addAdvice((MethodInterceptor) invocation -> {
+      Operation operation = operations.get(invocation.getMethod());
+      if (operation == null) {
+        return invocation.proceed();
+      }
+      int span = RequestTracer.begin(operation.span());
+      long start = System.nanoTime();
+      try {
+        return invocation.proceed();
+      } finally {
+        operation.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        RequestTracer.end(span);
+      }
+    });
+    return (T) proxy.getProxy(DaoTimers.class.getClassLoader());
+  }
+
+  private record Operation(Timer timer, int span) {
+  }
+}
@@ -4,6 +4,7 @@ import com.eaglebank.domain.AccountEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object for managing {@link AccountEntity} persistence operations.
@@ -34,10 +35,38 @@ public interface AccountDao {
    */
   List<AccountEntity> findByUserId(String userId);
 
+  /**
+   * Retrieves one page of a user's accounts, ordered by account number.
+   *
+   * @param userId              the user ID whose accounts should be listed
+   * @param afterAccountNumber  exclusive lower bound on the account number; null for the first page
+   * @param limit               maximum number of accounts to return
+   * @return up to {@code limit} accounts whose number sorts after {@code afterAccountNumber}
+   */
+  List<AccountEntity> findByUserId(String userId, String afterAccountNumber, int limit);
+
   /**
    * Deletes an account identified by its account number.
    *
    * @param accountNumber the account number to delete
    */
   void deleteByNumber(String accountNumber);
+
+  /**
+   * Calls {@code action} with the number of every stored account, in no particular order.
+   *
+   * @param action receives each account number
+   */
+  void forEachAccountNumber(Consumer<String> action);
+
+  /**
+   * Current store sizes, read by the metrics scrape.
+   *
+   * @return the number of stored accounts and of users indexed as owning at least one
+   */
+  Stats stats();
+
+  /** Stored accounts, and keys in the userId → account-number index. */
+  record Stats(int accounts, int owners) {
+  }
 }
@@ -1,44 +1,195 @@
 package com.eaglebank.dao.account.impl;
 
 import com.eaglebank.dao.account.AccountDao;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.dao.wal.WriteAheadLog;
 import com.eaglebank.domain.AccountEntity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * In-memory implementation of {@link AccountDao}.
- * Stores AccountEntity objects in a thread-safe map keyed by account number.
+ * Stores AccountEntity objects in a thread-safe map keyed by account number, plus a
+ * userId → account-number index so per-user lookups touch only that user's accounts.
+ * <p>
+ * Each stored slot remembers the owner it was indexed under. Entities are mutable and are
+ * usually re-saved after being changed in place, so the slot (not the entity) is what tells
+ * {@link #save} which index entry to drop when an account's owner is reassigned.
+ * <p>
+ * Mutations are sequenced into the {@link WriteAheadLog} inside the same per-account critical
+ * section that applies them, so the log order matches the in-memory order for every account;
+ * the caller then waits for durability outside the critical section.
  */
 @Repository
-public class InMemoryAccountDao implements AccountDao {
+public class InMemoryAccountDao implements AccountDao, WalReplayTarget {
+
+  private final WriteAheadLog wal;
 
   /** Thread-safe storage for accounts keyed by account number */
-  private final Map<String, AccountEntity> accountsByNumber = new ConcurrentHashMap<>();
+  private final Map<String, Slot> accountsByNumber = new ConcurrentHashMap<>();
+
+  /** Secondary index: userId → that user's account numbers, kept sorted for paging */
+  private final Map<String, NavigableSet<String>> accountNumbersByUserId = new ConcurrentHashMap<>();
+
+  /** Volatile store with no write-ahead log. */
+  public InMemoryAccountDao() {
+    this(WriteAheadLog.disabled());
+  }
+
+  @Autowired
+  public InMemoryAccountDao(WriteAheadLog wal) {
+    this.wal = wal;
+  }
 
   @Override
   public void save(AccountEntity account) {
-    accountsByNumber.put(account.getAccountNumber(), account);
+    byte[] record = wal.enabled() ? WalCodec.encodeAccount(account) : null;
+    wal.awaitDurable(put(account, record));
+  }
+
+  /**
+   * Stores the account and keeps the userId index in step. A non-null {@code record} is
+   * appended to the WAL under the same lock; returns its LSN (0 when nothing was logged).
+   */
+  private long put(AccountEntity account, byte[] record) {
+    String accountNumber = account.getAccountNumber();
+    String owner = account.getUserId();
+    long[] lsn = {0};
+    // compute() holds the account's bin, so index updates for one account never interleave
+    accountsByNumber.compute(accountNumber, (number, previous) -> {
+      if (record != null) {
+        lsn[0] = wal.append(WalRecordType.ACCOUNT_SAVE, record);
+      }
+      String indexedUserId = previous == null ? null : previous.indexedUserId();
+      if (!Objects.equals(indexedUserId, owner)) {
+        unindex(indexedUserId, number);
+        index(owner, number);
+      }
+      return new Slot(account, owner);
+    });
+    return lsn[0];
   }
 
   @Override
   public Optional<AccountEntity> findByNumber(String accountNumber) {
-    return Optional.ofNullable(accountsByNumber.get(accountNumber));
+    Slot slot = accountsByNumber.get(accountNumber);
+    return slot == null ? Optional.empty() : Optional.of(slot.account());
   }
 
   @Override
   public List<AccountEntity> findByUserId(String userId) {
-    return accountsByNumber.values().stream()
-            .filter(account -> userId.equals(account.getUserId()))
-            .collect(Collectors.toList());
+    return findByUserId(userId, null, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<AccountEntity> findByUserId(String userId, String afterAccountNumber, int limit) {
+    NavigableSet<String> numbers = accountNumbersByUserId.get(userId);
+    if (numbers == null || limit <= 0) {
+      return List.of();
+    }
+    Iterable<String> candidates = afterAccountNumber == null
+            ? numbers
+            : numbers.tailSet(afterAccountNumber, false);
+
+    List<AccountEntity> result = new ArrayList<>();
+    for (String number : candidates) {
+      Slot slot = accountsByNumber.get(number);
+      // the index may briefly lead the primary map during a concurrent save/delete/reassignment
+      if (slot != null && userId.equals(slot.indexedUserId())) {
+        result.add(slot.account());
+        if (result.size() == limit) {
+          break;
+        }
+      }
+    }
+    return result;
   }
 
   @Override
   public void deleteByNumber(String accountNumber) {
-    accountsByNumber.remove(accountNumber);
+    byte[] record = wal.enabled() ? WalCodec.encodeKey(accountNumber) : null;
+    wal.awaitDurable(remove(accountNumber, record));
+  }
+
+  private long remove(String accountNumber, byte[] record) {
+    long[] lsn = {0};
+    accountsByNumber.computeIfPresent(accountNumber, (number, previous) -> {
+      if (record != null) {
+        lsn[0] = wal.append(WalRecordType.ACCOUNT_DELETE, record);
+      }
+      unindex(previous.indexedUserId(), number);
+      return null;
+    });
+    return lsn[0];
+  }
+
+  @Override
+  public void forEachAccountNumber(Consumer<String> action) {
+    accountsByNumber.keySet().forEach(action);
   }
+
+  @Override
+  public Stats stats() {
+    return new Stats(accountsByNumber.size(), accountNumbersByUserId.size());
+  }
+
+  @Override
+  public Set<WalRecordType> recordTypes() {
+    return EnumSet.of(WalRecordType.ACCOUNT_SAVE, WalRecordType.ACCOUNT_DELETE);
+  }
+
+  @Override
+  public void replay(WalRecordType type, byte[] payload) {
+    switch (type) {
+      case ACCOUNT_SAVE -> put(WalCodec.decodeAccount(payload), null);
+      case ACCOUNT_DELETE -> remove(WalCodec.decodeKey(payload), null);
+      default -> throw new IllegalArgumentException("Not an account record: " + type);
+    }
+  }
+
+  @Override
+  public void snapshot(BiConsumer<WalRecordType, byte[]> sink) {
+    for (Slot slot : accountsByNumber.values()) {
+      sink.accept(WalRecordType.ACCOUNT_SAVE, WalCodec.encodeAccount(slot.account()));
+    }
+  }
+
+  private void index(String userId, String accountNumber) {
+    if (userId == null) {
+      return;
+    }
+    accountNumbersByUserId.compute(userId, (u, numbers) -> {
+      NavigableSet<String> set = numbers != null ? numbers : new ConcurrentSkipListSet<>();
+      set.add(accountNumber);
+      return set;
+    });
+  }
+
+  private void unindex(String userId, String accountNumber) {
+    if (userId == null) {
+      return;
+    }
+    accountNumbersByUserId.computeIfPresent(userId, (u, numbers) -> {
+      numbers.remove(accountNumber);
+      return numbers.isEmpty() ? null : numbers;
+    });
+  }
+
+  /** Stored account together with the owner its index entry was filed under. */
+  private record Slot(AccountEntity account, String indexedUserId) { }
 }
@@ -0,0 +1,58 @@
+package com.eaglebank.dao.token;
+
+import com.eaglebank.domain.RefreshTokenEntity;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Data Access Object for refresh-token families, keyed by family ID and looked up by token hash.
+ * A family stays reachable through every refresh token it has ever issued, so a spent token can be
+ * recognised as reused rather than merely unknown.
+ */
+public interface RefreshTokenDao {
+
+  /**
+   * Stores a new family, evicting the earliest-expiring families if the store is full.
+   *
+   * @param family the family with its first token hash
+   */
+  void save(RefreshTokenEntity family);
+
+  /**
+   * Finds the family that issued a refresh token, whether the token is current or already spent.
+   *
+   * @param tokenHash the token's hash
+   * @return an {@link Optional} containing the family if found, otherwise empty
+   */
+  Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+  /**
+   * Replaces a family's current token, but only if {@code expectedTokenHash} is still current.
+   * Of two concurrent refreshes with the same token exactly one succeeds.
+   *
+   * @param expectedTokenHash the hash of the token being spent
+   * @param next              the family with its new token hash and access token
+   * @return true if the family was rotated, false if the token was no longer current
+   */
+  boolean rotate(String expectedTokenHash, RefreshTokenEntity next);
+
+  /**
+   * Removes a family and every token hash it issued.
+   *
+   * @param familyId the family ID
+   * @return an {@link Optional} containing the removed family, or empty if it was not stored
+   */
+  Optional<RefreshTokenEntity> deleteById(String familyId);
+
+  /**
+   * Drops families that have expired by {@code now}.
+   *
+   * @param now the current instant
+   * @return the number of families removed
+   */
+  int deleteExpired(Instant now);
+
+  /** Number of stored families. */
+  int count();
+}
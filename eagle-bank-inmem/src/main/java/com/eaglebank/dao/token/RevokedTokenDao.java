@@ -0,0 +1,47 @@
+package com.eaglebank.dao.token;
+
+import com.eaglebank.domain.RevokedTokenEntity;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Data Access Object for revoked bearer tokens, keyed by token ID.
+ */
+public interface RevokedTokenDao {
+
+  /**
+   * Records a revoked token.
+   *
+   * @param token the token ID and the instant it expires
+   */
+  void save(RevokedTokenEntity token);
+
+  /**
+   * Cheap pre-check before {@link #findById}: false means the token was certainly never revoked,
+   * true means it probably was. Must not allocate, as it runs on every authenticated request.
+   *
+   * @param tokenId the token ID
+   * @return false if the token is definitely not stored
+   */
+  boolean mightContain(String tokenId);
+
+  /**
+   * Finds a revoked token by ID.
+   *
+   * @param tokenId the token ID
+   * @return an {@link Optional} containing the entry if found, otherwise empty
+   */
+  Optional<RevokedTokenEntity> findById(String tokenId);
+
+  /**
+   * Drops entries for tokens that have expired by {@code now}.
+   *
+   * @param now the current instant
+   * @return the number of entries removed
+   */
+  int deleteExpired(Instant now);
+
+  /** Number of stored entries. */
+  int count();
+}
@@ -0,0 +1,128 @@
+package com.eaglebank.dao.token.impl;
+
+import com.eaglebank.dao.token.RefreshTokenDao;
+import com.eaglebank.domain.RefreshTokenEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe in-memory implementation of {@link RefreshTokenDao}, bounded to {@code maxFamilies}.
+ * <p>
+ * Families are also kept in expiry order, so purging expired ones and making room when full both
+ * take them from the head rather than scanning the store; when full, the family closest to expiry
+ * is evicted. Writes are serialised on this DAO; lookups never lock.
+ * Sessions are deliberately not written to the write-ahead log: after a restart clients log in again.
+ */
+@Repository
+public class InMemoryRefreshTokenDao implements RefreshTokenDao {
+
+  private static final Comparator<Expiry> EXPIRY_ORDER =
+          Comparator.comparing(Expiry::expiresAt).thenComparing(Expiry::familyId);
+
+  private final int maxFamilies;
+
+  /** Primary storage: family ID → family */
+  private final Map<String, RefreshTokenEntity> familiesById = new ConcurrentHashMap<>();
+
+  /** Index: hash of every token a stored family has issued → family ID */
+  private final Map<String, String> familyIdsByTokenHash = new ConcurrentHashMap<>();
+
+  /** Every token hash each family has issued, so removing a family removes its index entries; guarded by this */
+  private final Map<String, List<String>> tokenHashesByFamilyId = new HashMap<>();
+
+  /** Stored families by expiry, earliest first; guarded by this */
+  private final NavigableSet<Expiry> byExpiry = new TreeSet<>(EXPIRY_ORDER);
+
+  public InMemoryRefreshTokenDao(@Value("${app.jwt.refresh.max-sessions:100000}") int maxFamilies) {
+    if (maxFamilies < 1) {
+      throw new IllegalArgumentException("Refresh token store size must be positive");
+    }
+    this.maxFamilies = maxFamilies;
+  }
+
+  @Override
+  public synchronized void save(RefreshTokenEntity family) {
+    if (family == null || family.getFamilyId() == null || family.getTokenHash() == null
+            || family.getExpiresAt() == null) {
+      throw new IllegalArgumentException("Family ID, token hash and expiry must not be null");
+    }
+    remove(family.getFamilyId());
+    while (familiesById.size() >= maxFamilies) {
+      remove(byExpiry.first().familyId());
+    }
+    familiesById.put(family.getFamilyId(), family);
+    byExpiry.add(new Expiry(family.getExpiresAt(), family.getFamilyId()));
+    index(family);
+  }
+
+  @Override
+  public Optional<RefreshTokenEntity> findByTokenHash(String tokenHash) {
+    String familyId = familyIdsByTokenHash.get(tokenHash);
+    return familyId == null ? Optional.empty() : Optional.ofNullable(familiesById.get(familyId));
+  }
+
+  @Override
+  public synchronized boolean rotate(String expectedTokenHash, RefreshTokenEntity next) {
+    RefreshTokenEntity current = familiesById.get(next.getFamilyId());
+    if (current == null || !current.getTokenHash().equals(expectedTokenHash)) {
+      return false;
+    }
+    // the expiry is fixed at login, so the family keeps its place in expiry order
+    next.setExpiresAt(current.getExpiresAt());
+    familiesById.put(next.getFamilyId(), next);
+    index(next);
+    return true;
+  }
+
+  @Override
+  public synchronized Optional<RefreshTokenEntity> deleteById(String familyId) {
+    return Optional.ofNullable(remove(familyId));
+  }
+
+  @Override
+  public synchronized int deleteExpired(Instant now) {
+    int removed = 0;
+    while (!byExpiry.isEmpty() && !now.isBefore(byExpiry.first().expiresAt())) {
+      remove(byExpiry.first().familyId());
+      removed++;
+    }
+    return removed;
+  }
+
+  @Override
+  public int count() {
+    return familiesById.size();
+  }
+
+  private void index(RefreshTokenEntity family) {
+    tokenHashesByFamilyId.computeIfAbsent(family.getFamilyId(), id -> new ArrayList<>()).add(family.getTokenHash());
+    familyIdsByTokenHash.put(family.getTokenHash(), family.getFamilyId());
+  }
+
+  private RefreshTokenEntity remove(String familyId) {
+    RefreshTokenEntity family = familiesById.remove(familyId);
+    if (family == null) {
+      return null;
+    }
+    byExpiry.remove(new Expiry(family.getExpiresAt(), familyId));
+    List<String> hashes = tokenHashesByFamilyId.remove(familyId);
+    if (hashes != null) {
+      hashes.forEach(familyIdsByTokenHash::remove);
+    }
+    return family;
+  }
+
+  private record Expiry(Instant expiresAt, String familyId) {
+  }
+}
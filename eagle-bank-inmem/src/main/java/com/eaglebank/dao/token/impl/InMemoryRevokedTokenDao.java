@@ -0,0 +1,122 @@
+package com.eaglebank.dao.token.impl;
+
+import com.eaglebank.dao.token.RevokedTokenDao;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import com.eaglebank.domain.RevokedTokenEntity;
+import com.eaglebank.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Thread-safe in-memory implementation of {@link RevokedTokenDao}, with a {@link BloomFilter} over
+ * the stored token IDs so that {@link #mightContain} answers "not revoked" without a map probe.
+ * <p>
+ * Saves are rare, so they are serialised on this DAO: that keeps the filter a superset of the map
+ * while {@link #deleteExpired} rebuilds it without the expired IDs. Lookups never lock.
+ * Expiry purges are not logged; expired entries left in the log are dropped on the next purge after replay.
+ */
+@Repository
+public class InMemoryRevokedTokenDao implements RevokedTokenDao, WalReplayTarget {
+
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  private final WriteAheadLog wal;
+  private final int expectedEntries;
+
+  /** Primary storage: token ID → revoked token */
+  private final Map<String, RevokedTokenEntity> tokensById = new ConcurrentHashMap<>();
+
+  /** Superset of the keys of {@link #tokensById}; replaced wholesale when expired entries are purged */
+  private volatile BloomFilter filter;
+
+  /** Volatile store with no write-ahead log. */
+  public InMemoryRevokedTokenDao(int expectedEntries) {
+    this(WriteAheadLog.disabled(), expectedEntries);
+  }
+
+  @Autowired
+  public InMemoryRevokedTokenDao(WriteAheadLog wal,
+                                 @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries) {
+    this.wal = wal;
+    this.expectedEntries = expectedEntries;
+    this.filter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+  }
+
+  @Override
+  public void save(RevokedTokenEntity token) {
+    if (token == null || token.getTokenId() == null || token.getExpiresAt() == null) {
+      throw new IllegalArgumentException("Token ID and expiry must not be null");
+    }
+    byte[] record = wal.enabled() ? WalCodec.encodeRevokedToken(token) : null;
+    wal.awaitDurable(put(token, record));
+  }
+
+  @Override
+  public boolean mightContain(String tokenId) {
+    return filter.mightContain(tokenId);
+  }
+
+  @Override
+  public Optional<RevokedTokenEntity> findById(String tokenId) {
+    return Optional.ofNullable(tokensById.get(tokenId));
+  }
+
+  @Override
+  public synchronized int deleteExpired(Instant now) {
+    int before = tokensById.size();
+    tokensById.values().removeIf(token -> !now.isBefore(token.getExpiresAt()));
+    // size the new filter for growth, so a revocation burst does not push it past its false-positive rate
+    BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, tokensById.size() * 2), FALSE_POSITIVE_RATE);
+    tokensById.keySet().forEach(rebuilt::add);
+    filter = rebuilt;
+    return before - tokensById.size();
+  }
+
+  @Override
+  public int count() {
+    return tokensById.size();
+  }
+
+  @Override
+  public Set<WalRecordType> recordTypes() {
+    return EnumSet.of(WalRecordType.TOKEN_REVOKE);
+  }
+
+  @Override
+  public void replay(WalRecordType type, byte[] payload) {
+    if (type != WalRecordType.TOKEN_REVOKE) {
+      throw new IllegalArgumentException("Not a token revocation record: " + type);
+    }
+    put(WalCodec.decodeRevokedToken(payload), null);
+  }
+
+  @Override
+  public void snapshot(BiConsumer<WalRecordType, byte[]> sink) {
+    Instant now = Instant.now();
+    for (RevokedTokenEntity token : tokensById.values()) {
+      if (now.isBefore(token.getExpiresAt())) {
+        sink.accept(WalRecordType.TOKEN_REVOKE, WalCodec.encodeRevokedToken(token));
+      }
+    }
+  }
+
+  private synchronized long put(RevokedTokenEntity token, byte[] record) {
+    long lsn = record != null ? wal.append(WalRecordType.TOKEN_REVOKE, record) : 0;
+    // filter before map, so a reader that finds the entry also passes the pre-check
+    filter.add(token.getTokenId());
+    tokensById.put(token.getTokenId(), token);
+    return lsn;
+  }
+}
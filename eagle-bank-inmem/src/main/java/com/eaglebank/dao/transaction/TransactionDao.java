@@ -4,6 +4,7 @@ import com.eaglebank.domain.TransactionEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object for managing {@link TransactionEntity} persistence operations.
@@ -18,6 +19,16 @@ public interface TransactionDao {
    */
   void save(TransactionEntity transaction);
 
+  /**
+   * Saves several transactions in order. Implementations backed by a write-ahead log wait for
+   * durability once for the whole batch instead of once per record.
+   *
+   * @param transactions the transaction entities to persist
+   */
+  default void saveAll(List<TransactionEntity> transactions) {
+    transactions.forEach(this::save);
+  }
+
   /**
    * Finds a transaction by its unique ID.
    *
@@ -33,4 +44,35 @@ public interface TransactionDao {
    * @return list of transactions for the given account
    */
   List<TransactionEntity> findByAccountNumber(String accountNumber);
+
+  /**
+   * Retrieves one page of an account's transactions, most recent first, starting
+   * directly at {@code beforeSequence} without visiting newer entries.
+   *
+   * @param accountNumber  the bank account number
+   * @param beforeSequence exclusive upper bound on {@link TransactionEntity#getSequence()};
+   *                       {@link Long#MAX_VALUE} for the first page
+   * @param limit          maximum number of transactions to return
+   * @return up to {@code limit} transactions with a sequence below {@code beforeSequence}
+   */
+  List<TransactionEntity> findByAccountNumber(String accountNumber, long beforeSequence, int limit);
+
+  /**
+   * Calls {@code action} with every account number that has a transaction history, in no
+   * particular order. Histories outlive their accounts, so this includes deleted accounts.
+   *
+   * @param action receives each account number
+   */
+  void forEachAccountNumber(Consumer<String> action);
+
+  /**
+   * Current store sizes, read by the metrics scrape.
+   *
+   * @return the number of stored transactions and of accounts with an indexed history
+   */
+  Stats stats();
+
+  /** Stored transactions, and keys in the account-number → history index. */
+  record Stats(int transactions, int accounts) {
+  }
 }
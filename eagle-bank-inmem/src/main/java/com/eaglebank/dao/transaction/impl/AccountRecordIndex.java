@@ -0,0 +1,82 @@
+package com.eaglebank.dao.transaction.impl;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of one account's record numbers in a {@link MappedTransactionDao}; the position
+ * of an entry is the transaction's sequence. Same chunked layout and publication rules as
+ * {@link AccountTransactionLog}, but holding primitive {@code long}s instead of entity references.
+ */
+final class AccountRecordIndex {
+
+  private static final int CHUNK_SHIFT = 10;
+  static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int INITIAL_FIRST_CHUNK = 8;
+
+  /** Chunk directory; copied into a larger array when it fills up */
+  private volatile long[][] chunks = new long[4][];
+
+  /** Number of published entries; written last on append so readers see a complete prefix */
+  private volatile int size;
+
+  /**
+   * Appends a record number. Callers that need the sequence before the record is written
+   * read {@link #size()} and append while holding this index's monitor.
+   */
+  synchronized void append(long record) {
+    int n = size;
+    int chunkIndex = n >>> CHUNK_SHIFT;
+    int offset = n & CHUNK_MASK;
+
+    long[][] dir = chunks;
+    if (chunkIndex == dir.length) {
+      dir = Arrays.copyOf(dir, dir.length << 1);
+      chunks = dir;
+    }
+
+    long[] chunk = dir[chunkIndex];
+    if (chunk == null) {
+      chunk = new long[chunkIndex == 0 ? INITIAL_FIRST_CHUNK : CHUNK_SIZE];
+      dir[chunkIndex] = chunk;
+    } else if (offset == chunk.length) {
+      chunk = Arrays.copyOf(chunk, Math.min(chunk.length << 1, CHUNK_SIZE));
+      dir[chunkIndex] = chunk;
+    }
+
+    chunk[offset] = record;
+    size = n + 1;
+  }
+
+  /** Number of record numbers currently visible to readers. */
+  int size() {
+    return size;
+  }
+
+  /** Record numbers oldest first. */
+  long[] oldestFirst() {
+    int n = size;
+    long[][] dir = chunks;
+    long[] out = new long[n];
+    for (int i = 0; i < n; i++) {
+      out[i] = dir[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+    }
+    return out;
+  }
+
+  /**
+   * Returns up to {@code limit} record numbers with a sequence below {@code beforeSequence},
+   * most recent first.
+   */
+  long[] newestFirst(long beforeSequence, int limit) {
+    int n = size;
+    long[][] dir = chunks;
+    int start = (int) Math.min(n, Math.max(0, beforeSequence));
+    int count = Math.min(start, Math.max(0, limit));
+    long[] out = new long[count];
+    for (int i = start - 1, j = 0; j < count; i--, j++) {
+      out[j] = dir[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+    }
+    return out;
+  }
+}
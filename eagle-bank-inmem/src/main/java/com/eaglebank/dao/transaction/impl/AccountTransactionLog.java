@@ -0,0 +1,92 @@
+package com.eaglebank.dao.transaction.impl;
+
+import com.eaglebank.domain.TransactionEntity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only history of one account's transactions, stored as chunked arrays of entity references.
+ * <p>
+ * Appends run under the log's monitor and publish the new entry through the volatile {@code size};
+ * readers take {@code size} once and iterate that stable prefix without locking. Full chunks are
+ * never copied, so an append is an array store (plus a new chunk every {@value #CHUNK_SIZE} entries).
+ * The first chunk starts small and doubles up to {@value #CHUNK_SIZE}, keeping rarely used accounts cheap.
+ */
+final class AccountTransactionLog {
+
+  private static final int CHUNK_SHIFT = 10;
+  static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int INITIAL_FIRST_CHUNK = 8;
+
+  /** Chunk directory; copied into a larger array when it fills up */
+  private volatile TransactionEntity[][] chunks = new TransactionEntity[4][];
+
+  /** Number of published entries; written last on append so readers see a complete prefix */
+  private volatile int size;
+
+  /** Appends a transaction; O(1) amortised, no per-entry node allocation. */
+  synchronized void append(TransactionEntity transaction) {
+    int n = size;
+    int chunkIndex = n >>> CHUNK_SHIFT;
+    int offset = n & CHUNK_MASK;
+
+    TransactionEntity[][] dir = chunks;
+    if (chunkIndex == dir.length) {
+      dir = Arrays.copyOf(dir, dir.length << 1);
+      chunks = dir;
+    }
+
+    TransactionEntity[] chunk = dir[chunkIndex];
+    if (chunk == null) {
+      chunk = new TransactionEntity[chunkIndex == 0 ? INITIAL_FIRST_CHUNK : CHUNK_SIZE];
+      dir[chunkIndex] = chunk;
+    } else if (offset == chunk.length) {
+      // only the first chunk grows; the old array stays valid for readers already holding it
+      chunk = Arrays.copyOf(chunk, Math.min(chunk.length << 1, CHUNK_SIZE));
+      dir[chunkIndex] = chunk;
+    }
+
+    transaction.setSequence(n);
+    chunk[offset] = transaction;
+    size = n + 1;
+  }
+
+  /** Number of transactions currently visible to readers. */
+  int size() {
+    return size;
+  }
+
+  /** Visits the published history in the order it was appended. */
+  void forEachOldestFirst(Consumer<TransactionEntity> action) {
+    int n = size;
+    TransactionEntity[][] dir = chunks;
+    for (int i = 0; i < n; i++) {
+      action.accept(dir[i >>> CHUNK_SHIFT][i & CHUNK_MASK]);
+    }
+  }
+
+  /** Returns the whole published history, most recent first, as an unmodifiable list. */
+  List<TransactionEntity> newestFirst() {
+    return newestFirst(Long.MAX_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns up to {@code limit} entries with a sequence below {@code beforeSequence}, most recent first.
+   * Jumps straight to the starting position, so the cost depends on the page size, not the history length.
+   */
+  List<TransactionEntity> newestFirst(long beforeSequence, int limit) {
+    int n = size;
+    TransactionEntity[][] dir = chunks;
+    int start = (int) Math.min(n, Math.max(0, beforeSequence));
+    int count = Math.min(start, Math.max(0, limit));
+    TransactionEntity[] out = new TransactionEntity[count];
+    for (int i = start - 1, j = 0; j < count; i--, j++) {
+      out[j] = dir[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+    }
+    return Collections.unmodifiableList(Arrays.asList(out));
+  }
+}
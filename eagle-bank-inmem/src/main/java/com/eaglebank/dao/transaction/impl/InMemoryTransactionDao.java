@@ -1,38 +1,152 @@
 package com.eaglebank.dao.transaction.impl;
 
 import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.dao.wal.WriteAheadLog;
 import com.eaglebank.domain.TransactionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Thread-safe in-memory implementation of {@link TransactionDao}.
- * Stores transactions in maps indexed by transaction ID and account number.
+ * Stores transactions by ID plus an append-only {@link AccountTransactionLog} per account,
+ * so listing an account's history never re-resolves IDs or locks against writers.
+ * Each accepted save is appended to the {@link WriteAheadLog} before it becomes visible in the account's history;
+ * a save the log refuses is withdrawn and leaves nothing behind.
+ * <p>
+ * The default store; {@code app.transactions.store=mapped} selects {@link MappedTransactionDao} instead.
  */
 @Repository
-public class InMemoryTransactionDao implements TransactionDao {
+@ConditionalOnProperty(name = "app.transactions.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTransactionDao implements TransactionDao, WalReplayTarget {
+
+  private final WriteAheadLog wal;
 
   /** Primary storage: transaction ID → TransactionEntity */
   private final Map<String, TransactionEntity> transactionsById = new ConcurrentHashMap<>();
 
-  /** Secondary index: account number → list of transaction IDs */
-  private final Map<String, List<String>> transactionIdsByAccount = new ConcurrentHashMap<>();
+  /** Secondary index: account number → append-only log of that account's transactions */
+  private final Map<String, AccountTransactionLog> logsByAccount = new ConcurrentHashMap<>();
+
+  /** Volatile store with no write-ahead log. */
+  public InMemoryTransactionDao() {
+    this(WriteAheadLog.disabled());
+  }
+
+  @Autowired
+  public InMemoryTransactionDao(WriteAheadLog wal) {
+    this.wal = wal;
+  }
 
+  /**
+   * Transactions are immutable once recorded, so saving an ID that already exists is rejected
+   * rather than silently replacing the earlier record.
+   */
   @Override
   public void save(TransactionEntity transaction) {
     Objects.requireNonNull(transaction, "Transaction must not be null");
     Objects.requireNonNull(transaction.getId(), "Transaction ID must not be null");
     Objects.requireNonNull(transaction.getAccountNumber(), "Account number must not be null");
 
-    transactionsById.put(transaction.getId(), transaction);
+    byte[] record = wal.enabled() ? WalCodec.encodeTransaction(transaction) : null;
+    if (transactionsById.putIfAbsent(transaction.getId(), transaction) != null) {
+      throw new IllegalStateException("Duplicate transaction ID: " + transaction.getId());
+    }
+    long lsn = log(transaction, record);
+    appendToAccountLog(transaction);
+    wal.awaitDurable(lsn);
+  }
+
+  /**
+   * Saves the batch, then waits for durability once it is all in the log, so the batch shares a
+   * group commit. IDs are checked before anything is written: a batch repeating an ID, or holding
+   * one that is already stored, is rejected whole.
+   */
+  @Override
+  public void saveAll(List<TransactionEntity> transactions) {
+    Set<String> ids = new HashSet<>();
+    byte[][] records = new byte[transactions.size()][];
+    for (int i = 0; i < records.length; i++) {
+      TransactionEntity transaction = transactions.get(i);
+      Objects.requireNonNull(transaction, "Transaction must not be null");
+      Objects.requireNonNull(transaction.getId(), "Transaction ID must not be null");
+      Objects.requireNonNull(transaction.getAccountNumber(), "Account number must not be null");
+      if (!ids.add(transaction.getId()) || transactionsById.containsKey(transaction.getId())) {
+        throw new IllegalStateException("Duplicate transaction ID: " + transaction.getId());
+      }
+      records[i] = wal.enabled() ? WalCodec.encodeTransaction(transaction) : null;
+    }
+
+    long[] lsns = new long[records.length];
+    try {
+      for (int i = 0; i < records.length; i++) {
+        TransactionEntity transaction = transactions.get(i);
+        if (transactionsById.putIfAbsent(transaction.getId(), transaction) != null) {
+          throw new IllegalStateException("Duplicate transaction ID: " + transaction.getId());
+        }
+        lsns[i] = log(transaction, records[i]);
+        appendToAccountLog(transaction);
+      }
+    } finally {
+      for (long lsn : lsns) {
+        wal.awaitDurable(lsn);
+      }
+    }
+  }
+
+  /**
+   * Appends the record of a transaction already claimed in {@link #transactionsById}. If the log
+   * refuses it, the claim is withdrawn, so no transaction stays visible without a log record.
+   */
+  private long log(TransactionEntity transaction, byte[] record) {
+    if (record == null) {
+      return 0;
+    }
+    try {
+      return wal.append(WalRecordType.TRANSACTION_SAVE, record);
+    } catch (RuntimeException e) {
+      transactionsById.remove(transaction.getId(), transaction);
+      throw e;
+    }
+  }
+
+  @Override
+  public Set<WalRecordType> recordTypes() {
+    return EnumSet.of(WalRecordType.TRANSACTION_SAVE);
+  }
+
+  /** Re-applies a logged transaction; one that is already present is skipped. */
+  @Override
+  public void replay(WalRecordType type, byte[] payload) {
+    if (type != WalRecordType.TRANSACTION_SAVE) {
+      throw new IllegalArgumentException("Not a transaction record: " + type);
+    }
+    TransactionEntity transaction = WalCodec.decodeTransaction(payload);
+    if (transactionsById.putIfAbsent(transaction.getId(), transaction) == null) {
+      appendToAccountLog(transaction);
+    }
+  }
+
+  /** Emits each account's history oldest first, so replay reassigns the same sequences. */
+  @Override
+  public void snapshot(BiConsumer<WalRecordType, byte[]> sink) {
+    for (AccountTransactionLog log : logsByAccount.values()) {
+      log.forEachOldestFirst(tx -> sink.accept(WalRecordType.TRANSACTION_SAVE, WalCodec.encodeTransaction(tx)));
+    }
+  }
 
-    // Ensure insertion at the head of the list (most recent first)
-    transactionIdsByAccount
-            .computeIfAbsent(transaction.getAccountNumber(), k -> Collections.synchronizedList(new LinkedList<>()))
-            .add(0, transaction.getId());
+  private void appendToAccountLog(TransactionEntity transaction) {
+    logsByAccount
+            .computeIfAbsent(transaction.getAccountNumber(), k -> new AccountTransactionLog())
+            .append(transaction);
   }
 
   @Override
@@ -42,11 +156,23 @@ public class InMemoryTransactionDao implements TransactionDao {
 
   @Override
   public List<TransactionEntity> findByAccountNumber(String accountNumber) {
-    return transactionIdsByAccount
-            .getOrDefault(accountNumber, List.of())
-            .stream()
-            .map(transactionsById::get)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toUnmodifiableList());
+    AccountTransactionLog log = logsByAccount.get(accountNumber);
+    return log == null ? List.of() : log.newestFirst();
+  }
+
+  @Override
+  public List<TransactionEntity> findByAccountNumber(String accountNumber, long beforeSequence, int limit) {
+    AccountTransactionLog log = logsByAccount.get(accountNumber);
+    return log == null ? List.of() : log.newestFirst(beforeSequence, limit);
+  }
+
+  @Override
+  public void forEachAccountNumber(Consumer<String> action) {
+    logsByAccount.keySet().forEach(action);
+  }
+
+  @Override
+  public Stats stats() {
+    return new Stats(transactionsById.size(), logsByAccount.size());
   }
 }
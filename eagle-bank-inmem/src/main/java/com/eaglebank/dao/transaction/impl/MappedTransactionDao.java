@@ -0,0 +1,398 @@
+package com.eaglebank.dao.transaction.impl;
+
+import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * {@link TransactionDao} that keeps transaction history off the Java heap, in memory-mapped segment files.
+ * <p>
+ * Each transaction is one fixed-layout {@value #RECORD_BYTES}-byte record; record {@code n} lives at a
+ * computable offset of segment {@code n / recordsPerSegment}. The heap holds only two offset indexes:
+ * transaction ID → record number, and per account the record numbers in sequence order
+ * ({@link AccountRecordIndex}). Lookups decode entities straight from the mapped pages, so the
+ * page cache rather than the GC-managed heap carries the history, and every read returns a fresh entity.
+ * <p>
+ * The segment files are working storage, not a durable store: they are cleared on startup and
+ * refilled by {@link com.eaglebank.dao.wal.WalRecovery}, so the write-ahead log remains the single
+ * source of truth shared with the other DAOs. String fields have fixed capacities and a save whose
+ * values do not fit is rejected with {@link IllegalArgumentException}.
+ * <p>
+ * Selected with {@code app.transactions.store=mapped}.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.transactions.store", havingValue = "mapped")
+public class MappedTransactionDao implements TransactionDao, WalReplayTarget {
+
+  static final int RECORD_BYTES = 512;
+
+  /*
+   * Record layout (big-endian):
+   *   0 amount pence (long)     8 sequence (long)        16 created epoch second (long)
+   *  24 created nanos (int)    28 created offset s (int) 32 flags (byte)
+   *  40.. strings, each a short length (-1 for null) followed by a fixed-capacity UTF-8 area
+   */
+  private static final int AMOUNT = 0;
+  private static final int SEQUENCE = 8;
+  private static final int CREATED_SECONDS = 16;
+  private static final int CREATED_NANOS = 24;
+  private static final int CREATED_OFFSET = 28;
+  private static final int FLAGS = 32;
+  private static final Field ID = new Field(40, 48);
+  private static final Field ACCOUNT_NUMBER = new Field(90, 16);
+  private static final Field USER_ID = new Field(108, 48);
+  private static final Field CURRENCY = new Field(158, 8);
+  private static final Field TYPE = new Field(168, 24);
+  /** 266 bytes holds any 88-character reference, the API maximum, at 3 UTF-8 bytes per char */
+  private static final Field REFERENCE = new Field(194, 266);
+  private static final Field RELATED_ID = new Field(462, 48);
+
+  private static final int HAS_AMOUNT = 1;
+  private static final int HAS_CREATED = 2;
+
+  /** Placeholder in {@link #recordsById} while a save holding that ID is still being written */
+  private static final long PENDING = -1;
+
+  private static final String SEGMENT_GLOB = "transactions-*.seg";
+
+  private final WriteAheadLog wal;
+  private final Path directory;
+  private final int recordsPerSegment;
+
+  /** Transaction ID → record number */
+  private final Map<String, Long> recordsById = new ConcurrentHashMap<>();
+
+  /** Account number → that account's record numbers, oldest first */
+  private final Map<String, AccountRecordIndex> indexesByAccount = new ConcurrentHashMap<>();
+
+  private final AtomicLong nextRecord = new AtomicLong();
+
+  /** Mapped segments by number; grown under this DAO's monitor, read without locking */
+  private volatile MappedByteBuffer[] segments = new MappedByteBuffer[8];
+
+  @Autowired
+  public MappedTransactionDao(WriteAheadLog wal,
+                              @Value("${app.transactions.mapped.dir:data/transactions}") String directory,
+                              @Value("${app.transactions.mapped.segment-bytes:67108864}") long segmentBytes) throws IOException {
+    this(Path.of(directory), segmentBytes, wal);
+  }
+
+  /**
+   * Opens the store in {@code directory}, deleting segment files left by a previous run.
+   *
+   * @param segmentBytes size of each mapped segment file; rounded down to whole records, at most 2 GB
+   */
+  public MappedTransactionDao(Path directory, long segmentBytes, WriteAheadLog wal) throws IOException {
+    if (segmentBytes < RECORD_BYTES || segmentBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Segment size must be between " + RECORD_BYTES + " and "
+              + Integer.MAX_VALUE + " bytes: " + segmentBytes);
+    }
+    this.wal = wal;
+    this.directory = directory;
+    this.recordsPerSegment = (int) (segmentBytes / RECORD_BYTES);
+    Files.createDirectories(directory);
+    try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+      for (Path file : stale) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Transactions are immutable once recorded, so saving an ID that already exists is rejected
+   * rather than silently replacing the earlier record.
+   */
+  @Override
+  public void save(TransactionEntity transaction) {
+    Objects.requireNonNull(transaction, "Transaction must not be null");
+    Objects.requireNonNull(transaction.getId(), "Transaction ID must not be null");
+    Objects.requireNonNull(transaction.getAccountNumber(), "Account number must not be null");
+
+    byte[] image = encode(transaction);
+    byte[] record = wal.enabled() ? WalCodec.encodeTransaction(transaction) : null;
+    if (recordsById.putIfAbsent(transaction.getId(), PENDING) != null) {
+      throw new IllegalStateException("Duplicate transaction ID: " + transaction.getId());
+    }
+    long lsn = log(transaction.getId(), record);
+    transaction.setSequence(store(transaction.getId(), transaction.getAccountNumber(), image));
+    wal.awaitDurable(lsn);
+  }
+
+  /**
+   * Saves the batch, then waits for durability once it is all in the log. Every item is encoded
+   * and its ID checked before anything is written, so an ID clash or a field that does not fit
+   * the record layout rejects the whole batch.
+   */
+  @Override
+  public void saveAll(List<TransactionEntity> transactions) {
+    Set<String> ids = new HashSet<>();
+    byte[][] images = new byte[transactions.size()][];
+    byte[][] records = new byte[transactions.size()][];
+    for (int i = 0; i < images.length; i++) {
+      TransactionEntity transaction = transactions.get(i);
+      Objects.requireNonNull(transaction, "Transaction must not be null");
+      Objects.requireNonNull(transaction.getId(), "Transaction ID must not be null");
+      Objects.requireNonNull(transaction.getAccountNumber(), "Account number must not be null");
+      if (!ids.add(transaction.getId()) || recordsById.containsKey(transaction.getId())) {
+        throw new IllegalStateException("Duplicate transaction ID: " + transaction.getId());
+      }
+      images[i] = encode(transaction);
+      records[i] = wal.enabled() ? WalCodec.encodeTransaction(transaction) : null;
+    }
+
+    long[] lsns = new long[images.length];
+    try {
+      for (int i = 0; i < images.length; i++) {
+        TransactionEntity transaction = transactions.get(i);
+        if (recordsById.putIfAbsent(transaction.getId(), PENDING) != null) {
+          throw new IllegalStateException("Duplicate transaction ID: " + transaction.getId());
+        }
+        lsns[i] = log(transaction.getId(), records[i]);
+        transaction.setSequence(store(transaction.getId(), transaction.getAccountNumber(), images[i]));
+      }
+    } finally {
+      for (long lsn : lsns) {
+        wal.awaitDurable(lsn);
+      }
+    }
+  }
+
+  /**
+   * Appends the record of a transaction whose ID is reserved as {@link #PENDING}. If the log
+   * refuses it, the reservation is released so the ID is neither lost nor left half-written.
+   */
+  private long log(String id, byte[] record) {
+    if (record == null) {
+      return 0;
+    }
+    try {
+      return wal.append(WalRecordType.TRANSACTION_SAVE, record);
+    } catch (RuntimeException e) {
+      recordsById.remove(id, PENDING);
+      throw e;
+    }
+  }
+
+  @Override
+  public Set<WalRecordType> recordTypes() {
+    return EnumSet.of(WalRecordType.TRANSACTION_SAVE);
+  }
+
+  /** Re-applies a logged transaction; one that is already present is skipped. */
+  @Override
+  public void replay(WalRecordType type, byte[] payload) {
+    if (type != WalRecordType.TRANSACTION_SAVE) {
+      throw new IllegalArgumentException("Not a transaction record: " + type);
+    }
+    TransactionEntity transaction = WalCodec.decodeTransaction(payload);
+    byte[] image = encode(transaction);
+    if (recordsById.putIfAbsent(transaction.getId(), PENDING) == null) {
+      store(transaction.getId(), transaction.getAccountNumber(), image);
+    }
+  }
+
+  /** Emits each account's history oldest first, so replay reassigns the same sequences. */
+  @Override
+  public void snapshot(BiConsumer<WalRecordType, byte[]> sink) {
+    for (AccountRecordIndex index : indexesByAccount.values()) {
+      for (long record : index.oldestFirst()) {
+        sink.accept(WalRecordType.TRANSACTION_SAVE, WalCodec.encodeTransaction(read(record)));
+      }
+    }
+  }
+
+  @Override
+  public Optional<TransactionEntity> findById(String transactionId) {
+    Long record = recordsById.get(transactionId);
+    return record == null || record == PENDING ? Optional.empty() : Optional.of(read(record));
+  }
+
+  @Override
+  public List<TransactionEntity> findByAccountNumber(String accountNumber) {
+    return findByAccountNumber(accountNumber, Long.MAX_VALUE, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<TransactionEntity> findByAccountNumber(String accountNumber, long beforeSequence, int limit) {
+    AccountRecordIndex index = indexesByAccount.get(accountNumber);
+    if (index == null) {
+      return List.of();
+    }
+    long[] records = index.newestFirst(beforeSequence, limit);
+    TransactionEntity[] out = new TransactionEntity[records.length];
+    for (int i = 0; i < records.length; i++) {
+      out[i] = read(records[i]);
+    }
+    return Collections.unmodifiableList(Arrays.asList(out));
+  }
+
+  @Override
+  public void forEachAccountNumber(Consumer<String> action) {
+    indexesByAccount.keySet().forEach(action);
+  }
+
+  @Override
+  public Stats stats() {
+    return new Stats(recordsById.size(), indexesByAccount.size());
+  }
+
+  /**
+   * Writes the encoded record at the next free slot and publishes it in both indexes.
+   * The account index's monitor is held across sequence assignment and append, so an account's
+   * sequences follow its record order. Returns the assigned sequence.
+   */
+  private long store(String id, String accountNumber, byte[] image) {
+    AccountRecordIndex index = indexesByAccount.computeIfAbsent(accountNumber, k -> new AccountRecordIndex());
+    long sequence;
+    long record;
+    try {
+      synchronized (index) {
+        sequence = index.size();
+        record = nextRecord.getAndIncrement();
+        ByteBuffer.wrap(image).putLong(SEQUENCE, sequence);
+        segment(record).put(offset(record), image);
+        index.append(record);
+      }
+    } catch (RuntimeException e) {
+      recordsById.remove(id, PENDING);
+      throw e;
+    }
+    recordsById.put(id, record);
+    return sequence;
+  }
+
+  /** Decodes a record in place from its mapped segment. */
+  private TransactionEntity read(long record) {
+    MappedByteBuffer segment = segment(record);
+    int base = offset(record);
+    int flags = segment.get(base + FLAGS);
+    return TransactionEntity.builder()
+            .id(readString(segment, base, ID))
+            .accountNumber(readString(segment, base, ACCOUNT_NUMBER))
+            .userId(readString(segment, base, USER_ID))
+            .amount((flags & HAS_AMOUNT) != 0 ? Money.ofPence(segment.getLong(base + AMOUNT)) : null)
+            .currency(readString(segment, base, CURRENCY))
+            .type(readString(segment, base, TYPE))
+            .reference(readString(segment, base, REFERENCE))
+            .relatedTransactionId(readString(segment, base, RELATED_ID))
+            .sequence(segment.getLong(base + SEQUENCE))
+            .created((flags & HAS_CREATED) != 0 ? readTime(segment, base) : null)
+            .build();
+  }
+
+  /** Encodes everything but the sequence, which {@link #store} fills in under the account's lock. */
+  private static byte[] encode(TransactionEntity transaction) {
+    byte[] image = new byte[RECORD_BYTES];
+    ByteBuffer buffer = ByteBuffer.wrap(image);
+    int flags = 0;
+    if (transaction.getAmount() != null) {
+      buffer.putLong(AMOUNT, transaction.getAmount().pence());
+      flags |= HAS_AMOUNT;
+    }
+    OffsetDateTime created = transaction.getCreated();
+    if (created != null) {
+      buffer.putLong(CREATED_SECONDS, created.toEpochSecond());
+      buffer.putInt(CREATED_NANOS, created.getNano());
+      buffer.putInt(CREATED_OFFSET, created.getOffset().getTotalSeconds());
+      flags |= HAS_CREATED;
+    }
+    buffer.put(FLAGS, (byte) flags);
+    writeString(buffer, ID, "id", transaction.getId());
+    writeString(buffer, ACCOUNT_NUMBER, "accountNumber", transaction.getAccountNumber());
+    writeString(buffer, USER_ID, "userId", transaction.getUserId());
+    writeString(buffer, CURRENCY, "currency", transaction.getCurrency());
+    writeString(buffer, TYPE, "type", transaction.getType());
+    writeString(buffer, REFERENCE, "reference", transaction.getReference());
+    writeString(buffer, RELATED_ID, "relatedTransactionId", transaction.getRelatedTransactionId());
+    return image;
+  }
+
+  private static void writeString(ByteBuffer buffer, Field field, String name, String value) {
+    if (value == null) {
+      buffer.putShort(field.offset(), (short) -1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > field.capacity()) {
+      throw new IllegalArgumentException("Transaction " + name + " exceeds " + field.capacity() + " bytes");
+    }
+    buffer.putShort(field.offset(), (short) bytes.length);
+    buffer.put(field.offset() + Short.BYTES, bytes);
+  }
+
+  private static String readString(MappedByteBuffer segment, int base, Field field) {
+    int length = segment.getShort(base + field.offset());
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    segment.get(base + field.offset() + Short.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static OffsetDateTime readTime(MappedByteBuffer segment, int base) {
+    Instant instant = Instant.ofEpochSecond(segment.getLong(base + CREATED_SECONDS), segment.getInt(base + CREATED_NANOS));
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(segment.getInt(base + CREATED_OFFSET)));
+  }
+
+  private int offset(long record) {
+    return (int) (record % recordsPerSegment) * RECORD_BYTES;
+  }
+
+  private MappedByteBuffer segment(long record) {
+    int number = (int) (record / recordsPerSegment);
+    MappedByteBuffer[] current = segments;
+    MappedByteBuffer segment = number < current.length ? current[number] : null;
+    return segment != null ? segment : mapSegment(number);
+  }
+
+  /** Creates and maps segment {@code number}; the mapping stays valid after its channel is closed. */
+  private synchronized MappedByteBuffer mapSegment(int number) {
+    MappedByteBuffer[] current = segments;
+    if (number < current.length && current[number] != null) {
+      return current[number];
+    }
+    if (number >= current.length) {
+      current = Arrays.copyOf(current, Math.max(number + 1, current.length << 1));
+    }
+    Path file = directory.resolve(String.format("transactions-%06d.seg", number));
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      current[number] = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_BYTES);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot map transaction segment " + file, e);
+    }
+    segments = current;
+    return current[number];
+  }
+
+  /** Fixed-capacity string area: a length short at {@code offset} followed by {@code capacity} bytes. */
+  private record Field(int offset, int capacity) { }
+}
@@ -32,4 +32,15 @@ public interface UserDao {
    * @return an {@link Optional} containing the user if found, otherwise empty
    */
   Optional<UserEntity> findByEmail(String email);
+
+  /**
+   * Current store sizes, read by the metrics scrape.
+   *
+   * @return the number of stored users and of entries in the email index
+   */
+  Stats stats();
+
+  /** Stored users, and keys in the email → user ID index. */
+  record Stats(int users, int emails) {
+  }
 }
@@ -1,19 +1,30 @@
 package com.eaglebank.dao.user.impl;
 
 import com.eaglebank.dao.user.UserDao;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.dao.wal.WriteAheadLog;
 import com.eaglebank.domain.UserEntity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * Thread-safe in-memory implementation of {@link UserDao}.
  * Maintains user data indexed by both user ID and email address.
+ * Saves are sequenced into the {@link WriteAheadLog} under the user's map entry, in the order they are applied.
  */
 @Repository
-public class InMemoryUserDao implements UserDao {
+public class InMemoryUserDao implements UserDao, WalReplayTarget {
+
+  private final WriteAheadLog wal;
 
   /** Primary storage: user ID → UserEntity */
   private final Map<String, UserEntity> usersById = new ConcurrentHashMap<>();
@@ -21,14 +32,56 @@ public class InMemoryUserDao implements UserDao {
   /** Secondary index: email → user ID */
   private final Map<String, String> userIdByEmail = new ConcurrentHashMap<>();
 
+  /** Volatile store with no write-ahead log. */
+  public InMemoryUserDao() {
+    this(WriteAheadLog.disabled());
+  }
+
+  @Autowired
+  public InMemoryUserDao(WriteAheadLog wal) {
+    this.wal = wal;
+  }
+
   @Override
   public void save(UserEntity user) {
     if (user == null || user.getId() == null || user.getEmail() == null) {
       throw new IllegalArgumentException("User, ID, and email must not be null");
     }
 
-    usersById.put(user.getId(), user);
-    userIdByEmail.put(user.getEmail(), user.getId());
+    byte[] record = wal.enabled() ? WalCodec.encodeUser(user) : null;
+    wal.awaitDurable(put(user, record));
+  }
+
+  @Override
+  public Set<WalRecordType> recordTypes() {
+    return EnumSet.of(WalRecordType.USER_SAVE);
+  }
+
+  @Override
+  public void replay(WalRecordType type, byte[] payload) {
+    if (type != WalRecordType.USER_SAVE) {
+      throw new IllegalArgumentException("Not a user record: " + type);
+    }
+    put(WalCodec.decodeUser(payload), null);
+  }
+
+  @Override
+  public void snapshot(BiConsumer<WalRecordType, byte[]> sink) {
+    for (UserEntity user : usersById.values()) {
+      sink.accept(WalRecordType.USER_SAVE, WalCodec.encodeUser(user));
+    }
+  }
+
+  private long put(UserEntity user, byte[] record) {
+    long[] lsn = {0};
+    usersById.compute(user.getId(), (id, previous) -> {
+      if (record != null) {
+        lsn[0] = wal.append(WalRecordType.USER_SAVE, record);
+      }
+      userIdByEmail.put(user.getEmail(), id);
+      return user;
+    });
+    return lsn[0];
   }
 
   @Override
@@ -41,4 +94,9 @@ public class InMemoryUserDao implements UserDao {
     String id = userIdByEmail.get(email);
     return Optional.ofNullable(id).map(usersById::get);
   }
+
+  @Override
+  public Stats stats() {
+    return new Stats(usersById.size(), userIdByEmail.size());
+  }
 }
@@ -0,0 +1,51 @@
+package com.eaglebank.dao.wal;
+
+/** No-op {@link WriteAheadLog}: nothing is written and nothing is replayed. */
+final class DisabledWriteAheadLog implements WriteAheadLog {
+
+  static final DisabledWriteAheadLog INSTANCE = new DisabledWriteAheadLog();
+
+  private DisabledWriteAheadLog() {
+  }
+
+  @Override
+  public boolean enabled() {
+    return false;
+  }
+
+  @Override
+  public long append(WalRecordType type, byte[] payload) {
+    return 0;
+  }
+
+  @Override
+  public void awaitDurable(long lsn) {
+  }
+
+  @Override
+  public long atomically(Runnable body) {
+    body.run();
+    return 0;
+  }
+
+  @Override
+  public void sync() {
+  }
+
+  @Override
+  public long checkpoint() {
+    return 0;
+  }
+
+  @Override
+  public void replay(long afterLsn, Visitor visitor) {
+  }
+
+  @Override
+  public void truncateUpTo(long lsn) {
+  }
+
+  @Override
+  public void close() {
+  }
+}
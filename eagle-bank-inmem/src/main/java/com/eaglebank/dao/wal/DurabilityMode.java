@@ -0,0 +1,23 @@
+package com.eaglebank.dao.wal;
+
+import java.util.Locale;
+
+/**
+ * When a DAO write is acknowledged relative to the write-ahead log reaching disk.
+ */
+public enum DurabilityMode {
+
+  /** Wait until the batch holding the record has been written and fsynced. */
+  FSYNC_PER_BATCH,
+
+  /** Wait until the record has been written to the OS; fsync at most once per flush interval. */
+  TIME_BASED,
+
+  /** Return as soon as the record is queued; the writer writes and fsyncs in the background. */
+  ASYNC;
+
+  /** Parses property values such as {@code fsync-per-batch} or {@code TIME_BASED}. */
+  public static DurabilityMode fromProperty(String value) {
+    return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+  }
+}
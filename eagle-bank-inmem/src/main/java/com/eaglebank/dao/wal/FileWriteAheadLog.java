@@ -0,0 +1,591 @@
+package com.eaglebank.dao.wal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * File-backed {@link WriteAheadLog} with group commit.
+ * <p>
+ * Appenders only queue their record; a single writer thread drains whatever has queued up
+ * since its last pass into one buffer, issues one {@code write} and (depending on the
+ * {@link DurabilityMode}) one {@code fsync} for the whole batch, then wakes every appender
+ * the batch covered. Under load, many concurrent postings therefore share one fsync.
+ * <p>
+ * The log is a directory of segment files named after the first LSN they hold. Each record is
+ * {@code [int payloadLength][int crc32c][long lsn][byte type][payload]}; the CRC covers
+ * everything after itself. Segments are fsynced before the writer rolls over, so only the last one
+ * can end in a torn record (crash mid-write); it is truncated on open without reading older segments.
+ * Damage anywhere else (a bad record, or a gap before the next segment's first LSN) makes
+ * {@link #replay} fail rather than silently skip the records after it.
+ * <p>
+ * An {@link #atomically} group is one record like any other, so the CRC that rejects a torn record
+ * also rejects a torn group: recovery sees all of a posting or none of it.
+ */
+public final class FileWriteAheadLog implements WriteAheadLog {
+
+  private static final String SEGMENT_PREFIX = "wal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int HEADER_BYTES = 4 + 4 + 8 + 1;
+  private static final int MAX_PAYLOAD_BYTES = 16 << 20;
+
+  private final Path directory;
+  private final DurabilityMode mode;
+  private final long flushIntervalNanos;
+  private final long segmentBytes;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  /** Signalled when records are queued or the log is closing */
+  private final Condition workAvailable = lock.newCondition();
+  /** Signalled when writtenLsn / durableLsn advance or the writer fails */
+  private final Condition progress = lock.newCondition();
+
+  // ---- guarded by lock ----
+  private List<Record> queue = new ArrayList<>();
+  private long nextLsn;
+  private long writtenLsn;
+  private long durableLsn;
+  private boolean closed;
+  private IOException failure;
+  /** LSN returned by the last checkpoint; records at or below it belong to the drained epoch */
+  private long checkpointLsn;
+  /** Appended records at or below checkpointLsn whose awaitDurable has not been called yet */
+  private long unappliedBeforeCheckpoint;
+  /** Appended records above checkpointLsn whose awaitDurable has not been called yet */
+  private long unappliedAfterCheckpoint;
+  /** Bumped by each sync; a group belongs to the epoch it was opened in */
+  private long syncEpoch;
+  /** Open groups from before the last sync, which that sync waits for */
+  private long openGroupsBeforeSync;
+  /** Open groups from the current sync epoch */
+  private long openGroupsAfterSync;
+
+  /** Records buffered by the calling thread's open {@link #atomically} group; null outside one */
+  private final ThreadLocal<WalCodec.Out> group = new ThreadLocal<>();
+
+  // ---- writer thread only (after construction) ----
+  private FileChannel segment;
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(64 << 10);
+  private long batches;
+  private long syncs;
+
+  private final Thread writer;
+
+  /**
+   * Opens (or creates) the log in {@code directory}, truncating any torn tail record,
+   * and starts the writer thread.
+   *
+   * @param flushInterval upper bound on how long written records stay un-fsynced in
+   *                      {@link DurabilityMode#TIME_BASED} and {@link DurabilityMode#ASYNC} modes
+   * @param segmentBytes  size after which the writer rolls over to a new segment file
+   */
+  public FileWriteAheadLog(Path directory, DurabilityMode mode, long flushInterval, TimeUnit unit,
+                           long segmentBytes) throws IOException {
+    this.directory = directory;
+    this.mode = mode;
+    this.flushIntervalNanos = unit.toNanos(flushInterval);
+    this.segmentBytes = segmentBytes;
+
+    Files.createDirectories(directory);
+    long lastLsn = recoverTail();
+    this.nextLsn = lastLsn + 1;
+    this.writtenLsn = lastLsn;
+    this.durableLsn = lastLsn;
+
+    List<Path> segments = segments();
+    Path current = segments.isEmpty() ? segmentPath(nextLsn) : segments.get(segments.size() - 1);
+    this.segment = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    segment.position(segment.size());
+
+    this.writer = new Thread(this::runWriter, "wal-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public boolean enabled() {
+    return true;
+  }
+
+  @Override
+  public long append(WalRecordType type, byte[] payload) {
+    if (payload.length > MAX_PAYLOAD_BYTES) {
+      throw new IllegalArgumentException("Write-ahead log record too large: " + payload.length + " bytes");
+    }
+    WalCodec.Out open = group.get();
+    if (open != null) {
+      WalCodec.appendToGroup(open, type, payload);
+      return 0;
+    }
+    lock.lock();
+    try {
+      checkUsable();
+      long lsn = nextLsn++;
+      unappliedAfterCheckpoint++;
+      queue.add(new Record(lsn, type, payload));
+      workAvailable.signal();
+      return lsn;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void awaitDurable(long lsn) {
+    if (lsn <= 0) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (lsn <= checkpointLsn) {
+        if (--unappliedBeforeCheckpoint == 0) {
+          progress.signalAll();
+        }
+      } else {
+        unappliedAfterCheckpoint--;
+      }
+      if (mode == DurabilityMode.ASYNC) {
+        return;
+      }
+      while (reached() < lsn) {
+        if (failure != null) {
+          throw new UncheckedIOException("Write-ahead log failed", failure);
+        }
+        progress.awaitUninterruptibly();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Buffers the group in a thread-local payload and appends it when the body returns, so its LSN is
+   * taken at commit and the log stays in LSN order. The group is registered with {@link #sync} from
+   * before the body runs until its record is queued.
+   */
+  @Override
+  public long atomically(Runnable body) {
+    if (group.get() != null) {
+      body.run();
+      return 0;
+    }
+    long epoch = openGroup();
+    try {
+      WalCodec.Out records = new WalCodec.Out();
+      group.set(records);
+      try {
+        body.run();
+      } finally {
+        group.remove();
+      }
+      return records.size() > 0 ? append(WalRecordType.GROUP, records.toByteArray()) : 0;
+    } finally {
+      closeGroup(epoch);
+    }
+  }
+
+  /** Starts a new sync epoch, waits for the groups open before it, then for everything queued to be fsynced. */
+  @Override
+  public void sync() {
+    lock.lock();
+    try {
+      while (openGroupsBeforeSync > 0) {
+        progress.awaitUninterruptibly();
+      }
+      syncEpoch++;
+      openGroupsBeforeSync = openGroupsAfterSync;
+      openGroupsAfterSync = 0;
+      while (openGroupsBeforeSync > 0) {
+        progress.awaitUninterruptibly();
+      }
+      long target = nextLsn - 1;
+      while (durableLsn < target) {
+        if (failure != null) {
+          throw new UncheckedIOException("Write-ahead log failed", failure);
+        }
+        progress.awaitUninterruptibly();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Starts a new epoch at the current LSN and waits for the records appended before it to be
+   * applied. Appenders keep going meanwhile; their records land in the new epoch.
+   */
+  @Override
+  public long checkpoint() {
+    lock.lock();
+    try {
+      while (unappliedBeforeCheckpoint > 0) {
+        progress.awaitUninterruptibly();
+      }
+      checkpointLsn = nextLsn - 1;
+      unappliedBeforeCheckpoint = unappliedAfterCheckpoint;
+      unappliedAfterCheckpoint = 0;
+      while (unappliedBeforeCheckpoint > 0) {
+        progress.awaitUninterruptibly();
+      }
+      return checkpointLsn;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void replay(long afterLsn, Visitor visitor) {
+    try {
+      List<Path> segments = segments();
+      for (int i = 0; i < segments.size(); i++) {
+        if (i + 1 < segments.size() && firstLsn(segments.get(i + 1)) - 1 <= afterLsn) {
+          continue;
+        }
+        Path path = segments.get(i);
+        long[] last = {firstLsn(path) - 1};
+        long validBytes = readSegment(path, (lsn, type, payload) -> {
+          last[0] = lsn;
+          if (lsn > afterLsn) {
+            visitor.accept(lsn, type, payload);
+          }
+        });
+        if (i + 1 < segments.size()
+                && (validBytes < Files.size(path) || last[0] != firstLsn(segments.get(i + 1)) - 1)) {
+          throw new IOException("Write-ahead log segment " + path + " is damaged after byte " + validBytes
+                  + " (last valid LSN " + last[0] + ")");
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to replay write-ahead log", e);
+    }
+  }
+
+  /** Never deletes the newest segment, which the writer may still be appending to. */
+  @Override
+  public void truncateUpTo(long lsn) {
+    try {
+      List<Path> segments = segments();
+      for (int i = 0; i + 1 < segments.size(); i++) {
+        if (firstLsn(segments.get(i + 1)) - 1 > lsn) {
+          break;
+        }
+        Files.delete(segments.get(i));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to truncate write-ahead log", e);
+    }
+  }
+
+  /** Flushes everything queued, fsyncs, and stops the writer. */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      workAvailable.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      writer.join();
+      segment.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Number of batches written so far; with group commit this stays well below the record count. */
+  public long batchCount() {
+    lock.lock();
+    try {
+      return batches;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Number of fsyncs issued so far. */
+  public long syncCount() {
+    lock.lock();
+    try {
+      return syncs;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* --------------------- writer thread --------------------- */
+
+  private void runWriter() {
+    List<Record> batch = new ArrayList<>();
+    long lastSync = System.nanoTime();
+    boolean unsynced = false;
+    while (true) {
+      boolean closing;
+      lock.lock();
+      try {
+        while (queue.isEmpty() && !closed) {
+          if (!unsynced) {
+            workAvailable.awaitUninterruptibly();
+          } else {
+            long remaining = flushIntervalNanos - (System.nanoTime() - lastSync);
+            if (remaining <= 0) {
+              break;
+            }
+            awaitNanos(remaining);
+          }
+        }
+        closing = closed && queue.isEmpty();
+        List<Record> drained = queue;
+        queue = batch;
+        batch = drained;
+      } finally {
+        lock.unlock();
+      }
+
+      try {
+        if (!batch.isEmpty()) {
+          write(batch);
+          unsynced = true;
+        }
+        boolean intervalElapsed = System.nanoTime() - lastSync >= flushIntervalNanos;
+        if (unsynced && (mode == DurabilityMode.FSYNC_PER_BATCH || intervalElapsed || closing)) {
+          segment.force(false);
+          lastSync = System.nanoTime();
+          unsynced = false;
+          synced();
+        }
+        if (segment.size() >= segmentBytes && !batch.isEmpty()) {
+          rollSegment(batch.get(batch.size() - 1).lsn() + 1, unsynced);
+          unsynced = false;
+        }
+      } catch (IOException e) {
+        fail(e);
+        return;
+      }
+
+      lock.lock();
+      try {
+        if (!batch.isEmpty()) {
+          batches++;
+          writtenLsn = batch.get(batch.size() - 1).lsn();
+        }
+        if (!unsynced) {
+          durableLsn = writtenLsn;
+        }
+        progress.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      batch.clear();
+
+      if (closing) {
+        return;
+      }
+    }
+  }
+
+  private void write(List<Record> batch) throws IOException {
+    int total = 0;
+    for (Record record : batch) {
+      total += HEADER_BYTES + record.payload().length;
+    }
+    if (buffer.capacity() < total) {
+      buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(total - 1) << 1);
+    }
+    buffer.clear();
+    CRC32C crc = new CRC32C();
+    for (Record record : batch) {
+      int start = buffer.position();
+      buffer.putInt(record.payload().length);
+      buffer.putInt(0);
+      buffer.putLong(record.lsn());
+      buffer.put(record.type().code());
+      buffer.put(record.payload());
+      crc.reset();
+      crc.update(buffer.duplicate().position(start + 8).limit(buffer.position()));
+      buffer.putInt(start + 4, (int) crc.getValue());
+    }
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      segment.write(buffer);
+    }
+  }
+
+  private void rollSegment(long firstLsn, boolean unsynced) throws IOException {
+    if (unsynced) {
+      segment.force(false);
+      synced();
+    }
+    segment.close();
+    segment = FileChannel.open(segmentPath(firstLsn), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+  }
+
+  private void synced() {
+    lock.lock();
+    try {
+      syncs++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void fail(IOException e) {
+    lock.lock();
+    try {
+      failure = e;
+      progress.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void awaitNanos(long nanos) {
+    try {
+      workAvailable.awaitNanos(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Registers a group with the current sync epoch, which it belongs to until closed; returns that epoch. */
+  private long openGroup() {
+    lock.lock();
+    try {
+      checkUsable();
+      openGroupsAfterSync++;
+      return syncEpoch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Ends a group opened in {@code epoch}, waking a sync waiting for the groups of an earlier epoch. */
+  private void closeGroup(long epoch) {
+    lock.lock();
+    try {
+      if (epoch < syncEpoch) {
+        if (--openGroupsBeforeSync == 0) {
+          progress.signalAll();
+        }
+      } else {
+        openGroupsAfterSync--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Highest LSN that satisfies the durability mode; caller holds the lock. */
+  private long reached() {
+    return mode == DurabilityMode.FSYNC_PER_BATCH ? durableLsn : writtenLsn;
+  }
+
+  private void checkUsable() {
+    if (failure != null) {
+      throw new UncheckedIOException("Write-ahead log failed", failure);
+    }
+    if (closed) {
+      throw new IllegalStateException("Write-ahead log is closed");
+    }
+  }
+
+  /* --------------------- segment files --------------------- */
+
+  /**
+   * Scans the newest segment, truncates it after its last valid record, and returns the last
+   * LSN issued (0 for an empty log). An empty newest segment still fixes the LSN through its
+   * name, so LSNs keep increasing after older segments have been truncated away.
+   */
+  private long recoverTail() throws IOException {
+    List<Path> segments = segments();
+    if (segments.isEmpty()) {
+      return 0;
+    }
+    Path path = segments.get(segments.size() - 1);
+    long[] last = {firstLsn(path) - 1};
+    long validBytes = readSegment(path, (lsn, type, payload) -> last[0] = lsn);
+    if (validBytes < Files.size(path)) {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+        channel.truncate(validBytes);
+        channel.force(true);
+      }
+    }
+    return last[0];
+  }
+
+  /**
+   * Visits the valid records of one segment and returns the byte length of that valid prefix.
+   * The segment is memory-mapped, so replay decodes straight from the page cache.
+   */
+  private static long readSegment(Path path, Visitor visitor) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Write-ahead log segment too large: " + path);
+      }
+      MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      CRC32C crc = new CRC32C();
+      int position = 0;
+      while (size - position >= HEADER_BYTES) {
+        int length = data.getInt(position);
+        int expectedCrc = data.getInt(position + 4);
+        long lsn = data.getLong(position + 8);
+        WalRecordType type = WalRecordType.fromCode(data.get(position + 16));
+        if (length < 0 || length > MAX_PAYLOAD_BYTES || type == null || size - position - HEADER_BYTES < length) {
+          break;
+        }
+        crc.reset();
+        crc.update(data.slice(position + 8, HEADER_BYTES - 8 + length));
+        if ((int) crc.getValue() != expectedCrc) {
+          break;
+        }
+        byte[] payload = new byte[length];
+        data.get(position + HEADER_BYTES, payload);
+        visitor.accept(lsn, type, payload);
+        position += HEADER_BYTES + length;
+      }
+      return position;
+    }
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+              .filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+              })
+              .sorted()
+              .toList();
+    }
+  }
+
+  private static long firstLsn(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private Path segmentPath(long firstLsn) {
+    return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+  }
+
+  private record Record(long lsn, WalRecordType type, byte[] payload) { }
+}
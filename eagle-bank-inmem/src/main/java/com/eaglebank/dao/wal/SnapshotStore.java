@@ -0,0 +1,226 @@
+package com.eaglebank.dao.wal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time images of the DAOs, stored as compact binary files named after the LSN they cover.
+ * <p>
+ * A snapshot is {@code [int magic][long lsn]} followed by {@code [byte type][int length][payload]}
+ * records in {@link WalCodec} encoding, an end marker, the record count and a CRC32C of everything
+ * before it. Files are written under a temporary name, fsynced and renamed into place, so a crash
+ * never leaves a half-written snapshot that looks complete. The newest {@code retained} files are kept;
+ * the checksum is verified before anything is loaded, falling back to an older snapshot if it fails.
+ */
+public class SnapshotStore {
+
+  private static final String PREFIX = "snapshot-";
+  private static final String SUFFIX = ".snap";
+  private static final int MAGIC = 0x45425331;
+  private static final byte END = 0;
+
+  private final Path directory;
+  private final int retained;
+
+  public SnapshotStore(Path directory, int retained) {
+    if (retained < 1) {
+      throw new IllegalArgumentException("At least one snapshot must be retained");
+    }
+    this.directory = directory;
+    this.retained = retained;
+  }
+
+  /**
+   * Writes the sources' current state as a snapshot at {@code lsn} and prunes old snapshots.
+   *
+   * @return the LSN of the oldest snapshot still retained; log records up to it are no longer needed
+   */
+  public long write(long lsn, List<? extends WalReplayTarget> sources) throws IOException {
+    return write(lsn, sources, () -> { });
+  }
+
+  /**
+   * Like {@link #write(long, List)}, running {@code beforePublish} once the file is on disk but
+   * before it is renamed into place; if it throws, the snapshot is discarded.
+   */
+  public long write(long lsn, List<? extends WalReplayTarget> sources, Runnable beforePublish) throws IOException {
+    Files.createDirectories(directory);
+    Path target = path(lsn);
+    Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+    CRC32C crc = new CRC32C();
+    try (FileOutputStream file = new FileOutputStream(temp.toFile());
+         DataOutputStream out = new DataOutputStream(
+                 new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc))) {
+      out.writeInt(MAGIC);
+      out.writeLong(lsn);
+      long[] count = {0};
+      for (WalReplayTarget source : sources) {
+        source.snapshot((type, payload) -> {
+          try {
+            out.writeByte(type.code());
+            out.writeInt(payload.length);
+            out.write(payload);
+            count[0]++;
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+      out.writeByte(END);
+      out.writeLong(count[0]);
+      out.flush();
+      int checksum = (int) crc.getValue();
+      out.writeInt(checksum);
+      out.flush();
+      file.getFD().sync();
+    } catch (UncheckedIOException e) {
+      Files.deleteIfExists(temp);
+      throw e.getCause();
+    }
+
+    try {
+      beforePublish.run();
+    } catch (RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    syncDirectory();
+    return prune();
+  }
+
+  /**
+   * Replays the newest intact snapshot into the visitor (every record is reported with the
+   * snapshot's LSN).
+   *
+   * @return the LSN the loaded snapshot covers, or 0 if there is none
+   */
+  public long loadLatest(WriteAheadLog.Visitor visitor) throws IOException {
+    List<Path> snapshots = snapshots();
+    for (int i = snapshots.size() - 1; i >= 0; i--) {
+      Path snapshot = snapshots.get(i);
+      if (checksumMatches(snapshot)) {
+        return read(snapshot, visitor);
+      }
+    }
+    return 0;
+  }
+
+  /** LSNs of the snapshots on disk, oldest first. */
+  public List<Long> snapshotLsns() throws IOException {
+    return snapshots().stream().map(SnapshotStore::lsnOf).toList();
+  }
+
+  /** Checks the trailing CRC in large sequential reads before anything is applied. */
+  private static boolean checksumMatches(Path snapshot) throws IOException {
+    try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+      long body = channel.size() - Integer.BYTES;
+      if (body < Integer.BYTES + Long.BYTES + 1 + Long.BYTES) {
+        return false;
+      }
+      CRC32C crc = new CRC32C();
+      ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 20);
+      long position = 0;
+      while (position < body) {
+        chunk.clear().limit((int) Math.min(chunk.capacity(), body - position));
+        int read = channel.read(chunk, position);
+        if (read < 0) {
+          return false;
+        }
+        position += read;
+        crc.update(chunk.flip());
+      }
+      ByteBuffer stored = ByteBuffer.allocate(Integer.BYTES);
+      while (stored.hasRemaining()) {
+        if (channel.read(stored, body + stored.position()) < 0) {
+          return false;
+        }
+      }
+      return stored.getInt(0) == (int) crc.getValue();
+    }
+  }
+
+  private static long read(Path snapshot, WriteAheadLog.Visitor visitor) throws IOException {
+    try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a snapshot: " + snapshot);
+      }
+      long lsn = in.readLong();
+      long count = 0;
+      for (byte code = in.readByte(); code != END; code = in.readByte()) {
+        WalRecordType type = WalRecordType.fromCode(code);
+        int length = in.readInt();
+        if (type == null || length < 0) {
+          throw new IOException("Corrupt snapshot record in " + snapshot);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        visitor.accept(lsn, type, payload);
+        count++;
+      }
+      if (in.readLong() != count) {
+        throw new IOException("Snapshot record count mismatch: " + snapshot);
+      }
+      return lsn;
+    }
+  }
+
+  private long prune() throws IOException {
+    List<Path> snapshots = snapshots();
+    int excess = snapshots.size() - retained;
+    for (int i = 0; i < excess; i++) {
+      Files.delete(snapshots.get(i));
+    }
+    return lsnOf(snapshots.get(Math.max(excess, 0)));
+  }
+
+  private void syncDirectory() {
+    try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+      dir.force(true);
+    } catch (IOException e) {
+      // not every platform can fsync a directory; the rename itself is still atomic
+    }
+  }
+
+  private List<Path> snapshots() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+              .filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+              })
+              .sorted(Comparator.comparing(SnapshotStore::lsnOf))
+              .toList();
+    }
+  }
+
+  private static long lsnOf(Path snapshot) {
+    String name = snapshot.getFileName().toString();
+    return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+  }
+
+  private Path path(long lsn) {
+    return directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+  }
+}
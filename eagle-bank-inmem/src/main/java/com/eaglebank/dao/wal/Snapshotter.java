@@ -0,0 +1,102 @@
+package com.eaglebank.dao.wal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background snapshotter for the WAL-backed DAOs.
+ * <p>
+ * Every {@code app.snapshot.interval-ms} it checks how many records were logged since the last
+ * snapshot and, past {@code app.snapshot.min-records}, takes a new one: it asks the log for a
+ * checkpoint LSN (waiting only for mutations already in flight), streams the DAOs' current state to
+ * a {@link SnapshotStore} while writers carry on, then deletes log segments the retained snapshots cover.
+ * The image may include writes newer than its LSN; recovery replays the log after that LSN on top,
+ * and replay is idempotent, so the result is the same as replaying the full history.
+ * The image may also hold part of a posting still in progress, so it is only published once
+ * {@link WriteAheadLog#sync} has seen every such posting logged in full and fsynced.
+ */
+@Slf4j
+@Component
+public class Snapshotter {
+
+  private final WriteAheadLog wal;
+  private final SnapshotStore store;
+  private final List<WalReplayTarget> sources;
+  private final long intervalMs;
+  private final long minRecords;
+
+  private long lastSnapshotLsn;
+  private ScheduledExecutorService scheduler;
+
+  /** Takes {@link WalRecovery} so no snapshot can start before recovery has finished. */
+  public Snapshotter(WriteAheadLog wal, SnapshotStore store, List<WalReplayTarget> sources, WalRecovery recovery,
+                     @Value("${app.snapshot.interval-ms:300000}") long intervalMs,
+                     @Value("${app.snapshot.min-records:100000}") long minRecords) {
+    this.wal = wal;
+    this.store = store;
+    this.sources = sources;
+    this.intervalMs = intervalMs;
+    this.minRecords = minRecords;
+    this.lastSnapshotLsn = recovery.snapshotLsn();
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!wal.enabled() || intervalMs <= 0) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "snapshotter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::snapshotIfDue, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (scheduler != null) {
+      scheduler.shutdown();
+      scheduler.awaitTermination(30, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Takes a snapshot now and truncates the log behind it.
+   *
+   * @return the LSN the snapshot covers
+   */
+  public synchronized long snapshotNow() throws IOException {
+    return snapshotAt(wal.checkpoint());
+  }
+
+  private synchronized long snapshotAt(long lsn) throws IOException {
+    long start = System.nanoTime();
+    long oldestRetained = store.write(lsn, sources, wal::sync);
+    wal.truncateUpTo(oldestRetained);
+    lastSnapshotLsn = lsn;
+    log.info("Snapshot at LSN {} written in {} ms", lsn, (System.nanoTime() - start) / 1_000_000);
+    return lsn;
+  }
+
+  private void snapshotIfDue() {
+    try {
+      long lsn = wal.checkpoint();
+      if (lsn - lastSnapshotLsn >= minRecords) {
+        snapshotAt(lsn);
+      }
+    } catch (IOException | RuntimeException e) {
+      // keep the schedule alive; the log still holds everything, so nothing is lost
+      log.warn("Snapshot failed", e);
+    }
+  }
+}
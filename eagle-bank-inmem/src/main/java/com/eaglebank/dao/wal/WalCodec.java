@@ -0,0 +1,328 @@
+package com.eaglebank.dao.wal;
+
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.RevokedTokenEntity;
+import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.domain.UserEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Compact binary encoding of entities for write-ahead log records and snapshots.
+ * Strings are length-prefixed UTF-8 (length -1 for null), other nullable fields carry a presence
+ * byte, timestamps keep their offset. Encoding and decoding work directly on byte arrays.
+ * The transaction's per-account sequence is not stored, the DAO reassigns it on replay.
+ * Fields added later are appended at the end of a record and read as null when a record ends before them.
+ */
+public final class WalCodec {
+
+  private WalCodec() {
+  }
+
+  public static byte[] encodeUser(UserEntity user) {
+    return encode(out -> {
+      writeString(out, user.getId());
+      writeString(out, user.getName());
+      writeString(out, user.getPhoneNumber());
+      writeString(out, user.getEmail());
+      writeString(out, user.getPasswordHash());
+      UserEntity.Address address = user.getAddress();
+      out.putByte(address != null ? 1 : 0);
+      if (address != null) {
+        writeString(out, address.getLine1());
+        writeString(out, address.getLine2());
+        writeString(out, address.getLine3());
+        writeString(out, address.getTown());
+        writeString(out, address.getCounty());
+        writeString(out, address.getPostcode());
+      }
+      writeTime(out, user.getCreated());
+      writeTime(out, user.getUpdated());
+    });
+  }
+
+  public static UserEntity decodeUser(byte[] payload) {
+    return decode(payload, in -> {
+      UserEntity user = new UserEntity();
+      user.setId(readString(in));
+      user.setName(readString(in));
+      user.setPhoneNumber(readString(in));
+      user.setEmail(readString(in));
+      user.setPasswordHash(readString(in));
+      if (in.getByte() != 0) {
+        user.setAddress(UserEntity.Address.builder()
+                .line1(readString(in))
+                .line2(readString(in))
+                .line3(readString(in))
+                .town(readString(in))
+                .county(readString(in))
+                .postcode(readString(in))
+                .build());
+      }
+      user.setCreated(readTime(in));
+      user.setUpdated(readTime(in));
+      return user;
+    });
+  }
+
+  public static byte[] encodeAccount(AccountEntity account) {
+    return encode(out -> {
+      writeString(out, account.getAccountNumber());
+      writeString(out, account.getUserId());
+      writeString(out, account.getSortCode());
+      writeString(out, account.getName());
+      writeString(out, account.getAccountType());
+      writeMoney(out, account.getBalance());
+      writeString(out, account.getCurrency());
+      writeTime(out, account.getCreated());
+      writeTime(out, account.getUpdated());
+    });
+  }
+
+  public static AccountEntity decodeAccount(byte[] payload) {
+    return decode(payload, in -> AccountEntity.builder()
+            .accountNumber(readString(in))
+            .userId(readString(in))
+            .sortCode(readString(in))
+            .name(readString(in))
+            .accountType(readString(in))
+            .balance(readMoney(in))
+            .currency(readString(in))
+            .created(readTime(in))
+            .updated(readTime(in))
+            .build());
+  }
+
+  public static byte[] encodeTransaction(TransactionEntity transaction) {
+    return encode(out -> {
+      writeString(out, transaction.getId());
+      writeString(out, transaction.getAccountNumber());
+      writeString(out, transaction.getUserId());
+      writeMoney(out, transaction.getAmount());
+      writeString(out, transaction.getCurrency());
+      writeString(out, transaction.getType());
+      writeString(out, transaction.getReference());
+      writeTime(out, transaction.getCreated());
+      writeString(out, transaction.getRelatedTransactionId());
+    });
+  }
+
+  public static TransactionEntity decodeTransaction(byte[] payload) {
+    return decode(payload, in -> TransactionEntity.builder()
+            .id(readString(in))
+            .accountNumber(readString(in))
+            .userId(readString(in))
+            .amount(readMoney(in))
+            .currency(readString(in))
+            .type(readString(in))
+            .reference(readString(in))
+            .created(readTime(in))
+            .relatedTransactionId(in.hasRemaining() ? readString(in) : null)
+            .build());
+  }
+
+  public static byte[] encodeRevokedToken(RevokedTokenEntity token) {
+    return encode(out -> {
+      writeString(out, token.getTokenId());
+      out.putLong(token.getExpiresAt().getEpochSecond());
+      out.putInt(token.getExpiresAt().getNano());
+    });
+  }
+
+  public static RevokedTokenEntity decodeRevokedToken(byte[] payload) {
+    return decode(payload, in -> RevokedTokenEntity.builder()
+            .tokenId(readString(in))
+            .expiresAt(Instant.ofEpochSecond(in.getLong(), in.getInt()))
+            .build());
+  }
+
+  /** Encodes a bare key, e.g. the account number of a delete. */
+  public static byte[] encodeKey(String key) {
+    return encode(out -> writeString(out, key));
+  }
+
+  public static String decodeKey(byte[] payload) {
+    return decode(payload, WalCodec::readString);
+  }
+
+  /** Adds one record to the payload of a {@link WalRecordType#GROUP} record. */
+  static void appendToGroup(Out group, WalRecordType type, byte[] payload) {
+    group.putByte(type.code());
+    group.putInt(payload.length);
+    group.putBytes(payload);
+  }
+
+  /** Feeds each record of a {@link WalRecordType#GROUP} payload to the sink, in the order they were appended. */
+  public static void decodeGroup(byte[] payload, BiConsumer<WalRecordType, byte[]> sink) {
+    In in = new In(payload);
+    while (in.hasRemaining()) {
+      WalRecordType type;
+      byte[] record;
+      try {
+        type = WalRecordType.fromCode((byte) in.getByte());
+        record = in.getBytes(in.getInt());
+      } catch (IndexOutOfBoundsException e) {
+        throw new IllegalStateException("Corrupt write-ahead log record", e);
+      }
+      if (type == null || type == WalRecordType.GROUP) {
+        throw new IllegalStateException("Corrupt write-ahead log group");
+      }
+      sink.accept(type, record);
+    }
+  }
+
+  /* --------------------- field helpers --------------------- */
+
+  static void writeString(Out out, String value) {
+    if (value == null) {
+      out.putInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.putInt(bytes.length);
+    out.putBytes(bytes);
+  }
+
+  static String readString(In in) {
+    int length = in.getInt();
+    return length < 0 ? null : in.getString(length);
+  }
+
+  static void writeMoney(Out out, Money value) {
+    out.putByte(value != null ? 1 : 0);
+    if (value != null) {
+      out.putLong(value.pence());
+    }
+  }
+
+  static Money readMoney(In in) {
+    return in.getByte() != 0 ? Money.ofPence(in.getLong()) : null;
+  }
+
+  static void writeTime(Out out, OffsetDateTime value) {
+    out.putByte(value != null ? 1 : 0);
+    if (value != null) {
+      out.putLong(value.toEpochSecond());
+      out.putInt(value.getNano());
+      out.putInt(value.getOffset().getTotalSeconds());
+    }
+  }
+
+  static OffsetDateTime readTime(In in) {
+    if (in.getByte() == 0) {
+      return null;
+    }
+    Instant instant = Instant.ofEpochSecond(in.getLong(), in.getInt());
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.getInt()));
+  }
+
+  private static byte[] encode(Consumer<Out> writer) {
+    Out out = new Out();
+    writer.accept(out);
+    return out.toByteArray();
+  }
+
+  private static <T> T decode(byte[] payload, Function<In, T> reader) {
+    try {
+      return reader.apply(new In(payload));
+    } catch (IndexOutOfBoundsException e) {
+      throw new IllegalStateException("Corrupt write-ahead log record", e);
+    }
+  }
+
+  /** Big-endian writer over a growable array; avoids stream wrappers on the write path. */
+  static final class Out {
+    private byte[] buf = new byte[128];
+    private int pos;
+
+    void putByte(int v) {
+      ensure(1);
+      buf[pos++] = (byte) v;
+    }
+
+    void putInt(int v) {
+      ensure(4);
+      buf[pos++] = (byte) (v >>> 24);
+      buf[pos++] = (byte) (v >>> 16);
+      buf[pos++] = (byte) (v >>> 8);
+      buf[pos++] = (byte) v;
+    }
+
+    void putLong(long v) {
+      putInt((int) (v >>> 32));
+      putInt((int) v);
+    }
+
+    void putBytes(byte[] bytes) {
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buf, pos, bytes.length);
+      pos += bytes.length;
+    }
+
+    int size() {
+      return pos;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buf, pos);
+    }
+
+    private void ensure(int n) {
+      if (pos + n > buf.length) {
+        buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + n));
+      }
+    }
+  }
+
+  /** Big-endian reader over a record payload. */
+  static final class In {
+    private final byte[] buf;
+    private int pos;
+
+    In(byte[] buf) {
+      this.buf = buf;
+    }
+
+    boolean hasRemaining() {
+      return pos < buf.length;
+    }
+
+    int getByte() {
+      return buf[pos++];
+    }
+
+    int getInt() {
+      Objects.checkFromIndexSize(pos, 4, buf.length);
+      int v = ((buf[pos] & 0xff) << 24) | ((buf[pos + 1] & 0xff) << 16) | ((buf[pos + 2] & 0xff) << 8) | (buf[pos + 3] & 0xff);
+      pos += 4;
+      return v;
+    }
+
+    long getLong() {
+      return ((long) getInt() << 32) | (getInt() & 0xffffffffL);
+    }
+
+    byte[] getBytes(int length) {
+      Objects.checkFromIndexSize(pos, length, buf.length);
+      byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+      pos += length;
+      return bytes;
+    }
+
+    String getString(int length) {
+      Objects.checkFromIndexSize(pos, length, buf.length);
+      String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+      pos += length;
+      return s;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.eaglebank.dao.wal;
+
+/**
+ * Kind of mutation carried by a write-ahead log record.
+ * The code is what goes on disk, so existing codes must never be renumbered.
+ */
+public enum WalRecordType {
+  USER_SAVE(1),
+  ACCOUNT_SAVE(2),
+  ACCOUNT_DELETE(3),
+  TRANSACTION_SAVE(4),
+  TOKEN_REVOKE(5),
+  /** Several records logged as one by {@link WriteAheadLog#atomically}; replayed all together or not at all */
+  GROUP(6);
+
+  private final byte code;
+
+  WalRecordType(int code) {
+    this.code = (byte) code;
+  }
+
+  public byte code() {
+    return code;
+  }
+
+  /** Record type for an on-disk code, or null if the code is unknown. */
+  public static WalRecordType fromCode(byte code) {
+    for (WalRecordType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    return null;
+  }
+}
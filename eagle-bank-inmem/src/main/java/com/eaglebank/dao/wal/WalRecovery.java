@@ -0,0 +1,83 @@
+package com.eaglebank.dao.wal;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the in-memory DAOs at startup, before the application starts serving requests:
+ * loads the newest snapshot, then replays only the log records after the snapshot's LSN.
+ * Records are dispatched to the {@link WalReplayTarget} that owns their type; the records of a
+ * {@link WalRecordType#GROUP} are dispatched one by one, in the order they were appended.
+ */
+@Slf4j
+@Component
+public class WalRecovery {
+
+  private final WriteAheadLog wal;
+  private final SnapshotStore snapshots;
+  private final Map<WalRecordType, WalReplayTarget> targets = new EnumMap<>(WalRecordType.class);
+
+  /** LSN covered by the snapshot loaded at startup; 0 if recovery started from an empty state */
+  private long snapshotLsn;
+
+  public WalRecovery(WriteAheadLog wal, SnapshotStore snapshots, List<WalReplayTarget> replayTargets) {
+    this.wal = wal;
+    this.snapshots = snapshots;
+    for (WalReplayTarget target : replayTargets) {
+      for (WalRecordType type : target.recordTypes()) {
+        if (targets.putIfAbsent(type, target) != null) {
+          throw new IllegalStateException("More than one replay target for " + type);
+        }
+      }
+    }
+  }
+
+  @PostConstruct
+  public void recover() {
+    if (!wal.enabled()) {
+      return;
+    }
+    long start = System.nanoTime();
+    long[] loaded = {0};
+    try {
+      snapshotLsn = snapshots.loadLatest((lsn, type, payload) -> {
+        dispatch(lsn, type, payload);
+        loaded[0]++;
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load snapshot", e);
+    }
+    long[] replayed = {0};
+    wal.replay(snapshotLsn, (lsn, type, payload) -> {
+      dispatch(lsn, type, payload);
+      replayed[0]++;
+    });
+    if (loaded[0] + replayed[0] > 0) {
+      log.info("Recovered {} snapshot records (LSN {}) and {} log records in {} ms",
+              loaded[0], snapshotLsn, replayed[0], (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  public long snapshotLsn() {
+    return snapshotLsn;
+  }
+
+  private void dispatch(long lsn, WalRecordType type, byte[] payload) {
+    if (type == WalRecordType.GROUP) {
+      WalCodec.decodeGroup(payload, (part, record) -> dispatch(lsn, part, record));
+      return;
+    }
+    WalReplayTarget target = targets.get(type);
+    if (target == null) {
+      throw new IllegalStateException("No replay target for " + type + " at LSN " + lsn);
+    }
+    target.replay(type, payload);
+  }
+}
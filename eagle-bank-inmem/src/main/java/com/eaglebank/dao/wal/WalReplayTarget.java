@@ -0,0 +1,30 @@
+package com.eaglebank.dao.wal;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A DAO that can rebuild its state from write-ahead log records.
+ * Replay applies each record directly, without logging it again. Snapshots use the same
+ * records: {@link #snapshot} emits the current state and loading a snapshot replays it.
+ */
+public interface WalReplayTarget {
+
+  /** Record types this target owns; each type has exactly one owner. */
+  Set<WalRecordType> recordTypes();
+
+  /**
+   * Applies one logged mutation. Must be idempotent, since a record may be replayed
+   * on top of state that already contains it.
+   *
+   * @param type    the record type, one of {@link #recordTypes()}
+   * @param payload the encoded entity or key, as produced by {@link WalCodec}
+   */
+  void replay(WalRecordType type, byte[] payload);
+
+  /**
+   * Emits the current state as records that {@link #replay} rebuilds it from. Runs alongside
+   * writers, so the result may mix states; replaying the log after the snapshot's LSN fixes that up.
+   */
+  void snapshot(BiConsumer<WalRecordType, byte[]> sink);
+}
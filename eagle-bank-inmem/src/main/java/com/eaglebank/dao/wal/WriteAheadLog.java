@@ -0,0 +1,92 @@
+package com.eaglebank.dao.wal;
+
+import java.io.Closeable;
+
+/**
+ * Append-only log of DAO mutations.
+ * <p>
+ * A write is split in two so DAOs can sequence a record under their own per-key lock
+ * and wait for durability after releasing it: {@link #append} assigns the record its
+ * log sequence number (LSN) and queues it, {@link #awaitDurable} blocks until the record
+ * is as durable as the configured {@link DurabilityMode} requires.
+ * <p>
+ * Callers must call {@link #awaitDurable} exactly once per appended record, after the mutation
+ * is visible in memory; {@link #checkpoint} relies on that to know which records have been applied.
+ * <p>
+ * Records appended one by one are recovered independently: a crash can keep the first of two
+ * related records and lose the second. Mutations that must survive together, like the transaction
+ * and balance writes of one ledger posting, run inside {@link #atomically}, which logs them as one
+ * record that recovery replays whole or not at all.
+ */
+public interface WriteAheadLog extends Closeable {
+
+  /** Whether records are actually kept; DAOs skip encoding entirely when false. */
+  boolean enabled();
+
+  /**
+   * Queues a record for the log.
+   *
+   * @return the record's LSN; LSNs increase by one per record, starting at 1
+   */
+  long append(WalRecordType type, byte[] payload);
+
+  /**
+   * Marks the record as applied, then blocks until it satisfies the durability mode.
+   * An LSN of 0 (nothing logged) returns immediately.
+   */
+  void awaitDurable(long lsn);
+
+  /**
+   * Runs {@code body} and queues every record the calling thread appends during it as a single
+   * {@link WalRecordType#GROUP} record, without waiting for it; like {@link #append}, the caller
+   * passes the returned LSN to {@link #awaitDurable}, typically after releasing its own locks.
+   * Inside the body {@link #append} only buffers the record and returns 0, so the DAOs' own
+   * {@link #awaitDurable} calls return at once. If the body throws, nothing it appended is logged.
+   * A nested call joins the enclosing group and returns 0.
+   * <p>
+   * Records of one key must not be appended outside a group while a group holding that key is open,
+   * or the group, logged last, would replay over them; callers serialise such writes with their own locks.
+   */
+  long atomically(Runnable body);
+
+  /**
+   * Waits until every {@link #atomically} group open at the time of the call has been logged, and
+   * everything appended so far is durable. A snapshot calls this before it is published, so it
+   * never holds part of a group that the log could still lose.
+   */
+  void sync();
+
+  /**
+   * Returns an LSN such that every record up to and including it has been applied in memory.
+   * Only the caller waits for in-flight mutations to finish; writers are never paused.
+   */
+  long checkpoint();
+
+  /** Feeds every valid record on disk, in LSN order, to the visitor. */
+  default void replay(Visitor visitor) {
+    replay(0, visitor);
+  }
+
+  /** Feeds every valid record with an LSN above {@code afterLsn}, in LSN order, to the visitor. */
+  void replay(long afterLsn, Visitor visitor);
+
+  /**
+   * Deletes whole segments whose records all have an LSN at or below {@code lsn};
+   * called once a snapshot covering those records is safely on disk.
+   */
+  void truncateUpTo(long lsn);
+
+  @Override
+  void close();
+
+  /** Receives records during {@link #replay}. */
+  @FunctionalInterface
+  interface Visitor {
+    void accept(long lsn, WalRecordType type, byte[] payload);
+  }
+
+  /** A log that keeps nothing, used when durability is switched off and in unit tests. */
+  static WriteAheadLog disabled() {
+    return DisabledWriteAheadLog.INSTANCE;
+  }
+}
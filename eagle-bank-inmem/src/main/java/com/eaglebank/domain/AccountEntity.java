@@ -5,7 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 /**
@@ -35,7 +34,7 @@ public class AccountEntity {
 
   /** Current account balance */
   @Builder.Default
-  private BigDecimal balance = BigDecimal.ZERO;
+  private Money balance = Money.ZERO;
 
   /** ISO currency code (e.g., "GBP") */
   @Builder.Default
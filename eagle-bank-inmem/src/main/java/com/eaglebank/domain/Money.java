@@ -0,0 +1,98 @@
+package com.eaglebank.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable GBP amount held as a {@code long} count of pence.
+ * <p>
+ * Used for balances and transaction amounts throughout the domain, DAO and service layers;
+ * conversion to {@link BigDecimal} or {@code double} happens only in the API mappers.
+ * Arithmetic is overflow-checked and throws {@link ArithmeticException} instead of wrapping.
+ */
+public final class Money implements Comparable<Money> {
+
+  /** Minor units per major unit (pence per pound) */
+  private static final int SCALE = 2;
+
+  public static final Money ZERO = new Money(0);
+
+  private final long pence;
+
+  private Money(long pence) {
+    this.pence = pence;
+  }
+
+  /** Amount from a raw count of pence. */
+  public static Money ofPence(long pence) {
+    return pence == 0 ? ZERO : new Money(pence);
+  }
+
+  /**
+   * Amount from a decimal number of pounds.
+   *
+   * @throws IllegalArgumentException if the value has more than two decimal places or does not fit in a long
+   */
+  public static Money of(BigDecimal pounds) {
+    try {
+      return ofPence(pounds.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Amount must have at most two decimal places and fit the ledger: " + pounds, e);
+    }
+  }
+
+  /** Amount from a decimal string of pounds, e.g. {@code "12.34"}. */
+  public static Money parse(String pounds) {
+    return of(new BigDecimal(pounds));
+  }
+
+  public long pence() {
+    return pence;
+  }
+
+  public Money plus(Money other) {
+    return ofPence(Math.addExact(pence, other.pence));
+  }
+
+  public Money minus(Money other) {
+    return ofPence(Math.subtractExact(pence, other.pence));
+  }
+
+  public int signum() {
+    return Long.signum(pence);
+  }
+
+  public boolean isLessThan(Money other) {
+    return pence < other.pence;
+  }
+
+  /** Pounds as a BigDecimal with scale 2; API boundary only. */
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(pence, SCALE);
+  }
+
+  /** Pounds as a double; API boundary only (the generated models use {@code double}). */
+  public double toDouble() {
+    return toBigDecimal().doubleValue();
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(pence, other.pence);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Money other && pence == other.pence;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(pence);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+}
@@ -0,0 +1,38 @@
+package com.eaglebank.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One login session ("token family"): the refresh token currently valid for it and the access
+ * token last issued from it. Each refresh replaces both; the family itself expires at
+ * {@link #expiresAt}, fixed at login, after which the client must log in again.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenEntity {
+
+  /** Stable ID of the login session */
+  private String familyId;
+
+  private String userId;
+
+  private String email;
+
+  /** SHA-256 of the refresh token currently valid for this family; raw tokens are never stored */
+  private String tokenHash;
+
+  /** {@code jti} of the access token last issued from this family, revoked if the family is */
+  private String accessTokenId;
+
+  private Instant accessTokenExpiresAt;
+
+  /** When the session ends, regardless of refreshes */
+  private Instant expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.eaglebank.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A bearer token revoked before its natural expiry. Kept only until {@link #expiresAt},
+ * after which the token is rejected as expired anyway.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenEntity {
+
+  /** The token's {@code jti} claim */
+  private String tokenId;
+
+  /** When the token expires and this entry can be dropped */
+  private Instant expiresAt;
+}
@@ -5,7 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 /**
@@ -28,7 +27,7 @@ public class TransactionEntity {
   private String userId;
 
   /** Transaction amount (positive for deposits, negative for withdrawals) */
-  private BigDecimal amount;
+  private Money amount;
 
   /** ISO currency code (e.g., "GBP") */
   @Builder.Default
@@ -40,6 +39,12 @@ public class TransactionEntity {
   /** Optional reference or remark for the transaction */
   private String reference;
 
+  /** ID of the other leg when this transaction is one half of a transfer; null otherwise */
+  private String relatedTransactionId;
+
+  /** Position of this transaction in its account's history (0-based); assigned by the DAO on save */
+  private long sequence;
+
   /** Timestamp of when this transaction was created */
   @Builder.Default
   private OffsetDateTime created = OffsetDateTime.now();
@@ -2,6 +2,7 @@ package com.eaglebank.exception;
 
 import com.eaglebank.gen.model.ErrorResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -31,11 +32,28 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handle422() {
         return ResponseEntity.status(422).body(new ErrorResponse().message("Insufficient Funds"));
     }
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handle400(BadRequestException ex) {
+        return ResponseEntity.status(400).body(new ErrorResponse().message(ex.getMessage()));
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponse> handle404() {
         return ResponseEntity.status(404).body(new ErrorResponse().message("Not Found"));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handle429(TooManyRequestsException ex) {
+        return ResponseEntity.status(429).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse().message(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handle503(ServiceUnavailableException ex) {
+        return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse().message(ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, Object> body = new LinkedHashMap<>();
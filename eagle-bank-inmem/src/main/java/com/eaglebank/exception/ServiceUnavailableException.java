@@ -0,0 +1,8 @@
+package com.eaglebank.exception;
+
+/** The request was accepted but could not be served in time (503). */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eaglebank.exception;
+
+/** The server is shedding load for this kind of request; the client should retry later (429). */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
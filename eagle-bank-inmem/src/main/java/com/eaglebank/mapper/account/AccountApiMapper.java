@@ -1,26 +1,30 @@
 package com.eaglebank.mapper.account;
 
 import com.eaglebank.bo.AccountBO;
+import com.eaglebank.domain.Money;
 import com.eaglebank.gen.model.BankAccountResponse;
 import com.eaglebank.gen.model.CreateBankAccountRequest;
-import com.eaglebank.util.IdGenerator;
+import com.eaglebank.service.account.AccountNumberAllocator;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Component
+@RequiredArgsConstructor
 public class AccountApiMapper {
 
+    private final AccountNumberAllocator accountNumbers;
+
     /** Build a BO from the create request (controller boundary). */
     public AccountBO fromCreateRequest(CreateBankAccountRequest req, String userId) {
         return AccountBO.builder()
-                .accountNumber(IdGenerator.accountId())
+                .accountNumber(accountNumbers.allocate())
                 .ownerUserId(userId)
                 .sortCode("10-10-10")
                 .name(req.getName())
                 .accountType(req.getAccountType() != null ? req.getAccountType().getValue() : "personal")
-                .balance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
                 .currency("GBP")
                 .created(OffsetDateTime.now())
                 .updated(OffsetDateTime.now())
@@ -34,7 +38,7 @@ public class AccountApiMapper {
                 .sortCode(BankAccountResponse.SortCodeEnum.fromValue(bo.getSortCode()))
                 .name(bo.getName())
                 .accountType(BankAccountResponse.AccountTypeEnum.fromValue(bo.getAccountType()))
-                .balance(bo.getBalance().doubleValue())
+                .balance(bo.getBalance().toDouble())
                 .currency(BankAccountResponse.CurrencyEnum.fromValue(bo.getCurrency()))
                 .createdTimestamp(bo.getCreated())
                 .updatedTimestamp(bo.getUpdated());
@@ -1,8 +1,13 @@
 package com.eaglebank.mapper.transaction;
 
 import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.bo.TransferBO;
+import com.eaglebank.domain.Money;
+import com.eaglebank.exception.BadRequestException;
 import com.eaglebank.gen.model.CreateTransactionRequest;
+import com.eaglebank.gen.model.CreateTransferRequest;
 import com.eaglebank.gen.model.TransactionResponse;
+import com.eaglebank.gen.model.TransferResponse;
 import com.eaglebank.util.IdGenerator;
 import org.springframework.stereotype.Component;
 
@@ -16,19 +21,40 @@ public class TransactionApiMapper {
             .id(IdGenerator.transactionId())
             .accountNumber(accountNumber)
             .userId(userId)
-            .amount(req.getAmount() == null ? BigDecimal.ZERO : BigDecimal.valueOf(req.getAmount()))
+            .amount(toMoney(req.getAmount()))
             .currency(req.getCurrency() != null ? req.getCurrency().getValue() : "GBP")
             .type(req.getType() != null ? req.getType().getValue() : "deposit")
             .reference(req.getReference())
             .created(OffsetDateTime.now())
             .build();
   }
+
+  /** The debit leg of a transfer; the service derives the credit leg from it. */
+  public TransactionBO fromTransferRequest(CreateTransferRequest req, String accountNumber, String userId) {
+    return TransactionBO.builder()
+            .accountNumber(accountNumber)
+            .userId(userId)
+            .amount(toMoney(req.getAmount()))
+            .currency(req.getCurrency() != null ? req.getCurrency().getValue() : "GBP")
+            .type("withdrawal")
+            .reference(req.getReference())
+            .build();
+  }
+
+  public TransferResponse toTransferResponse(TransferBO bo) {
+    if (bo == null) return null;
+
+    return new TransferResponse()
+            .debit(toResponse(bo.getDebit()))
+            .credit(toResponse(bo.getCredit()));
+  }
+
   public TransactionResponse toResponse(TransactionBO bo) {
     if (bo == null) return null;
 
     return new TransactionResponse()
             .id(bo.getId())
-            .amount(bo.getAmount() != null ? bo.getAmount().doubleValue() : null)
+            .amount(bo.getAmount() != null ? bo.getAmount().toDouble() : null)
             .currency(
                     bo.getCurrency() != null
                             ? TransactionResponse.CurrencyEnum.fromValue(bo.getCurrency())
@@ -40,7 +66,20 @@ public class TransactionApiMapper {
                             : null
             )
             .reference(bo.getReference())
+            .relatedTransactionId(bo.getRelatedTransactionId())
             .userId(bo.getUserId())
             .createdTimestamp(bo.getCreated());
   }
+
+  /** Converts the request's double to pence; fractions of a penny are rejected, not rounded. */
+  private static Money toMoney(Double amount) {
+    if (amount == null) {
+      return Money.ZERO;
+    }
+    try {
+      return Money.of(BigDecimal.valueOf(amount));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Amount must have at most two decimal places");
+    }
+  }
 }
@@ -16,6 +16,7 @@ public class TransactionEntityMapper {
             .currency(bo.getCurrency())
             .type(bo.getType())
             .reference(bo.getReference())
+            .relatedTransactionId(bo.getRelatedTransactionId())
             .created(bo.getCreated())
             .build();
   }
@@ -29,6 +30,7 @@ public class TransactionEntityMapper {
             .currency(entity.getCurrency())
             .type(entity.getType())
             .reference(entity.getReference())
+            .relatedTransactionId(entity.getRelatedTransactionId())
             .created(entity.getCreated())
             .build();
   }
@@ -1,26 +1,90 @@
 package com.eaglebank.security;
 
 import com.eaglebank.domain.UserEntity;
+import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.NotAuthenticatedException;
 import com.eaglebank.service.user.UserService;
+import com.eaglebank.util.trace.RequestTracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+/**
+ * Resolves the caller of the current request. The caller is resolved at most once per request:
+ * {@link JwtAuthFilter} stores it as the {@link #CALLER_ATTRIBUTE} request attribute, and any
+ * later resolution (e.g. for a token without a user ID) is stored there too, so repeated calls
+ * from a controller cost one attribute read.
+ */
 @Component
 @RequiredArgsConstructor
 public class AuthGuard {
+
+    /** Request attribute holding the resolved {@link AuthenticatedUser} */
+    public static final String CALLER_ATTRIBUTE = AuthGuard.class.getName() + ".caller";
+
+    private static final int SPAN = RequestTracer.name("auth-guard");
+
     private final UserService userService;
 
     /** Returns the authenticated user's ID or throws 401 */
     public String requireUserId() {
+        return requireCaller().userId();
+    }
+
+    /**
+     * Returns the authenticated caller, with its user ID resolved, or throws 401. The ID comes from
+     * the token's claims; only a token issued without one falls back to looking the user up by email.
+     */
+    public AuthenticatedUser requireCaller() {
+        int span = RequestTracer.begin(SPAN);
+        try {
+            return resolveOnce();
+        } finally {
+            RequestTracer.end(span);
+        }
+    }
+
+    private AuthenticatedUser resolveOnce() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(CALLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AuthenticatedUser caller
+                && caller.userId() != null) {
+            return caller;
+        }
+        AuthenticatedUser caller = resolve();
+        if (request != null) {
+            request.setAttribute(CALLER_ATTRIBUTE, caller, RequestAttributes.SCOPE_REQUEST);
+        }
+        return caller;
+    }
+
+    /** Throws 401 if unauthenticated, 403 unless the caller holds ROLE_ADMIN */
+    public void requireAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            throw new NotAuthenticatedException();
+        }
+        boolean admin = auth.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin) {
+            throw new ForbiddenException();
+        }
+    }
+
+    private AuthenticatedUser resolve() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || auth.getName() == null) {
             throw new NotAuthenticatedException();
         }
+        if (auth.getPrincipal() instanceof AuthenticatedUser user && user.userId() != null) {
+            return user;
+        }
         return userService.findByEmail(auth.getName())
                 .map(UserEntity::getId)
+                .map(id -> new AuthenticatedUser(id, auth.getName()))
                 .orElseThrow(NotAuthenticatedException::new);
     }
 }
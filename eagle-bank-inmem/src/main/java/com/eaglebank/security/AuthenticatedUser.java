@@ -0,0 +1,18 @@
+package com.eaglebank.security;
+
+import java.security.Principal;
+
+/**
+ * Principal placed in the SecurityContext for a bearer-token request, built straight from the
+ * verified token's claims.
+ *
+ * @param userId the user's ID ({@code uid} claim), or null for a token issued before it was added
+ * @param email  the token's subject
+ */
+public record AuthenticatedUser(String userId, String email) implements Principal {
+
+  @Override
+  public String getName() {
+    return email;
+  }
+}
@@ -0,0 +1,138 @@
+package com.eaglebank.security;
+
+import com.eaglebank.exception.ServiceUnavailableException;
+import com.eaglebank.exception.TooManyRequestsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a slow password encoder (BCrypt) on a small dedicated pool, so a burst of logins or signups
+ * can use at most {@code threads} cores and the request threads serving cheap endpoints keep the rest.
+ * <p>
+ * Callers block until their hash is done, but at most {@code queueCapacity} of them wait at once.
+ * When the queue is full a call fails straight away with {@link TooManyRequestsException} (429), and
+ * a call that has not finished within {@code timeout} fails with {@link ServiceUnavailableException} (503).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor pool;
+  private final long timeoutNanos;
+
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder timedOut = new LongAdder();
+  private final LongAdder hashes = new LongAdder();
+  private final LongAdder hashNanos = new LongAdder();
+  private final AtomicLong maxHashNanos = new AtomicLong();
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                long timeout, TimeUnit unit) {
+    if (threads < 1 || queueCapacity < 1) {
+      throw new IllegalArgumentException("Hashing threads and queue capacity must be positive");
+    }
+    this.delegate = delegate;
+    this.timeoutNanos = unit.toNanos(timeout);
+    this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /** Point-in-time pool and latency counters. */
+  public Stats stats() {
+    return new Stats(pool.getQueue().size(), pool.getActiveCount(), rejected.sum(), timedOut.sum(),
+            hashes.sum(), hashNanos.sum(), maxHashNanos.get());
+  }
+
+  @Override
+  public void close() {
+    pool.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> work) {
+    Future<T> result;
+    try {
+      result = pool.submit(() -> timed(work));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new TooManyRequestsException("Too many concurrent sign-ins, retry shortly");
+    }
+    try {
+      return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      result.cancel(true);
+      timedOut.increment();
+      throw new ServiceUnavailableException("Sign-in is taking too long, retry shortly");
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while hashing password");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private <T> T timed(Callable<T> work) throws Exception {
+    long start = System.nanoTime();
+    try {
+      return work.call();
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      hashes.increment();
+      hashNanos.add(elapsed);
+      maxHashNanos.accumulateAndGet(elapsed, Math::max);
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger count = new AtomicInteger();
+    return task -> {
+      Thread thread = new Thread(task, "password-hash-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Pool counters: callers waiting for a hashing thread, threads hashing now, calls turned away
+   * with 429 or 503, and hashes completed with their total and worst-case duration.
+   */
+  public record Stats(int queueDepth, int activeThreads, long rejected, long timedOut,
+                      long hashes, long totalHashNanos, long maxHashNanos) {
+
+    public double meanHashMillis() {
+      return hashes == 0 ? 0 : totalHashNanos / 1e6 / hashes;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.eaglebank.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Locale;
+
+/**
+ * Password hashing algorithms the service can encode with, and how each one's cost parameter maps to
+ * hashing time. {@link #id()} is the {@code {id}} prefix stored in front of every new hash, so hashes
+ * made with any of these algorithms stay verifiable when the configured algorithm changes.
+ */
+public enum HashAlgorithm {
+
+  /** Cost is the log2 of the number of rounds: each step doubles the hashing time. */
+  BCRYPT("bcrypt", 10, 20, 8) {
+    @Override
+    public PasswordEncoder encoder(int cost) {
+      return new BCryptPasswordEncoder(cost);
+    }
+
+    @Override
+    int costFor(long probeNanos, long targetNanos) {
+      int cost = probeCost;
+      while (cost < maxCost && probeNanos << (cost + 1 - probeCost) <= targetNanos) {
+        cost++;
+      }
+      return cost;
+    }
+  },
+
+  /** Cost is the PBKDF2-HMAC-SHA256 iteration count: hashing time is linear in it. */
+  PBKDF2("pbkdf2", 600_000, 10_000_000, 20_000) {
+    @Override
+    public PasswordEncoder encoder(int cost) {
+      return new Pbkdf2PasswordHasher(cost);
+    }
+
+    @Override
+    int costFor(long probeNanos, long targetNanos) {
+      return (int) Math.min(maxCost, (double) probeCost * targetNanos / Math.max(1, probeNanos));
+    }
+  };
+
+  private final String id;
+  /** Lowest cost ever used, whatever the host's speed */
+  final int minCost;
+  final int maxCost;
+  /** Cheap cost timed at startup and extrapolated from */
+  final int probeCost;
+
+  HashAlgorithm(String id, int minCost, int maxCost, int probeCost) {
+    this.id = id;
+    this.minCost = minCost;
+    this.maxCost = maxCost;
+    this.probeCost = probeCost;
+  }
+
+  /** Prefix identifying this algorithm in stored hashes. */
+  public String id() {
+    return id;
+  }
+
+  /** Encoder hashing at the given cost. */
+  public abstract PasswordEncoder encoder(int cost);
+
+  /**
+   * Highest cost whose hash should take no longer than {@code targetNanos}, given that one hash at
+   * {@link #probeCost} took {@code probeNanos}. Not clamped to {@link #minCost}.
+   */
+  abstract int costFor(long probeNanos, long targetNanos);
+
+  /** Clamps a configured or calibrated cost into this algorithm's accepted range. */
+  int clamp(int cost) {
+    return Math.max(minCost, Math.min(maxCost, cost));
+  }
+
+  /**
+   * Checks a cost fixed by the {@code app.security.hashing.cost} property against the range this
+   * algorithm accepts, so a typo fails startup instead of producing weak or unusably slow hashes.
+   *
+   * @throws IllegalArgumentException if the cost is outside {@link #minCost}..{@link #maxCost}
+   */
+  public int checkConfiguredCost(int cost) {
+    if (cost < minCost || cost > maxCost) {
+      throw new IllegalArgumentException("app.security.hashing.cost=" + cost + " is outside the range " + minCost
+              + ".." + maxCost + " accepted for " + id);
+    }
+    return cost;
+  }
+
+  /** Parses the {@code app.security.hashing.algorithm} property. */
+  public static HashAlgorithm fromProperty(String value) {
+    for (HashAlgorithm algorithm : values()) {
+      if (algorithm.id.equals(value.trim().toLowerCase(Locale.ROOT))) {
+        return algorithm;
+      }
+    }
+    throw new IllegalArgumentException("Unknown password hashing algorithm: " + value);
+  }
+}
@@ -0,0 +1,13 @@
+package com.eaglebank.security;
+
+import java.time.Instant;
+
+/**
+ * A freshly signed access token with the claims needed to revoke it later.
+ *
+ * @param token     the compact JWT to hand to the client
+ * @param tokenId   the token's {@code jti} claim
+ * @param expiresAt the token's {@code exp} claim
+ */
+public record IssuedToken(String token, String tokenId, Instant expiresAt) {
+}
@@ -4,11 +4,18 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.eaglebank.service.security.StoreUserDetails;
+import com.eaglebank.service.security.TokenRevocationService;
+import com.eaglebank.util.trace.RequestTracer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.OrRequestMatcher;
@@ -18,12 +25,30 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
   private final JwtUtil jwtUtil;
   private final UserDetailsService uds;
+  private final VerifiedTokenCache tokenCache;
+  private final TokenRevocationService revocations;
+  /** When set, every request re-loads the user so deleted users lose access before their token expires */
+  private final boolean checkUserStore;
+
+  /**
+   * Users granted ROLE_ADMIN, by the user ID in the token's {@code uid} claim. IDs are assigned by
+   * the server, so unlike an email an admin's cannot be claimed by signing up.
+   */
+  private final Set<String> adminUserIds;
+
+  private static final int SPAN = RequestTracer.name("jwt-auth-filter");
+
+  private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+  private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+          List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
 
   // ✅ match public routes & preflight with RequestMatchers (robust)
   private final RequestMatcher publicEndpoints = new OrRequestMatcher(
@@ -35,9 +60,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
           new AntPathRequestMatcher("/**", HttpMethod.OPTIONS.name()) // CORS preflight
   );
 
-  public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService uds) {
+  public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService uds, VerifiedTokenCache tokenCache,
+                       TokenRevocationService revocations,
+                       @Value("${app.jwt.check-user-store:false}") boolean checkUserStore,
+                       @Value("${app.security.admin-user-ids:}") Set<String> adminUserIds) {
     this.jwtUtil = jwtUtil;
     this.uds = uds;
+    this.tokenCache = tokenCache;
+    this.revocations = revocations;
+    this.checkUserStore = checkUserStore;
+    this.adminUserIds = Set.copyOf(adminUserIds);
   }
 
   @Override
@@ -54,21 +86,42 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     boolean tokenLooksNull = hasBearer && header.regionMatches(true, 7, "null", 0, 4);
 
     if (hasBearer && !tokenLooksNull && SecurityContextHolder.getContext().getAuthentication() == null) {
+      int span = RequestTracer.begin(SPAN);
       try {
-        String email = jwtUtil.validateAndGetSubject(header.substring(7)); // throws if invalid/expired
-        if (email != null) {
-          UserDetails user = uds.loadUserByUsername(email);
-          var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        // throws if invalid/expired; a token already verified and still unexpired is served from the cache
+        VerifiedToken token = tokenCache.verify(header.substring(7), jwtUtil::verify);
+        // revoked tokens verify fine but must not authenticate; the check is a Bloom-filter probe for all others
+        if (token.subject() != null && !revocations.isRevoked(token.tokenId())) {
+          var principal = new AuthenticatedUser(token.userId(), token.subject());
+          boolean admin = token.userId() != null && adminUserIds.contains(token.userId());
+          // admin rights are always checked against the store, so a deleted admin loses them at once
+          if (checkUserStore || admin) {
+            requireStoredUser(principal);
+          }
+          var authorities = admin ? ADMIN_AUTHORITIES : USER_AUTHORITIES;
+          var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
           auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
           SecurityContextHolder.getContext().setAuthentication(auth);
+          request.setAttribute(AuthGuard.CALLER_ATTRIBUTE, principal);
         }
       } catch (Exception e) {
         // invalid/expired token → clear context and continue (framework will 401 if required)
         e.printStackTrace();
         SecurityContextHolder.clearContext();
+      } finally {
+        RequestTracer.end(span);
       }
     }
 
     chain.doFilter(request, response);
   }
+
+  /** Rejects a token whose user no longer exists, or whose email now belongs to a different user. */
+  private void requireStoredUser(AuthenticatedUser principal) {
+    UserDetails user = uds.loadUserByUsername(principal.email());
+    if (principal.userId() != null && user instanceof StoreUserDetails stored
+            && !principal.userId().equals(stored.getUserId())) {
+      throw new UsernameNotFoundException("Token user no longer matches the store");
+    }
+  }
 }
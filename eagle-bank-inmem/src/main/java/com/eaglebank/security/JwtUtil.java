@@ -1,5 +1,7 @@
 package com.eaglebank.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,29 +10,57 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
+  /** Claim holding the user's ID, so requests can be authorised without a user-store lookup */
+  static final String USER_ID_CLAIM = "uid";
+
   private final SecretKey secretKey;
   private final long expirationMs;
+  /** Immutable and thread-safe, so one instance serves every request */
+  private final JwtParser parser;
 
   public JwtUtil(@Value("${app.jwt.secret}") String secret, @Value("${app.jwt.expiration}") long expirationMs) {
     this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
     this.expirationMs = expirationMs;
+    this.parser = Jwts.parser().verifyWith(secretKey).build();
+  }
+
+  public String generateToken(String subject, String userId) {
+    return issue(subject, userId).token();
   }
 
-  public String generateToken(String subject) {
+  /** Signs a new access token and returns it with its ID and expiry, so the caller can revoke it later. */
+  public IssuedToken issue(String subject, String userId) {
     long now = System.currentTimeMillis();
-    return Jwts.builder()
+    String tokenId = UUID.randomUUID().toString();
+    Date expiration = new Date(now + expirationMs);
+    String token = Jwts.builder()
+        .id(tokenId)
         .subject(subject)
+        .claim(USER_ID_CLAIM, userId)
         .issuedAt(new Date(now))
-        .expiration(new Date(now + expirationMs))
+        .expiration(expiration)
         .signWith(secretKey, SignatureAlgorithm.HS256)
         .compact();
+    return new IssuedToken(token, tokenId, expiration.toInstant());
+  }
+
+  /**
+   * Verifies the token's signature and expiry.
+   *
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+   */
+  public VerifiedToken verify(String token) {
+    Claims claims = parser.parseSignedClaims(token).getPayload();
+    Date expiration = claims.getExpiration();
+    return new VerifiedToken(claims.getSubject(), claims.get(USER_ID_CLAIM, String.class), claims.getId(),
+            expiration == null ? null : expiration.toInstant());
   }
 
   public String validateAndGetSubject(String token) {
-    return Jwts.parser().verifyWith(secretKey).build()
-      .parseSignedClaims(token).getPayload().getSubject();
+    return verify(token).subject();
   }
 }
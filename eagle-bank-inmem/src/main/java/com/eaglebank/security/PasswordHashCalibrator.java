@@ -0,0 +1,56 @@
+package com.eaglebank.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the password hashing cost for this host and builds the encoder used for every hash.
+ * <p>
+ * Calibration times a few hashes at the algorithm's cheap probe cost and extrapolates to the highest
+ * cost that stays within the target latency, never going below the algorithm's minimum. The resulting
+ * encoder writes {@code {id}}-prefixed hashes with the chosen algorithm and cost, verifies hashes from
+ * every supported algorithm (unprefixed legacy hashes as BCrypt), and reports weaker hashes as needing
+ * an upgrade so they are re-hashed at the next successful login.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+  /** Hashes timed at the probe cost; the fastest one is used, discarding JIT and GC noise */
+  private static final int PROBES = 5;
+
+  private PasswordHashCalibrator() {
+  }
+
+  /** Cost for {@code algorithm} whose hashes take about {@code target} on this host. */
+  public static int calibrate(HashAlgorithm algorithm, Duration target) {
+    PasswordEncoder probe = algorithm.encoder(algorithm.probeCost);
+    long fastest = Long.MAX_VALUE;
+    for (int i = 0; i < PROBES; i++) {
+      long start = System.nanoTime();
+      probe.encode("calibration-password");
+      fastest = Math.min(fastest, System.nanoTime() - start);
+    }
+    int cost = algorithm.clamp(algorithm.costFor(fastest, target.toNanos()));
+    log.info("Password hashing calibrated to {} cost {} ({} us at probe cost {}, target {} ms)",
+            algorithm.id(), cost, fastest / 1000, algorithm.probeCost, target.toMillis());
+    return cost;
+  }
+
+  /** Encoder hashing with {@code algorithm} at {@code cost}, and verifying every supported algorithm. */
+  public static PasswordEncoder encoder(HashAlgorithm algorithm, int cost) {
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    for (HashAlgorithm supported : HashAlgorithm.values()) {
+      encoders.put(supported.id(), supported.encoder(supported == algorithm ? cost : supported.minCost));
+    }
+    DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm.id(), encoders);
+    // hashes stored before the {id} prefix was introduced are plain BCrypt
+    encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+    return encoder;
+  }
+}
@@ -0,0 +1,82 @@
+package com.eaglebank.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 encoder whose hashes record their own iteration count
+ * ({@code iterations$salt$hash}, Base64). Spring's {@code Pbkdf2PasswordEncoder} verifies with the
+ * configured count, so re-calibrating it would lock out every existing user; this one verifies each
+ * hash with the count it was made with and asks for an upgrade when that count is below the current one.
+ */
+public class Pbkdf2PasswordHasher implements PasswordEncoder {
+
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  private static final int SALT_BYTES = 16;
+  private static final int HASH_BITS = 256;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final int iterations;
+
+  public Pbkdf2PasswordHasher(int iterations) {
+    if (iterations < 1) {
+      throw new IllegalArgumentException("PBKDF2 iteration count must be positive");
+    }
+    this.iterations = iterations;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    byte[] salt = new byte[SALT_BYTES];
+    RANDOM.nextBytes(salt);
+    Base64.Encoder base64 = Base64.getEncoder();
+    return iterations + "$" + base64.encodeToString(salt) + "$"
+            + base64.encodeToString(derive(rawPassword, salt, iterations));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    String[] parts = encodedPassword == null ? new String[0] : encodedPassword.split("\\$");
+    if (parts.length != 3) {
+      return false;
+    }
+    try {
+      Base64.Decoder base64 = Base64.getDecoder();
+      byte[] expected = base64.decode(parts[2]);
+      return MessageDigest.isEqual(expected, derive(rawPassword, base64.decode(parts[1]), Integer.parseInt(parts[0])));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    int separator = encodedPassword == null ? -1 : encodedPassword.indexOf('$');
+    try {
+      return separator < 0 || Integer.parseInt(encodedPassword, 0, separator, 10) < iterations;
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  }
+
+  private static byte[] derive(CharSequence rawPassword, byte[] salt, int iterations) {
+    if (iterations < 1) {
+      throw new IllegalArgumentException("PBKDF2 iteration count must be positive");
+    }
+    PBEKeySpec spec = new PBEKeySpec(rawPassword.toString().toCharArray(), salt, iterations, HASH_BITS);
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(ALGORITHM + " is not available", e);
+    } finally {
+      spec.clearPassword();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.eaglebank.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies one of {@link RateLimiter}'s checks. The {@link Scope#ADDRESS} filter runs before
+ * {@link JwtAuthFilter}, so a flood is refused before any token is verified; the {@link Scope#USER}
+ * filter runs after it and limits authenticated callers per user as well. Every response carries
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} (seconds until the
+ * bucket is full again) for the tighter of the buckets it took from; a refused request gets
+ * {@code 429} with {@code Retry-After}.
+ * <p>
+ * Not a bean, so Spring Boot does not also register it as a plain servlet filter; {@code SecurityConfig}
+ * adds it to the security chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  static final String LIMIT_HEADER = "RateLimit-Limit";
+  static final String REMAINING_HEADER = "RateLimit-Remaining";
+  static final String RESET_HEADER = "RateLimit-Reset";
+
+  /** Which bucket a filter takes from. */
+  public enum Scope {
+    /** The remote address's; checked for every request */
+    ADDRESS,
+    /** The authenticated user's; anonymous requests pass untouched */
+    USER
+  }
+
+  private final RateLimiter limiter;
+  private final Scope scope;
+
+  public RateLimitFilter(RateLimiter limiter, Scope scope) {
+    this.limiter = limiter;
+    this.scope = scope;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+    RateLimiter.Group group = RateLimiter.Group.of(request.getMethod(), request.getRequestURI());
+    RateLimiter.Limit limit = limiter.limit(group);
+    long result;
+    if (scope == Scope.ADDRESS) {
+      result = limiter.tryAcquireForAddress(group, request.getRemoteAddr());
+    } else {
+      String callerId = callerId();
+      if (callerId == null) {
+        limiter.allowAnonymous();
+        chain.doFilter(request, response);
+        return;
+      }
+      result = limiter.tryAcquireForUser(group, callerId);
+    }
+
+    response.setHeader(LIMIT_HEADER, Integer.toString(limit.capacity()));
+    if (result < 0) {
+      long retryAfter = toSeconds(-result);
+      response.setHeader(REMAINING_HEADER, "0");
+      response.setHeader(RESET_HEADER, Long.toString(retryAfter));
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+      response.setStatus(429);
+      response.setContentType("application/json");
+      response.getWriter().write("{\"message\":\"Too many requests\"}");
+      return;
+    }
+    String reported = response.getHeader(REMAINING_HEADER);
+    if (reported == null || result < Long.parseLong(reported)) {
+      long untilFull = (limit.capacity() - result) * limit.refillIntervalNanos();
+      response.setHeader(REMAINING_HEADER, Long.toString(result));
+      response.setHeader(RESET_HEADER, Long.toString(toSeconds(untilFull)));
+    }
+    chain.doFilter(request, response);
+  }
+
+  /** One marker per scope, or the filter of the second scope would take the request as already filtered. */
+  @Override
+  protected String getAlreadyFilteredAttributeName() {
+    return super.getAlreadyFilteredAttributeName() + "." + scope;
+  }
+
+  /** The authenticated user's ID, falling back to the email for tokens without one; null if anonymous. */
+  private static String callerId() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+      return user.userId() != null ? user.userId() : user.email();
+    }
+    return null;
+  }
+
+  /** Whole seconds, rounded up so a client waiting that long always finds a token. */
+  private static long toSeconds(long nanos) {
+    return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+  }
+}
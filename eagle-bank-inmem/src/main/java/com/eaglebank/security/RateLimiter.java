@@ -0,0 +1,178 @@
+package com.eaglebank.security;
+
+import com.eaglebank.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limits per endpoint group, kept for each remote address and, in addition, for
+ * each authenticated user. Buckets are created on first use and taken from with a single CAS
+ * (see {@link TokenBucket}); the lookup key is the caller's own ID or address string, so a request
+ * that already has a bucket allocates nothing here.
+ * <p>
+ * A bucket that has refilled completely is indistinguishable from a new one, so idle buckets are
+ * swept at most once per {@code sweepInterval} by whichever request finds the sweep due.
+ */
+@Component
+public class RateLimiter {
+
+  /** Endpoint groups with separate limits. */
+  public enum Group {
+    /** Sign-up, login and token refresh: cheap to call, expensive to serve */
+    AUTH,
+    /** GET requests */
+    READ,
+    /** Every other method */
+    WRITE;
+
+    public static Group of(String method, String path) {
+      if (path.startsWith("/v1/auth/") || ("POST".equals(method) && "/v1/users".equals(path))) {
+        return AUTH;
+      }
+      return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+  }
+
+  /**
+   * A group's limit: bursts of up to {@code capacity} requests, sustained {@code refillPerSecond}.
+   */
+  public record Limit(int capacity, double refillPerSecond) {
+
+    public Limit {
+      if (capacity < 1 || !(refillPerSecond > 0)) {
+        throw new IllegalArgumentException("Rate limit needs a positive capacity and refill rate");
+      }
+    }
+
+    long refillIntervalNanos() {
+      return Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+    }
+  }
+
+  private final Map<Group, Limit> limits;
+  private final long sweepIntervalNanos;
+  private final LongSupplier nanoClock;
+
+  /** Buckets by group, then by user ID */
+  private final Map<Group, Map<String, TokenBucket>> userBuckets = new EnumMap<>(Group.class);
+  /** Buckets by group, then by remote address */
+  private final Map<Group, Map<String, TokenBucket>> addressBuckets = new EnumMap<>(Group.class);
+
+  private final AtomicLong nextSweep;
+
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  @Autowired
+  public RateLimiter(@Value("${app.ratelimit.auth.capacity:10}") int authCapacity,
+                     @Value("${app.ratelimit.auth.refill-per-second:0.2}") double authRefill,
+                     @Value("${app.ratelimit.read.capacity:200}") int readCapacity,
+                     @Value("${app.ratelimit.read.refill-per-second:100}") double readRefill,
+                     @Value("${app.ratelimit.write.capacity:50}") int writeCapacity,
+                     @Value("${app.ratelimit.write.refill-per-second:20}") double writeRefill,
+                     @Value("${app.ratelimit.idle-sweep-ms:60000}") long sweepIntervalMs) {
+    this(Map.of(Group.AUTH, new Limit(authCapacity, authRefill),
+                    Group.READ, new Limit(readCapacity, readRefill),
+                    Group.WRITE, new Limit(writeCapacity, writeRefill)),
+            TimeUnit.MILLISECONDS.toNanos(sweepIntervalMs), System::nanoTime);
+  }
+
+  RateLimiter(Map<Group, Limit> limits, long sweepIntervalNanos, LongSupplier nanoClock) {
+    for (Group group : Group.values()) {
+      if (!limits.containsKey(group)) {
+        throw new IllegalArgumentException("No rate limit for " + group);
+      }
+      userBuckets.put(group, new ConcurrentHashMap<>());
+      addressBuckets.put(group, new ConcurrentHashMap<>());
+    }
+    this.limits = new EnumMap<>(limits);
+    this.sweepIntervalNanos = sweepIntervalNanos;
+    this.nanoClock = nanoClock;
+    this.nextSweep = new AtomicLong(nanoClock.getAsLong() + sweepIntervalNanos);
+  }
+
+  /**
+   * Takes a token from the remote address's bucket for {@code group}. Every request is checked here
+   * first, before its token is verified. Counts only refusals: a request let through here is counted
+   * by the check that follows, {@link #tryAcquireForUser} or {@link #allowAnonymous}.
+   *
+   * @return the tokens left ({@code >= 0}), or the negated nanoseconds until one is available ({@code < 0})
+   */
+  public long tryAcquireForAddress(Group group, String address) {
+    long result = take(addressBuckets.get(group), group, address);
+    if (result < 0) {
+      rejected.increment();
+    }
+    return result;
+  }
+
+  /**
+   * Takes a token from the authenticated user's bucket for {@code group}, after the request has
+   * passed {@link #tryAcquireForAddress}. This is the last check, so it counts either outcome.
+   *
+   * @return the tokens left ({@code >= 0}), or the negated nanoseconds until one is available ({@code < 0})
+   */
+  public long tryAcquireForUser(Group group, String userId) {
+    long result = take(userBuckets.get(group), group, userId);
+    (result >= 0 ? allowed : rejected).increment();
+    return result;
+  }
+
+  /** Counts an anonymous request that passed {@link #tryAcquireForAddress}, its only check. */
+  public void allowAnonymous() {
+    allowed.increment();
+  }
+
+  public Limit limit(Group group) {
+    return limits.get(group);
+  }
+
+  private long take(Map<String, TokenBucket> buckets, Group group, String key) {
+    long now = nanoClock.getAsLong();
+    sweepIfDue(now);
+    TokenBucket bucket = buckets.get(key);
+    if (bucket == null) {
+      Limit limit = limits.get(group);
+      TokenBucket created = new TokenBucket(limit.capacity(), limit.refillIntervalNanos(), now);
+      bucket = buckets.putIfAbsent(key, created);
+      if (bucket == null) {
+        bucket = created;
+      }
+    }
+    return bucket.tryTake(now);
+  }
+
+  /** Point-in-time counters. */
+  public Stats stats() {
+    int buckets = 0;
+    for (Group group : Group.values()) {
+      buckets += userBuckets.get(group).size() + addressBuckets.get(group).size();
+    }
+    return new Stats(allowed.sum(), rejected.sum(), buckets);
+  }
+
+  private void sweepIfDue(long now) {
+    long due = nextSweep.get();
+    if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+      return;
+    }
+    // a request racing with the sweep may take from a bucket just removed; that take is forgotten, one token at most
+    for (Group group : Group.values()) {
+      userBuckets.get(group).values().removeIf(bucket -> bucket.isFull(now));
+      addressBuckets.get(group).values().removeIf(bucket -> bucket.isFull(now));
+    }
+  }
+
+  /** Rate-limit counters: requests let through, requests refused, and buckets currently held. */
+  public record Stats(long allowed, long rejected, int buckets) {
+  }
+}
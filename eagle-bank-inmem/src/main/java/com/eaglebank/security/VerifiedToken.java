@@ -0,0 +1,14 @@
+package com.eaglebank.security;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a successful bearer-token verification.
+ *
+ * @param subject   the token's subject (the user's email)
+ * @param userId    the token's {@code uid} claim, or null for a token issued without one
+ * @param tokenId   the token's {@code jti} claim, used to revoke it, or null for a token issued without one
+ * @param expiresAt the token's {@code exp} claim, or null if it has none
+ */
+public record VerifiedToken(String subject, String userId, String tokenId, Instant expiresAt) {
+}
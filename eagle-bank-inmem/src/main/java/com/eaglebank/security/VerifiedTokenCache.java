@@ -0,0 +1,172 @@
+package com.eaglebank.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of bearer tokens that have already passed signature and expiry checks, so a client
+ * re-sending the same token skips the JSON decode, HMAC and claims parse on every request.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so raw tokens are never retained, and hold
+ * the verified subject and expiry. An entry is only served while its token is unexpired; a lookup
+ * that finds an expired entry drops it. An insert into a full cache makes room first: it purges every
+ * expired entry if no purge has run in the last second, and otherwise evicts the entry expiring
+ * soonest among a small sample, so a flood of distinct tokens costs a bounded amount of work per miss
+ * and memory stays bounded by {@code app.jwt.cache.max-entries}. Tokens without an expiry are never
+ * cached; {@code 0} disables caching.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  });
+
+  /** Entries inspected to pick a victim when the cache is full of unexpired tokens */
+  private static final int EVICTION_SAMPLE = 8;
+  /** Shortest gap between two full scans for expired entries */
+  private static final Duration PURGE_INTERVAL = Duration.ofSeconds(1);
+
+  private final int maxEntries;
+  private final Clock clock;
+  private final Map<Digest, VerifiedToken> entries = new ConcurrentHashMap<>();
+  private volatile Instant nextPurge = Instant.MIN;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder verifyNanos = new LongAdder();
+
+  @Autowired
+  public VerifiedTokenCache(@Value("${app.jwt.cache.max-entries:10000}") int maxEntries) {
+    this(maxEntries, Clock.systemUTC());
+  }
+
+  VerifiedTokenCache(int maxEntries, Clock clock) {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("Token cache size must not be negative");
+    }
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the cached verification of {@code token}, or runs {@code verifier} and caches its result.
+   * Exceptions from the verifier (invalid or expired token) propagate and nothing is cached.
+   */
+  public VerifiedToken verify(String token, Function<String, VerifiedToken> verifier) {
+    if (maxEntries == 0) {
+      return verify(verifier, token);
+    }
+    Digest key = Digest.of(token);
+    Instant now = clock.instant();
+    VerifiedToken cached = entries.get(key);
+    if (cached != null) {
+      if (now.isBefore(cached.expiresAt())) {
+        hits.increment();
+        return cached;
+      }
+      if (entries.remove(key, cached)) {
+        evictions.increment();
+      }
+    }
+
+    VerifiedToken verified = verify(verifier, token);
+    if (verified.expiresAt() != null && now.isBefore(verified.expiresAt())) {
+      if (entries.size() >= maxEntries) {
+        makeRoom(now);
+      }
+      entries.put(key, verified);
+    }
+    return verified;
+  }
+
+  /** Point-in-time counters; the hit rate is {@code hits / (hits + misses)}. */
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), verifyNanos.sum());
+  }
+
+  /** Runs the full verification for a miss, counting it and its time whether or not the token is valid. */
+  private VerifiedToken verify(Function<String, VerifiedToken> verifier, String token) {
+    misses.increment();
+    long start = System.nanoTime();
+    try {
+      return verifier.apply(token);
+    } finally {
+      verifyNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Frees a slot in a full cache: purges expired entries when the last purge is long enough ago,
+   * and if that freed nothing evicts the sampled entry whose token expires soonest.
+   */
+  private void makeRoom(Instant now) {
+    if (!now.isBefore(nextPurge)) {
+      nextPurge = now.plus(PURGE_INTERVAL);
+      purgeExpired(now);
+      if (entries.size() < maxEntries) {
+        return;
+      }
+    }
+    Map.Entry<Digest, VerifiedToken> victim = null;
+    int sampled = 0;
+    for (Map.Entry<Digest, VerifiedToken> entry : entries.entrySet()) {
+      if (victim == null || entry.getValue().expiresAt().isBefore(victim.getValue().expiresAt())) {
+        victim = entry;
+      }
+      if (++sampled == EVICTION_SAMPLE) {
+        break;
+      }
+    }
+    if (victim != null && entries.remove(victim.getKey(), victim.getValue())) {
+      evictions.increment();
+    }
+  }
+
+  private void purgeExpired(Instant now) {
+    entries.forEach((key, token) -> {
+      if (!now.isBefore(token.expiresAt()) && entries.remove(key, token)) {
+        evictions.increment();
+      }
+    });
+  }
+
+  /**
+   * Cache counters: lookups served from the cache, lookups that verified the token, entries dropped
+   * at expiry or to make room, and the total time spent verifying on misses.
+   */
+  public record Stats(long hits, long misses, long evictions, int size, long verifyNanos) {
+
+    public double hitRate() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+  }
+
+  /** SHA-256 of a token as four longs: cheap to hash and compare, and holds no part of the token itself. */
+  private record Digest(long a, long b, long c, long d) {
+
+    static Digest of(String token) {
+      ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+      return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+  }
+}
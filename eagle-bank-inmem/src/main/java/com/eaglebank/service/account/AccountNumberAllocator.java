@@ -0,0 +1,192 @@
+package com.eaglebank.service.account;
+
+import com.eaglebank.dao.account.AccountDao;
+import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.wal.WalRecovery;
+import com.eaglebank.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands out account numbers ({@code 01} followed by six digits) that are never in use, tracking the
+ * whole space of one million numbers in a 125 KB bitmap.
+ * <p>
+ * A request first reserves its count from the free counter, so it fails at once when the space
+ * cannot satisfy it and otherwise is guaranteed to find that many clear bits. It then claims bits a
+ * word at a time with a CAS, starting from a shared cursor that moves past full words, so allocation
+ * is amortised O(1) and never guesses and retries. A block request claims up to 64 numbers per CAS.
+ * <p>
+ * Numbers are not released when an account is deleted, so its transaction history can never pass to
+ * a new account. At startup the bitmap is rebuilt from the recovered accounts and from every account
+ * number in the transaction store, which still holds the histories of deleted accounts.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+
+  public static final String PREFIX = "01";
+  static final int CAPACITY = 1_000_000;
+  private static final int WORDS = (CAPACITY + 63) / 64;
+
+  private final AtomicLongArray used = new AtomicLongArray(WORDS);
+  private final AtomicInteger free = new AtomicInteger(CAPACITY);
+  /** Word to start searching from; every word before it was full when the cursor passed it */
+  private final AtomicInteger cursor = new AtomicInteger();
+  /** Below this many free numbers, every allocation logs a warning */
+  private final int lowWatermark;
+
+  /** Empty allocator, with every number free. */
+  public AccountNumberAllocator(int lowWatermark) {
+    this.lowWatermark = lowWatermark;
+    // bits past the end of the space are permanently taken
+    int tail = CAPACITY % 64;
+    if (tail != 0) {
+      used.set(WORDS - 1, -1L << tail);
+    }
+  }
+
+  /** Takes {@link WalRecovery} so the bitmap is built only after both stores have been recovered. */
+  @Autowired
+  public AccountNumberAllocator(AccountDao accounts, TransactionDao transactions, WalRecovery recovery,
+                                @Value("${app.accounts.number-low-watermark:10000}") int lowWatermark) {
+    this(lowWatermark);
+    accounts.forEachAccountNumber(this::markUsed);
+    transactions.forEachAccountNumber(this::markUsed);
+    log.info("Account number allocator rebuilt: {} of {} numbers free", free.get(), CAPACITY);
+  }
+
+  /**
+   * Allocates one unused account number.
+   *
+   * @throws ServiceUnavailableException if every number is taken
+   */
+  public String allocate() {
+    return allocate(1).get(0);
+  }
+
+  /**
+   * Allocates {@code count} unused account numbers at once, e.g. for bulk account creation.
+   * Either all are allocated or none.
+   *
+   * @throws ServiceUnavailableException if fewer than {@code count} numbers are free
+   */
+  public List<String> allocate(int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("Count must be positive");
+    }
+    int remaining = reserve(count);
+    if (remaining < lowWatermark) {
+      log.warn("Account numbers running out: {} of {} left", remaining, CAPACITY);
+    }
+
+    List<String> numbers = new ArrayList<>(count);
+    int needed = count;
+    int word = cursor.get();
+    while (needed > 0) {
+      long bits = used.get(word);
+      if (bits == -1L) {
+        // full: move the shared cursor past it, unless another caller already has
+        int next = (word + 1) % WORDS;
+        cursor.compareAndSet(word, next);
+        word = next;
+        continue;
+      }
+      long claim = lowestClearBits(bits, needed);
+      if (used.compareAndSet(word, bits, bits | claim)) {
+        needed -= Long.bitCount(claim);
+        for (long rest = claim; rest != 0; rest &= rest - 1) {
+          numbers.add(format(word * 64 + Long.numberOfTrailingZeros(rest)));
+        }
+      }
+    }
+    return numbers;
+  }
+
+  /**
+   * Marks an existing account number as taken. Numbers outside this allocator's space are ignored.
+   *
+   * @return true if the number was free until now
+   */
+  public boolean markUsed(String accountNumber) {
+    int index = parse(accountNumber);
+    if (index < 0) {
+      return false;
+    }
+    int word = index >>> 6;
+    long mask = 1L << index;
+    long bits;
+    do {
+      bits = used.get(word);
+      if ((bits & mask) != 0) {
+        return false;
+      }
+    } while (!used.compareAndSet(word, bits, bits | mask));
+    free.decrementAndGet();
+    return true;
+  }
+
+  /** Numbers still free. */
+  public int remaining() {
+    return free.get();
+  }
+
+  /** Takes {@code count} from the free counter; returns what is left. */
+  private int reserve(int count) {
+    while (true) {
+      int available = free.get();
+      if (available < count) {
+        throw new ServiceUnavailableException("No account numbers left");
+      }
+      if (free.compareAndSet(available, available - count)) {
+        return available - count;
+      }
+    }
+  }
+
+  /** The lowest {@code max} clear bits of {@code bits}, as a mask. */
+  private static long lowestClearBits(long bits, int max) {
+    long clear = ~bits;
+    if (Long.bitCount(clear) <= max) {
+      return clear;
+    }
+    long claim = 0;
+    for (int i = 0; i < max; i++) {
+      long lowest = clear & -clear;
+      claim |= lowest;
+      clear ^= lowest;
+    }
+    return claim;
+  }
+
+  /** The bitmap index of an account number, or -1 if it is not {@code 01} followed by six digits. */
+  static int parse(String accountNumber) {
+    if (accountNumber == null || accountNumber.length() != PREFIX.length() + 6 || !accountNumber.startsWith(PREFIX)) {
+      return -1;
+    }
+    int index = 0;
+    for (int i = PREFIX.length(); i < accountNumber.length(); i++) {
+      char c = accountNumber.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      index = index * 10 + (c - '0');
+    }
+    return index;
+  }
+
+  static String format(int index) {
+    char[] digits = {'0', '1', '0', '0', '0', '0', '0', '0'};
+    for (int i = digits.length - 1; index > 0; i--) {
+      digits[i] = (char) ('0' + index % 10);
+      index /= 10;
+    }
+    return new String(digits);
+  }
+}
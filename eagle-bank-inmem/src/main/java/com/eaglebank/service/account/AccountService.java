@@ -1,11 +1,14 @@
 package com.eaglebank.service.account;
 
 import com.eaglebank.bo.AccountBO;
+import com.eaglebank.bo.PageBO;
 import com.eaglebank.dao.account.AccountDao;
 import com.eaglebank.domain.AccountEntity;
 import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.NotFoundException;
 import com.eaglebank.mapper.account.AccountEntityMapper;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.util.PageCursor;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
@@ -14,12 +17,17 @@ import java.util.List;
 @Service
 public class AccountService {
 
+  private static final String CURSOR_KIND = "acc";
+
   private final AccountDao accountDao;
   private final AccountEntityMapper accountEntityMapper;
+  private final AccountLockTable accountLocks;
 
-  public AccountService(AccountDao accountDao, AccountEntityMapper accountEntityMapper) {
+  public AccountService(AccountDao accountDao, AccountEntityMapper accountEntityMapper,
+                        AccountLockTable accountLocks) {
     this.accountDao = accountDao;
     this.accountEntityMapper = accountEntityMapper;
+    this.accountLocks = accountLocks;
   }
 
   /** Create and persist a new account (BO at boundary). */
@@ -37,33 +45,51 @@ public class AccountService {
     return accountEntityMapper.toBO(entity);
   }
 
-  /** Rename an owned account; returns updated BO. */
+  /**
+   * Rename an owned account; returns updated BO. Runs under the ledger lock, so the rename is never
+   * logged between a posting's balance change and that posting's write-ahead log group.
+   */
   public AccountBO updateAccountName(String userId, String accountNumber, String newName) {
-    AccountEntity entity = accountDao.findByNumber(accountNumber)
-            .orElseThrow(NotFoundException::new);
-    assertOwnership(userId, entity);
+    return accountLocks.withLock(accountNumber, () -> {
+      AccountEntity entity = accountDao.findByNumber(accountNumber)
+              .orElseThrow(NotFoundException::new);
+      assertOwnership(userId, entity);
 
-    if (newName != null && !newName.isBlank()) {
-      entity.setName(newName);
-      entity.setUpdated(OffsetDateTime.now());
-      accountDao.save(entity);
-    }
-    return accountEntityMapper.toBO(entity);
+      if (newName != null && !newName.isBlank()) {
+        entity.setName(newName);
+        entity.setUpdated(OffsetDateTime.now());
+        accountDao.save(entity);
+      }
+      return accountEntityMapper.toBO(entity);
+    });
   }
 
-  /** Delete an owned account. */
+  /** Delete an owned account (under the ledger lock so an in-flight posting cannot re-save it). */
   public void deleteAccount(String userId, String accountNumber) {
-    AccountEntity entity = accountDao.findByNumber(accountNumber)
-            .orElseThrow(NotFoundException::new);
-    assertOwnership(userId, entity);
-    accountDao.deleteByNumber(entity.getAccountNumber());
+    accountLocks.withLock(accountNumber, () -> {
+      AccountEntity entity = accountDao.findByNumber(accountNumber)
+              .orElseThrow(NotFoundException::new);
+      assertOwnership(userId, entity);
+      accountDao.deleteByNumber(entity.getAccountNumber());
+      return null;
+    });
   }
 
-  /** List all accounts owned by user. */
-  public List<AccountBO> listUserAccounts(String userId) {
-    return accountDao.findByUserId(userId).stream()
-            .map(accountEntityMapper::toBO)
-            .toList();
+  /** List one page of the user's accounts, ordered by account number. */
+  public PageBO<AccountBO> listUserAccounts(String userId, String cursor, Integer limit) {
+    int pageSize = PageCursor.limit(limit);
+    // fetch one extra row to learn whether another page follows
+    List<AccountEntity> rows = accountDao.findByUserId(userId, PageCursor.decode(CURSOR_KIND, cursor), pageSize + 1);
+    boolean hasMore = rows.size() > pageSize;
+    List<AccountEntity> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+    String nextCursor = hasMore
+            ? PageCursor.encode(CURSOR_KIND, page.get(page.size() - 1).getAccountNumber())
+            : null;
+    return PageBO.<AccountBO>builder()
+            .items(page.stream().map(accountEntityMapper::toBO).toList())
+            .nextCursor(nextCursor)
+            .build();
   }
 
   /** Ensure the caller owns the account. */
@@ -0,0 +1,96 @@
+package com.eaglebank.service.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped lock table that serialises ledger postings per account number.
+ * Account numbers hash onto a fixed, power-of-two set of stripes, so two postings
+ * against the same account never interleave while postings against unrelated
+ * accounts proceed in parallel on separate stripes.
+ */
+@Component
+public class AccountLockTable {
+
+  /** Lock stripes; an account always maps to the same stripe */
+  private final ReentrantLock[] stripes;
+
+  /** stripes.length - 1, used to map a spread hash onto a stripe index */
+  private final int mask;
+
+  public AccountLockTable(@Value("${app.ledger.lock-stripes:1024}") int stripeCount) {
+    if (stripeCount < 1) {
+      throw new IllegalArgumentException("Lock stripe count must be positive");
+    }
+    int size = Integer.highestOneBit(stripeCount - 1) << 1;
+    size = Math.max(size, 1);
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Runs {@code action} while holding the stripe that owns {@code accountNumber}.
+   *
+   * @param accountNumber the account whose postings must be serialised
+   * @param action        the read-modify-write to perform on the account
+   * @return the value produced by {@code action}
+   */
+  public <T> T withLock(String accountNumber, Supplier<T> action) {
+    ReentrantLock lock = stripes[stripeOf(accountNumber)];
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Runs {@code action} while holding the stripes of both accounts.
+   * Stripes are always taken in ascending index order, so two callers locking the same pair
+   * from opposite ends can never deadlock; when both accounts share a stripe it is taken once.
+   * Pairs on disjoint stripes do not contend at all.
+   *
+   * @param first  one account of the pair
+   * @param second the other account of the pair
+   * @param action the read-modify-write to perform on both accounts
+   * @return the value produced by {@code action}
+   */
+  public <T> T withLocks(String first, String second, Supplier<T> action) {
+    int a = stripeOf(first);
+    int b = stripeOf(second);
+    if (a == b) {
+      return withLock(first, action);
+    }
+    ReentrantLock lower = stripes[Math.min(a, b)];
+    ReentrantLock upper = stripes[Math.max(a, b)];
+    lower.lock();
+    try {
+      upper.lock();
+      try {
+        return action.get();
+      } finally {
+        upper.unlock();
+      }
+    } finally {
+      lower.unlock();
+    }
+  }
+
+  /** Number of stripes in the table (always a power of two). */
+  public int stripeCount() {
+    return stripes.length;
+  }
+
+  /** Stripe index owning the given account number. */
+  int stripeOf(String accountNumber) {
+    int h = accountNumber.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+}
@@ -0,0 +1,193 @@
+package com.eaglebank.service.security;
+
+import com.eaglebank.dao.token.RefreshTokenDao;
+import com.eaglebank.domain.RefreshTokenEntity;
+import com.eaglebank.domain.UserEntity;
+import com.eaglebank.exception.NotAuthenticatedException;
+import com.eaglebank.security.IssuedToken;
+import com.eaglebank.security.JwtUtil;
+import com.eaglebank.service.user.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues short-lived access tokens together with single-use refresh tokens, so a client renews its
+ * access with a map lookup and an HMAC instead of a password hash.
+ * <p>
+ * A login starts a session ("family") that lasts {@code sessionLifetime} however often it is
+ * refreshed. Each refresh spends the presented token and returns a new one. Presenting a token that
+ * was already spent means it leaked or was replayed, so the whole family is ended and its latest
+ * access token revoked; both the attacker and the legitimate client are sent back to log in.
+ */
+@Service
+public class RefreshTokenService {
+
+  private static final int TOKEN_BYTES = 32;
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  });
+
+  private final RefreshTokenDao families;
+  private final JwtUtil jwt;
+  private final TokenRevocationService revocations;
+  private final UserService userService;
+  private final Duration sessionLifetime;
+  private final Duration purgeInterval;
+  private final Clock clock;
+  private final SecureRandom random = new SecureRandom();
+
+  private volatile Instant nextPurge;
+
+  private final LongAdder issued = new LongAdder();
+  private final LongAdder refreshed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder reuseDetected = new LongAdder();
+
+  @Autowired
+  public RefreshTokenService(RefreshTokenDao families, JwtUtil jwt, TokenRevocationService revocations,
+                             UserService userService,
+                             @Value("${app.jwt.refresh.expiration:86400000}") long sessionLifetimeMs,
+                             @Value("${app.jwt.revocation.purge-interval-ms:60000}") long purgeIntervalMs) {
+    this(families, jwt, revocations, userService, Duration.ofMillis(sessionLifetimeMs),
+            Duration.ofMillis(purgeIntervalMs), Clock.systemUTC());
+  }
+
+  RefreshTokenService(RefreshTokenDao families, JwtUtil jwt, TokenRevocationService revocations,
+                      UserService userService, Duration sessionLifetime, Duration purgeInterval, Clock clock) {
+    this.families = families;
+    this.jwt = jwt;
+    this.revocations = revocations;
+    this.userService = userService;
+    this.sessionLifetime = sessionLifetime;
+    this.purgeInterval = purgeInterval;
+    this.clock = clock;
+    this.nextPurge = clock.instant().plus(purgeInterval);
+  }
+
+  /** Starts a session for a user who has just proven their password. */
+  public Tokens issue(String email, String userId) {
+    Instant now = clock.instant();
+    purgeIfDue(now);
+    String refreshToken = newRefreshToken();
+    IssuedToken access = jwt.issue(email, userId);
+    families.save(RefreshTokenEntity.builder()
+            .familyId(UUID.randomUUID().toString())
+            .userId(userId)
+            .email(email)
+            .tokenHash(hash(refreshToken))
+            .accessTokenId(access.tokenId())
+            .accessTokenExpiresAt(access.expiresAt())
+            .expiresAt(now.plus(sessionLifetime))
+            .build());
+    issued.increment();
+    return new Tokens(access.token(), refreshToken);
+  }
+
+  /**
+   * Spends a refresh token and returns a new access token and refresh token for the same session.
+   *
+   * @throws NotAuthenticatedException if the token is unknown, expired or already spent, or the user is gone
+   */
+  public Tokens refresh(String refreshToken) {
+    Instant now = clock.instant();
+    purgeIfDue(now);
+    String tokenHash = refreshToken == null ? null : hash(refreshToken);
+    RefreshTokenEntity family = tokenHash == null ? null : families.findByTokenHash(tokenHash).orElse(null);
+    if (family == null || !now.isBefore(family.getExpiresAt()) || !userExists(family)) {
+      rejected.increment();
+      throw new NotAuthenticatedException();
+    }
+    if (!family.getTokenHash().equals(tokenHash)) {
+      endFamily(family.getFamilyId());
+      reuseDetected.increment();
+      throw new NotAuthenticatedException();
+    }
+
+    String nextRefreshToken = newRefreshToken();
+    IssuedToken access = jwt.issue(family.getEmail(), family.getUserId());
+    RefreshTokenEntity next = family.toBuilder()
+            .tokenHash(hash(nextRefreshToken))
+            .accessTokenId(access.tokenId())
+            .accessTokenExpiresAt(access.expiresAt())
+            .build();
+    if (!families.rotate(tokenHash, next)) {
+      // a concurrent refresh spent this token first: treat it as a replay
+      endFamily(family.getFamilyId());
+      reuseDetected.increment();
+      throw new NotAuthenticatedException();
+    }
+    refreshed.increment();
+    return new Tokens(access.token(), nextRefreshToken);
+  }
+
+  /** Ends the session a refresh token belongs to, e.g. on logout; unknown tokens are ignored. */
+  public void revoke(String refreshToken) {
+    if (refreshToken != null) {
+      families.findByTokenHash(hash(refreshToken)).ifPresent(family -> endFamily(family.getFamilyId()));
+    }
+  }
+
+  /** Point-in-time counters. */
+  public Stats stats() {
+    return new Stats(issued.sum(), refreshed.sum(), rejected.sum(), reuseDetected.sum(), families.count());
+  }
+
+  private boolean userExists(RefreshTokenEntity family) {
+    return userService.findByEmail(family.getEmail())
+            .map(UserEntity::getId)
+            .filter(id -> id.equals(family.getUserId()))
+            .isPresent();
+  }
+
+  private void endFamily(String familyId) {
+    families.deleteById(familyId).ifPresent(ended ->
+            revocations.revoke(ended.getAccessTokenId(), ended.getAccessTokenExpiresAt()));
+  }
+
+  private void purgeIfDue(Instant now) {
+    if (now.isBefore(nextPurge)) {
+      return;
+    }
+    nextPurge = now.plus(purgeInterval);
+    families.deleteExpired(now);
+  }
+
+  private String newRefreshToken() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static String hash(String refreshToken) {
+    return HexFormat.of().formatHex(SHA_256.get().digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** An access token and the refresh token that renews it. */
+  public record Tokens(String accessToken, String refreshToken) {
+  }
+
+  /**
+   * Session counters: logins that started a session, successful refreshes, refreshes refused for an
+   * unknown, expired or orphaned token, spent tokens presented again, and sessions currently stored.
+   */
+  public record Stats(long issued, long refreshed, long rejected, long reuseDetected, int sessions) {
+  }
+}
@@ -0,0 +1,25 @@
+package com.eaglebank.service.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Spring Security user that also carries the store's user ID, so the login endpoint can put
+ * the ID into the issued token without looking the user up a second time.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class StoreUserDetails extends User {
+
+    private final String userId;
+
+    public StoreUserDetails(String userId, String email, String passwordHash,
+                            Collection<? extends GrantedAuthority> authorities) {
+        super(email, passwordHash, authorities);
+        this.userId = userId;
+    }
+}
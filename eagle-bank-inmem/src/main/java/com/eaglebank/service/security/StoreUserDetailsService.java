@@ -3,19 +3,22 @@ package com.eaglebank.service.security;
 import com.eaglebank.domain.UserEntity;
 import com.eaglebank.service.user.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Bridges your user store to Spring Security.
  * Username == email. Password must be a hash compatible with your PasswordEncoder.
  */
 @Service
 @RequiredArgsConstructor
-public class StoreUserDetailsService implements UserDetailsService {
+public class StoreUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
@@ -25,13 +28,15 @@ public class StoreUserDetailsService implements UserDetailsService {
         UserEntity u = userService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
-        return User.withUsername(u.getEmail())
-                .password(u.getPasswordHash())
-                .roles("USER")
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        return new StoreUserDetails(u.getId(), u.getEmail(), u.getPasswordHash(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    /** Stores a re-hashed password after a successful login with an outdated hash. */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPasswordHash) {
+        String userId = ((StoreUserDetails) user).getUserId();
+        userService.updatePasswordHash(userId, newPasswordHash);
+        return new StoreUserDetails(userId, user.getUsername(), newPasswordHash, user.getAuthorities());
     }
 }
@@ -0,0 +1,106 @@
+package com.eaglebank.service.security;
+
+import com.eaglebank.dao.token.RevokedTokenDao;
+import com.eaglebank.domain.RevokedTokenEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revokes bearer tokens before they expire and answers, for every authenticated request, whether a
+ * token has been revoked. The store's Bloom filter answers "no" for almost every token without a map
+ * probe or allocation; only a probable hit goes on to the exact lookup.
+ * Entries outlive their token by nothing: expired ones are purged at most once per {@code purgeInterval}.
+ */
+@Service
+public class TokenRevocationService {
+
+  private final RevokedTokenDao revokedTokens;
+  private final Duration maxTokenLifetime;
+  private final Duration purgeInterval;
+  private final Clock clock;
+
+  private volatile Instant nextPurge;
+
+  private final LongAdder checks = new LongAdder();
+  private final LongAdder probableHits = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+
+  @Autowired
+  public TokenRevocationService(RevokedTokenDao revokedTokens,
+                                @Value("${app.jwt.expiration}") long expirationMs,
+                                @Value("${app.jwt.revocation.purge-interval-ms:60000}") long purgeIntervalMs) {
+    this(revokedTokens, Duration.ofMillis(expirationMs), Duration.ofMillis(purgeIntervalMs), Clock.systemUTC());
+  }
+
+  TokenRevocationService(RevokedTokenDao revokedTokens, Duration maxTokenLifetime, Duration purgeInterval,
+                         Clock clock) {
+    this.revokedTokens = revokedTokens;
+    this.maxTokenLifetime = maxTokenLifetime;
+    this.purgeInterval = purgeInterval;
+    this.clock = clock;
+    this.nextPurge = clock.instant().plus(purgeInterval);
+  }
+
+  /** True if the token with this ID was revoked and has not expired yet. Tokens without an ID cannot be revoked. */
+  public boolean isRevoked(String tokenId) {
+    if (tokenId == null) {
+      return false;
+    }
+    checks.increment();
+    if (!revokedTokens.mightContain(tokenId)) {
+      return false;
+    }
+    probableHits.increment();
+    boolean revoked = revokedTokens.findById(tokenId)
+            .map(token -> clock.instant().isBefore(token.getExpiresAt()))
+            .orElse(false);
+    if (!revoked) {
+      falsePositives.increment();
+    }
+    return revoked;
+  }
+
+  /** Revokes a token whose expiry is known, e.g. the caller's own token on logout. */
+  public void revoke(String tokenId, Instant expiresAt) {
+    Instant now = clock.instant();
+    if (tokenId == null || expiresAt == null || !now.isBefore(expiresAt)) {
+      return;
+    }
+    revokedTokens.save(RevokedTokenEntity.builder().tokenId(tokenId).expiresAt(expiresAt).build());
+    purgeIfDue(now);
+  }
+
+  /**
+   * Revokes a token by ID alone. Its expiry is unknown, so the entry is kept for the longest
+   * lifetime any token can have.
+   */
+  public void revoke(String tokenId) {
+    revoke(tokenId, clock.instant().plus(maxTokenLifetime));
+  }
+
+  /** Point-in-time counters; {@code falsePositives / checks} is the filter's observed false-positive rate. */
+  public Stats stats() {
+    return new Stats(checks.sum(), probableHits.sum(), falsePositives.sum(), revokedTokens.count());
+  }
+
+  private void purgeIfDue(Instant now) {
+    if (now.isBefore(nextPurge)) {
+      return;
+    }
+    nextPurge = now.plus(purgeInterval);
+    revokedTokens.deleteExpired(now);
+  }
+
+  /**
+   * Revocation counters: tokens checked, checks that passed the Bloom filter, of those the ones
+   * not actually revoked, and entries currently stored.
+   */
+  public record Stats(long checks, long probableHits, long falsePositives, int revoked) {
+  }
+}
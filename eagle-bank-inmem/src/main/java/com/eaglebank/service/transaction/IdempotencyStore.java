@@ -0,0 +1,171 @@
+package com.eaglebank.service.transaction;
+
+import com.eaglebank.exception.BadRequestException;
+import com.eaglebank.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key}, so a client retrying after
+ * a timeout gets the original result instead of a second posting.
+ * <p>
+ * Entries are keyed by (user ID, key) and hold the result as a future: the first request runs the
+ * action, and a duplicate arriving while it is still running waits on the same future rather than
+ * running it again. Only successes are kept; if the action throws, every waiter sees the same
+ * exception and the entry is dropped, so a later retry runs afresh. A key reused for a different
+ * request is rejected.
+ * <p>
+ * Every entry lives for the same {@code ttl}, so insertion order is expiry order: a FIFO queue
+ * alongside the map lets expired entries, and the oldest ones once the store is full, be dropped
+ * from the head without scanning. Entries whose action is still running are never dropped, since a
+ * duplicate arriving then must find them; they are stepped over, and when the store is full of them
+ * a new key is refused with 503 until one finishes.
+ */
+@Component
+public class IdempotencyStore {
+
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final LongSupplier nanoClock;
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  /** Entries in insertion (and so expiry) order; may hold failed entries already removed from the map */
+  private final Queue<Entry> byAge = new ConcurrentLinkedQueue<>();
+  /** Size of {@link #byAge}, which the queue itself can only count by walking it */
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder replayed = new LongAdder();
+
+  @Autowired
+  public IdempotencyStore(@Value("${app.idempotency.max-entries:100000}") int maxEntries,
+                          @Value("${app.idempotency.ttl-ms:86400000}") long ttlMs) {
+    this(maxEntries, TimeUnit.MILLISECONDS.toNanos(ttlMs), System::nanoTime);
+  }
+
+  IdempotencyStore(int maxEntries, long ttlNanos, LongSupplier nanoClock) {
+    if (maxEntries < 1 || ttlNanos < 1) {
+      throw new IllegalArgumentException("Idempotency store needs a positive size and TTL");
+    }
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttlNanos;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Runs {@code action} once per (user, key); repeats return its result, waiting for it if needed.
+   *
+   * @param userId      the caller, so keys from different users never collide
+   * @param key         the client's idempotency key; null runs the action unconditionally
+   * @param fingerprint what the request asks for; a repeat with a different one is rejected
+   * @param action      the work to run at most once
+   * @throws BadRequestException         if the key was already used for a different request
+   * @throws ServiceUnavailableException if the store is full of requests still in progress
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String userId, String key, Object fingerprint, Supplier<T> action) {
+    if (key == null) {
+      return action.get();
+    }
+    long now = nanoClock.getAsLong();
+    Key id = new Key(userId, key);
+    Entry fresh = new Entry(id, fingerprint, new CompletableFuture<>(), now + ttlNanos);
+    while (true) {
+      Entry existing = entries.putIfAbsent(id, fresh);
+      if (existing == null) {
+        // make room only for a new key, so a duplicate never evicts the entry it is looking for
+        if (!purge(now)) {
+          entries.remove(id, fresh);
+          var full = new ServiceUnavailableException("Too many requests in progress, retry shortly");
+          fresh.result.completeExceptionally(full);
+          throw full;
+        }
+        break;
+      }
+      if (existing.expiresAt - now <= 0) {
+        entries.remove(id, existing);
+        continue;
+      }
+      if (!Objects.equals(existing.fingerprint, fingerprint)) {
+        throw new BadRequestException("Idempotency-Key was already used for a different request");
+      }
+      replayed.increment();
+      return (T) await(existing.result);
+    }
+
+    byAge.add(fresh);
+    queued.incrementAndGet();
+    executed.increment();
+    try {
+      T result = action.get();
+      fresh.result.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      entries.remove(id, fresh);
+      fresh.result.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /** Point-in-time counters. */
+  public Stats stats() {
+    return new Stats(executed.sum(), replayed.sum(), entries.size());
+  }
+
+  /**
+   * Drops expired entries, then the oldest ones while full, stepping over entries still in flight;
+   * failed entries still queued count towards the bound.
+   *
+   * @return whether the store has room for a new entry
+   */
+  private boolean purge(long now) {
+    for (Entry oldest : byAge) {
+      if (oldest.expiresAt - now > 0 && queued.get() < maxEntries) {
+        break;
+      }
+      if (oldest.result.isDone() && byAge.remove(oldest)) {
+        queued.decrementAndGet();
+        entries.remove(oldest.key, oldest);
+      }
+    }
+    return queued.get() < maxEntries;
+  }
+
+  private static Object await(CompletableFuture<Object> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record Key(String userId, String key) {
+  }
+
+  private record Entry(Key key, Object fingerprint, CompletableFuture<Object> result, long expiresAt) {
+  }
+
+  /** Idempotency counters: actions run, duplicates answered from the store, and entries held. */
+  public record Stats(long executed, long replayed, int entries) {
+  }
+}
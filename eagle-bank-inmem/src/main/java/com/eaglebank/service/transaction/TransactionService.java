@@ -1,84 +1,255 @@
 package com.eaglebank.service.transaction;
 
+import com.eaglebank.bo.PageBO;
 import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.bo.TransferBO;
 import com.eaglebank.dao.account.AccountDao;
 import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.wal.WriteAheadLog;
 import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.exception.BadRequestException;
 import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.InsufficientFundsException;
 import com.eaglebank.exception.NotFoundException;
 import com.eaglebank.mapper.transaction.TransactionEntityMapper;
-import lombok.RequiredArgsConstructor;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.util.IdGenerator;
+import com.eaglebank.util.PageCursor;
+import com.eaglebank.util.trace.RequestTracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 public class TransactionService {
 
+  private static final String CURSOR_KIND = "tx";
+
+  /** Phases of {@link #createTransaction}, timed separately so lock contention shows apart from the work */
+  public static final String POSTING_METRIC = "eaglebank.ledger.posting";
+
+  private static final int MAP_SPAN = RequestTracer.name("map.transaction-entity-to-bo");
+
   private final TransactionDao transactionDao;
   private final AccountDao accountDao;
   private final TransactionEntityMapper transactionEntityMapper;
+  private final AccountLockTable accountLocks;
+  private final WriteAheadLog wal;
 
+  private final Timer lockWait;
+  private final Timer validate;
+  private final Timer apply;
+
+  /**
+   * Unlogged, unmetered service: postings are not grouped in a write-ahead log, and the timers go to
+   * a registry with nothing attached, so recording is a no-op.
+   */
+  public TransactionService(TransactionDao transactionDao, AccountDao accountDao,
+                            TransactionEntityMapper transactionEntityMapper, AccountLockTable accountLocks) {
+    this(transactionDao, accountDao, transactionEntityMapper, accountLocks, WriteAheadLog.disabled(),
+            new CompositeMeterRegistry());
+  }
+
+  /** @param wal the log the DAOs write to; each posting's writes are logged through it as one group */
+  @Autowired
+  public TransactionService(TransactionDao transactionDao, AccountDao accountDao,
+                            TransactionEntityMapper transactionEntityMapper, AccountLockTable accountLocks,
+                            WriteAheadLog wal, MeterRegistry meters) {
+    this.transactionDao = transactionDao;
+    this.accountDao = accountDao;
+    this.transactionEntityMapper = transactionEntityMapper;
+    this.accountLocks = accountLocks;
+    this.wal = wal;
+    this.lockWait = phaseTimer(meters, "lock_wait");
+    this.validate = phaseTimer(meters, "validate");
+    this.apply = phaseTimer(meters, "apply");
+  }
 
   /**
    * Create a transaction for the given user (deposit | withdrawal) and
    * update the account balance accordingly.
+   * The balance read-modify-write runs under the account's ledger lock, so
+   * concurrent postings to one account are applied one at a time.
+   * The transaction and the new balance are logged as one write-ahead log group, so recovery
+   * restores both or neither; the wait for that group to be durable happens after the lock is
+   * released, so postings to a busy account share an fsync instead of queueing behind each other's.
+   * Time spent waiting for that lock, validating and applying is recorded under
+   * {@value #POSTING_METRIC}; a rejected posting records its lock wait only.
    * Returns the saved Transaction as a BO.
    */
-  // Service
   public TransactionBO createTransaction(TransactionBO input)  {
+    long requested = System.nanoTime();
+    return durable(accountLocks.withLock(input.getAccountNumber(), () -> post(input, requested)));
+  }
+
+  /** Applies one posting; caller must hold the account's ledger lock. */
+  private Logged<TransactionBO> post(TransactionBO input, long requested) {
+    long locked = System.nanoTime();
+    lockWait.record(locked - requested, TimeUnit.NANOSECONDS);
+
     var account = accountDao.findByNumber(input.getAccountNumber())
             .orElseThrow(NotFoundException::new);
     assertOwnership(input.getUserId(), account);
 
     validateBusinessRules(input);
-
-    // mutate account balance
     var newBalance = mutateBalance(account.getBalance(), input.getType(), input.getAmount());
-    account.setBalance(newBalance);
-    account.setUpdated(OffsetDateTime.now());
-    accountDao.save(account);
+    long validated = System.nanoTime();
+    validate.record(validated - locked, TimeUnit.NANOSECONDS);
 
-    // build full entity with ALL fields set here
+    // save the transaction first: if the store rejects it, the balance must not have moved
     var now = OffsetDateTime.now();
-    var id  = generateTransactionId();
+    var entity = newEntity(input.getAccountNumber(), input.getUserId(), input, now);
+    long lsn = wal.atomically(() -> {
+      transactionDao.save(entity);
+      account.setBalance(newBalance);
+      account.setUpdated(now);
+      accountDao.save(account);
+    });
+    apply.record(System.nanoTime() - validated, TimeUnit.NANOSECONDS);
 
-    var entity = TransactionEntity.builder()
-            .id(id)
-            .accountNumber(input.getAccountNumber())
-            .userId(input.getUserId())
-            .amount(input.getAmount())
-            .currency(input.getCurrency())
-            .type(input.getType())
-            .reference(input.getReference())
-            .created(now)
-            .build();
+    // map back to BO so callers always get a fully-populated BO
+    return new Logged<>(transactionEntityMapper.toBO(entity), lsn);
+  }
 
-    transactionDao.save(entity);
+  /**
+   * Create several transactions against one account, all or nothing.
+   * Ownership is checked once and the whole batch runs under a single acquisition of the account's
+   * ledger lock. Items are validated and applied to a running balance in request order before
+   * anything is written, so an invalid item, or a withdrawal that would overdraw the account at
+   * its point in the batch, rejects the batch with nothing persisted.
+   * Returns the saved transactions as BOs, in request order.
+   */
+  public List<TransactionBO> createTransactions(String userId, String accountNumber, List<TransactionBO> inputs) {
+    if (inputs == null || inputs.isEmpty()) {
+      throw new BadRequestException("Batch must contain at least one transaction");
+    }
+    return durable(accountLocks.withLock(accountNumber, () -> postAll(userId, accountNumber, inputs)));
+  }
 
-    // map back to BO so callers always get a fully-populated BO
-    return transactionEntityMapper.toBO(entity);
+  /** Applies a batch of postings; caller must hold the account's ledger lock. */
+  private Logged<List<TransactionBO>> postAll(String userId, String accountNumber, List<TransactionBO> inputs) {
+    var account = accountDao.findByNumber(accountNumber)
+            .orElseThrow(NotFoundException::new);
+    assertOwnership(userId, account);
+
+    var now = OffsetDateTime.now();
+    var balance = account.getBalance();
+    List<TransactionEntity> entities = new ArrayList<>(inputs.size());
+    for (TransactionBO input : inputs) {
+      validateBusinessRules(input);
+      balance = mutateBalance(balance, input.getType(), input.getAmount());
+      entities.add(newEntity(accountNumber, userId, input, now));
+    }
+
+    // the transaction DAO checks the whole batch before writing, so save it before touching the balance
+    var newBalance = balance;
+    long lsn = wal.atomically(() -> {
+      transactionDao.saveAll(entities);
+      account.setBalance(newBalance);
+      account.setUpdated(now);
+      accountDao.save(account);
+    });
+
+    return new Logged<>(entities.stream().map(transactionEntityMapper::toBO).toList(), lsn);
   }
 
 
   /**
-   * List transactions for an account owned by the user.
+   * Move money from the caller's account to another account atomically.
+   * Records a withdrawal on the source and a deposit on the destination, each pointing at the
+   * other through {@code relatedTransactionId}; the deposit belongs to the destination's owner.
+   * Both accounts' ledger locks are held for the whole read-modify-write, taken in stripe order
+   * (see {@link AccountLockTable#withLocks}), so opposing transfers cannot deadlock and transfers
+   * between unrelated accounts do not wait for each other.
+   * Returns both saved legs as BOs.
    */
-  public List<TransactionBO> listTransactions(String userId, String accountNumber) {
+  public TransferBO transfer(TransactionBO debit, String toAccountNumber) {
+    if (debit.getAccountNumber().equals(toAccountNumber)) {
+      throw new BadRequestException("Cannot transfer to the same account");
+    }
+    return durable(accountLocks.withLocks(debit.getAccountNumber(), toAccountNumber,
+            () -> postTransfer(debit, toAccountNumber)));
+  }
+
+  /** Applies both legs of a transfer; caller must hold both accounts' ledger locks. */
+  private Logged<TransferBO> postTransfer(TransactionBO input, String toAccountNumber) {
+    var from = accountDao.findByNumber(input.getAccountNumber())
+            .orElseThrow(NotFoundException::new);
+    assertOwnership(input.getUserId(), from);
+    var to = accountDao.findByNumber(toAccountNumber)
+            .orElseThrow(NotFoundException::new);
+
+    validateBusinessRules(input);
+    if (input.getAmount().signum() == 0) {
+      throw new IllegalArgumentException("Transfer amount must be positive");
+    }
+    var fromBalance = mutateBalance(from.getBalance(), "withdrawal", input.getAmount());
+    var toBalance = mutateBalance(to.getBalance(), "deposit", input.getAmount());
+
+    var now = OffsetDateTime.now();
+    var debit = newEntity(from.getAccountNumber(), input.getUserId(), input, now);
+    debit.setType("withdrawal");
+    var credit = newEntity(to.getAccountNumber(), to.getUserId(), input, now);
+    credit.setType("deposit");
+    debit.setRelatedTransactionId(credit.getId());
+    credit.setRelatedTransactionId(debit.getId());
+
+    long lsn = wal.atomically(() -> {
+      transactionDao.saveAll(List.of(debit, credit));
+      from.setBalance(fromBalance);
+      from.setUpdated(now);
+      accountDao.save(from);
+      to.setBalance(toBalance);
+      to.setUpdated(now);
+      accountDao.save(to);
+    });
+
+    return new Logged<>(TransferBO.builder()
+            .debit(transactionEntityMapper.toBO(debit))
+            .credit(transactionEntityMapper.toBO(credit))
+            .build(), lsn);
+  }
+
+  /** Waits for a posting's log group to be durable; called once its ledger locks are released. */
+  private <T> T durable(Logged<T> posting) {
+    wal.awaitDurable(posting.lsn());
+    return posting.result();
+  }
+
+  /**
+   * List one page of transactions for an account owned by the user, most recent first.
+   * The cursor is the opaque {@code nextCursor} of the previous page (null for the first page).
+   */
+  public PageBO<TransactionBO> listTransactions(String userId, String accountNumber, String cursor, Integer limit) {
     AccountEntity account = accountDao.findByNumber(accountNumber)
             .orElseThrow(NotFoundException::new);
     assertOwnership(userId, account);
 
-    return transactionDao.findByAccountNumber(accountNumber).stream()
-            .map(transactionEntityMapper::toBO)
-            .collect(Collectors.toList());
+    int pageSize = PageCursor.limit(limit);
+    // fetch one extra row to learn whether another page follows
+    List<TransactionEntity> rows = transactionDao.findByAccountNumber(accountNumber, decodeSequence(cursor), pageSize + 1);
+    boolean hasMore = rows.size() > pageSize;
+    List<TransactionEntity> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+    String nextCursor = hasMore
+            ? PageCursor.encode(CURSOR_KIND, Long.toString(page.get(page.size() - 1).getSequence()))
+            : null;
+    int span = RequestTracer.begin(MAP_SPAN);
+    List<TransactionBO> items = page.stream().map(transactionEntityMapper::toBO).toList();
+    RequestTracer.end(span);
+    return PageBO.<TransactionBO>builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .build();
   }
 
   /**
@@ -102,6 +273,14 @@ public class TransactionService {
 
   /* --------------------- private helpers --------------------- */
 
+  private static Timer phaseTimer(MeterRegistry meters, String phase) {
+    return Timer.builder(POSTING_METRIC)
+            .description("Time per phase of a single ledger posting")
+            .tag("phase", phase)
+            .publishPercentileHistogram()
+            .register(meters);
+  }
+
   private void assertOwnership(String userId, AccountEntity account) {
     if (!userId.equals(account.getUserId())) {
       throw new ForbiddenException();
@@ -120,19 +299,48 @@ public class TransactionService {
     }
   }
 
-  private BigDecimal mutateBalance(BigDecimal current, String type, BigDecimal amount)  {
+  /** Builds the full entity with ALL fields set here. */
+  private TransactionEntity newEntity(String accountNumber, String userId, TransactionBO input, OffsetDateTime now) {
+    return TransactionEntity.builder()
+            .id(IdGenerator.transactionId())
+            .accountNumber(accountNumber)
+            .userId(userId)
+            .amount(input.getAmount())
+            .currency(input.getCurrency())
+            .type(input.getType())
+            .reference(input.getReference())
+            .created(now)
+            .build();
+  }
+
+  private Money mutateBalance(Money current, String type, Money amount)  {
     if ("deposit".equals(type)) {
-      return current.add(amount);
+      return current.plus(amount);
     }
     // withdrawal
-    if (current.compareTo(amount) < 0) {
+    if (current.isLessThan(amount)) {
       throw new InsufficientFundsException("Insufficient funds");
     }
-    return current.subtract(amount);
+    return current.minus(amount);
+  }
+
+  private long decodeSequence(String cursor) {
+    String key = PageCursor.decode(CURSOR_KIND, cursor);
+    if (key == null) {
+      return Long.MAX_VALUE;
+    }
+    try {
+      long sequence = Long.parseLong(key);
+      if (sequence < 0) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      return sequence;
+    } catch (NumberFormatException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
   }
 
-  private String generateTransactionId() {
-    // tan-<8 chars>
-    return "tan-" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+  /** A posting's result and the LSN of its log group, still to be awaited once the locks are released. */
+  private record Logged<T>(T result, long lsn) {
   }
 }
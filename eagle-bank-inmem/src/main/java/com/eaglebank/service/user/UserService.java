@@ -53,6 +53,13 @@ public class UserService {
     return userDao.findByEmail(email);
   }
 
+  /** Replaces the stored hash, e.g. when a login upgrades it to the current hashing parameters. */
+  public void updatePasswordHash(String userId, String passwordHash) {
+    var e = userDao.findById(userId).orElseThrow(NotFoundException::new);
+    e.setPasswordHash(passwordHash);
+    userDao.save(e);
+  }
+
   private void assertSelf(String requesterUserId, String ownerUserId) {
     if (!requesterUserId.equals(ownerUserId)) throw new ForbiddenException();
   }
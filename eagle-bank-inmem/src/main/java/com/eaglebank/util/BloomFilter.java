@@ -0,0 +1,76 @@
+package com.eaglebank.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, sized for an expected number of keys and false-positive rate.
+ * Keys are hashed with 64-bit FNV-1a straight from their chars, and the probe positions are derived
+ * from the two halves of that hash (Kirsch–Mitzenmacher), so {@link #mightContain} reads a few words
+ * and allocates nothing. {@link #add} is thread-safe and lock-free; keys cannot be removed.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(int expectedKeys, double falsePositiveRate) {
+    if (expectedKeys < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("Bloom filter needs positive keys and a rate in (0, 1)");
+    }
+    double ln2 = Math.log(2);
+    long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int wordCount = (int) Math.max(1, (bits + 63) / 64);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = wordCount * 64L;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+  }
+
+  public void add(String key) {
+    long hash = fnv1a(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+  }
+
+  /** False if {@code key} was certainly never added; true if it probably was. */
+  public boolean mightContain(String key) {
+    long hash = fnv1a(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Number of hash probes per key. */
+  public int hashCount() {
+    return hashCount;
+  }
+
+  /** Size of the bit array. */
+  public long bitCount() {
+    return bitCount;
+  }
+
+  private static long fnv1a(String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+}
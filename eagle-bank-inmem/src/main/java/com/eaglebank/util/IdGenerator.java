@@ -1,27 +1,83 @@
 package com.eaglebank.util;
 
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
+/**
+ * Generates user and transaction IDs that are unique across nodes without coordination.
+ * <p>
+ * Each ID is a 63-bit number: milliseconds since 2025-01-01 (41 bits, good until 2094), the node ID
+ * (10 bits, set once at startup from {@code app.ids.node-id}) and a per-millisecond sequence (12 bits).
+ * The timestamp and sequence are advanced together with one CAS, so IDs from a node are strictly
+ * increasing: more than 4096 IDs in a millisecond borrow from the next one, and a clock that steps
+ * back does not repeat IDs. The number is written as 11 fixed-width base-62 digits, whose ASCII
+ * order matches numeric order, so IDs sort by creation time.
+ */
 public final class IdGenerator {
 
-    public IdGenerator() {}
+  /** 2025-01-01T00:00:00Z */
+  static final long EPOCH_MILLIS = 1_735_689_600_000L;
+  static final int NODE_BITS = 10;
+  static final int SEQUENCE_BITS = 12;
+  public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
 
-    private static String shortId() {
-        // Take first 8 chars of UUID for compact but unique IDs
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-    }
+  private static final byte[] DIGITS =
+          "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+  /** Base-62 digits needed for any non-negative long */
+  static final int ENCODED_LENGTH = 11;
+
+  private static volatile IdGenerator shared = new IdGenerator(0, System::currentTimeMillis);
 
-    public static String userId() {
-        return "usr-" + shortId();
+  private final long nodeBits;
+  private final LongSupplier clockMillis;
+  /** Last issued (milliseconds since epoch << SEQUENCE_BITS | sequence) */
+  private final AtomicLong last = new AtomicLong();
+
+  IdGenerator(int nodeId, LongSupplier clockMillis) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
     }
+    this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    this.clockMillis = clockMillis;
+  }
+
+  /** Sets this node's ID; call once at startup, before any ID is generated. */
+  public static void useNodeId(int nodeId) {
+    shared = new IdGenerator(nodeId, System::currentTimeMillis);
+  }
 
-    public static String accountId() {
-              int random = (int) (Math.random() * 1_000_000);
-            return String.format("01%06d", random);
-        }
+  public static String userId() {
+    return format("usr-", shared.nextId());
+  }
 
+  public static String transactionId() {
+    return format("tan-", shared.nextId());
+  }
 
-    public static String transactionId() {
-        return "tan-" + shortId();
+  long nextId() {
+    long now = (clockMillis.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+    while (true) {
+      long previous = last.get();
+      long next = Math.max(previous + 1, now);
+      if (last.compareAndSet(previous, next)) {
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+      }
+    }
+  }
+
+  /** Writes {@code prefix} and the fixed-width base-62 digits of {@code id} straight into the string's bytes. */
+  static String format(String prefix, long id) {
+    int start = prefix.length();
+    byte[] out = new byte[start + ENCODED_LENGTH];
+    for (int i = 0; i < start; i++) {
+      out[i] = (byte) prefix.charAt(i);
+    }
+    for (int i = out.length - 1; i >= start; i--) {
+      out[i] = DIGITS[(int) (id % 62)];
+      id /= 62;
     }
+    return new String(out, StandardCharsets.ISO_8859_1);
+  }
 }
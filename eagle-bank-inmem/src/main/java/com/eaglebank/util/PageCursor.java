@@ -0,0 +1,54 @@
+package com.eaglebank.util;
+
+import com.eaglebank.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors for paged list endpoints.
+ * A cursor wraps the sort key of the last item on a page, tagged with the kind of
+ * list it belongs to, so a transactions cursor cannot be replayed against accounts.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private PageCursor() {}
+
+    /** Encodes {@code key} as an opaque cursor for the given list kind. */
+    public static String encode(String kind, String key) {
+        byte[] raw = (kind + ':' + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode}; returns null for a null/blank cursor.
+     *
+     * @throws BadRequestException if the cursor is malformed or belongs to another list kind
+     */
+    public static String decode(String kind, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (!raw.startsWith(kind + ':') || raw.length() == kind.length() + 1) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return raw.substring(kind.length() + 1);
+    }
+
+    /** Applies the default page size to a missing limit and clamps it to [1, MAX_LIMIT]. */
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+}
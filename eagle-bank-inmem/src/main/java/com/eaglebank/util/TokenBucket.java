@@ -0,0 +1,66 @@
+package com.eaglebank.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens and refilled at a steady rate.
+ * <p>
+ * Rather than a token count and a last-refill time, the bucket stores the single instant at which
+ * it will be full again: taking a token pushes that instant one refill interval later, and the
+ * tokens available at any moment follow from how far it lies ahead of now. Refill is therefore
+ * implicit, and a take is one compare-and-set on one long with no allocation. A bucket whose
+ * full-again instant has passed behaves exactly like a new one, so it can be dropped when idle.
+ * Times are in nanoseconds from any monotonic source, e.g. {@link System#nanoTime()}.
+ */
+public final class TokenBucket {
+
+  private final int capacity;
+  private final long refillIntervalNanos;
+  /** capacity * refillIntervalNanos: how far ahead of now the full-again instant may lie */
+  private final long windowNanos;
+
+  private final AtomicLong fullAt;
+
+  public TokenBucket(int capacity, long refillIntervalNanos, long now) {
+    if (capacity < 1 || refillIntervalNanos < 1) {
+      throw new IllegalArgumentException("Token bucket needs a positive capacity and refill interval");
+    }
+    this.capacity = capacity;
+    this.refillIntervalNanos = refillIntervalNanos;
+    this.windowNanos = Math.multiplyExact(capacity, refillIntervalNanos);
+    this.fullAt = new AtomicLong(now);
+  }
+
+  /**
+   * Takes one token if one is available.
+   *
+   * @param now the current time in nanoseconds
+   * @return the tokens left after taking one ({@code >= 0}), or, if the bucket is empty, the negated
+   * number of nanoseconds until a token is available ({@code < 0})
+   */
+  public long tryTake(long now) {
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current - now, 0) + refillIntervalNanos;
+      if (next > windowNanos) {
+        return -(next - windowNanos);
+      }
+      if (fullAt.compareAndSet(current, now + next)) {
+        return (windowNanos - next) / refillIntervalNanos;
+      }
+    }
+  }
+
+  /** True if the bucket has refilled completely by {@code now}, so dropping it loses nothing. */
+  public boolean isFull(long now) {
+    return fullAt.get() - now <= 0;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public long refillIntervalNanos() {
+    return refillIntervalNanos;
+  }
+}
@@ -0,0 +1,93 @@
+package com.eaglebank.util.trace;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Encodes spans as an OTLP/JSON {@code ExportTraceServiceRequest}: the body an OpenTelemetry
+ * collector accepts on {@code POST /v1/traces}, and, one request per line, the format its
+ * {@code otlpjsonfile} receiver reads. Root spans are {@code SERVER} spans; the rest are {@code INTERNAL}.
+ */
+public final class OtlpJson {
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private static final int KIND_INTERNAL = 1;
+  private static final int KIND_SERVER = 2;
+
+  private OtlpJson() {
+  }
+
+  public static byte[] encode(List<RecordedSpan> spans, String serviceName) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(256 + spans.size() * 256);
+    try (JsonGenerator json = JSON.createGenerator(out)) {
+      json.writeStartObject();
+      json.writeArrayFieldStart("resourceSpans");
+      json.writeStartObject();
+
+      json.writeObjectFieldStart("resource");
+      json.writeArrayFieldStart("attributes");
+      writeAttribute(json, "service.name", serviceName);
+      json.writeEndArray();
+      json.writeEndObject();
+
+      json.writeArrayFieldStart("scopeSpans");
+      json.writeStartObject();
+      json.writeObjectFieldStart("scope");
+      json.writeStringField("name", RequestTracer.class.getName());
+      json.writeEndObject();
+      json.writeArrayFieldStart("spans");
+      for (RecordedSpan span : spans) {
+        writeSpan(json, span);
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+      json.writeEndArray();
+
+      json.writeEndObject();
+      json.writeEndArray();
+      json.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeSpan(JsonGenerator json, RecordedSpan span) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("traceId", hex(span.traceHi()) + hex(span.traceLo()));
+    json.writeStringField("spanId", hex(span.spanId()));
+    if (!span.root()) {
+      json.writeStringField("parentSpanId", hex(span.parentId()));
+    }
+    json.writeStringField("name", span.name());
+    json.writeNumberField("kind", span.root() ? KIND_SERVER : KIND_INTERNAL);
+    // 64-bit integers are strings in OTLP/JSON
+    json.writeStringField("startTimeUnixNano", Long.toString(span.startEpochNanos()));
+    json.writeStringField("endTimeUnixNano", Long.toString(span.endEpochNanos()));
+    json.writeArrayFieldStart("attributes");
+    writeAttribute(json, "thread.name", span.thread());
+    json.writeEndArray();
+    json.writeEndObject();
+  }
+
+  private static void writeAttribute(JsonGenerator json, String key, String value) throws IOException {
+    json.writeStartObject();
+    json.writeStringField("key", key);
+    json.writeObjectFieldStart("value");
+    json.writeStringField("stringValue", value);
+    json.writeEndObject();
+    json.writeEndObject();
+  }
+
+  /** 16 lowercase hex digits, zero-padded. */
+  static String hex(long value) {
+    String digits = Long.toHexString(value);
+    return "0".repeat(16 - digits.length()) + digits;
+  }
+}
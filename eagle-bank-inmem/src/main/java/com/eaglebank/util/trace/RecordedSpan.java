@@ -0,0 +1,17 @@
+package com.eaglebank.util.trace;
+
+/**
+ * A finished span copied out of a {@link SpanRing}. IDs follow OpenTelemetry: a 128-bit trace ID
+ * as two longs and a 64-bit span ID; {@code parentId} is 0 for a trace's root span. Times are Unix epoch nanos.
+ */
+public record RecordedSpan(long traceHi, long traceLo, long spanId, long parentId, String name,
+                           long startEpochNanos, long endEpochNanos, String thread) {
+
+  public boolean root() {
+    return parentId == 0;
+  }
+
+  public long durationNanos() {
+    return endEpochNanos - startEpochNanos;
+  }
+}
@@ -0,0 +1,42 @@
+package com.eaglebank.util.trace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Opens the root span of each sampled request, ahead of every other filter so the security chain
+ * is inside it. The span is named after the method and the matched route template, e.g.
+ * {@code GET /v1/accounts/{accountNumber}/transactions}, so span names stay a small fixed set
+ * whatever IDs appear in the paths; requests that matched no route are named {@code unmatched}.
+ */
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+  private static final Set<String> METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+    if (!RequestTracer.beginRequest()) {
+      chain.doFilter(request, response);
+      return;
+    }
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      RequestTracer.endRequest(RequestTracer.name(rootName(request)));
+    }
+  }
+
+  private static String rootName(HttpServletRequest request) {
+    String method = METHODS.contains(request.getMethod()) ? request.getMethod() : "OTHER";
+    Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return method + " " + (route != null ? route : "unmatched");
+  }
+}
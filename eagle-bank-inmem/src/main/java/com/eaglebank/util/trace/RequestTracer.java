@@ -0,0 +1,144 @@
+package com.eaglebank.util.trace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampled per-request span timings, recorded into a ring per request thread ({@link SpanRing}).
+ * <p>
+ * {@link #beginRequest()} decides, at {@code app.tracing.sample-rate}, whether the request on this
+ * thread is traced. Code on the request path then brackets a stage with {@link #begin}/{@link #end}:
+ * <pre>{@code
+ * int span = RequestTracer.begin(SPAN_NAME);
+ * try { ... } finally { RequestTracer.end(span); }
+ * }</pre>
+ * With sampling off {@code begin} is one volatile read; on an unsampled request it is also one
+ * thread-local read. A span left open, e.g. by an exception, is closed when its parent is.
+ * <p>
+ * Span names are registered once with {@link #name(String)} and recorded as ints, so recording
+ * allocates nothing. At most {@value #MAX_NAMES} names are registered; any more share {@code "other"}.
+ */
+public final class RequestTracer {
+
+  static final int MAX_NAMES = 1024;
+
+  private static final int OTHER = 0;
+
+  private static final Map<String, Integer> NAME_IDS = new ConcurrentHashMap<>();
+  private static volatile String[] names = {"other"};
+
+  private static final ThreadLocal<SpanRing> RING = new ThreadLocal<>();
+  private static final List<SpanRing> RINGS = new CopyOnWriteArrayList<>();
+
+  private static volatile double sampleRate;
+  private static volatile int ringCapacity = 1024;
+
+  private RequestTracer() {
+  }
+
+  /**
+   * Sets the fraction of requests traced (0 turns tracing off) and the spans kept per thread.
+   * Threads pick up a new capacity at their next sampled request.
+   */
+  public static void configure(double rate, int spansPerThread) {
+    if (!(rate >= 0 && rate <= 1)) {
+      throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+    }
+    if (spansPerThread < 2 || Integer.bitCount(spansPerThread) != 1) {
+      throw new IllegalArgumentException("Spans per thread must be a power of two of at least 2");
+    }
+    ringCapacity = spansPerThread;
+    sampleRate = rate;
+  }
+
+  public static boolean enabled() {
+    return sampleRate > 0;
+  }
+
+  /** Returns the ID of a span name, registering it on first use. */
+  public static int name(String name) {
+    Integer id = NAME_IDS.get(name);
+    return id != null ? id : register(name);
+  }
+
+  private static synchronized int register(String name) {
+    Integer id = NAME_IDS.get(name);
+    if (id != null) {
+      return id;
+    }
+    String[] current = names;
+    if (current.length == MAX_NAMES) {
+      return OTHER;
+    }
+    String[] next = Arrays.copyOf(current, current.length + 1);
+    next[current.length] = name;
+    names = next;
+    NAME_IDS.put(name, current.length);
+    return current.length;
+  }
+
+  /**
+   * Samples the request starting on this thread and, if chosen, opens its root span.
+   *
+   * @return whether the request is traced; only then must {@link #endRequest} be called
+   */
+  public static boolean beginRequest() {
+    double rate = sampleRate;
+    if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+      return false;
+    }
+    SpanRing ring = RING.get();
+    if (ring == null || ring.capacity() != ringCapacity) {
+      if (ring != null) {
+        RINGS.remove(ring);
+      }
+      ring = new SpanRing(Thread.currentThread().getName(), ringCapacity);
+      RING.set(ring);
+      RINGS.add(ring);
+    }
+    ring.beginTrace(OTHER);
+    return true;
+  }
+
+  /** Closes the traced request on this thread, naming its root span. */
+  public static void endRequest(int rootName) {
+    SpanRing ring = RING.get();
+    if (ring != null) {
+      ring.endTrace(rootName);
+    }
+  }
+
+  /** Opens a span in the request traced on this thread; returns its handle, or -1 when not tracing. */
+  public static int begin(int name) {
+    if (sampleRate <= 0) {
+      return -1;
+    }
+    SpanRing ring = RING.get();
+    return ring == null || !ring.tracing() ? -1 : ring.begin(name);
+  }
+
+  /** Closes the span opened by {@link #begin}; a handle of -1 is ignored. */
+  public static void end(int span) {
+    if (span >= 0) {
+      RING.get().end(span);
+    }
+  }
+
+  /**
+   * Returns the spans finished since the previous drain, across all threads. Spans a thread
+   * overwrote before they were drained are lost; the ring size bounds how long they are kept.
+   */
+  public static synchronized List<RecordedSpan> drain() {
+    String[] nameTable = names;
+    List<RecordedSpan> spans = new ArrayList<>();
+    for (SpanRing ring : RINGS) {
+      ring.exported = ring.read(ring.exported, nameTable, spans);
+    }
+    return spans;
+  }
+}
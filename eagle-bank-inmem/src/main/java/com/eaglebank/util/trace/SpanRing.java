@@ -0,0 +1,160 @@
+package com.eaglebank.util.trace;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One thread's spans: the stack of spans open in its current trace, and a ring of finished spans
+ * held as parallel primitive arrays, so recording a span writes a few array slots and allocates nothing.
+ * <p>
+ * Only the owning thread writes. It fills a slot, then publishes it by advancing {@code published}
+ * with a release store; once the ring is full each new span overwrites the oldest. Readers copy
+ * slots and then re-read {@code published} to drop any the writer lapped while they were copying.
+ */
+final class SpanRing {
+
+  /** Deepest nesting recorded; spans opened below it are not recorded */
+  private static final int MAX_DEPTH = 32;
+
+  private final String threadName;
+  private final int mask;
+
+  private final long[] traceHi;
+  private final long[] traceLo;
+  private final long[] spanIds;
+  private final long[] parentIds;
+  private final long[] starts;
+  private final long[] ends;
+  private final int[] names;
+
+  /** Spans written so far; slot {@code seq & mask} holds span number {@code seq} */
+  private final AtomicLong published = new AtomicLong();
+
+  /** Spans up to this number have been handed to the exporter; used by {@link RequestTracer#drain} only */
+  long exported;
+
+  // the trace running on the owning thread; depth 0 means no trace
+  private final long[] openIds = new long[MAX_DEPTH];
+  private final long[] openStarts = new long[MAX_DEPTH];
+  private final int[] openNames = new int[MAX_DEPTH];
+  private int depth;
+  private long currentHi;
+  private long currentLo;
+
+  /** Wall-clock nanos minus {@link System#nanoTime()}, to turn span times into Unix epoch nanos */
+  private final long epochOffset;
+
+  SpanRing(String threadName, int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Span ring capacity must be a power of two of at least 2");
+    }
+    this.threadName = threadName;
+    this.mask = capacity - 1;
+    this.traceHi = new long[capacity];
+    this.traceLo = new long[capacity];
+    this.spanIds = new long[capacity];
+    this.parentIds = new long[capacity];
+    this.starts = new long[capacity];
+    this.ends = new long[capacity];
+    this.names = new int[capacity];
+    Instant now = Instant.now();
+    this.epochOffset = now.getEpochSecond() * 1_000_000_000L + now.getNano() - System.nanoTime();
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  boolean tracing() {
+    return depth > 0;
+  }
+
+  /** Starts a new trace on this thread with a root span; any trace still open is closed first. */
+  void beginTrace(int name) {
+    if (depth > 0) {
+      end(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    currentHi = random.nextLong();
+    currentLo = random.nextLong() | 1;
+    push(name);
+  }
+
+  /** Opens a child of the innermost open span; returns its handle, or -1 outside a trace. */
+  int begin(int name) {
+    if (depth == 0 || depth == MAX_DEPTH) {
+      return -1;
+    }
+    return push(name);
+  }
+
+  /**
+   * Closes the span with handle {@code span}, and first any spans still open inside it.
+   * A handle that is already closed is ignored.
+   */
+  void end(int span) {
+    if (span < 0 || span >= depth) {
+      return;
+    }
+    long now = System.nanoTime();
+    while (depth > span) {
+      depth--;
+      record(depth, now);
+    }
+  }
+
+  /** Closes the trace, renaming its root span to {@code rootName}. */
+  void endTrace(int rootName) {
+    if (depth > 0) {
+      openNames[0] = rootName;
+      end(0);
+    }
+  }
+
+  private int push(int name) {
+    openIds[depth] = ThreadLocalRandom.current().nextLong() | 1;
+    openNames[depth] = name;
+    openStarts[depth] = System.nanoTime();
+    return depth++;
+  }
+
+  private void record(int open, long endNanos) {
+    long seq = published.getPlain();
+    int slot = (int) (seq & mask);
+    traceHi[slot] = currentHi;
+    traceLo[slot] = currentLo;
+    spanIds[slot] = openIds[open];
+    parentIds[slot] = open == 0 ? 0 : openIds[open - 1];
+    starts[slot] = openStarts[open];
+    ends[slot] = endNanos;
+    names[slot] = openNames[open];
+    published.setRelease(seq + 1);
+  }
+
+  /**
+   * Appends copies of the spans numbered {@code from} onwards that are still in the ring to
+   * {@code out}, oldest first, and returns the number to read from next time.
+   */
+  long read(long from, String[] nameTable, List<RecordedSpan> out) {
+    long end = published.getAcquire();
+    // the slot after the newest may be half-written, so the oldest slot is never read
+    long first = Math.max(from, end - mask);
+    int mark = out.size();
+    for (long seq = first; seq < end; seq++) {
+      int slot = (int) (seq & mask);
+      int name = names[slot];
+      out.add(new RecordedSpan(traceHi[slot], traceLo[slot], spanIds[slot], parentIds[slot],
+              name < nameTable.length ? nameTable[name] : "unknown",
+              starts[slot] + epochOffset, ends[slot] + epochOffset, threadName));
+    }
+    VarHandle.acquireFence();
+    long lapped = published.getAcquire() - mask;
+    if (lapped > first) {
+      out.subList(mark, mark + (int) Math.min(lapped - first, end - first)).clear();
+    }
+    return end;
+  }
+}
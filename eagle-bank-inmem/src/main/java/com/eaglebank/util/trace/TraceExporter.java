@@ -0,0 +1,132 @@
+package com.eaglebank.util.trace;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships traced spans out of the per-thread rings as OTLP/JSON.
+ * <p>
+ * Every {@code app.tracing.export.interval-ms} it drains the spans finished since the last export
+ * and appends them as one JSON line to {@code app.tracing.export.file} and/or posts them to
+ * {@code app.tracing.export.endpoint} (an OTLP/HTTP collector, e.g. {@code http://localhost:4318/v1/traces}).
+ * A failed export is logged and its spans dropped; tracing never holds up requests. With no
+ * target configured, or sampling off, nothing is scheduled.
+ */
+@Slf4j
+public class TraceExporter {
+
+  private final Path file;
+  private final URI endpoint;
+  private final long intervalMs;
+  private final String serviceName;
+
+  private HttpClient http;
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * @param file        file to append to, or blank for none
+   * @param endpoint    OTLP/HTTP traces URL to post to, or blank for none
+   * @param intervalMs  delay between exports
+   * @param serviceName {@code service.name} resource attribute of the exported spans
+   */
+  public TraceExporter(String file, String endpoint, long intervalMs, String serviceName) {
+    this.file = file.isBlank() ? null : Path.of(file);
+    this.endpoint = endpoint.isBlank() ? null : URI.create(endpoint);
+    this.intervalMs = intervalMs;
+    this.serviceName = serviceName;
+  }
+
+  @PostConstruct
+  public void start() {
+    if ((file == null && endpoint == null) || !RequestTracer.enabled() || intervalMs <= 0) {
+      return;
+    }
+    if (endpoint != null) {
+      http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "trace-exporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::exportQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /** Stops the schedule and exports whatever is left. */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (scheduler != null) {
+      scheduler.shutdown();
+      scheduler.awaitTermination(10, TimeUnit.SECONDS);
+      exportQuietly();
+    }
+  }
+
+  /**
+   * Exports the spans finished since the last export.
+   *
+   * @return the number of spans exported
+   */
+  public synchronized int exportNow() throws IOException, InterruptedException {
+    List<RecordedSpan> spans = RequestTracer.drain();
+    if (spans.isEmpty()) {
+      return 0;
+    }
+    byte[] json = OtlpJson.encode(spans, serviceName);
+    if (file != null) {
+      appendLine(json);
+    }
+    if (endpoint != null) {
+      post(json);
+    }
+    return spans.size();
+  }
+
+  private void appendLine(byte[] json) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    byte[] line = new byte[json.length + 1];
+    System.arraycopy(json, 0, line, 0, json.length);
+    line[json.length] = '\n';
+    Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  private void post(byte[] json) throws IOException, InterruptedException {
+    HttpClient client = http != null ? http : HttpClient.newHttpClient();
+    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(endpoint)
+            .timeout(Duration.ofSeconds(10))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+            .build(), HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() / 100 != 2) {
+      throw new IOException("Trace endpoint answered " + response.statusCode());
+    }
+  }
+
+  private void exportQuietly() {
+    try {
+      exportNow();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Trace export failed", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.eaglebank.util.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON message converter, with response serialization traced as a {@code serialize-json} span.
+ * The span covers writing the body to the response stream as well as encoding it.
+ */
+public class TracedJsonConverter extends MappingJackson2HttpMessageConverter {
+
+  private static final int SPAN = RequestTracer.name("serialize-json");
+
+  public TracedJsonConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+    int span = RequestTracer.begin(SPAN);
+    try {
+      super.writeInternal(object, type, outputMessage);
+    } finally {
+      RequestTracer.end(span);
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.eaglebank.controller;
 
 import com.eaglebank.bo.AccountBO;
+import com.eaglebank.bo.PageBO;
+import com.eaglebank.domain.Money;
 import com.eaglebank.gen.model.BankAccountResponse;
 import com.eaglebank.gen.model.CreateBankAccountRequest;
 import com.eaglebank.mapper.account.AccountApiMapper;
@@ -20,7 +22,6 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -61,7 +62,7 @@ class AccountApiImplWebMvcTest {
         req.setName("My Account");
         req.accountType(CreateBankAccountRequest.AccountTypeEnum.PERSONAL);
 
-        AccountBO bo = MockData.accountBO("u1", ACC_NUM, new BigDecimal("100"), "GBP");
+        AccountBO bo = MockData.accountBO("u1", ACC_NUM, Money.parse("100"), "GBP");
 
         BankAccountResponse resp = new BankAccountResponse()
                 .accountNumber(ACC_NUM)
@@ -83,15 +84,17 @@ class AccountApiImplWebMvcTest {
                 .andExpect(jsonPath("$.currency").value("GBP"));
 
         verify(accountService).createAccount(bo);
+        verify(authGuard, times(1)).requireUserId();
     }
 
     @Test
     void listAccounts_returnsOkWithList() throws Exception {
         when(authGuard.requireUserId()).thenReturn("u1");
 
-        AccountBO a1 = MockData.accountBO("u1", ACC_NUM, new BigDecimal("100"), "GBP");
-        AccountBO a2 = MockData.accountBO("u1", "01234568", new BigDecimal("200"), "GBP");
-        when(accountService.listUserAccounts("u1")).thenReturn(List.of(a1, a2));
+        AccountBO a1 = MockData.accountBO("u1", ACC_NUM, Money.parse("100"), "GBP");
+        AccountBO a2 = MockData.accountBO("u1", "01234568", Money.parse("200"), "GBP");
+        when(accountService.listUserAccounts("u1", null, 100))
+                .thenReturn(PageBO.<AccountBO>builder().items(List.of(a1, a2)).build());
 
         BankAccountResponse r1 = new BankAccountResponse()
                 .accountNumber(ACC_NUM).balance(100.0).currency(BankAccountResponse.CurrencyEnum.GBP);
@@ -106,11 +109,24 @@ class AccountApiImplWebMvcTest {
                 .andExpect(jsonPath("$.accounts[1].accountNumber").value("01234568"));
     }
 
+    @Test
+    void listAccounts_passesLimitAndCursorThrough() throws Exception {
+        when(authGuard.requireUserId()).thenReturn("u1");
+        when(accountService.listUserAccounts("u1", "abc", 5))
+                .thenReturn(PageBO.<AccountBO>builder().items(List.of()).build());
+
+        mvc.perform(get(BASE).param("limit", "5").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").isEmpty());
+
+        verify(accountService).listUserAccounts("u1", "abc", 5);
+    }
+
     @Test
     void fetchAccount_returnsAccount() throws Exception {
         when(authGuard.requireUserId()).thenReturn("u1");
 
-        AccountBO bo = MockData.accountBO("u1", ACC_NUM, new BigDecimal("123"), "GBP");
+        AccountBO bo = MockData.accountBO("u1", ACC_NUM, Money.parse("123"), "GBP");
         BankAccountResponse resp = new BankAccountResponse()
                 .accountNumber(ACC_NUM)
                 .balance(123.0)
@@ -129,7 +145,7 @@ class AccountApiImplWebMvcTest {
     void updateAccountByNumber_returnsUpdated() throws Exception {
         when(authGuard.requireUserId()).thenReturn("u1");
 
-        AccountBO bo = MockData.accountBO("u1", ACC_NUM, new BigDecimal("500"), "GBP");
+        AccountBO bo = MockData.accountBO("u1", ACC_NUM, Money.parse("500"), "GBP");
         bo.setName("Updated Name");
 
         BankAccountResponse resp = new BankAccountResponse()
@@ -1,7 +1,14 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.exception.NotAuthenticatedException;
+import com.eaglebank.exception.TooManyRequestsException;
 import com.eaglebank.security.JwtAuthFilter;
 import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.VerifiedToken;
+import com.eaglebank.service.security.RefreshTokenService;
+import com.eaglebank.service.security.StoreUserDetails;
+import com.eaglebank.service.security.TokenRevocationService;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
@@ -12,9 +19,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -32,6 +43,8 @@ class AuthControllerWebMvcTest {
 
     @MockBean AuthenticationManager authenticationManager;
     @MockBean JwtUtil jwtUtil;
+    @MockBean TokenRevocationService revocations;
+    @MockBean RefreshTokenService refreshTokens;
 
     // mock security infra so context loads without real beans
     @MockBean JwtAuthFilter jwtAuthFilter;
@@ -41,7 +54,11 @@ class AuthControllerWebMvcTest {
 
     @Test
     void login_success_returns200WithToken() throws Exception {
-        when(jwtUtil.generateToken("test@example.com")).thenReturn("jwt123");
+        var user = new StoreUserDetails("usr-1", "test@example.com", "hash", List.of());
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(refreshTokens.issue("test@example.com", "usr-1"))
+                .thenReturn(new RefreshTokenService.Tokens("jwt123", "rt-1"));
 
         mvc.perform(post(BASE + "/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -50,10 +67,11 @@ class AuthControllerWebMvcTest {
                 """))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.token").value("jwt123"));
+                .andExpect(jsonPath("$.token").value("jwt123"))
+                .andExpect(jsonPath("$.refreshToken").value("rt-1"));
 
         verify(authenticationManager).authenticate(any());
-        verify(jwtUtil).generateToken("test@example.com");
+        verify(refreshTokens).issue("test@example.com", "usr-1");
     }
 
     @Test
@@ -69,6 +87,89 @@ class AuthControllerWebMvcTest {
                 .andExpect(status().isUnauthorized());
 
         verify(authenticationManager).authenticate(any());
-        verify(jwtUtil, never()).generateToken(any());
+        verify(refreshTokens, never()).issue(any(), any());
+    }
+
+    @Test
+    void login_hashingSaturated_returns429() throws Exception {
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new TooManyRequestsException("Too many concurrent sign-ins, retry shortly"));
+
+        mvc.perform(post(BASE + "/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                    {"email":"test@example.com","password":"secret123"}
+                """))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        verify(refreshTokens, never()).issue(any(), any());
+    }
+
+    @Test
+    void logout_revokesCurrentToken_returns204() throws Exception {
+        Instant expiry = Instant.now().plusSeconds(600);
+        when(jwtUtil.verify("jwt123")).thenReturn(new VerifiedToken("test@example.com", "usr-1", "jti-1", expiry));
+
+        mvc.perform(post(BASE + "/logout").header("Authorization", "Bearer jwt123"))
+                .andExpect(status().isNoContent());
+
+        verify(revocations).revoke("jti-1", expiry);
+    }
+
+    @Test
+    void refresh_success_returns200WithNewTokens() throws Exception {
+        when(refreshTokens.refresh("rt-1")).thenReturn(new RefreshTokenService.Tokens("jwt456", "rt-2"));
+
+        mvc.perform(post(BASE + "/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                    {"refreshToken":"rt-1"}
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt456"))
+                .andExpect(jsonPath("$.refreshToken").value("rt-2"));
+
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void refresh_rejectedToken_returns401() throws Exception {
+        when(refreshTokens.refresh("spent")).thenThrow(new NotAuthenticatedException());
+
+        mvc.perform(post(BASE + "/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                    {"refreshToken":"spent"}
+                """))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_withRefreshToken_endsSession() throws Exception {
+        Instant expiry = Instant.now().plusSeconds(600);
+        when(jwtUtil.verify("jwt123")).thenReturn(new VerifiedToken("test@example.com", "usr-1", "jti-1", expiry));
+
+        mvc.perform(post(BASE + "/logout").header("Authorization", "Bearer jwt123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                    {"refreshToken":"rt-1"}
+                """))
+                .andExpect(status().isNoContent());
+
+        verify(revocations).revoke("jti-1", expiry);
+        verify(refreshTokens).revoke("rt-1");
+    }
+
+    @Test
+    void logout_withoutValidToken_returns401() throws Exception {
+        when(jwtUtil.verify("bad")).thenThrow(new MalformedJwtException("bad"));
+
+        mvc.perform(post(BASE + "/logout").header("Authorization", "Bearer bad"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post(BASE + "/logout"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(revocations, refreshTokens);
     }
 }
@@ -0,0 +1,58 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.exception.ForbiddenException;
+import com.eaglebank.security.AuthGuard;
+import com.eaglebank.security.JwtAuthFilter;
+import com.eaglebank.security.JwtUtil;
+import com.eaglebank.service.security.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TokenAdminController.class,
+        excludeAutoConfiguration = {
+                SecurityAutoConfiguration.class,
+                SecurityFilterAutoConfiguration.class
+        })
+@AutoConfigureMockMvc(addFilters = false)
+class TokenAdminControllerWebMvcTest {
+
+    @Autowired MockMvc mvc;
+
+    @MockBean AuthGuard authGuard;
+    @MockBean TokenRevocationService revocations;
+
+    // mock security infra so context loads without real beans
+    @MockBean JwtAuthFilter jwtAuthFilter;
+    @MockBean JwtUtil jwtUtil;
+    @MockBean UserDetailsService userDetailsService;
+
+    @Test
+    void revokeToken_asAdmin_returns204() throws Exception {
+        mvc.perform(delete("/v1/admin/tokens/{tokenId}", "jti-1"))
+                .andExpect(status().isNoContent());
+
+        verify(authGuard).requireAdmin();
+        verify(revocations).revoke("jti-1");
+    }
+
+    @Test
+    void revokeToken_asNonAdmin_returns403() throws Exception {
+        doThrow(new ForbiddenException()).when(authGuard).requireAdmin();
+
+        mvc.perform(delete("/v1/admin/tokens/{tokenId}", "jti-1"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(revocations);
+    }
+}
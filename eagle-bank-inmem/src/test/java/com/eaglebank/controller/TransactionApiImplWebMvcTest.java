@@ -1,12 +1,18 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.bo.PageBO;
 import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.bo.TransferBO;
+import com.eaglebank.domain.Money;
 import com.eaglebank.gen.model.CreateTransactionRequest;
+import com.eaglebank.gen.model.CreateTransferRequest;
 import com.eaglebank.gen.model.TransactionResponse;
+import com.eaglebank.gen.model.TransferResponse;
 import com.eaglebank.mapper.transaction.TransactionApiMapper;
 import com.eaglebank.security.AuthGuard;
 import com.eaglebank.security.JwtAuthFilter;
 import com.eaglebank.security.JwtUtil;
+import com.eaglebank.service.transaction.IdempotencyStore;
 import com.eaglebank.service.transaction.TransactionService;
 import com.eaglebank.testutil.MockData;
 import org.junit.jupiter.api.Test;
@@ -16,16 +22,18 @@ import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAut
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -38,6 +46,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 SecurityFilterAutoConfiguration.class
         })
 @AutoConfigureMockMvc(addFilters = false)
+@Import(IdempotencyStore.class)
 class TransactionApiImplWebMvcTest {
 
     private static final String BASE = "/v1/accounts";
@@ -61,8 +70,8 @@ class TransactionApiImplWebMvcTest {
 
         // Request/BO/Response via MockData; enums: type "deposit", currency "GBP"
         CreateTransactionRequest req = MockData.txRequest(50.0, "deposit", "GBP", "test-dep");
-        TransactionBO in  = MockData.txBO("u1", ACC_NUM, "deposit", new BigDecimal("50.0"), "GBP");
-        TransactionBO out = MockData.txBO("u1", ACC_NUM, "deposit", new BigDecimal("50.0"), "GBP");
+        TransactionBO in  = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
+        TransactionBO out = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
         out.setId(TX_ID);
 
         TransactionResponse resp = new TransactionResponse()
@@ -90,13 +99,143 @@ class TransactionApiImplWebMvcTest {
         verify(transactionService).createTransaction(in);
     }
 
+    @Test
+    void createTransaction_retryWithSameIdempotencyKey_postsOnce() throws Exception {
+        when(authGuard.requireUserId()).thenReturn("u1");
+        TransactionBO in = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
+        TransactionBO out = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
+        out.setId(TX_ID);
+        when(mapper.fromRequest(any(CreateTransactionRequest.class), eq(ACC_NUM), eq("u1"))).thenReturn(in);
+        when(transactionService.createTransaction(in)).thenReturn(out);
+        when(mapper.toResponse(out)).thenReturn(new TransactionResponse().id(TX_ID));
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(post(BASE + "/" + ACC_NUM + "/transactions")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                {"amount":50.0,"currency":"GBP","type":"deposit","reference":"test-dep"}
+                            """))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(TX_ID));
+        }
+
+        verify(transactionService, times(1)).createTransaction(in);
+    }
+
+    @Test
+    void createTransaction_idempotencyKeyReusedForDifferentRequest_returns400() throws Exception {
+        when(authGuard.requireUserId()).thenReturn("u1");
+        TransactionBO out = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
+        when(transactionService.createTransaction(any())).thenReturn(out);
+        when(mapper.toResponse(out)).thenReturn(new TransactionResponse().id(TX_ID));
+
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transactions")
+                        .header("Idempotency-Key", "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"amount":50.0,"currency":"GBP","type":"deposit"}
+                        """))
+                .andExpect(status().isCreated());
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transactions")
+                        .header("Idempotency-Key", "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"amount":75.0,"currency":"GBP","type":"deposit"}
+                        """))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, times(1)).createTransaction(any());
+    }
+
+    @Test
+    void createTransactionBatch_returns201_withEveryTransactionInOrder() throws Exception {
+        when(authGuard.requireUserId()).thenReturn("u1");
+
+        TransactionBO dep = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
+        TransactionBO wd = MockData.txBO("u1", ACC_NUM, "withdrawal", Money.parse("20.0"), "GBP");
+        TransactionBO depOut = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("50.0"), "GBP");
+        depOut.setId("tan-AAA111");
+        TransactionBO wdOut = MockData.txBO("u1", ACC_NUM, "withdrawal", Money.parse("20.0"), "GBP");
+        wdOut.setId("tan-BBB222");
+
+        when(mapper.fromRequest(any(CreateTransactionRequest.class), eq(ACC_NUM), eq("u1"))).thenReturn(dep, wd);
+        when(transactionService.createTransactions("u1", ACC_NUM, List.of(dep, wd))).thenReturn(List.of(depOut, wdOut));
+        when(mapper.toResponse(depOut)).thenReturn(new TransactionResponse().id("tan-AAA111"));
+        when(mapper.toResponse(wdOut)).thenReturn(new TransactionResponse().id("tan-BBB222"));
+
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"transactions":[
+                              {"amount":50.0,"currency":"GBP","type":"deposit"},
+                              {"amount":20.0,"currency":"GBP","type":"withdrawal"}
+                            ]}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactions.length()").value(2))
+                .andExpect(jsonPath("$.transactions[0].id").value("tan-AAA111"))
+                .andExpect(jsonPath("$.transactions[1].id").value("tan-BBB222"));
+
+        verify(authGuard, times(1)).requireUserId();
+    }
+
+    @Test
+    void createTransactionBatch_emptyOrInvalidItem_returns400() throws Exception {
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactions\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactions\":[{\"amount\":10.0,\"currency\":\"GBP\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void createTransfer_returns201_withBothLegs() throws Exception {
+        when(authGuard.requireUserId()).thenReturn("u1");
+
+        TransactionBO debitIn = MockData.txBO("u1", ACC_NUM, "withdrawal", Money.parse("30.0"), "GBP");
+        TransferBO out = TransferBO.builder().debit(debitIn).credit(new TransactionBO()).build();
+        TransferResponse resp = new TransferResponse()
+                .debit(new TransactionResponse().id("tan-DEB001").relatedTransactionId("tan-CRE001"))
+                .credit(new TransactionResponse().id("tan-CRE001").relatedTransactionId("tan-DEB001"));
+
+        when(mapper.fromTransferRequest(any(CreateTransferRequest.class), eq(ACC_NUM), eq("u1"))).thenReturn(debitIn);
+        when(transactionService.transfer(debitIn, "01000002")).thenReturn(out);
+        when(mapper.toTransferResponse(out)).thenReturn(resp);
+
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"toAccountNumber":"01000002","amount":30.0,"currency":"GBP","reference":"rent"}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.debit.id").value("tan-DEB001"))
+                .andExpect(jsonPath("$.credit.relatedTransactionId").value("tan-DEB001"));
+    }
+
+    @Test
+    void createTransfer_invalidDestination_returns400() throws Exception {
+        mvc.perform(post(BASE + "/" + ACC_NUM + "/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountNumber\":\"99\",\"amount\":30.0,\"currency\":\"GBP\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
     @Test
     void listTransactions_returnsOk() throws Exception {
         when(authGuard.requireUserId()).thenReturn("u1");
 
-        TransactionBO bo1 = MockData.txBO("u1", ACC_NUM, "deposit", new BigDecimal("10"), "GBP");
+        TransactionBO bo1 = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("10"), "GBP");
         bo1.setId("tan-AAA111");
-        TransactionBO bo2 = MockData.txBO("u1", ACC_NUM, "withdrawal", new BigDecimal("5"), "GBP");
+        TransactionBO bo2 = MockData.txBO("u1", ACC_NUM, "withdrawal", Money.parse("5"), "GBP");
         bo2.setId("tan-BBB222");
 
         TransactionResponse r1 = new TransactionResponse()
@@ -110,21 +249,23 @@ class TransactionApiImplWebMvcTest {
                 .type(TransactionResponse.TypeEnum.WITHDRAWAL)
                 .currency(TransactionResponse.CurrencyEnum.GBP);
 
-        when(transactionService.listTransactions("u1", ACC_NUM)).thenReturn(List.of(bo1, bo2));
+        when(transactionService.listTransactions("u1", ACC_NUM, null, 100))
+                .thenReturn(PageBO.<TransactionBO>builder().items(List.of(bo1, bo2)).nextCursor("next-page").build());
         when(mapper.toResponse(bo1)).thenReturn(r1);
         when(mapper.toResponse(bo2)).thenReturn(r2);
 
         mvc.perform(get(BASE + "/" + ACC_NUM + "/transactions"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.transactions[0].id").value("tan-AAA111"))
-                .andExpect(jsonPath("$.transactions[1].id").value("tan-BBB222"));
+                .andExpect(jsonPath("$.transactions[1].id").value("tan-BBB222"))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
     }
 
     @Test
     void fetchTransaction_returnsOk() throws Exception {
         when(authGuard.requireUserId()).thenReturn("u1");
 
-        TransactionBO bo = MockData.txBO("u1", ACC_NUM, "deposit", new BigDecimal("25"), "GBP");
+        TransactionBO bo = MockData.txBO("u1", ACC_NUM, "deposit", Money.parse("25"), "GBP");
         bo.setId(TX_ID);
         TransactionResponse resp = new TransactionResponse()
                 .id(TX_ID)
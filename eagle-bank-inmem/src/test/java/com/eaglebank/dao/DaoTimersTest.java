@@ -0,0 +1,83 @@
+package com.eaglebank.dao;
+
+import com.eaglebank.dao.account.AccountDao;
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WalReplayTarget;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaoTimersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private long count(String dao, String operation) {
+        Timer timer = registry.find(DaoTimers.METRIC).tag("dao", dao).tag("operation", operation).timer();
+        return timer == null ? -1 : timer.count();
+    }
+
+    private static AccountEntity account(String number) {
+        return AccountEntity.builder().accountNumber(number).userId("u1").balance(Money.parse("1")).build();
+    }
+
+    @Test
+    void everyOperation_isTimedUnderItsMethodName() {
+        AccountDao dao = DaoTimers.timed(new InMemoryAccountDao(), AccountDao.class, "account", registry);
+
+        dao.save(account("a1"));
+        dao.findByNumber("a1");
+        dao.findByNumber("missing");
+        dao.findByUserId("u1");
+        dao.findByUserId("u1", null, 10);
+
+        assertEquals(1, count("account", "save"));
+        assertEquals(2, count("account", "findByNumber"));
+        // overloads share one series
+        assertEquals(2, count("account", "findByUserId"));
+        assertEquals(0, count("account", "deleteByNumber"));
+    }
+
+    @Test
+    void stats_isNotTimed() {
+        AccountDao dao = DaoTimers.timed(new InMemoryAccountDao(), AccountDao.class, "account", registry);
+        dao.save(account("a1"));
+
+        assertEquals(new AccountDao.Stats(1, 1), dao.stats());
+        assertEquals(-1, count("account", "stats"));
+    }
+
+    @Test
+    void failedOperation_isStillTimed_andRethrows() {
+        TransactionDao dao = DaoTimers.timed(new InMemoryTransactionDao(), TransactionDao.class, "transaction", registry);
+
+        assertThrows(NullPointerException.class, () -> dao.save(new TransactionEntity()));
+        assertEquals(1, count("transaction", "save"));
+    }
+
+    @Test
+    void proxy_keepsTheTargetsOtherInterfaces_untimed() {
+        TransactionDao dao = DaoTimers.timed(new InMemoryTransactionDao(), TransactionDao.class, "transaction", registry);
+        TransactionEntity tx = TransactionEntity.builder()
+                .id("t1").accountNumber("a1").userId("u1").amount(Money.parse("1"))
+                .currency("GBP").type("deposit").created(OffsetDateTime.now()).build();
+
+        WalReplayTarget target = assertInstanceOf(WalReplayTarget.class, dao);
+        target.replay(WalRecordType.TRANSACTION_SAVE, WalCodec.encodeTransaction(tx));
+
+        assertEquals(List.of(tx.getId()), dao.findByAccountNumber("a1").stream().map(TransactionEntity::getId).toList());
+        assertEquals(1, registry.find(DaoTimers.METRIC).tag("dao", "transaction").timers().stream()
+                .mapToLong(Timer::count).sum());
+    }
+}
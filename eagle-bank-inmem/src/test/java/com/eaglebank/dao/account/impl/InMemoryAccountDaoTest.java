@@ -2,10 +2,11 @@ package com.eaglebank.dao.account;
 
 import com.eaglebank.dao.account.impl.InMemoryAccountDao;
 import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +21,7 @@ class InMemoryAccountDaoTest {
         dao = new InMemoryAccountDao();
     }
 
-    private AccountEntity account(String userId, String number, BigDecimal balance) {
+    private AccountEntity account(String userId, String number, Money balance) {
         AccountEntity a = new AccountEntity();
         a.setUserId(userId);
         a.setAccountNumber(number);
@@ -29,22 +30,45 @@ class InMemoryAccountDaoTest {
         return a;
     }
 
+    @Test
+    void stats_countAccountsAndIndexedOwners() {
+        dao.save(account("u1", "a1", Money.parse("1")));
+        dao.save(account("u1", "a2", Money.parse("1")));
+        dao.save(account("u2", "a3", Money.parse("1")));
+        dao.deleteByNumber("a3");
+
+        assertEquals(new AccountDao.Stats(2, 1), dao.stats());
+    }
+
+    @Test
+    void forEachAccountNumber_visitsEveryStoredAccount() {
+        dao.save(account("u1", "a1", Money.parse("1")));
+        dao.save(account("u2", "a2", Money.parse("1")));
+        dao.save(account("u2", "a3", Money.parse("1")));
+        dao.deleteByNumber("a3");
+
+        List<String> numbers = new ArrayList<>();
+        dao.forEachAccountNumber(numbers::add);
+
+        assertEquals(List.of("a1", "a2"), numbers.stream().sorted().toList());
+    }
+
     @Test
     void save_and_findByNumber() {
-        AccountEntity a = account("u1", "a1", new BigDecimal("100"));
+        AccountEntity a = account("u1", "a1", Money.parse("100"));
         dao.save(a);
 
         Optional<AccountEntity> found = dao.findByNumber("a1");
         assertTrue(found.isPresent());
         assertEquals("u1", found.get().getUserId());
-        assertEquals(new BigDecimal("100"), found.get().getBalance());
+        assertEquals(Money.parse("100"), found.get().getBalance());
     }
 
     @Test
     void findByUserId_returnsOnlyMatchingAccounts() {
-        dao.save(account("u1", "a1", new BigDecimal("50")));
-        dao.save(account("u2", "a2", new BigDecimal("60")));
-        dao.save(account("u1", "a3", new BigDecimal("70")));
+        dao.save(account("u1", "a1", Money.parse("50")));
+        dao.save(account("u2", "a2", Money.parse("60")));
+        dao.save(account("u1", "a3", Money.parse("70")));
 
         List<AccountEntity> list = dao.findByUserId("u1");
         assertEquals(2, list.size());
@@ -52,9 +76,59 @@ class InMemoryAccountDaoTest {
         assertTrue(list.stream().anyMatch(a -> a.getAccountNumber().equals("a3")));
     }
 
+    @Test
+    void findByUserId_paged_ordersByAccountNumberAndResumesAfterKey() {
+        dao.save(account("u1", "a3", Money.parse("1")));
+        dao.save(account("u1", "a1", Money.parse("1")));
+        dao.save(account("u2", "a2", Money.parse("1")));
+        dao.save(account("u1", "a2x", Money.parse("1")));
+
+        List<AccountEntity> first = dao.findByUserId("u1", null, 2);
+        assertEquals(List.of("a1", "a2x"), first.stream().map(AccountEntity::getAccountNumber).toList());
+
+        List<AccountEntity> next = dao.findByUserId("u1", "a2x", 2);
+        assertEquals(List.of("a3"), next.stream().map(AccountEntity::getAccountNumber).toList());
+    }
+
+    @Test
+    void save_reassignedOwner_movesAccountBetweenUsers() {
+        AccountEntity a = account("u1", "a1", Money.parse("1"));
+        dao.save(a);
+
+        // entities are mutated in place and re-saved, so the DAO must not rely on the old object
+        a.setUserId("u2");
+        dao.save(a);
+
+        assertTrue(dao.findByUserId("u1").isEmpty());
+        assertEquals(List.of("a1"), dao.findByUserId("u2").stream().map(AccountEntity::getAccountNumber).toList());
+    }
+
+    @Test
+    void save_replacingEntityForSameOwner_keepsSingleIndexEntry() {
+        dao.save(account("u1", "a1", Money.parse("1")));
+        dao.save(account("u1", "a1", Money.parse("10")));
+
+        List<AccountEntity> list = dao.findByUserId("u1");
+        assertEquals(1, list.size());
+        assertEquals(Money.parse("10"), list.get(0).getBalance());
+    }
+
+    @Test
+    void deleteByNumber_removesAccountFromUserIndex() {
+        dao.save(account("u1", "a1", Money.parse("1")));
+        dao.save(account("u1", "a2", Money.parse("1")));
+
+        dao.deleteByNumber("a1");
+        dao.deleteByNumber("missing");
+
+        assertEquals(List.of("a2"), dao.findByUserId("u1").stream().map(AccountEntity::getAccountNumber).toList());
+        dao.deleteByNumber("a2");
+        assertTrue(dao.findByUserId("u1", null, 10).isEmpty());
+    }
+
     @Test
     void deleteByNumber_removesAccount() {
-        dao.save(account("u1", "a1", new BigDecimal("200")));
+        dao.save(account("u1", "a1", Money.parse("200")));
         assertTrue(dao.findByNumber("a1").isPresent());
 
         dao.deleteByNumber("a1");
@@ -0,0 +1,106 @@
+package com.eaglebank.dao.token.impl;
+
+import com.eaglebank.domain.RefreshTokenEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRefreshTokenDaoTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static RefreshTokenEntity family(String id, String tokenHash, Instant expiresAt) {
+        return RefreshTokenEntity.builder()
+                .familyId(id).userId("usr-1").email("a@example.com")
+                .tokenHash(tokenHash).expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    void save_thenFindByTokenHash() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(10);
+        dao.save(family("f1", "h1", NOW.plusSeconds(60)));
+
+        assertEquals("f1", dao.findByTokenHash("h1").orElseThrow().getFamilyId());
+        assertTrue(dao.findByTokenHash("h2").isEmpty());
+        assertEquals(1, dao.count());
+    }
+
+    @Test
+    void rotate_replacesCurrentToken_andSpentTokenStillFindsFamily() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(10);
+        RefreshTokenEntity first = family("f1", "h1", NOW.plusSeconds(60));
+        dao.save(first);
+
+        assertTrue(dao.rotate("h1", first.toBuilder().tokenHash("h2").expiresAt(null).build()));
+
+        RefreshTokenEntity current = dao.findByTokenHash("h1").orElseThrow();
+        assertEquals("h2", current.getTokenHash());
+        assertEquals(NOW.plusSeconds(60), current.getExpiresAt());
+        assertSame(current, dao.findByTokenHash("h2").orElseThrow());
+    }
+
+    @Test
+    void rotate_withSpentToken_fails() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(10);
+        RefreshTokenEntity first = family("f1", "h1", NOW.plusSeconds(60));
+        dao.save(first);
+        assertTrue(dao.rotate("h1", first.toBuilder().tokenHash("h2").build()));
+
+        assertFalse(dao.rotate("h1", first.toBuilder().tokenHash("h3").build()));
+        assertEquals("h2", dao.findByTokenHash("h2").orElseThrow().getTokenHash());
+        assertTrue(dao.findByTokenHash("h3").isEmpty());
+        assertFalse(dao.rotate("h1", family("unknown", "h4", NOW)));
+    }
+
+    @Test
+    void deleteById_removesEveryTokenTheFamilyIssued() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(10);
+        RefreshTokenEntity first = family("f1", "h1", NOW.plusSeconds(60));
+        dao.save(first);
+        dao.rotate("h1", first.toBuilder().tokenHash("h2").build());
+
+        assertEquals("f1", dao.deleteById("f1").orElseThrow().getFamilyId());
+        assertTrue(dao.findByTokenHash("h1").isEmpty());
+        assertTrue(dao.findByTokenHash("h2").isEmpty());
+        assertTrue(dao.deleteById("f1").isEmpty());
+        assertEquals(0, dao.count());
+    }
+
+    @Test
+    void deleteExpired_dropsOnlyExpiredFamilies() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(10);
+        dao.save(family("f1", "h1", NOW.plusSeconds(10)));
+        dao.save(family("f2", "h2", NOW.plusSeconds(20)));
+        dao.save(family("f3", "h3", NOW.plusSeconds(30)));
+
+        assertEquals(2, dao.deleteExpired(NOW.plusSeconds(20)));
+        assertTrue(dao.findByTokenHash("h1").isEmpty());
+        assertTrue(dao.findByTokenHash("h2").isEmpty());
+        assertTrue(dao.findByTokenHash("h3").isPresent());
+        assertEquals(1, dao.count());
+    }
+
+    @Test
+    void save_whenFull_evictsFamilyClosestToExpiry() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(2);
+        dao.save(family("late", "h1", NOW.plusSeconds(30)));
+        dao.save(family("early", "h2", NOW.plusSeconds(10)));
+
+        dao.save(family("new", "h3", NOW.plusSeconds(60)));
+
+        assertEquals(2, dao.count());
+        assertTrue(dao.findByTokenHash("h2").isEmpty());
+        assertTrue(dao.findByTokenHash("h1").isPresent());
+        assertTrue(dao.findByTokenHash("h3").isPresent());
+    }
+
+    @Test
+    void save_rejectsIncompleteFamily() {
+        InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(10);
+        assertThrows(IllegalArgumentException.class, () -> dao.save(family("f1", null, NOW)));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryRefreshTokenDao(0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.eaglebank.dao.token.impl;
+
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.domain.RevokedTokenEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRevokedTokenDaoTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static RevokedTokenEntity token(String id, Instant expiresAt) {
+        return RevokedTokenEntity.builder().tokenId(id).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void save_thenFind_andFilterReportsIt() {
+        InMemoryRevokedTokenDao dao = new InMemoryRevokedTokenDao(100);
+        dao.save(token("jti-1", NOW.plusSeconds(60)));
+
+        assertTrue(dao.mightContain("jti-1"));
+        assertEquals(NOW.plusSeconds(60), dao.findById("jti-1").orElseThrow().getExpiresAt());
+        assertTrue(dao.findById("jti-2").isEmpty());
+        assertEquals(1, dao.count());
+    }
+
+    @Test
+    void unknownToken_isRejectedByFilter() {
+        InMemoryRevokedTokenDao dao = new InMemoryRevokedTokenDao(100);
+        assertFalse(dao.mightContain("never-revoked"));
+    }
+
+    @Test
+    void deleteExpired_dropsOnlyExpiredEntries_andRebuildsFilter() {
+        InMemoryRevokedTokenDao dao = new InMemoryRevokedTokenDao(100);
+        dao.save(token("old", NOW.minusSeconds(1)));
+        dao.save(token("live", NOW.plusSeconds(60)));
+
+        assertEquals(1, dao.deleteExpired(NOW));
+
+        assertTrue(dao.findById("old").isEmpty());
+        assertTrue(dao.mightContain("live"));
+        assertEquals(1, dao.count());
+    }
+
+    @Test
+    void save_rejectsMissingFields() {
+        InMemoryRevokedTokenDao dao = new InMemoryRevokedTokenDao(100);
+        assertThrows(IllegalArgumentException.class, () -> dao.save(token(null, NOW)));
+        assertThrows(IllegalArgumentException.class, () -> dao.save(token("jti", null)));
+    }
+
+    @Test
+    void snapshotAndReplay_restoreLiveEntries() {
+        InMemoryRevokedTokenDao source = new InMemoryRevokedTokenDao(100);
+        Instant future = Instant.now().plusSeconds(3600);
+        source.save(token("live", future));
+        source.save(token("expired", Instant.now().minusSeconds(1)));
+
+        List<byte[]> records = new ArrayList<>();
+        source.snapshot((type, payload) -> {
+            assertEquals(WalRecordType.TOKEN_REVOKE, type);
+            records.add(payload);
+        });
+
+        InMemoryRevokedTokenDao restored = new InMemoryRevokedTokenDao(100);
+        records.forEach(payload -> restored.replay(WalRecordType.TOKEN_REVOKE, payload));
+        assertEquals(1, records.size());
+        assertTrue(restored.mightContain("live"));
+        assertEquals(future, restored.findById("live").orElseThrow().getExpiresAt());
+    }
+
+    @Test
+    void replay_rejectsForeignRecordTypes() {
+        InMemoryRevokedTokenDao dao = new InMemoryRevokedTokenDao(100);
+        assertThrows(IllegalArgumentException.class, () -> dao.replay(WalRecordType.USER_SAVE, new byte[0]));
+    }
+}
@@ -0,0 +1,48 @@
+package com.eaglebank.dao.transaction.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountRecordIndexTest {
+
+    @Test
+    void emptyIndex_hasNoEntries() {
+        AccountRecordIndex index = new AccountRecordIndex();
+        assertEquals(0, index.size());
+        assertEquals(0, index.oldestFirst().length);
+        assertEquals(0, index.newestFirst(Long.MAX_VALUE, 10).length);
+    }
+
+    @Test
+    void append_acrossChunkBoundaries_keepsEveryEntryInOrder() {
+        AccountRecordIndex index = new AccountRecordIndex();
+        int count = AccountRecordIndex.CHUNK_SIZE * 3 + 5;
+        for (int i = 0; i < count; i++) {
+            index.append(i * 10L);
+        }
+
+        long[] oldest = index.oldestFirst();
+        long[] newest = index.newestFirst(Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(count, oldest.length);
+        assertEquals(count, newest.length);
+        for (int i = 0; i < count; i++) {
+            assertEquals(i * 10L, oldest[i]);
+            assertEquals((count - 1 - i) * 10L, newest[i]);
+        }
+    }
+
+    @Test
+    void newestFirst_startsBelowSequenceAndHonoursLimit() {
+        AccountRecordIndex index = new AccountRecordIndex();
+        for (int i = 0; i < 5; i++) {
+            index.append(100 + i);
+        }
+
+        assertArrayEquals(new long[] {104, 103}, index.newestFirst(Long.MAX_VALUE, 2));
+        assertArrayEquals(new long[] {102, 101}, index.newestFirst(3, 2));
+        assertArrayEquals(new long[] {100}, index.newestFirst(1, 2));
+        assertEquals(0, index.newestFirst(0, 2).length);
+        assertEquals(0, index.newestFirst(-1, 2).length);
+    }
+}
@@ -0,0 +1,69 @@
+package com.eaglebank.dao.transaction.impl;
+
+import com.eaglebank.domain.TransactionEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountTransactionLogTest {
+
+    private static TransactionEntity tx(int i) {
+        TransactionEntity t = new TransactionEntity();
+        t.setId("tan-" + i);
+        t.setAccountNumber("a1");
+        return t;
+    }
+
+    @Test
+    void emptyLog_hasNoEntries() {
+        AccountTransactionLog log = new AccountTransactionLog();
+        assertEquals(0, log.size());
+        assertTrue(log.newestFirst().isEmpty());
+    }
+
+    @Test
+    void append_acrossChunkBoundaries_keepsEveryEntryNewestFirst() {
+        AccountTransactionLog log = new AccountTransactionLog();
+        int count = AccountTransactionLog.CHUNK_SIZE * 5 + 3;
+        for (int i = 0; i < count; i++) {
+            log.append(tx(i));
+        }
+
+        List<TransactionEntity> list = log.newestFirst();
+        assertEquals(count, log.size());
+        assertEquals(count, list.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("tan-" + (count - 1 - i), list.get(i).getId());
+        }
+    }
+
+    @Test
+    void readers_alwaysSeeCompleteContiguousPrefix_whileWriterAppends() throws Exception {
+        AccountTransactionLog log = new AccountTransactionLog();
+        int count = AccountTransactionLog.CHUNK_SIZE * 20;
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            while (log.size() < count && failure.get() == null) {
+                List<TransactionEntity> snapshot = log.newestFirst();
+                for (int i = 0; i < snapshot.size(); i++) {
+                    TransactionEntity t = snapshot.get(i);
+                    if (t == null || !t.getId().equals("tan-" + (snapshot.size() - 1 - i))) {
+                        failure.set("gap or reordering at " + i + " of " + snapshot.size());
+                        return;
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < count; i++) {
+            log.append(tx(i));
+        }
+        reader.join(10_000);
+
+        assertNull(failure.get());
+    }
+}
@@ -1,15 +1,22 @@
 package com.eaglebank.dao.transaction.impl;
 
+import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.TransactionEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class InMemoryTransactionDaoTest {
 
@@ -20,7 +27,7 @@ class InMemoryTransactionDaoTest {
         dao = new InMemoryTransactionDao();
     }
 
-    private TransactionEntity tx(String id, String acc, BigDecimal amt, String type) {
+    private TransactionEntity tx(String id, String acc, Money amt, String type) {
         TransactionEntity t = new TransactionEntity();
         t.setId(id);
         t.setAccountNumber(acc);
@@ -33,15 +40,24 @@ class InMemoryTransactionDaoTest {
         return t;
     }
 
+    @Test
+    void stats_countTransactionsAndIndexedAccounts() {
+        dao.save(tx("t1", "a1", Money.parse("1"), "deposit"));
+        dao.save(tx("t2", "a1", Money.parse("1"), "deposit"));
+        dao.save(tx("t3", "a2", Money.parse("1"), "deposit"));
+
+        assertEquals(new TransactionDao.Stats(3, 2), dao.stats());
+    }
+
     @Test
     void save_and_findById() {
-        TransactionEntity t1 = tx("t1", "a1", new BigDecimal("100"), "deposit");
+        TransactionEntity t1 = tx("t1", "a1", Money.parse("100"), "deposit");
         dao.save(t1);
 
         Optional<TransactionEntity> found = dao.findById("t1");
         assertTrue(found.isPresent());
         assertEquals("a1", found.get().getAccountNumber());
-        assertEquals(new BigDecimal("100"), found.get().getAmount());
+        assertEquals(Money.parse("100"), found.get().getAmount());
     }
 
     @Test
@@ -51,9 +67,9 @@ class InMemoryTransactionDaoTest {
 
     @Test
     void findByAccountNumber_returnsOnlyForThatAccount() {
-        dao.save(tx("t1", "a1", new BigDecimal("10"), "deposit"));
-        dao.save(tx("t2", "a2", new BigDecimal("20"), "deposit"));
-        dao.save(tx("t3", "a1", new BigDecimal("30"), "withdrawal"));
+        dao.save(tx("t1", "a1", Money.parse("10"), "deposit"));
+        dao.save(tx("t2", "a2", Money.parse("20"), "deposit"));
+        dao.save(tx("t3", "a1", Money.parse("30"), "withdrawal"));
 
         List<TransactionEntity> list = dao.findByAccountNumber("a1");
 
@@ -63,9 +79,9 @@ class InMemoryTransactionDaoTest {
 
     @Test
     void findByAccountNumber_returnsMostRecentFirst() {
-        dao.save(tx("t1", "a1", new BigDecimal("10"), "deposit"));
-        dao.save(tx("t2", "a1", new BigDecimal("20"), "deposit"));
-        dao.save(tx("t3", "a1", new BigDecimal("30"), "withdrawal"));
+        dao.save(tx("t1", "a1", Money.parse("10"), "deposit"));
+        dao.save(tx("t2", "a1", Money.parse("20"), "deposit"));
+        dao.save(tx("t3", "a1", Money.parse("30"), "withdrawal"));
 
         List<TransactionEntity> list = dao.findByAccountNumber("a1");
 
@@ -75,6 +91,130 @@ class InMemoryTransactionDaoTest {
         assertEquals("t1", list.get(2).getId());
     }
 
+    @Test
+    void findByAccountNumber_returnsEmptyForUnknownAccount() {
+        assertTrue(dao.findByAccountNumber("none").isEmpty());
+    }
+
+    @Test
+    void findByAccountNumber_returnsUnmodifiableSnapshot() {
+        dao.save(tx("t1", "a1", Money.parse("10"), "deposit"));
+        List<TransactionEntity> list = dao.findByAccountNumber("a1");
+
+        dao.save(tx("t2", "a1", Money.parse("20"), "deposit"));
+
+        assertEquals(1, list.size(), "earlier result must not see later appends");
+        assertThrows(UnsupportedOperationException.class, () -> list.add(tx("t3", "a1", Money.parse("1"), "deposit")));
+    }
+
+    @Test
+    void findByAccountNumber_paged_startsBelowGivenSequence() {
+        for (int i = 0; i < 5; i++) {
+            dao.save(tx("t" + i, "a1", Money.parse("1"), "deposit"));
+        }
+
+        List<TransactionEntity> first = dao.findByAccountNumber("a1", Long.MAX_VALUE, 2);
+        assertEquals(List.of("t4", "t3"), first.stream().map(TransactionEntity::getId).toList());
+
+        List<TransactionEntity> next = dao.findByAccountNumber("a1", first.get(1).getSequence(), 2);
+        assertEquals(List.of("t2", "t1"), next.stream().map(TransactionEntity::getId).toList());
+
+        List<TransactionEntity> last = dao.findByAccountNumber("a1", next.get(1).getSequence(), 2);
+        assertEquals(List.of("t0"), last.stream().map(TransactionEntity::getId).toList());
+        assertTrue(dao.findByAccountNumber("a1", 0, 2).isEmpty());
+    }
+
+    @Test
+    void save_assignsSequenceInAppendOrder() {
+        dao.save(tx("t1", "a1", Money.parse("1"), "deposit"));
+        dao.save(tx("t2", "a2", Money.parse("1"), "deposit"));
+        dao.save(tx("t3", "a1", Money.parse("1"), "deposit"));
+
+        assertEquals(0, dao.findById("t1").orElseThrow().getSequence());
+        assertEquals(0, dao.findById("t2").orElseThrow().getSequence());
+        assertEquals(1, dao.findById("t3").orElseThrow().getSequence());
+    }
+
+    @Test
+    void save_rejectsDuplicateTransactionId() {
+        dao.save(tx("t1", "a1", Money.parse("10"), "deposit"));
+
+        assertThrows(IllegalStateException.class, () -> dao.save(tx("t1", "a1", Money.parse("99"), "deposit")));
+        assertEquals(Money.parse("10"), dao.findById("t1").orElseThrow().getAmount());
+        assertEquals(1, dao.findByAccountNumber("a1").size());
+    }
+
+    @Test
+    void saveAll_rejectsWholeBatchOnDuplicateId() {
+        dao.save(tx("t1", "a1", Money.parse("10"), "deposit"));
+
+        assertThrows(IllegalStateException.class, () -> dao.saveAll(List.of(
+                tx("t2", "a1", Money.parse("1"), "deposit"),
+                tx("t1", "a1", Money.parse("1"), "deposit"))));
+        assertThrows(IllegalStateException.class, () -> dao.saveAll(List.of(
+                tx("t3", "a1", Money.parse("1"), "deposit"),
+                tx("t3", "a1", Money.parse("1"), "deposit"))));
+
+        assertEquals(1, dao.findByAccountNumber("a1").size());
+        assertTrue(dao.findById("t2").isEmpty());
+        assertTrue(dao.findById("t3").isEmpty());
+    }
+
+    @Test
+    void save_refusedByTheLog_leavesNothingVisible() {
+        WriteAheadLog wal = mock(WriteAheadLog.class);
+        when(wal.enabled()).thenReturn(true);
+        when(wal.append(eq(WalRecordType.TRANSACTION_SAVE), any()))
+                .thenThrow(new IllegalStateException("Write-ahead log is closed"))
+                .thenReturn(1L);
+        InMemoryTransactionDao logged = new InMemoryTransactionDao(wal);
+
+        assertThrows(IllegalStateException.class, () -> logged.save(tx("t1", "a1", Money.parse("10"), "deposit")));
+        assertTrue(logged.findById("t1").isEmpty());
+        assertTrue(logged.findByAccountNumber("a1").isEmpty());
+
+        logged.save(tx("t1", "a1", Money.parse("10"), "deposit"));
+        assertTrue(logged.findById("t1").isPresent());
+    }
+
+    @Test
+    void saveAll_refusedByTheLog_withdrawsTheUnloggedItem() {
+        WriteAheadLog wal = mock(WriteAheadLog.class);
+        when(wal.enabled()).thenReturn(true);
+        when(wal.append(eq(WalRecordType.TRANSACTION_SAVE), any()))
+                .thenReturn(1L)
+                .thenThrow(new IllegalStateException("Write-ahead log is closed"));
+        InMemoryTransactionDao logged = new InMemoryTransactionDao(wal);
+
+        assertThrows(IllegalStateException.class, () -> logged.saveAll(List.of(
+                tx("t1", "a1", Money.parse("1"), "deposit"),
+                tx("t2", "a1", Money.parse("2"), "deposit"))));
+
+        assertTrue(logged.findById("t1").isPresent());
+        assertTrue(logged.findById("t2").isEmpty());
+        verify(wal).awaitDurable(1L);
+    }
+
+    @Test
+    void saveAll_appendsEveryRecordBeforeWaitingForDurability() {
+        WriteAheadLog wal = mock(WriteAheadLog.class);
+        when(wal.enabled()).thenReturn(true);
+        when(wal.append(eq(WalRecordType.TRANSACTION_SAVE), any())).thenReturn(1L, 2L, 3L);
+        InMemoryTransactionDao logged = new InMemoryTransactionDao(wal);
+
+        logged.saveAll(List.of(
+                tx("t1", "a1", Money.parse("1"), "deposit"),
+                tx("t2", "a1", Money.parse("2"), "deposit"),
+                tx("t3", "a2", Money.parse("3"), "deposit")));
+
+        InOrder order = inOrder(wal);
+        order.verify(wal, times(3)).append(eq(WalRecordType.TRANSACTION_SAVE), any());
+        order.verify(wal).awaitDurable(1L);
+        order.verify(wal).awaitDurable(2L);
+        order.verify(wal).awaitDurable(3L);
+        assertEquals(List.of("t2", "t1"), logged.findByAccountNumber("a1").stream().map(TransactionEntity::getId).toList());
+    }
+
     @Test
     void save_throwsIfMissingRequiredFields() {
         TransactionEntity t = new TransactionEntity();
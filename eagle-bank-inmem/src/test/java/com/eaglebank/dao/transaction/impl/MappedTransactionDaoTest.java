@@ -0,0 +1,267 @@
+package com.eaglebank.dao.transaction.impl;
+
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WriteAheadLog;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MappedTransactionDaoTest {
+
+    /** Four records per segment, so a handful of saves already spans several files */
+    private static final long SEGMENT_BYTES = 4L * MappedTransactionDao.RECORD_BYTES;
+
+    @TempDir
+    Path dir;
+
+    private MappedTransactionDao dao;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dao = new MappedTransactionDao(dir, SEGMENT_BYTES, WriteAheadLog.disabled());
+    }
+
+    private TransactionEntity tx(String id, String acc, Money amt) {
+        TransactionEntity t = new TransactionEntity();
+        t.setId(id);
+        t.setAccountNumber(acc);
+        t.setUserId("usr-1");
+        t.setAmount(amt);
+        t.setCurrency("GBP");
+        t.setType("deposit");
+        t.setReference("ref-" + id);
+        t.setCreated(OffsetDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789, ZoneOffset.ofHours(2)));
+        return t;
+    }
+
+    @Test
+    void save_and_findById_roundTripsEveryField() {
+        TransactionEntity t1 = tx("tan-1", "01000001", Money.parse("-12.34"));
+        t1.setReference("Café £ 🦅");
+        t1.setRelatedTransactionId("tan-2");
+        dao.save(t1);
+
+        TransactionEntity found = dao.findById("tan-1").orElseThrow();
+        assertEquals(t1, found);
+        assertNotSame(t1, found, "entities are decoded from the mapped record on every read");
+    }
+
+    @Test
+    void save_and_findById_keepsNullFields() {
+        TransactionEntity t1 = new TransactionEntity();
+        t1.setId("tan-1");
+        t1.setAccountNumber("01000001");
+        t1.setCurrency(null);
+        t1.setCreated(null);
+        dao.save(t1);
+
+        TransactionEntity found = dao.findById("tan-1").orElseThrow();
+        assertNull(found.getAmount());
+        assertNull(found.getCurrency());
+        assertNull(found.getReference());
+        assertNull(found.getCreated());
+    }
+
+    @Test
+    void findById_returnsEmptyIfMissing() {
+        assertTrue(dao.findById("missing").isEmpty());
+    }
+
+    @Test
+    void findByAccountNumber_acrossSegments_returnsOnlyThatAccountNewestFirst() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            dao.save(tx("tan-" + i, i % 2 == 0 ? "01000001" : "01000002", Money.ofPence(i)));
+        }
+
+        List<TransactionEntity> list = dao.findByAccountNumber("01000001");
+        assertEquals(List.of("tan-8", "tan-6", "tan-4", "tan-2", "tan-0"),
+                list.stream().map(TransactionEntity::getId).toList());
+        assertEquals(List.of(4L, 3L, 2L, 1L, 0L), list.stream().map(TransactionEntity::getSequence).toList());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(3, files.count());
+        }
+        assertTrue(dao.findByAccountNumber("none").isEmpty());
+    }
+
+    @Test
+    void findByAccountNumber_paged_startsBelowGivenSequence() {
+        for (int i = 0; i < 5; i++) {
+            dao.save(tx("tan-" + i, "01000001", Money.parse("1")));
+        }
+
+        List<TransactionEntity> first = dao.findByAccountNumber("01000001", Long.MAX_VALUE, 2);
+        assertEquals(List.of("tan-4", "tan-3"), first.stream().map(TransactionEntity::getId).toList());
+
+        List<TransactionEntity> next = dao.findByAccountNumber("01000001", first.get(1).getSequence(), 2);
+        assertEquals(List.of("tan-2", "tan-1"), next.stream().map(TransactionEntity::getId).toList());
+        assertTrue(dao.findByAccountNumber("01000001", 0, 2).isEmpty());
+    }
+
+    @Test
+    void save_assignsSequenceToTheCallersEntity() {
+        TransactionEntity t1 = tx("tan-1", "01000001", Money.parse("1"));
+        TransactionEntity t2 = tx("tan-2", "01000001", Money.parse("1"));
+        dao.save(t1);
+        dao.save(t2);
+
+        assertEquals(0, t1.getSequence());
+        assertEquals(1, t2.getSequence());
+    }
+
+    @Test
+    void save_rejectsDuplicateTransactionId() {
+        dao.save(tx("tan-1", "01000001", Money.parse("10")));
+
+        assertThrows(IllegalStateException.class, () -> dao.save(tx("tan-1", "01000001", Money.parse("99"))));
+        assertEquals(Money.parse("10"), dao.findById("tan-1").orElseThrow().getAmount());
+        assertEquals(1, dao.findByAccountNumber("01000001").size());
+    }
+
+    @Test
+    void save_rejectsFieldsThatDoNotFitTheRecord_andKeepsTheIdFree() {
+        TransactionEntity tooLong = tx("tan-1", "01000001", Money.parse("10"));
+        tooLong.setReference("x".repeat(267));
+
+        assertThrows(IllegalArgumentException.class, () -> dao.save(tooLong));
+        assertTrue(dao.findById("tan-1").isEmpty());
+
+        dao.save(tx("tan-1", "01000001", Money.parse("10")));
+        assertTrue(dao.findById("tan-1").isPresent());
+    }
+
+    @Test
+    void save_refusedByTheLog_releasesTheId() throws Exception {
+        WriteAheadLog wal = mock(WriteAheadLog.class);
+        when(wal.enabled()).thenReturn(true);
+        when(wal.append(eq(WalRecordType.TRANSACTION_SAVE), any()))
+                .thenThrow(new IllegalStateException("Write-ahead log is closed"))
+                .thenReturn(1L);
+        MappedTransactionDao logged = new MappedTransactionDao(dir.resolve("logged"), SEGMENT_BYTES, wal);
+
+        assertThrows(IllegalStateException.class, () -> logged.save(tx("tan-1", "01000001", Money.parse("10"))));
+        assertTrue(logged.findById("tan-1").isEmpty());
+        assertTrue(logged.findByAccountNumber("01000001").isEmpty());
+
+        logged.save(tx("tan-1", "01000001", Money.parse("10")));
+        assertTrue(logged.findById("tan-1").isPresent());
+    }
+
+    @Test
+    void saveAll_rejectsWholeBatchWhenOneItemDoesNotFit() {
+        TransactionEntity tooLong = tx("tan-2", "01000001", Money.parse("1"));
+        tooLong.setType("x".repeat(25));
+
+        assertThrows(IllegalArgumentException.class, () -> dao.saveAll(List.of(
+                tx("tan-1", "01000001", Money.parse("1")), tooLong)));
+        assertTrue(dao.findById("tan-1").isEmpty());
+        assertTrue(dao.findByAccountNumber("01000001").isEmpty());
+
+        dao.saveAll(List.of(tx("tan-1", "01000001", Money.parse("1")), tx("tan-2", "01000001", Money.parse("2"))));
+        assertEquals(List.of(1L, 0L), dao.findByAccountNumber("01000001").stream().map(TransactionEntity::getSequence).toList());
+    }
+
+    @Test
+    void saveAll_rejectsWholeBatchOnDuplicateId() {
+        dao.save(tx("tan-1", "01000001", Money.parse("10")));
+
+        assertThrows(IllegalStateException.class, () -> dao.saveAll(List.of(
+                tx("tan-2", "01000001", Money.parse("1")), tx("tan-1", "01000001", Money.parse("1")))));
+        assertTrue(dao.findById("tan-2").isEmpty());
+        assertEquals(1, dao.findByAccountNumber("01000001").size());
+    }
+
+    @Test
+    void save_throwsIfMissingRequiredFields() {
+        assertThrows(NullPointerException.class, () -> dao.save(new TransactionEntity()));
+    }
+
+    @Test
+    void open_clearsSegmentsLeftByPreviousRun() throws Exception {
+        dao.save(tx("tan-1", "01000001", Money.parse("10")));
+
+        MappedTransactionDao reopened = new MappedTransactionDao(dir, SEGMENT_BYTES, WriteAheadLog.disabled());
+
+        assertTrue(reopened.findById("tan-1").isEmpty());
+        reopened.save(tx("tan-2", "01000001", Money.parse("10")));
+        assertEquals(0, reopened.findById("tan-2").orElseThrow().getSequence());
+    }
+
+    @Test
+    void open_rejectsSegmentSmallerThanOneRecord() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedTransactionDao(dir, MappedTransactionDao.RECORD_BYTES - 1, WriteAheadLog.disabled()));
+    }
+
+    @Test
+    void snapshot_thenReplay_rebuildsSameHistory_andSkipsExistingIds() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            dao.save(tx("tan-" + i, i < 3 ? "01000001" : "01000002", Money.ofPence(i)));
+        }
+        List<byte[]> records = new ArrayList<>();
+        dao.snapshot((type, payload) -> records.add(payload));
+
+        MappedTransactionDao restored = new MappedTransactionDao(dir.resolve("restored"), SEGMENT_BYTES, WriteAheadLog.disabled());
+        records.forEach(r -> restored.replay(WalRecordType.TRANSACTION_SAVE, r));
+        records.forEach(r -> restored.replay(WalRecordType.TRANSACTION_SAVE, r));
+
+        assertEquals(dao.findByAccountNumber("01000001"), restored.findByAccountNumber("01000001"));
+        assertEquals(dao.findByAccountNumber("01000002"), restored.findByAccountNumber("01000002"));
+        assertEquals(WalCodec.decodeTransaction(records.get(0)).getAmount(),
+                restored.findById(WalCodec.decodeTransaction(records.get(0)).getId()).orElseThrow().getAmount());
+    }
+
+    @Test
+    void replay_rejectsOtherRecordTypes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> dao.replay(WalRecordType.ACCOUNT_SAVE, WalCodec.encodeKey("01000001")));
+    }
+
+    @Test
+    void concurrentSaves_toOneAccount_getContiguousSequences() throws Exception {
+        int threads = 8;
+        int perThread = 250;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        dao.save(tx("tan-" + thread + "-" + i, "01000001", Money.ofPence(1)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<TransactionEntity> list = dao.findByAccountNumber("01000001");
+        assertEquals(threads * perThread, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.size() - 1 - i, list.get(i).getSequence());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.eaglebank.dao.user.impl;
 
+import com.eaglebank.dao.user.UserDao;
 import com.eaglebank.domain.UserEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,15 @@ class InMemoryUserDaoTest {
         assertEquals("Ashish Pandey", byId.get().getName());
     }
 
+    @Test
+    void stats_countUsersAndEmailIndexEntries() {
+        dao.save(user("u1", "a@b.com", "A"));
+        dao.save(user("u2", "c@d.com", "C"));
+        dao.save(user("u2", "c@d.com", "C renamed"));
+
+        assertEquals(new UserDao.Stats(2, 2), dao.stats());
+    }
+
     @Test
     void findById_returnsEmptyIfNotFound() {
         assertTrue(dao.findById("missing").isEmpty());
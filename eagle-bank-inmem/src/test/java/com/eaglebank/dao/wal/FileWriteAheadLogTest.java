@@ -0,0 +1,326 @@
+package com.eaglebank.dao.wal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileWriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    private FileWriteAheadLog open(DurabilityMode mode, long segmentBytes) throws IOException {
+        return new FileWriteAheadLog(dir, mode, 5, TimeUnit.MILLISECONDS, segmentBytes);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> replayAll(WriteAheadLog wal) {
+        List<String> seen = new ArrayList<>();
+        wal.replay((lsn, type, payload) -> seen.add(lsn + ":" + type + ":" + new String(payload, StandardCharsets.UTF_8)));
+        return seen;
+    }
+
+    @Test
+    void appendedRecords_surviveReopen_andLsnsContinue() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            wal.awaitDurable(wal.append(WalRecordType.ACCOUNT_SAVE, bytes("a")));
+            wal.awaitDurable(wal.append(WalRecordType.ACCOUNT_DELETE, bytes("b")));
+        }
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            assertEquals(List.of("1:ACCOUNT_SAVE:a", "2:ACCOUNT_DELETE:b"), replayAll(wal));
+            assertEquals(3, wal.append(WalRecordType.USER_SAVE, bytes("c")));
+        }
+    }
+
+    @Test
+    void asyncAndTimeBasedModes_flushEverythingOnClose() throws IOException {
+        for (DurabilityMode mode : List.of(DurabilityMode.ASYNC, DurabilityMode.TIME_BASED)) {
+            Path modeDir = dir.resolve(mode.name());
+            try (FileWriteAheadLog wal = new FileWriteAheadLog(modeDir, mode, 1, TimeUnit.HOURS, 1 << 20)) {
+                for (int i = 0; i < 100; i++) {
+                    wal.awaitDurable(wal.append(WalRecordType.TRANSACTION_SAVE, bytes("t" + i)));
+                }
+            }
+            try (FileWriteAheadLog wal = new FileWriteAheadLog(modeDir, mode, 1, TimeUnit.HOURS, 1 << 20)) {
+                assertEquals(100, replayAll(wal).size(), mode.name());
+            }
+        }
+    }
+
+    @Test
+    void tornTail_isTruncatedOnOpen() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("complete")));
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("torn")));
+        }
+        Path segment;
+        try (var files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            assertEquals(List.of("1:USER_SAVE:complete"), replayAll(wal));
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("after")));
+        }
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            assertEquals(List.of("1:USER_SAVE:complete", "2:USER_SAVE:after"), replayAll(wal));
+        }
+    }
+
+    @Test
+    void corruptRecord_endsReplayAtLastValidRecord() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("good")));
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("flipped")));
+        }
+        Path segment;
+        try (var files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(segment);
+        content[content.length - 1] ^= 0x01;
+        Files.write(segment, content);
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            assertEquals(List.of("1:USER_SAVE:good"), replayAll(wal));
+        }
+    }
+
+    @Test
+    void rollsOverToNewSegments_andReplaysAcrossThem() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            for (int i = 0; i < 10; i++) {
+                wal.awaitDurable(wal.append(WalRecordType.TRANSACTION_SAVE, bytes("record-" + i)));
+            }
+        }
+        try (var files = Files.list(dir)) {
+            assertTrue(files.count() > 1, "expected more than one segment");
+        }
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            List<String> seen = replayAll(wal);
+            assertEquals(10, seen.size());
+            assertEquals("10:TRANSACTION_SAVE:record-9", seen.get(9));
+        }
+    }
+
+    @Test
+    void corruptRecordInOlderSegment_failsReplay() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            for (int i = 0; i < 10; i++) {
+                wal.awaitDurable(wal.append(WalRecordType.TRANSACTION_SAVE, bytes("record-" + i)));
+            }
+        }
+        Path oldest;
+        try (var files = Files.list(dir)) {
+            oldest = files.sorted().findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(oldest);
+        content[content.length - 1] ^= 0x01;
+        Files.write(oldest, content);
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            assertThrows(UncheckedIOException.class, () -> replayAll(wal));
+        }
+    }
+
+    @Test
+    void missingRecordsAtEndOfOlderSegment_failReplay() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            for (int i = 0; i < 10; i++) {
+                wal.awaitDurable(wal.append(WalRecordType.TRANSACTION_SAVE, bytes("record-" + i)));
+            }
+        }
+        Path oldest;
+        try (var files = Files.list(dir)) {
+            oldest = files.sorted().findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(oldest, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            assertThrows(UncheckedIOException.class, () -> replayAll(wal));
+        }
+    }
+
+    @Test
+    void atomically_logsEveryAppendOfTheBodyAsOneGroup() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            long lsn = wal.atomically(() -> {
+                assertEquals(0, wal.append(WalRecordType.TRANSACTION_SAVE, bytes("tx")));
+                assertEquals(0, wal.atomically(() -> wal.append(WalRecordType.ACCOUNT_SAVE, bytes("from"))));
+                wal.append(WalRecordType.ACCOUNT_SAVE, bytes("to"));
+            });
+            assertEquals(1, lsn);
+            wal.awaitDurable(lsn);
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("after")));
+        }
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            List<String> seen = new ArrayList<>();
+            wal.replay((lsn, type, payload) -> {
+                if (type == WalRecordType.GROUP) {
+                    WalCodec.decodeGroup(payload, (part, record) ->
+                            seen.add(lsn + ":" + part + ":" + new String(record, StandardCharsets.UTF_8)));
+                } else {
+                    seen.add(lsn + ":" + type + ":" + new String(payload, StandardCharsets.UTF_8));
+                }
+            });
+            assertEquals(List.of("1:TRANSACTION_SAVE:tx", "1:ACCOUNT_SAVE:from", "1:ACCOUNT_SAVE:to",
+                    "2:USER_SAVE:after"), seen);
+        }
+    }
+
+    @Test
+    void atomically_bodyThrows_logsNothing() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            assertThrows(IllegalStateException.class, () -> wal.atomically(() -> {
+                wal.append(WalRecordType.TRANSACTION_SAVE, bytes("tx"));
+                throw new IllegalStateException("rejected");
+            }));
+            wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("after")));
+        }
+
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20)) {
+            assertEquals(List.of("1:USER_SAVE:after"), replayAll(wal));
+        }
+    }
+
+    @Test
+    void sync_waitsForOpenGroupsToBeLogged() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try (FileWriteAheadLog wal = open(DurabilityMode.TIME_BASED, 1 << 20)) {
+            CountDownLatch inGroup = new CountDownLatch(1);
+            Semaphore release = new Semaphore(0);
+            Future<?> posting = pool.submit(() -> wal.awaitDurable(wal.atomically(() -> {
+                wal.append(WalRecordType.TRANSACTION_SAVE, bytes("tx"));
+                inGroup.countDown();
+                release.acquireUninterruptibly();
+            })));
+            assertTrue(inGroup.await(5, TimeUnit.SECONDS));
+
+            Future<?> sync = pool.submit(wal::sync);
+            Thread.sleep(100);
+            assertFalse(sync.isDone(), "sync returned while a group was open");
+
+            release.release();
+            posting.get(5, TimeUnit.SECONDS);
+            sync.get(5, TimeUnit.SECONDS);
+            assertEquals(1, replayAll(wal).size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentWriters_shareBatchesAndFsyncs() throws Exception {
+        int threads = 16;
+        int perThread = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 30)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        wal.awaitDurable(wal.append(WalRecordType.TRANSACTION_SAVE, bytes("x")));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+
+            int records = threads * perThread;
+            assertEquals(records, replayAll(wal).size());
+            assertTrue(wal.syncCount() < records, "fsyncs should be shared: " + wal.syncCount());
+            assertEquals(wal.batchCount(), wal.syncCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void replay_afterLsn_skipsCoveredRecordsAndSegments() throws IOException {
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            for (int i = 1; i <= 10; i++) {
+                wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("r" + i)));
+            }
+            List<String> tail = new ArrayList<>();
+            wal.replay(7, (lsn, type, payload) -> tail.add(new String(payload, StandardCharsets.UTF_8)));
+            assertEquals(List.of("r8", "r9", "r10"), tail);
+        }
+    }
+
+    @Test
+    void truncateUpTo_deletesCoveredSegments_andLsnsKeepIncreasingAfterReopen() throws IOException {
+        // 25-byte records in 64-byte segments: three per segment, so record 9 closes the third one
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            for (int i = 1; i <= 9; i++) {
+                wal.awaitDurable(wal.append(WalRecordType.USER_SAVE, bytes("record-" + i)));
+            }
+            wal.truncateUpTo(9);
+            assertTrue(replayAll(wal).isEmpty(), "only the empty newest segment should remain");
+        }
+        try (FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 64)) {
+            assertEquals(10, wal.append(WalRecordType.USER_SAVE, bytes("next")));
+        }
+    }
+
+    @Test
+    void checkpoint_waitsOnlyForRecordsAlreadyAppended() throws Exception {
+        try (FileWriteAheadLog wal = open(DurabilityMode.ASYNC, 1 << 20)) {
+            long inFlight = wal.append(WalRecordType.ACCOUNT_SAVE, bytes("in-flight"));
+
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            try {
+                Future<Long> checkpoint = pool.submit(wal::checkpoint);
+                Thread.sleep(100);
+                assertFalse(checkpoint.isDone(), "checkpoint must wait for the unapplied record");
+
+                // a writer that starts after the checkpoint is not waited for
+                long later = wal.append(WalRecordType.ACCOUNT_SAVE, bytes("later"));
+                wal.awaitDurable(inFlight);
+                assertEquals(inFlight, checkpoint.get(5, TimeUnit.SECONDS));
+                wal.awaitDurable(later);
+                assertEquals(later, wal.checkpoint());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void append_afterClose_isRejected() throws IOException {
+        FileWriteAheadLog wal = open(DurabilityMode.FSYNC_PER_BATCH, 1 << 20);
+        wal.close();
+        assertThrows(IllegalStateException.class, () -> wal.append(WalRecordType.USER_SAVE, bytes("late")));
+    }
+}
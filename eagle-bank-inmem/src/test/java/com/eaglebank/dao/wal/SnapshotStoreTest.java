@@ -0,0 +1,91 @@
+package com.eaglebank.dao.wal;
+
+import com.eaglebank.dao.user.impl.InMemoryUserDao;
+import com.eaglebank.domain.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static InMemoryUserDao usersNamed(String... ids) {
+        var users = new InMemoryUserDao();
+        for (String id : ids) {
+            users.save(UserEntity.builder().id(id).email(id + "@example.com").build());
+        }
+        return users;
+    }
+
+    private static List<String> loadIds(SnapshotStore store, long[] lsn) throws IOException {
+        List<String> ids = new ArrayList<>();
+        lsn[0] = store.loadLatest((l, type, payload) -> ids.add(WalCodec.decodeUser(payload).getId()));
+        return ids;
+    }
+
+    @Test
+    void loadLatest_emptyDirectory_returnsZero() throws IOException {
+        var store = new SnapshotStore(dir.resolve("missing"), 2);
+        assertEquals(0, store.loadLatest((lsn, type, payload) -> fail("no records expected")));
+    }
+
+    @Test
+    void writeThenLoad_roundTripsRecordsAndLsn() throws IOException {
+        var store = new SnapshotStore(dir, 2);
+        store.write(42, List.of(usersNamed("usr-1", "usr-2")));
+
+        long[] lsn = {0};
+        List<String> ids = loadIds(store, lsn);
+        assertEquals(42, lsn[0]);
+        assertEquals(List.of("usr-1", "usr-2"), ids.stream().sorted().toList());
+    }
+
+    @Test
+    void write_keepsOnlyRetainedSnapshots_andReportsOldestLsn() throws IOException {
+        var store = new SnapshotStore(dir, 2);
+        assertEquals(10, store.write(10, List.of(usersNamed("a"))));
+        assertEquals(10, store.write(20, List.of(usersNamed("a"))));
+        assertEquals(20, store.write(30, List.of(usersNamed("a"))));
+        assertEquals(List.of(20L, 30L), store.snapshotLsns());
+    }
+
+    @Test
+    void write_failingBeforePublish_leavesNoSnapshot() throws IOException {
+        var store = new SnapshotStore(dir, 2);
+        store.write(10, List.of(usersNamed("a")));
+
+        assertThrows(IllegalStateException.class, () -> store.write(20, List.of(usersNamed("a", "b")), () -> {
+            throw new IllegalStateException("log failed");
+        }));
+
+        assertEquals(List.of(10L), store.snapshotLsns());
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void loadLatest_fallsBackWhenNewestIsCorrupt() throws IOException {
+        var store = new SnapshotStore(dir, 2);
+        store.write(10, List.of(usersNamed("old")));
+        store.write(20, List.of(usersNamed("new")));
+
+        Path newest = dir.resolve(String.format("snapshot-%020d.snap", 20));
+        byte[] content = Files.readAllBytes(newest);
+        content[content.length / 2] ^= 0x10;
+        Files.write(newest, content);
+
+        long[] lsn = {0};
+        assertEquals(List.of("old"), loadIds(store, lsn));
+        assertEquals(10, lsn[0]);
+    }
+}
@@ -0,0 +1,114 @@
+package com.eaglebank.dao.wal;
+
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotterTest {
+
+    @TempDir
+    Path dir;
+
+    private FileWriteAheadLog openWal() throws IOException {
+        // tiny segments so truncation has something to delete
+        return new FileWriteAheadLog(dir.resolve("wal"), DurabilityMode.TIME_BASED, 5, TimeUnit.MILLISECONDS, 4096);
+    }
+
+    private SnapshotStore store() {
+        return new SnapshotStore(dir.resolve("snapshots"), 1);
+    }
+
+    private static void post(InMemoryAccountDao accounts, InMemoryTransactionDao transactions, String number, int i) {
+        accounts.save(AccountEntity.builder().accountNumber(number).userId("usr-1").balance(Money.ofPence(i)).build());
+        transactions.save(TransactionEntity.builder().id(number + "-" + i).accountNumber(number).userId("usr-1")
+                .amount(Money.ofPence(1)).type("deposit").build());
+    }
+
+    @Test
+    void snapshotTakenWhileWritersRun_recoversToTheFinalState() throws Exception {
+        long expectedTransactions;
+        try (FileWriteAheadLog wal = openWal()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            var recovery = new WalRecovery(wal, store(), List.of(accounts, transactions));
+            var snapshotter = new Snapshotter(wal, store(), List.of(accounts, transactions), recovery, 0, 0);
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread[] writers = new Thread[4];
+            int[] counts = new int[writers.length];
+            for (int w = 0; w < writers.length; w++) {
+                int id = w;
+                writers[w] = new Thread(() -> {
+                    while (running.get() || counts[id] < 500) {
+                        post(accounts, transactions, "0100000" + id, ++counts[id]);
+                    }
+                });
+                writers[w].start();
+            }
+            snapshotter.snapshotNow();
+            snapshotter.snapshotNow();
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            expectedTransactions = 0;
+            for (int w = 0; w < writers.length; w++) {
+                expectedTransactions += counts[w];
+            }
+        }
+
+        try (FileWriteAheadLog wal = openWal()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            var recovery = new WalRecovery(wal, store(), List.of(accounts, transactions));
+            recovery.recover();
+
+            assertTrue(recovery.snapshotLsn() > 0);
+            long recovered = 0;
+            for (int w = 0; w < 4; w++) {
+                String number = "0100000" + w;
+                List<TransactionEntity> history = transactions.findByAccountNumber(number);
+                recovered += history.size();
+                assertEquals(Money.ofPence(history.size()), accounts.findByNumber(number).orElseThrow().getBalance());
+            }
+            assertEquals(expectedTransactions, recovered);
+        }
+    }
+
+    @Test
+    void snapshotNow_truncatesCoveredLogSegments() throws IOException {
+        try (FileWriteAheadLog wal = openWal()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            for (int i = 1; i <= 200; i++) {
+                post(accounts, transactions, "01000001", i);
+            }
+            long segmentsBefore = countFiles(dir.resolve("wal"));
+
+            var recovery = new WalRecovery(wal, store(), List.of(accounts, transactions));
+            new Snapshotter(wal, store(), List.of(accounts, transactions), recovery, 0, 0).snapshotNow();
+
+            assertTrue(countFiles(dir.resolve("wal")) < segmentsBefore);
+        }
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.eaglebank.dao.wal;
+
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.RevokedTokenEntity;
+import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.domain.UserEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalCodecTest {
+
+    private static final OffsetDateTime T = OffsetDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789, ZoneOffset.ofHours(1));
+
+    @Test
+    void account_roundTrip() {
+        AccountEntity account = AccountEntity.builder()
+                .accountNumber("01234567").userId("usr-1").sortCode("10-10-10").name("Main")
+                .accountType("personal").balance(Money.parse("12.34")).currency("GBP")
+                .created(T).updated(T.plusDays(1))
+                .build();
+
+        assertEquals(account, WalCodec.decodeAccount(WalCodec.encodeAccount(account)));
+    }
+
+    @Test
+    void transaction_roundTrip_withNulls() {
+        TransactionEntity tx = TransactionEntity.builder()
+                .id("tan-1").accountNumber("01234567").userId("usr-1").amount(Money.ofPence(5))
+                .currency("GBP").type("deposit").reference(null).created(T)
+                .build();
+
+        assertEquals(tx, WalCodec.decodeTransaction(WalCodec.encodeTransaction(tx)));
+    }
+
+    @Test
+    void transaction_roundTrip_keepsTransferLink_andReadsRecordsWrittenBeforeIt() {
+        TransactionEntity tx = TransactionEntity.builder()
+                .id("tan-1").accountNumber("01234567").userId("usr-1").amount(Money.ofPence(5))
+                .currency("GBP").type("withdrawal").relatedTransactionId("tan-2").created(T)
+                .build();
+        assertEquals(tx, WalCodec.decodeTransaction(WalCodec.encodeTransaction(tx)));
+
+        // an older record stops before the trailing link field (a 4-byte null-string length here)
+        tx.setRelatedTransactionId(null);
+        byte[] current = WalCodec.encodeTransaction(tx);
+        byte[] legacy = Arrays.copyOf(current, current.length - 4);
+        assertEquals(tx, WalCodec.decodeTransaction(legacy));
+    }
+
+    @Test
+    void user_roundTrip_withAndWithoutAddress() {
+        UserEntity user = UserEntity.builder()
+                .id("usr-1").name("Ann").phoneNumber("+441234").email("ann@example.com").passwordHash("$2a$hash")
+                .address(UserEntity.Address.builder().line1("1 High St").town("Leeds").postcode("LS1").build())
+                .created(T).updated(null)
+                .build();
+        assertEquals(user, WalCodec.decodeUser(WalCodec.encodeUser(user)));
+
+        user.setAddress(null);
+        assertEquals(user, WalCodec.decodeUser(WalCodec.encodeUser(user)));
+    }
+
+    @Test
+    void key_roundTrip() {
+        assertEquals("01234567", WalCodec.decodeKey(WalCodec.encodeKey("01234567")));
+    }
+
+    @Test
+    void revokedToken_roundTrip() {
+        RevokedTokenEntity token = RevokedTokenEntity.builder()
+                .tokenId("2f9c1e8a-jti")
+                .expiresAt(Instant.ofEpochSecond(1_714_555_000L, 42))
+                .build();
+        assertEquals(token, WalCodec.decodeRevokedToken(WalCodec.encodeRevokedToken(token)));
+    }
+}
@@ -0,0 +1,148 @@
+package com.eaglebank.dao.wal;
+
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.dao.user.impl.InMemoryUserDao;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.domain.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalRecoveryTest {
+
+    @TempDir
+    Path dir;
+
+    private FileWriteAheadLog open() throws IOException {
+        return new FileWriteAheadLog(dir.resolve("wal"), DurabilityMode.FSYNC_PER_BATCH, 10, TimeUnit.MILLISECONDS, 1 << 20);
+    }
+
+    private SnapshotStore snapshots() {
+        return new SnapshotStore(dir.resolve("snapshots"), 2);
+    }
+
+    private static AccountEntity account(String number, String userId, String balance) {
+        return AccountEntity.builder().accountNumber(number).userId(userId).balance(Money.parse(balance)).build();
+    }
+
+    private static TransactionEntity tx(String id, String accountNumber) {
+        return TransactionEntity.builder().id(id).accountNumber(accountNumber).userId("usr-1")
+                .amount(Money.ofPence(100)).type("deposit").build();
+    }
+
+    @Test
+    void recover_rebuildsAllDaosFromLog() throws IOException {
+        try (FileWriteAheadLog wal = open()) {
+            var users = new InMemoryUserDao(wal);
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+
+            users.save(UserEntity.builder().id("usr-1").email("a@example.com").name("A").build());
+            AccountEntity a1 = account("01000001", "usr-1", "0");
+            accounts.save(a1);
+            accounts.save(account("01000002", "usr-1", "5"));
+            a1.setBalance(Money.parse("2.00"));
+            accounts.save(a1);
+            transactions.save(tx("tan-1", "01000001"));
+            transactions.save(tx("tan-2", "01000001"));
+            accounts.deleteByNumber("01000002");
+        }
+
+        try (FileWriteAheadLog wal = open()) {
+            var users = new InMemoryUserDao(wal);
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            new WalRecovery(wal, snapshots(), List.of(users, accounts, transactions)).recover();
+
+            assertEquals("usr-1", users.findByEmail("a@example.com").orElseThrow().getId());
+            assertEquals(Money.parse("2.00"), accounts.findByNumber("01000001").orElseThrow().getBalance());
+            assertTrue(accounts.findByNumber("01000002").isEmpty());
+            assertEquals(1, accounts.findByUserId("usr-1").size());
+            assertEquals(List.of("tan-2", "tan-1"),
+                    transactions.findByAccountNumber("01000001").stream().map(TransactionEntity::getId).toList());
+        }
+    }
+
+    @Test
+    void replayingTwice_isIdempotent() throws IOException {
+        try (FileWriteAheadLog wal = open()) {
+            new InMemoryTransactionDao(wal).save(tx("tan-1", "01000001"));
+        }
+
+        try (FileWriteAheadLog wal = open()) {
+            var transactions = new InMemoryTransactionDao(wal);
+            WalRecovery recovery = new WalRecovery(wal, snapshots(), List.of(transactions));
+            recovery.recover();
+            recovery.recover();
+
+            assertEquals(1, transactions.findByAccountNumber("01000001").size());
+        }
+    }
+
+    @Test
+    void recover_loadsSnapshotThenReplaysOnlyTheLogTail() throws IOException {
+        try (FileWriteAheadLog wal = open()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            accounts.save(account("01000001", "usr-1", "1"));
+            transactions.save(tx("tan-1", "01000001"));
+
+            long lsn = wal.checkpoint();
+            snapshots().write(lsn, List.of(accounts, transactions));
+
+            accounts.save(account("01000001", "usr-1", "3"));
+            transactions.save(tx("tan-2", "01000001"));
+        }
+
+        try (FileWriteAheadLog wal = open()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            WalRecovery recovery = new WalRecovery(wal, snapshots(), List.of(accounts, transactions));
+            recovery.recover();
+
+            assertEquals(2, recovery.snapshotLsn());
+            assertEquals(Money.parse("3"), accounts.findByNumber("01000001").orElseThrow().getBalance());
+            assertEquals(List.of(1L, 0L), transactions.findByAccountNumber("01000001").stream()
+                    .map(TransactionEntity::getSequence).toList());
+        }
+    }
+
+    @Test
+    void recover_appliesEveryRecordOfAGroup() throws IOException {
+        try (FileWriteAheadLog wal = open()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            accounts.save(account("01000001", "usr-1", "0"));
+            wal.awaitDurable(wal.atomically(() -> {
+                transactions.save(tx("tan-1", "01000001"));
+                accounts.save(account("01000001", "usr-1", "1"));
+            }));
+        }
+
+        try (FileWriteAheadLog wal = open()) {
+            var accounts = new InMemoryAccountDao(wal);
+            var transactions = new InMemoryTransactionDao(wal);
+            new WalRecovery(wal, snapshots(), List.of(accounts, transactions)).recover();
+
+            assertEquals(Money.parse("1"), accounts.findByNumber("01000001").orElseThrow().getBalance());
+            assertTrue(transactions.findById("tan-1").isPresent());
+        }
+    }
+
+    @Test
+    void twoTargetsForOneRecordType_areRejected() {
+        var wal = WriteAheadLog.disabled();
+        var store = snapshots();
+        assertThrows(IllegalStateException.class,
+                () -> new WalRecovery(wal, store, List.of(new InMemoryAccountDao(), new InMemoryAccountDao())));
+    }
+}
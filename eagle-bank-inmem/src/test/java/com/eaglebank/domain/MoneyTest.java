@@ -0,0 +1,43 @@
+package com.eaglebank.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_convertsPoundsToPence() {
+        assertEquals(1234, Money.parse("12.34").pence());
+        assertEquals(1000, Money.of(new BigDecimal("10")).pence());
+        assertEquals(50, Money.parse("0.5").pence());
+        assertSame(Money.ZERO, Money.parse("0.00"));
+    }
+
+    @Test
+    void of_rejectsSubPennyAndOutOfRangeValues() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("0.001"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1e20"));
+    }
+
+    @Test
+    void arithmetic_isExactAndOverflowChecked() {
+        assertEquals(Money.parse("15.50"), Money.parse("10.25").plus(Money.parse("5.25")));
+        assertEquals(Money.parse("-0.01"), Money.ZERO.minus(Money.ofPence(1)));
+
+        Money max = Money.ofPence(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofPence(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofPence(Long.MIN_VALUE).minus(Money.ofPence(1)));
+    }
+
+    @Test
+    void comparisonAndBoundaryConversions() {
+        assertTrue(Money.parse("9.99").isLessThan(Money.parse("10")));
+        assertEquals(-1, Money.parse("-1").signum());
+        assertEquals(new BigDecimal("12.30"), Money.parse("12.3").toBigDecimal());
+        assertEquals(12.3, Money.parse("12.3").toDouble());
+        assertEquals("12.30", Money.parse("12.3").toString());
+    }
+}
@@ -20,10 +20,35 @@ public class GlobalExceptionHandlerTest {
         assertEquals(403, resp.getStatusCode().value());
     }
 
+    @Test
+    void handle400_returnsBadRequestWithMessage() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        var resp = h.handle400(new BadRequestException("Invalid cursor"));
+        assertEquals(400, resp.getStatusCode().value());
+        assertEquals("Invalid cursor", resp.getBody().getMessage());
+    }
+
     @Test
     void handle404_returnsNotFound() {
         GlobalExceptionHandler h = new GlobalExceptionHandler();
         var resp = h.handle404();
         assertEquals(404, resp.getStatusCode().value());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handle429_returnsTooManyRequestsWithRetryAfter() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        var resp = h.handle429(new TooManyRequestsException("busy"));
+        assertEquals(429, resp.getStatusCode().value());
+        assertEquals("1", resp.getHeaders().getFirst("Retry-After"));
+        assertEquals("busy", resp.getBody().getMessage());
+    }
+
+    @Test
+    void handle503_returnsServiceUnavailableWithRetryAfter() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        var resp = h.handle503(new ServiceUnavailableException("slow"));
+        assertEquals(503, resp.getStatusCode().value());
+        assertEquals("1", resp.getHeaders().getFirst("Retry-After"));
+    }
+}
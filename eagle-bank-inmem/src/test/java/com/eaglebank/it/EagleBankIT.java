@@ -2,6 +2,7 @@ package com.eaglebank.it;
 
 import com.eaglebank.Application;
 import com.eaglebank.security.AuthGuard;
+import com.eaglebank.security.IssuedToken;
 import com.eaglebank.security.JwtAuthFilter;
 import com.eaglebank.security.JwtUtil;
 import com.eaglebank.testutil.MockData;
@@ -10,17 +11,25 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,8 +37,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Full-stack integration test using real services/mappers and in-memory DAOs.
  * Security edges (AuthGuard/JWT) are mocked for determinism.
  */
-@SpringBootTest(classes = Application.class)
+@SpringBootTest(classes = Application.class, properties = "app.wal.enabled=false")
 @AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureObservability(tracing = false)
 class EagleBankIT {
 
     @Autowired MockMvc mvc;
@@ -49,7 +59,10 @@ class EagleBankIT {
 
     @BeforeEach
     void setupSecurity() {
-        when(jwtUtil.generateToken("test@example.com")).thenReturn(TOKEN);
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken("test@example.com", null, List.of()));
+        when(jwtUtil.issue(eq("test@example.com"), any()))
+                .thenReturn(new IssuedToken(TOKEN, "jti-test", Instant.now().plusSeconds(900)));
         when(authGuard.requireUserId()).thenReturn(USER_ID);
     }
 
@@ -65,7 +78,7 @@ class EagleBankIT {
                 .andExpect(jsonPath("$.phoneNumber").value("+447700900123"))
                 .andExpect(jsonPath("$.address.line1").value("221B Baker Street"))
                 // assert pattern rather than hard-coded id
-                .andExpect(jsonPath("$.id", Matchers.matchesPattern("^usr-[A-Za-z0-9]{8}$")))
+                .andExpect(jsonPath("$.id", Matchers.matchesPattern("^usr-[A-Za-z0-9]{11}$")))
                 .andReturn();
 
         String userId = om.readTree(createUser.getResponse().getContentAsByteArray())
@@ -84,7 +97,8 @@ class EagleBankIT {
                 }
                 """))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value(TOKEN));
+                .andExpect(jsonPath("$.token").value(TOKEN))
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
 
         // 3) Fetch own user (use captured userId)
         mvc.perform(get("/v1/users/{userId}", userId)
@@ -226,4 +240,39 @@ class EagleBankIT {
                     """))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void transaction_reference_too_long_returns_400() throws Exception {
+        when(authGuard.requireUserId()).thenReturn(USER_ID);
+
+        mvc.perform(post("/v1/accounts/{accountNumber}/transactions", ACC_NUM)
+                        .header("Authorization", authHeader())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                    {
+                      "amount":10.0,
+                      "currency":"GBP",
+                      "type":"deposit",
+                      "reference":"%s"
+                    }
+                    """.formatted("r".repeat(89))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void prometheus_endpoint_exposes_store_and_ledger_metrics() throws Exception {
+        mvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockData.createUserJson()))
+                .andExpect(status().isCreated());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("eaglebank_dao_operation_seconds_count{")))
+                .andExpect(content().string(Matchers.matchesPattern(
+                        "(?s).*eaglebank_dao_operation_seconds_count\\{[^}]*dao=\"user\",operation=\"save\"}.*")))
+                .andExpect(content().string(Matchers.containsString("eaglebank_store_entities{")))
+                .andExpect(content().string(Matchers.containsString("eaglebank_ledger_posting_seconds_bucket{")))
+                .andExpect(content().string(Matchers.containsString("eaglebank_auth_jwt_verify_seconds_count")));
+    }
 }
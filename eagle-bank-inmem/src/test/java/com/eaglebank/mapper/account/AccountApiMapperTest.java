@@ -1,18 +1,19 @@
 package com.eaglebank.mapper.account;
 
 import com.eaglebank.bo.AccountBO;
+import com.eaglebank.domain.Money;
 import com.eaglebank.gen.model.BankAccountResponse;
 import com.eaglebank.gen.model.CreateBankAccountRequest;
+import com.eaglebank.service.account.AccountNumberAllocator;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class AccountApiMapperTest {
 
-    private final AccountApiMapper mapper = new AccountApiMapper();
+    private final AccountApiMapper mapper = new AccountApiMapper(new AccountNumberAllocator(0));
 
     @Test
     void fromCreateRequest_mapsAll_andDefaults() {
@@ -35,7 +36,7 @@ class AccountApiMapperTest {
         assertEquals("personal", bo.getAccountType());
         assertEquals("10-10-10", bo.getSortCode());
         assertEquals("GBP", bo.getCurrency());
-        assertEquals(BigDecimal.ZERO, bo.getBalance());
+        assertEquals(Money.ZERO, bo.getBalance());
 
         assertNotNull(bo.getCreated(), "created timestamp should be set");
         assertNotNull(bo.getUpdated(), "updated timestamp should be set");
@@ -66,7 +67,7 @@ class AccountApiMapperTest {
                 .sortCode("10-10-10")
                 .name("Savings")
                 .accountType("personal")
-                .balance(new BigDecimal("1234.56"))
+                .balance(Money.parse("1234.56"))
                 .currency("GBP")
                 .created(now.minusMinutes(1))
                 .updated(now)
@@ -2,10 +2,10 @@ package com.eaglebank.mapper.account;
 
 import com.eaglebank.bo.AccountBO;
 import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,7 +29,7 @@ class AccountEntityMapperTest {
                 .sortCode("10-20-30")
                 .name("Savings")
                 .accountType("personal")
-                .balance(new BigDecimal("1000.50"))
+                .balance(Money.parse("1000.50"))
                 .currency("GBP")
                 .created(now.minusDays(1))
                 .updated(now)
@@ -59,7 +59,7 @@ class AccountEntityMapperTest {
                 .sortCode("40-50-60")
                 .name("Current")
                 .accountType("business")
-                .balance(new BigDecimal("250.75"))
+                .balance(Money.parse("250.75"))
                 .currency("USD")
                 .created(now.minusHours(2))
                 .updated(now)
@@ -89,7 +89,7 @@ class AccountEntityMapperTest {
                 .sortCode("99-88-77")
                 .name("RoundTrip")
                 .accountType("personal")
-                .balance(BigDecimal.TEN)
+                .balance(Money.parse("10"))
                 .currency("GBP")
                 .created(now.minusMinutes(5))
                 .updated(now)
@@ -1,12 +1,16 @@
 package com.eaglebank.mapper.transaction;
 
 import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.bo.TransferBO;
+import com.eaglebank.domain.Money;
+import com.eaglebank.exception.BadRequestException;
 import com.eaglebank.gen.model.CreateTransactionRequest;
+import com.eaglebank.gen.model.CreateTransferRequest;
 import com.eaglebank.gen.model.TransactionResponse;
+import com.eaglebank.gen.model.TransferResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,7 +41,7 @@ class TransactionApiMapperTest {
         assertNotNull(bo.getId(), "Id should be generated");
         assertEquals(accountNumber, bo.getAccountNumber());
         assertEquals(userId, bo.getUserId());
-        assertEquals(new BigDecimal("12.34"), bo.getAmount());
+        assertEquals(Money.parse("12.34"), bo.getAmount());
         assertEquals("GBP", bo.getCurrency());
         assertEquals("withdrawal", bo.getType());
         assertEquals("Rent payment", bo.getReference());
@@ -52,12 +56,53 @@ class TransactionApiMapperTest {
         // when
         TransactionBO bo = mapper.fromRequest(req, "acc-1", "usr-1");
         // then
-        assertEquals(BigDecimal.ZERO, bo.getAmount(), "Default amount should be ZERO");
+        assertEquals(Money.ZERO, bo.getAmount(), "Default amount should be ZERO");
         assertEquals("GBP", bo.getCurrency(), "Default currency should be GBP");
         assertEquals("deposit", bo.getType(), "Default type should be deposit");
         assertEquals("Top up", bo.getReference());
     }
 
+    @Test
+    void fromRequest_rejectsFractionsOfAPenny() {
+        CreateTransactionRequest req = new CreateTransactionRequest().amount(0.001);
+
+        assertThrows(BadRequestException.class, () -> mapper.fromRequest(req, "acc-1", "usr-1"));
+    }
+
+    @Test
+    void fromTransferRequest_buildsDebitLeg() {
+        CreateTransferRequest req = new CreateTransferRequest()
+                .toAccountNumber("01000002")
+                .amount(12.5)
+                .currency(CreateTransferRequest.CurrencyEnum.GBP)
+                .reference("rent");
+
+        TransactionBO bo = mapper.fromTransferRequest(req, "01000001", "usr-1");
+
+        assertEquals("01000001", bo.getAccountNumber());
+        assertEquals("usr-1", bo.getUserId());
+        assertEquals(Money.parse("12.50"), bo.getAmount());
+        assertEquals("GBP", bo.getCurrency());
+        assertEquals("withdrawal", bo.getType());
+        assertEquals("rent", bo.getReference());
+    }
+
+    @Test
+    void toTransferResponse_mapsBothLegsWithTheirLinks() {
+        TransactionBO debit = TransactionBO.builder().id("tan-d").type("withdrawal").currency("GBP")
+                .amount(Money.parse("5")).relatedTransactionId("tan-c").build();
+        TransactionBO credit = TransactionBO.builder().id("tan-c").type("deposit").currency("GBP")
+                .amount(Money.parse("5")).relatedTransactionId("tan-d").build();
+
+        TransferResponse resp = mapper.toTransferResponse(TransferBO.builder().debit(debit).credit(credit).build());
+
+        assertEquals("tan-d", resp.getDebit().getId());
+        assertEquals("tan-c", resp.getDebit().getRelatedTransactionId());
+        assertEquals(TransactionResponse.TypeEnum.DEPOSIT, resp.getCredit().getType());
+        assertEquals("tan-d", resp.getCredit().getRelatedTransactionId());
+        assertNull(mapper.toTransferResponse(null));
+    }
+
     @Test
     void toResponse_mapsAllFieldsCorrectly() {
         // given
@@ -66,7 +111,7 @@ class TransactionApiMapperTest {
                 .id("tan-abc12345")
                 .accountNumber("acc-9")     // not exposed in response per mapper
                 .userId("usr-9")
-                .amount(new BigDecimal("99.50"))
+                .amount(Money.parse("99.50"))
                 .currency("GBP")
                 .type("deposit")
                 .reference("Salary")
@@ -1,11 +1,11 @@
 package com.eaglebank.mapper.transaction;
 
 import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.TransactionEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,7 +27,7 @@ class TransactionEntityMapperTest {
                 .id("txn-001")
                 .accountNumber("acc-001")
                 .userId("usr-001")
-                .amount(new BigDecimal("500.25"))
+                .amount(Money.parse("500.25"))
                 .currency("GBP")
                 .type("deposit")
                 .reference("Test deposit")
@@ -55,7 +55,7 @@ class TransactionEntityMapperTest {
                 .id("txn-999")
                 .accountNumber("acc-999")
                 .userId("usr-999")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.parse("100.00"))
                 .currency("USD")
                 .type("withdrawal")
                 .reference("Test withdrawal")
@@ -83,10 +83,11 @@ class TransactionEntityMapperTest {
                 .id("txn-roundtrip")
                 .accountNumber("acc-rtp")
                 .userId("usr-rtp")
-                .amount(new BigDecimal("200.00"))
+                .amount(Money.parse("200.00"))
                 .currency("EUR")
                 .type("deposit")
                 .reference("RoundTrip")
+                .relatedTransactionId("txn-other-leg")
                 .created(now)
                 .build();
 
@@ -100,6 +101,7 @@ class TransactionEntityMapperTest {
         assertEquals(original.getCurrency(), result.getCurrency());
         assertEquals(original.getType(), result.getType());
         assertEquals(original.getReference(), result.getReference());
+        assertEquals(original.getRelatedTransactionId(), result.getRelatedTransactionId());
         assertEquals(original.getCreated(), result.getCreated());
     }
 }
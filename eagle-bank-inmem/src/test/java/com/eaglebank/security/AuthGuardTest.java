@@ -1,19 +1,29 @@
 package com.eaglebank.security;
 
 import com.eaglebank.domain.UserEntity;
+import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.NotAuthenticatedException;
 import com.eaglebank.service.user.UserService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class AuthGuardTest {
@@ -21,6 +31,7 @@ public class AuthGuardTest {
     @AfterEach
     void cleanup() {
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -39,6 +50,70 @@ public class AuthGuardTest {
         assertEquals("usr-1", guard.requireUserId());
     }
 
+    @Test
+    void requireUserId_readsIdFromTokenPrincipal_withoutUserLookup() {
+        UserService userService = mock(UserService.class);
+        AuthGuard guard = new AuthGuard(userService);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("usr-1", "u@x.com"), null, List.of()));
+        SecurityContextHolder.setContext(context);
+
+        assertEquals("usr-1", guard.requireUserId());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void requireUserId_fallsBackToEmailLookup_forTokenWithoutUserId() {
+        UserService userService = mock(UserService.class);
+        AuthGuard guard = new AuthGuard(userService);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(null, "u@x.com"), null, List.of()));
+        SecurityContextHolder.setContext(context);
+
+        UserEntity u = new UserEntity();
+        u.setId("usr-1");
+        when(userService.findByEmail("u@x.com")).thenReturn(Optional.of(u));
+
+        assertEquals("usr-1", guard.requireUserId());
+    }
+
+    @Test
+    void requireCaller_usesCallerResolvedByFilter() {
+        UserService userService = mock(UserService.class);
+        AuthGuard guard = new AuthGuard(userService);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(AuthGuard.CALLER_ATTRIBUTE, new AuthenticatedUser("usr-1", "u@x.com"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals(new AuthenticatedUser("usr-1", "u@x.com"), guard.requireCaller());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void requireUserId_resolvesEmailLookupOncePerRequest() {
+        UserService userService = mock(UserService.class);
+        AuthGuard guard = new AuthGuard(userService);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken("u@x.com", "pw"));
+        SecurityContextHolder.setContext(context);
+
+        UserEntity u = new UserEntity();
+        u.setId("usr-1");
+        when(userService.findByEmail("u@x.com")).thenReturn(Optional.of(u));
+
+        assertEquals("usr-1", guard.requireUserId());
+        assertEquals("usr-1", guard.requireUserId());
+        verify(userService, times(1)).findByEmail("u@x.com");
+        assertEquals(new AuthenticatedUser("usr-1", "u@x.com"), request.getAttribute(AuthGuard.CALLER_ATTRIBUTE));
+    }
+
     @Test
     void requireUserId_throwsWhenNoAuth() {
         UserService userService = mock(UserService.class);
@@ -59,4 +134,27 @@ public class AuthGuardTest {
         when(userService.findByEmail("unknown@x")).thenReturn(Optional.empty());
         assertThrows(NotAuthenticatedException.class, guard::requireUserId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void requireAdmin_passesForAdminRole() {
+        AuthGuard guard = new AuthGuard(mock(UserService.class));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken("admin@x.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        SecurityContextHolder.setContext(context);
+
+        assertDoesNotThrow(guard::requireAdmin);
+    }
+
+    @Test
+    void requireAdmin_forbidsPlainUsers_andRejectsAnonymous() {
+        AuthGuard guard = new AuthGuard(mock(UserService.class));
+        assertThrows(NotAuthenticatedException.class, guard::requireAdmin);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken("u@x.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        SecurityContextHolder.setContext(context);
+        assertThrows(ForbiddenException.class, guard::requireAdmin);
+    }
+}
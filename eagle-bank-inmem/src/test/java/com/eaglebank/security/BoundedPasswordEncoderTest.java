@@ -0,0 +1,110 @@
+package com.eaglebank.security;
+
+import com.eaglebank.exception.ServiceUnavailableException;
+import com.eaglebank.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    /** Encoder whose encode() blocks until released, so tests can fill the pool deterministically */
+    private static final class GatedEncoder implements PasswordEncoder {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence raw) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encoded.equals("hash:" + raw);
+        }
+    }
+
+    private final GatedEncoder gated = new GatedEncoder();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        gated.release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void delegatesAndRecordsHashLatency() {
+        encoder = new BoundedPasswordEncoder(gated, 1, 4, 5, TimeUnit.SECONDS);
+        gated.release.countDown();
+
+        assertEquals("hash:pw", encoder.encode("pw"));
+        assertTrue(encoder.matches("pw", "hash:pw"));
+        assertFalse(encoder.matches("other", "hash:pw"));
+
+        BoundedPasswordEncoder.Stats stats = encoder.stats();
+        assertEquals(3, stats.hashes());
+        assertTrue(stats.maxHashNanos() > 0);
+        assertTrue(stats.maxHashNanos() <= stats.totalHashNanos());
+        assertEquals(0, stats.rejected());
+    }
+
+    @Test
+    void fullQueue_rejectsImmediatelyWith429() throws Exception {
+        encoder = new BoundedPasswordEncoder(gated, 1, 1, 5, TimeUnit.SECONDS);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(gated.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (encoder.stats().queueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> encoder.encode("c"));
+        assertEquals(1, encoder.stats().rejected());
+
+        gated.release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void slowHash_failsWith503AfterTimeout() {
+        encoder = new BoundedPasswordEncoder(gated, 1, 4, 50, TimeUnit.MILLISECONDS);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("pw"));
+        assertEquals(1, encoder.stats().timedOut());
+    }
+
+    @Test
+    void delegateExceptions_propagateUnchanged() {
+        IllegalArgumentException failure = new IllegalArgumentException("bad hash");
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override public String encode(CharSequence raw) { throw failure; }
+            @Override public boolean matches(CharSequence raw, String encoded) { throw failure; }
+        };
+        encoder = new BoundedPasswordEncoder(failing, 1, 4, 5, TimeUnit.SECONDS);
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> encoder.matches("pw", "x")));
+    }
+
+    @Test
+    void rejectsNonPositiveSizes() {
+        encoder = new BoundedPasswordEncoder(gated, 1, 1, 1, TimeUnit.SECONDS);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoundedPasswordEncoder(gated, 0, 1, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoundedPasswordEncoder(gated, 1, 0, 1, TimeUnit.SECONDS));
+    }
+}
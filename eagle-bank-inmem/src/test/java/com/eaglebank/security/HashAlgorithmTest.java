@@ -0,0 +1,56 @@
+package com.eaglebank.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashAlgorithmTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void bcrypt_picksHighestCostWithinTarget() {
+        // 1 ms at cost 8 → 64 ms at 14, 128 ms at 15
+        assertEquals(14, HashAlgorithm.BCRYPT.costFor(MS, 100 * MS));
+        assertEquals(15, HashAlgorithm.BCRYPT.costFor(MS, 128 * MS));
+    }
+
+    @Test
+    void bcrypt_neverExceedsMaximum() {
+        assertEquals(HashAlgorithm.BCRYPT.maxCost, HashAlgorithm.BCRYPT.costFor(1, Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    void pbkdf2_scalesIterationsLinearly() {
+        // 20k iterations in 10 ms → 200k in 100 ms
+        assertEquals(200_000, HashAlgorithm.PBKDF2.costFor(10 * MS, 100 * MS));
+    }
+
+    @Test
+    void clamp_enforcesMinimumCost() {
+        assertEquals(10, HashAlgorithm.BCRYPT.clamp(6));
+        assertEquals(600_000, HashAlgorithm.PBKDF2.clamp(200_000));
+        assertEquals(12, HashAlgorithm.BCRYPT.clamp(12));
+    }
+
+    @Test
+    void checkConfiguredCost_rejectsCostsOutsideTheAlgorithmsRange() {
+        assertEquals(12, HashAlgorithm.BCRYPT.checkConfiguredCost(12));
+        assertEquals(600_000, HashAlgorithm.PBKDF2.checkConfiguredCost(600_000));
+
+        var tooHigh = assertThrows(IllegalArgumentException.class, () -> HashAlgorithm.BCRYPT.checkConfiguredCost(600_000));
+        assertTrue(tooHigh.getMessage().contains("app.security.hashing.cost"));
+        assertTrue(tooHigh.getMessage().contains("10..20"));
+        assertThrows(IllegalArgumentException.class, () -> HashAlgorithm.BCRYPT.checkConfiguredCost(4));
+        assertThrows(IllegalArgumentException.class, () -> HashAlgorithm.PBKDF2.checkConfiguredCost(12));
+    }
+
+    @Test
+    void fromProperty_isCaseInsensitive() {
+        assertEquals(HashAlgorithm.BCRYPT, HashAlgorithm.fromProperty("BCrypt"));
+        assertEquals(HashAlgorithm.PBKDF2, HashAlgorithm.fromProperty(" pbkdf2 "));
+        assertThrows(IllegalArgumentException.class, () -> HashAlgorithm.fromProperty("md5"));
+    }
+}
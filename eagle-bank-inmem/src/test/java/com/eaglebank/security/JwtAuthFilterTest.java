@@ -1,5 +1,8 @@
 package com.eaglebank.security;
 
+import com.eaglebank.dao.token.impl.InMemoryRevokedTokenDao;
+import com.eaglebank.service.security.StoreUserDetails;
+import com.eaglebank.service.security.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.AfterEach;
@@ -11,12 +14,13 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,13 +29,17 @@ class JwtAuthFilterTest {
 
     private JwtUtil jwtUtil;
     private UserDetailsService uds;
+    private VerifiedTokenCache tokenCache;
+    private TokenRevocationService revocations;
     private JwtAuthFilter filter;
 
     @BeforeEach
     void setUp() {
         jwtUtil = mock(JwtUtil.class);
         uds = mock(UserDetailsService.class);
-        filter = new JwtAuthFilter(jwtUtil, uds);
+        tokenCache = new VerifiedTokenCache(100);
+        revocations = new TokenRevocationService(new InMemoryRevokedTokenDao(1000), 3_600_000, 60_000);
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, false, Set.of());
         SecurityContextHolder.clearContext();
     }
 
@@ -93,10 +101,8 @@ class JwtAuthFilterTest {
         req.addHeader("Authorization", "Bearer good.token.here");
         MockHttpServletResponse resp = new MockHttpServletResponse();
 
-        when(jwtUtil.validateAndGetSubject("good.token.here")).thenReturn("user@example.com");
-        UserDetails ud = new User("user@example.com", "{noop}pw",
-                List.of(new SimpleGrantedAuthority("ROLE_USER")));
-        when(uds.loadUserByUsername("user@example.com")).thenReturn(ud);
+        when(jwtUtil.verify("good.token.here"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
 
         FilterChain chain = mock(FilterChain.class);
 
@@ -106,7 +112,125 @@ class JwtAuthFilterTest {
         assertNotNull(auth, "Authentication should be set");
         assertEquals("user@example.com", auth.getName());
         assertTrue(auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        assertEquals(new AuthenticatedUser("usr-1", "user@example.com"), auth.getPrincipal());
+        assertEquals(auth.getPrincipal(), req.getAttribute(AuthGuard.CALLER_ATTRIBUTE));
         verify(chain, times(1)).doFilter(req, resp);
+        verifyNoInteractions(uds);
+    }
+
+    @Test
+    void doFilter_revokedToken_leavesContextNull() throws ServletException, IOException {
+        Instant expiry = Instant.now().plusSeconds(3600);
+        when(jwtUtil.verify("revoked.token"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", expiry));
+        revocations.revoke("jti-1", expiry);
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest req = bearer("revoked.token");
+        MockHttpServletResponse resp = new MockHttpServletResponse();
+
+        filter.doFilterInternal(req, resp, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(chain).doFilter(req, resp);
+    }
+
+    private static boolean isAdmin() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    @Test
+    void doFilter_grantsAdminRole_toConfiguredUserIds_afterCheckingTheStore() throws ServletException, IOException {
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, false, Set.of("usr-1"));
+        when(jwtUtil.verify("good.token"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
+        when(uds.loadUserByUsername("user@example.com")).thenReturn(storedUser("usr-1"));
+
+        filter.doFilterInternal(bearer("good.token"), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertTrue(isAdmin());
+        verify(uds).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    void doFilter_doesNotGrantAdminRole_byEmail() throws ServletException, IOException {
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, false, Set.of("admin@example.com"));
+        when(jwtUtil.verify("good.token"))
+                .thenReturn(new VerifiedToken("admin@example.com", "usr-9", "jti-1", Instant.now().plusSeconds(3600)));
+
+        filter.doFilterInternal(bearer("good.token"), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertFalse(isAdmin());
+        verifyNoInteractions(uds);
+    }
+
+    @Test
+    void doFilter_rejectsAdminToken_whoseUserWasDeleted() throws ServletException, IOException {
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, false, Set.of("usr-1"));
+        when(jwtUtil.verify("good.token"))
+                .thenReturn(new VerifiedToken("admin@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
+        when(uds.loadUserByUsername("admin@example.com")).thenThrow(new UsernameNotFoundException("gone"));
+
+        filter.doFilterInternal(bearer("good.token"), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_withUserStoreCheck_acceptsStoredUser() throws ServletException, IOException {
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, true, Set.of());
+        when(jwtUtil.verify("good.token"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
+        when(uds.loadUserByUsername("user@example.com")).thenReturn(storedUser("usr-1"));
+
+        filter.doFilterInternal(bearer("good.token"), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertEquals("usr-1",
+                ((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).userId());
+    }
+
+    @Test
+    void doFilter_withUserStoreCheck_rejectsDeletedUser() throws ServletException, IOException {
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, true, Set.of());
+        when(jwtUtil.verify("good.token"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
+        when(uds.loadUserByUsername("user@example.com")).thenThrow(new UsernameNotFoundException("gone"));
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest req = bearer("good.token");
+        MockHttpServletResponse resp = new MockHttpServletResponse();
+
+        filter.doFilterInternal(req, resp, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(chain).doFilter(req, resp);
+    }
+
+    @Test
+    void doFilter_withUserStoreCheck_rejectsEmailNowOwnedByAnotherUser() throws ServletException, IOException {
+        filter = new JwtAuthFilter(jwtUtil, uds, tokenCache, revocations, true, Set.of());
+        when(jwtUtil.verify("good.token"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
+        when(uds.loadUserByUsername("user@example.com")).thenReturn(storedUser("usr-2"));
+
+        filter.doFilterInternal(bearer("good.token"), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_repeatedToken_isVerifiedOnce() throws ServletException, IOException {
+        when(jwtUtil.verify("hot.token"))
+                .thenReturn(new VerifiedToken("user@example.com", "usr-1", "jti-1", Instant.now().plusSeconds(3600)));
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilterInternal(bearer("hot.token"), new MockHttpServletResponse(), mock(FilterChain.class));
+            assertEquals("user@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        }
+
+        verify(jwtUtil, times(1)).verify("hot.token");
+        assertEquals(2, tokenCache.stats().hits());
+        assertEquals(1, tokenCache.stats().misses());
     }
 
     @Test
@@ -147,7 +271,7 @@ class JwtAuthFilterTest {
         req.addHeader("Authorization", "Bearer bad.token");
         MockHttpServletResponse resp = new MockHttpServletResponse();
 
-        when(jwtUtil.validateAndGetSubject("bad.token")).thenThrow(new RuntimeException("expired/invalid"));
+        when(jwtUtil.verify("bad.token")).thenThrow(new RuntimeException("expired/invalid"));
 
         FilterChain chain = mock(FilterChain.class);
 
@@ -181,4 +305,16 @@ class JwtAuthFilterTest {
         verifyNoInteractions(jwtUtil, uds);
         verify(chain, times(1)).doFilter(req, resp);
     }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest req = new MockHttpServletRequest(HttpMethod.GET.name(), "/v1/accounts/a1");
+        req.setServletPath("/v1/accounts/a1");
+        req.addHeader("Authorization", "Bearer " + token);
+        return req;
+    }
+
+    private static StoreUserDetails storedUser(String userId) {
+        return new StoreUserDetails(userId, "user@example.com", "{noop}pw",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
 }
@@ -1,18 +1,49 @@
 package com.eaglebank.security;
 
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class JwtUtilTest {
 
     @Test
     void generateAndValidateToken_roundtrip() {
         JwtUtil jwt = new JwtUtil("01234567890123456789012345678901", 3600000L);
-        String token = jwt.generateToken("user@example.com");
+        String token = jwt.generateToken("user@example.com", "usr-1");
         assertNotNull(token);
         String subject = jwt.validateAndGetSubject(token);
         assertEquals("user@example.com", subject);
     }
-}
\ No newline at end of file
+
+    @Test
+    void verify_returnsSubjectAndExpiry() {
+        JwtUtil jwt = new JwtUtil("01234567890123456789012345678901", 3600000L);
+        Instant before = Instant.now();
+        VerifiedToken verified = jwt.verify(jwt.generateToken("user@example.com", "usr-1"));
+        assertEquals("user@example.com", verified.subject());
+        assertEquals("usr-1", verified.userId());
+        assertNotNull(verified.tokenId());
+        assertNotEquals(verified.tokenId(), jwt.verify(jwt.generateToken("user@example.com", "usr-1")).tokenId());
+        assertFalse(verified.expiresAt().isBefore(before.plusSeconds(3599)));
+        assertFalse(verified.expiresAt().isAfter(Instant.now().plusSeconds(3600)));
+    }
+
+    @Test
+    void issue_returnsClaimsNeededToRevoke() {
+        JwtUtil jwt = new JwtUtil("01234567890123456789012345678901", 900000L);
+        IssuedToken issued = jwt.issue("user@example.com", "usr-1");
+        VerifiedToken verified = jwt.verify(issued.token());
+        assertEquals(verified.tokenId(), issued.tokenId());
+        assertEquals(verified.expiresAt().getEpochSecond(), issued.expiresAt().getEpochSecond());
+    }
+
+    @Test
+    void verify_rejectsTokenSignedWithAnotherKey() {
+        String forged = new JwtUtil("abcdefghijabcdefghijabcdefghijab", 3600000L).generateToken("user@example.com", "usr-1");
+        JwtUtil jwt = new JwtUtil("01234567890123456789012345678901", 3600000L);
+        assertThrows(JwtException.class, () -> jwt.verify(forged));
+    }
+}
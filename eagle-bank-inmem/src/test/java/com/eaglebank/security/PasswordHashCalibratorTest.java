@@ -0,0 +1,56 @@
+package com.eaglebank.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashCalibratorTest {
+
+    @Test
+    void calibrate_neverGoesBelowMinimumCost() {
+        assertEquals(HashAlgorithm.BCRYPT.minCost,
+                PasswordHashCalibrator.calibrate(HashAlgorithm.BCRYPT, Duration.ofNanos(1)));
+    }
+
+    @Test
+    void encoder_writesPrefixedHashAtConfiguredCost() {
+        PasswordEncoder encoder = PasswordHashCalibrator.encoder(HashAlgorithm.BCRYPT, 5);
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"), hash);
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void encoder_verifiesAndUpgradesLegacyUnprefixedBcrypt() {
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        PasswordEncoder encoder = PasswordHashCalibrator.encoder(HashAlgorithm.BCRYPT, 5);
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void encoder_upgradesWeakerCost() {
+        String weak = PasswordHashCalibrator.encoder(HashAlgorithm.BCRYPT, 4).encode("secret");
+        PasswordEncoder encoder = PasswordHashCalibrator.encoder(HashAlgorithm.BCRYPT, 5);
+
+        assertTrue(encoder.matches("secret", weak));
+        assertTrue(encoder.upgradeEncoding(weak));
+    }
+
+    @Test
+    void encoder_verifiesOtherAlgorithms_andUpgradesThem() {
+        String pbkdf2 = PasswordHashCalibrator.encoder(HashAlgorithm.PBKDF2, 1000).encode("secret");
+        assertTrue(pbkdf2.startsWith("{pbkdf2}1000$"), pbkdf2);
+
+        PasswordEncoder encoder = PasswordHashCalibrator.encoder(HashAlgorithm.BCRYPT, 4);
+        assertTrue(encoder.matches("secret", pbkdf2));
+        assertTrue(encoder.upgradeEncoding(pbkdf2));
+    }
+}
@@ -0,0 +1,42 @@
+package com.eaglebank.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Pbkdf2PasswordHasherTest {
+
+    @Test
+    void encode_recordsIterations_andMatches() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+        String hash = hasher.encode("secret");
+
+        assertTrue(hash.startsWith("1000$"));
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertNotEquals(hash, hasher.encode("secret"), "salt must be random");
+    }
+
+    @Test
+    void matches_usesIterationsStoredInHash() {
+        String hash = new Pbkdf2PasswordHasher(1000).encode("secret");
+        assertTrue(new Pbkdf2PasswordHasher(5000).matches("secret", hash));
+    }
+
+    @Test
+    void upgradeEncoding_whenStoredIterationsAreLower() {
+        String hash = new Pbkdf2PasswordHasher(1000).encode("secret");
+        assertTrue(new Pbkdf2PasswordHasher(2000).upgradeEncoding(hash));
+        assertFalse(new Pbkdf2PasswordHasher(1000).upgradeEncoding(hash));
+        assertFalse(new Pbkdf2PasswordHasher(500).upgradeEncoding(hash));
+    }
+
+    @Test
+    void malformedHash_neverMatches() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+        assertFalse(hasher.matches("secret", "not-a-hash"));
+        assertFalse(hasher.matches("secret", "x$y$z"));
+        assertFalse(hasher.matches("secret", null));
+        assertTrue(hasher.upgradeEncoding("garbage"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.eaglebank.security;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.Servlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private long now;
+
+    private final RateLimiter limiter = new RateLimiter(Map.of(
+            RateLimiter.Group.AUTH, new RateLimiter.Limit(1, 0.5),
+            RateLimiter.Group.READ, new RateLimiter.Limit(2, 1),
+            RateLimiter.Group.WRITE, new RateLimiter.Limit(2, 1)), TimeUnit.MINUTES.toNanos(1), () -> now);
+    private final RateLimitFilter addressFilter = new RateLimitFilter(limiter, RateLimitFilter.Scope.ADDRESS);
+    private final RateLimitFilter userFilter = new RateLimitFilter(limiter, RateLimitFilter.Scope.USER);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse perform(String method, String path, FilterChain chain) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest(method, path);
+        req.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        addressFilter.doFilter(req, res, chain);
+        return res;
+    }
+
+    /** Runs a GET through both filters in the security chain's order, with {@code jwt} between them. */
+    private MockHttpServletResponse performChecked(String address, Filter jwt) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/v1/accounts");
+        req.setRemoteAddr(address);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        new MockFilterChain(mock(Servlet.class), addressFilter, jwt, userFilter).doFilter(req, res);
+        return res;
+    }
+
+    private static void authenticateAs(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, userId + "@example.com"), null, List.of()));
+    }
+
+    @Test
+    void allowedRequest_passesThrough_withRateLimitHeaders() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletResponse res = perform("GET", "/v1/accounts", chain);
+
+        verify(chain).doFilter(any(), any());
+        assertEquals("2", res.getHeader("RateLimit-Limit"));
+        assertEquals("1", res.getHeader("RateLimit-Remaining"));
+        assertEquals("1", res.getHeader("RateLimit-Reset"));
+    }
+
+    @Test
+    void exhaustedBucket_returns429WithRetryAfter() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        perform("POST", "/v1/auth/login", chain);
+
+        MockHttpServletResponse res = perform("POST", "/v1/auth/login", chain);
+
+        verify(chain, times(1)).doFilter(any(), any());
+        assertEquals(429, res.getStatus());
+        assertEquals("0", res.getHeader("RateLimit-Remaining"));
+        assertEquals("2", res.getHeader("Retry-After"));
+        assertTrue(res.getContentAsString().contains("Too many requests"));
+    }
+
+    @Test
+    void addressBucket_refusesAFlood_beforeTheTokenIsVerified() throws Exception {
+        Filter jwt = mock(Filter.class);
+        doAnswer(inv -> {
+            inv.<FilterChain>getArgument(2).doFilter(inv.getArgument(0), inv.getArgument(1));
+            return null;
+        }).when(jwt).doFilter(any(), any(), any());
+
+        performChecked("10.0.0.1", jwt);
+        performChecked("10.0.0.1", jwt);
+        MockHttpServletResponse res = performChecked("10.0.0.1", jwt);
+
+        assertEquals(429, res.getStatus());
+        verify(jwt, times(2)).doFilter(any(), any(), any());
+    }
+
+    @Test
+    void authenticatedCaller_isLimitedPerUser_acrossAddresses() throws Exception {
+        Filter jwt = (req, res, chain) -> {
+            authenticateAs("usr-1");
+            chain.doFilter(req, res);
+        };
+
+        assertEquals(200, performChecked("10.0.0.1", jwt).getStatus());
+        MockHttpServletResponse second = performChecked("10.0.0.2", jwt);
+
+        assertEquals(200, second.getStatus());
+        assertEquals("0", second.getHeader("RateLimit-Remaining"), "the tighter user bucket is reported");
+        assertEquals(429, performChecked("10.0.0.3", jwt).getStatus());
+    }
+
+    @Test
+    void authenticatedCallers_areStillLimitedPerAddress() throws Exception {
+        AtomicInteger users = new AtomicInteger();
+        Filter jwt = (req, res, chain) -> {
+            authenticateAs("usr-" + users.incrementAndGet());
+            chain.doFilter(req, res);
+        };
+
+        assertEquals(200, performChecked("10.0.0.1", jwt).getStatus());
+        assertEquals(200, performChecked("10.0.0.1", jwt).getStatus());
+
+        assertEquals(429, performChecked("10.0.0.1", jwt).getStatus());
+        assertEquals(2, limiter.stats().allowed());
+        assertEquals(1, limiter.stats().rejected());
+    }
+}
@@ -0,0 +1,92 @@
+package com.eaglebank.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now;
+
+    private RateLimiter limiter(int capacity) {
+        RateLimiter.Limit limit = new RateLimiter.Limit(capacity, 1);
+        return new RateLimiter(Map.of(RateLimiter.Group.AUTH, limit, RateLimiter.Group.READ, limit,
+                RateLimiter.Group.WRITE, limit), 60 * SECOND, () -> now);
+    }
+
+    @Test
+    void group_classifiesRequests() {
+        assertEquals(RateLimiter.Group.AUTH, RateLimiter.Group.of("POST", "/v1/auth/login"));
+        assertEquals(RateLimiter.Group.AUTH, RateLimiter.Group.of("POST", "/v1/auth/refresh"));
+        assertEquals(RateLimiter.Group.AUTH, RateLimiter.Group.of("POST", "/v1/users"));
+        assertEquals(RateLimiter.Group.READ, RateLimiter.Group.of("GET", "/v1/users/usr-1"));
+        assertEquals(RateLimiter.Group.WRITE, RateLimiter.Group.of("PATCH", "/v1/users/usr-1"));
+        assertEquals(RateLimiter.Group.WRITE, RateLimiter.Group.of("POST", "/v1/accounts/01000000/transactions"));
+    }
+
+    @Test
+    void usersAndAddressesHaveSeparateBuckets() {
+        RateLimiter limiter = limiter(1);
+
+        assertEquals(0, limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-1"));
+        assertTrue(limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-1") < 0);
+
+        assertEquals(0, limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-2"));
+        assertEquals(0, limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.1"));
+        assertTrue(limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.1") < 0);
+    }
+
+    @Test
+    void stats_countEachRequestOnceAtItsLastCheck() {
+        RateLimiter limiter = limiter(1);
+
+        limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.1");
+        limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-1");
+        limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.2");
+        limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-1");
+        limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.3");
+        limiter.allowAnonymous();
+        limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.3");
+
+        RateLimiter.Stats stats = limiter.stats();
+        assertEquals(2, stats.allowed());
+        assertEquals(2, stats.rejected());
+    }
+
+    @Test
+    void groupsHaveSeparateBuckets() {
+        RateLimiter limiter = limiter(1);
+
+        assertEquals(0, limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-1"));
+        assertEquals(0, limiter.tryAcquireForUser(RateLimiter.Group.WRITE, "usr-1"));
+        assertEquals(2, limiter.stats().buckets());
+    }
+
+    @Test
+    void idleBuckets_areSweptOnceDue() {
+        RateLimiter limiter = limiter(5);
+        limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-1");
+        limiter.tryAcquireForAddress(RateLimiter.Group.READ, "10.0.0.2");
+        assertEquals(2, limiter.stats().buckets());
+
+        now = 60 * SECOND;
+        limiter.tryAcquireForUser(RateLimiter.Group.READ, "usr-3");
+
+        RateLimiter.Stats stats = limiter.stats();
+        assertEquals(1, stats.buckets());
+        assertEquals(2, stats.allowed());
+        assertEquals(0, stats.rejected());
+    }
+
+    @Test
+    void limit_rejectsNonPositiveValues() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Limit(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Limit(1, 0));
+        assertEquals(5_000_000_000L, new RateLimiter.Limit(1, 0.2).refillIntervalNanos());
+    }
+}
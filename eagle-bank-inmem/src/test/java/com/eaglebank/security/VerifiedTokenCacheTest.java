@@ -0,0 +1,170 @@
+package com.eaglebank.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    /** Clock the test can move forward */
+    private static final class MutableClock extends Clock {
+        private Instant now = T0;
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private Function<String, VerifiedToken> verifierExpiringAt(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken("user-of-" + token, "usr-" + token, "jti-" + token, expiresAt);
+        };
+    }
+
+    @Test
+    void repeatedToken_isServedFromCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        var verifier = verifierExpiringAt(T0.plusSeconds(60));
+
+        assertEquals("user-of-a", cache.verify("a", verifier).subject());
+        assertEquals("user-of-a", cache.verify("a", verifier).subject());
+        assertEquals("user-of-b", cache.verify("b", verifier).subject());
+
+        assertEquals(2, verifications.get());
+        VerifiedTokenCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.size());
+        assertEquals(1.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void entry_isDroppedAtTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.verify("a", verifierExpiringAt(T0.plusSeconds(60)));
+
+        clock.now = T0.plusSeconds(60);
+        RuntimeException expired = new RuntimeException("expired");
+        assertSame(expired, assertThrows(RuntimeException.class, () -> cache.verify("a", token -> { throw expired; })));
+
+        assertEquals(0, cache.stats().hits());
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void invalidToken_isNeverCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        Function<String, VerifiedToken> rejecting = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> cache.verify("forged", rejecting));
+        assertThrows(IllegalArgumentException.class, () -> cache.verify("forged", rejecting));
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void tokenWithoutExpiry_isNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        var verifier = verifierExpiringAt(null);
+
+        cache.verify("a", verifier);
+        cache.verify("a", verifier);
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void fullCache_purgesExpiredEntriesBeforeInserting() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock);
+        cache.verify("a", verifierExpiringAt(T0.plusSeconds(10)));
+        cache.verify("b", verifierExpiringAt(T0.plusSeconds(100)));
+
+        clock.now = T0.plusSeconds(20);
+        cache.verify("c", verifierExpiringAt(T0.plusSeconds(100)));
+
+        assertEquals(2, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+        cache.verify("c", verifierExpiringAt(T0.plusSeconds(100)));
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void fullCache_withNothingExpired_evictsTheTokenExpiringSoonest() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock);
+        cache.verify("a", verifierExpiringAt(T0.plusSeconds(100)));
+        cache.verify("b", verifierExpiringAt(T0.plusSeconds(30)));
+
+        assertEquals("user-of-c", cache.verify("c", verifierExpiringAt(T0.plusSeconds(60))).subject());
+        cache.verify("c", verifierExpiringAt(T0.plusSeconds(60)));
+        cache.verify("a", verifierExpiringAt(T0.plusSeconds(100)));
+
+        assertEquals(2, cache.stats().size());
+        assertEquals(2, cache.stats().hits());
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(3, verifications.get());
+    }
+
+    @Test
+    void floodOfDistinctTokens_staysBounded_andKeepsCachingNewOnes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(4, clock);
+        var verifier = verifierExpiringAt(T0.plusSeconds(60));
+        for (int i = 0; i < 1000; i++) {
+            cache.verify("t" + i, verifier);
+        }
+
+        cache.verify("t999", verifier);
+        assertEquals(4, cache.stats().size());
+        assertEquals(996, cache.stats().evictions());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void zeroSize_disablesCaching() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, clock);
+        var verifier = verifierExpiringAt(T0.plusSeconds(60));
+
+        cache.verify("a", verifier);
+        cache.verify("a", verifier);
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void negativeSize_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new VerifiedTokenCache(-1, clock));
+    }
+
+    @Test
+    void verificationTime_isCountedForEveryMiss_includingFailures() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.verify("a", verifierExpiringAt(T0.plusSeconds(60)));
+        cache.verify("a", verifierExpiringAt(T0.plusSeconds(60)));
+        assertThrows(RuntimeException.class, () -> cache.verify("b", token -> {
+            throw new RuntimeException("bad signature");
+        }));
+
+        VerifiedTokenCache.Stats stats = cache.stats();
+        assertEquals(2, stats.misses());
+        assertTrue(stats.verifyNanos() > 0);
+    }
+}
@@ -0,0 +1,127 @@
+package com.eaglebank.service.account;
+
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.dao.wal.WalRecovery;
+import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AccountNumberAllocatorTest {
+
+    @Test
+    void allocate_handsOutNumbersInOrder_matchingApiPattern() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(0);
+
+        assertEquals("01000000", allocator.allocate());
+        assertEquals("01000001", allocator.allocate());
+        assertTrue(allocator.allocate().matches("^01\\d{6}$"));
+        assertEquals(AccountNumberAllocator.CAPACITY - 3, allocator.remaining());
+    }
+
+    @Test
+    void allocate_skipsNumbersAlreadyInUse() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(0);
+        assertTrue(allocator.markUsed("01000000"));
+        assertTrue(allocator.markUsed("01000002"));
+        assertFalse(allocator.markUsed("01000002"));
+        assertFalse(allocator.markUsed("02000000"));
+        assertFalse(allocator.markUsed("acc-001"));
+
+        assertEquals(List.of("01000001", "01000003", "01000004"), allocator.allocate(3));
+    }
+
+    @Test
+    void blockAllocation_spansWords_withoutDuplicates() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(0);
+        allocator.allocate();
+
+        List<String> block = allocator.allocate(200);
+
+        assertEquals(200, block.size());
+        assertEquals(200, new HashSet<>(block).size());
+        assertEquals("01000001", block.get(0));
+        assertEquals("01000200", block.get(199));
+        assertEquals("01000201", allocator.allocate());
+    }
+
+    @Test
+    void exhaustion_isReportedBeforeAnyNumberIsTaken() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(0);
+        allocator.allocate(AccountNumberAllocator.CAPACITY - 10);
+
+        assertThrows(ServiceUnavailableException.class, () -> allocator.allocate(11));
+        assertEquals(10, allocator.remaining());
+
+        List<String> last = allocator.allocate(10);
+        assertEquals("01999999", last.get(9));
+        assertThrows(ServiceUnavailableException.class, allocator::allocate);
+    }
+
+    @Test
+    void concurrentAllocations_neverCollide() throws Exception {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(0);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    numbers.addAll(i % 10 == 0 ? allocator.allocate(7) : List.of(allocator.allocate()));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        int expected = 4 * (4_500 + 500 * 7);
+        assertEquals(expected, numbers.size());
+        assertEquals(AccountNumberAllocator.CAPACITY - expected, allocator.remaining());
+    }
+
+    @Test
+    void rebuild_marksEveryAccountInTheDao() {
+        InMemoryAccountDao dao = new InMemoryAccountDao();
+        dao.save(AccountEntity.builder().accountNumber("01000000").userId("usr-1").build());
+        dao.save(AccountEntity.builder().accountNumber("01000001").userId("usr-1").build());
+
+        AccountNumberAllocator allocator =
+                new AccountNumberAllocator(dao, new InMemoryTransactionDao(), mock(WalRecovery.class), 0);
+
+        assertEquals(AccountNumberAllocator.CAPACITY - 2, allocator.remaining());
+        assertEquals("01000002", allocator.allocate());
+    }
+
+    @Test
+    void rebuild_neverReissuesTheNumberOfADeletedAccountWithHistory() {
+        InMemoryAccountDao accounts = new InMemoryAccountDao();
+        accounts.save(AccountEntity.builder().accountNumber("01000001").userId("usr-1").build());
+        InMemoryTransactionDao transactions = new InMemoryTransactionDao();
+        transactions.save(TransactionEntity.builder().id("tan-1").accountNumber("01000000").userId("usr-1").build());
+
+        AccountNumberAllocator allocator =
+                new AccountNumberAllocator(accounts, transactions, mock(WalRecovery.class), 0);
+
+        assertEquals(AccountNumberAllocator.CAPACITY - 2, allocator.remaining());
+        assertEquals("01000002", allocator.allocate());
+    }
+
+    @Test
+    void parseAndFormat_roundTrip() {
+        assertEquals(123_456, AccountNumberAllocator.parse("01123456"));
+        assertEquals("01123456", AccountNumberAllocator.format(123_456));
+        assertEquals("01000000", AccountNumberAllocator.format(0));
+        assertEquals(-1, AccountNumberAllocator.parse("0112345"));
+        assertEquals(-1, AccountNumberAllocator.parse("0112345x"));
+    }
+}
@@ -1,16 +1,20 @@
 package com.eaglebank.service.account;
 
 import com.eaglebank.bo.AccountBO;
+import com.eaglebank.bo.PageBO;
 import com.eaglebank.dao.account.AccountDao;
 import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
+import com.eaglebank.exception.BadRequestException;
 import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.NotFoundException;
 import com.eaglebank.mapper.account.AccountEntityMapper;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.util.PageCursor;
 import com.eaglebank.testutil.MockData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,12 +31,12 @@ class AccountServiceTest {
     void setup() {
         dao = mock(AccountDao.class);
         mapper = new AccountEntityMapper();
-        svc = new AccountService(dao, mapper);
+        svc = new AccountService(dao, mapper, new AccountLockTable(16));
     }
 
     @Test
     void getAccountForUser_happyPath() {
-        AccountEntity e = MockData.accountEntity("u1", "a1", new BigDecimal("100"), "GBP");
+        AccountEntity e = MockData.accountEntity("u1", "a1", Money.parse("100"), "GBP");
         when(dao.findByNumber("a1")).thenReturn(Optional.of(e));
 
         AccountBO bo = svc.getAccountForUser("u1", "a1");
@@ -49,14 +53,14 @@ class AccountServiceTest {
 
     @Test
     void getAccountForUser_403IfNotOwner() {
-        AccountEntity e = MockData.accountEntity("u2", "a1", new BigDecimal("100"), "GBP");
+        AccountEntity e = MockData.accountEntity("u2", "a1", Money.parse("100"), "GBP");
         when(dao.findByNumber("a1")).thenReturn(Optional.of(e));
         assertThrows(ForbiddenException.class, () -> svc.getAccountForUser("u1", "a1"));
     }
 
     @Test
     void updateAccountName_updatesNameAndSaves() {
-        AccountEntity e = MockData.accountEntity("u1", "a1", new BigDecimal("100"), "GBP");
+        AccountEntity e = MockData.accountEntity("u1", "a1", Money.parse("100"), "GBP");
         when(dao.findByNumber("a1")).thenReturn(Optional.of(e));
 
         svc.updateAccountName("u1", "a1", "My Savings");
@@ -68,7 +72,7 @@ class AccountServiceTest {
 
     @Test
     void deleteAccount_happyPath() {
-        AccountEntity e = MockData.accountEntity("u1", "a1", new BigDecimal("100"), "GBP");
+        AccountEntity e = MockData.accountEntity("u1", "a1", Money.parse("100"), "GBP");
         when(dao.findByNumber("a1")).thenReturn(Optional.of(e));
 
         svc.deleteAccount("u1", "a1");
@@ -78,14 +82,38 @@ class AccountServiceTest {
 
     @Test
     void listUserAccounts_returnsMappedList() {
-        AccountEntity a1 = MockData.accountEntity("u1", "a1", new BigDecimal("100"), "GBP");
-        AccountEntity a2 = MockData.accountEntity("u1", "a2", new BigDecimal("200"), "GBP");
-        when(dao.findByUserId("u1")).thenReturn(List.of(a1, a2));
+        AccountEntity a1 = MockData.accountEntity("u1", "a1", Money.parse("100"), "GBP");
+        AccountEntity a2 = MockData.accountEntity("u1", "a2", Money.parse("200"), "GBP");
+        when(dao.findByUserId("u1", null, 101)).thenReturn(List.of(a1, a2));
 
-        List<AccountBO> list = svc.listUserAccounts("u1");
+        PageBO<AccountBO> page = svc.listUserAccounts("u1", null, null);
+        List<AccountBO> list = page.getItems();
 
         assertEquals(2, list.size());
         assertTrue(list.stream().anyMatch(a -> a.getAccountNumber().equals("a1")));
         assertTrue(list.stream().anyMatch(a -> a.getAccountNumber().equals("a2")));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void listUserAccounts_fullPage_resumesAfterLastAccountNumber() {
+        AccountEntity a1 = MockData.accountEntity("u1", "a1", Money.parse("100"), "GBP");
+        AccountEntity a2 = MockData.accountEntity("u1", "a2", Money.parse("200"), "GBP");
+        when(dao.findByUserId("u1", null, 2)).thenReturn(List.of(a1, a2));
+
+        PageBO<AccountBO> first = svc.listUserAccounts("u1", null, 1);
+        assertEquals(1, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        when(dao.findByUserId("u1", "a1", 2)).thenReturn(List.of(a2));
+        PageBO<AccountBO> second = svc.listUserAccounts("u1", first.getNextCursor(), 1);
+        assertEquals("a2", second.getItems().get(0).getAccountNumber());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void listUserAccounts_transactionCursor_throws400() {
+        assertThrows(BadRequestException.class,
+                () -> svc.listUserAccounts("u1", PageCursor.encode("tx", "5"), 10));
     }
 }
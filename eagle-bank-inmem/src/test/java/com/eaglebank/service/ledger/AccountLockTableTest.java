@@ -0,0 +1,152 @@
+package com.eaglebank.service.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockTableTest {
+
+    @Test
+    void stripeCount_isRoundedUpToPowerOfTwo() {
+        assertEquals(1, new AccountLockTable(1).stripeCount());
+        assertEquals(16, new AccountLockTable(16).stripeCount());
+        assertEquals(1024, new AccountLockTable(1000).stripeCount());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockTable(0));
+    }
+
+    @Test
+    void sameAccount_alwaysMapsToSameStripe() {
+        AccountLockTable table = new AccountLockTable(64);
+        assertEquals(table.stripeOf("01234567"), table.stripeOf(new String("01234567")));
+        assertTrue(table.stripeOf("01234567") < table.stripeCount());
+    }
+
+    @Test
+    void withLock_returnsActionResult() {
+        AccountLockTable table = new AccountLockTable(8);
+        assertEquals("done", table.withLock("01234567", () -> "done"));
+    }
+
+    @Test
+    void withLock_excludesSecondPostingOnSameAccount() throws Exception {
+        AccountLockTable table = new AccountLockTable(8);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean secondEntered = new AtomicBoolean();
+
+        Thread holder = new Thread(() -> table.withLock("01234567", () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holder.start();
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        Thread contender = new Thread(() -> table.withLock("01234567", () -> {
+            secondEntered.set(true);
+            return null;
+        }));
+        contender.start();
+        contender.join(200);
+        assertFalse(secondEntered.get(), "second posting must wait for the first");
+
+        release.countDown();
+        contender.join(5000);
+        holder.join(5000);
+        assertTrue(secondEntered.get());
+    }
+
+    @Test
+    void withLock_releasesStripeWhenActionThrows() {
+        AccountLockTable table = new AccountLockTable(8);
+        assertThrows(IllegalStateException.class, () -> table.withLock("01234567", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("ok", table.withLock("01234567", () -> "ok"));
+    }
+
+    @Test
+    void withLocks_sameStripe_takesItOnce() {
+        AccountLockTable table = new AccountLockTable(1);
+        assertEquals("ok", table.withLocks("01000001", "01000002", () -> "ok"));
+    }
+
+    @Test
+    void withLocks_inOppositeOrders_neverDeadlocks() throws Exception {
+        AccountLockTable table = new AccountLockTable(64);
+        String[] pair = accountsOnDistinctStripes(table, 2);
+        AtomicInteger done = new AtomicInteger();
+
+        Thread forward = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                table.withLocks(pair[0], pair[1], done::incrementAndGet);
+            }
+        });
+        Thread backward = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                table.withLocks(pair[1], pair[0], done::incrementAndGet);
+            }
+        });
+        forward.start();
+        backward.start();
+        forward.join(10_000);
+        backward.join(10_000);
+
+        assertEquals(40_000, done.get());
+    }
+
+    @Test
+    void withLocks_disjointPairs_doNotWaitForEachOther() throws Exception {
+        AccountLockTable table = new AccountLockTable(64);
+        String[] accounts = accountsOnDistinctStripes(table, 4);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> table.withLocks(accounts[0], accounts[1], () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holder.start();
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertEquals("ran", table.withLocks(accounts[2], accounts[3], () -> "ran"));
+        } finally {
+            release.countDown();
+            holder.join(5000);
+        }
+    }
+
+    /** Account numbers that map to pairwise different stripes. */
+    private static String[] accountsOnDistinctStripes(AccountLockTable table, int count) {
+        String[] out = new String[count];
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0, n = 0; n < count; i++) {
+            String candidate = String.format("01%06d", i);
+            if (used.add(table.stripeOf(candidate))) {
+                out[n++] = candidate;
+            }
+        }
+        return out;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
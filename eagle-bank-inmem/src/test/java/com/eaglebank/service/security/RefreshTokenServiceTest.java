@@ -0,0 +1,141 @@
+package com.eaglebank.service.security;
+
+import com.eaglebank.dao.token.impl.InMemoryRefreshTokenDao;
+import com.eaglebank.dao.token.impl.InMemoryRevokedTokenDao;
+import com.eaglebank.domain.UserEntity;
+import com.eaglebank.exception.NotAuthenticatedException;
+import com.eaglebank.security.JwtUtil;
+import com.eaglebank.security.VerifiedToken;
+import com.eaglebank.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final String EMAIL = "user@example.com";
+    private static final String USER_ID = "usr-1";
+
+    /** Clock the test can move forward */
+    private static final class MutableClock extends Clock {
+        private Instant now = T0;
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final JwtUtil jwt = new JwtUtil("01234567890123456789012345678901", 900000L);
+    private final InMemoryRefreshTokenDao dao = new InMemoryRefreshTokenDao(100);
+    private final TokenRevocationService revocations = new TokenRevocationService(
+            new InMemoryRevokedTokenDao(100), Duration.ofMinutes(15), Duration.ofMinutes(1), clock);
+    private final UserService userService = mock(UserService.class);
+    private final RefreshTokenService service = new RefreshTokenService(
+            dao, jwt, revocations, userService, Duration.ofDays(1), Duration.ofMinutes(1), clock);
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = new UserEntity();
+        user.setId(USER_ID);
+        user.setEmail(EMAIL);
+        when(userService.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void issue_returnsAccessTokenForUser_andRefreshToken() {
+        RefreshTokenService.Tokens tokens = service.issue(EMAIL, USER_ID);
+
+        VerifiedToken access = jwt.verify(tokens.accessToken());
+        assertEquals(EMAIL, access.subject());
+        assertEquals(USER_ID, access.userId());
+        assertNotNull(tokens.refreshToken());
+        assertEquals(1, service.stats().sessions());
+    }
+
+    @Test
+    void refresh_rotatesToken_andIssuesNewAccessToken() {
+        RefreshTokenService.Tokens first = service.issue(EMAIL, USER_ID);
+
+        RefreshTokenService.Tokens second = service.refresh(first.refreshToken());
+
+        assertNotEquals(first.refreshToken(), second.refreshToken());
+        VerifiedToken access = jwt.verify(second.accessToken());
+        assertEquals(USER_ID, access.userId());
+        assertNotEquals(jwt.verify(first.accessToken()).tokenId(), access.tokenId());
+        assertNotNull(service.refresh(second.refreshToken()).refreshToken());
+        assertEquals(2, service.stats().refreshed());
+    }
+
+    @Test
+    void refresh_withSpentToken_endsSession_andRevokesLatestAccessToken() {
+        RefreshTokenService.Tokens first = service.issue(EMAIL, USER_ID);
+        RefreshTokenService.Tokens second = service.refresh(first.refreshToken());
+
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh(first.refreshToken()));
+
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh(second.refreshToken()));
+        assertTrue(revocations.isRevoked(jwt.verify(second.accessToken()).tokenId()));
+        assertEquals(1, service.stats().reuseDetected());
+        assertEquals(0, service.stats().sessions());
+    }
+
+    @Test
+    void refresh_afterSessionLifetime_isRejected() {
+        RefreshTokenService.Tokens first = service.issue(EMAIL, USER_ID);
+        clock.now = T0.plus(Duration.ofHours(23));
+        RefreshTokenService.Tokens second = service.refresh(first.refreshToken());
+
+        clock.now = T0.plus(Duration.ofDays(1));
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh(second.refreshToken()));
+        assertEquals(1, service.stats().rejected());
+    }
+
+    @Test
+    void refresh_unknownOrMissingToken_isRejected() {
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh("not-a-token"));
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh(null));
+        assertEquals(2, service.stats().rejected());
+    }
+
+    @Test
+    void refresh_forDeletedUser_isRejected() {
+        RefreshTokenService.Tokens first = service.issue(EMAIL, USER_ID);
+        when(userService.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh(first.refreshToken()));
+    }
+
+    @Test
+    void revoke_endsSession() {
+        RefreshTokenService.Tokens first = service.issue(EMAIL, USER_ID);
+
+        service.revoke(first.refreshToken());
+        service.revoke("unknown");
+        service.revoke(null);
+
+        assertThrows(NotAuthenticatedException.class, () -> service.refresh(first.refreshToken()));
+        assertTrue(revocations.isRevoked(jwt.verify(first.accessToken()).tokenId()));
+    }
+
+    @Test
+    void expiredSessions_arePurgedOnceDue() {
+        service.issue(EMAIL, USER_ID);
+        clock.now = T0.plus(Duration.ofDays(1));
+
+        service.issue(EMAIL, USER_ID);
+
+        assertEquals(1, service.stats().sessions());
+    }
+}
@@ -4,9 +4,11 @@ import com.eaglebank.domain.UserEntity;
 import com.eaglebank.service.user.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +41,7 @@ class StoreUserDetailsServiceTest {
         assertNotNull(details);
         assertEquals("test@example.com", details.getUsername());
         assertEquals("$2a$10$hashedPassword", details.getPassword());
+        assertEquals("usr-123", assertInstanceOf(StoreUserDetails.class, details).getUserId());
         assertTrue(details.isAccountNonExpired());
         assertTrue(details.isAccountNonLocked());
         assertTrue(details.isCredentialsNonExpired());
@@ -58,4 +61,17 @@ class StoreUserDetailsServiceTest {
 
         assertTrue(ex.getMessage().contains("missing@example.com"));
     }
+
+    @Test
+    void updatePassword_storesNewHash_andReturnsUpdatedDetails() {
+        var current = new StoreUserDetails("usr-123", "test@example.com", "$2a$10$old",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        UserDetails updated = storeUserDetailsService.updatePassword(current, "{bcrypt}$2a$12$new");
+
+        verify(userService).updatePasswordHash("usr-123", "{bcrypt}$2a$12$new");
+        assertEquals("{bcrypt}$2a$12$new", updated.getPassword());
+        assertEquals("usr-123", ((StoreUserDetails) updated).getUserId());
+        assertEquals("test@example.com", updated.getUsername());
+    }
 }
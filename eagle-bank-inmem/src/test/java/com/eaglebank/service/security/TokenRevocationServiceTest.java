@@ -0,0 +1,80 @@
+package com.eaglebank.service.security;
+
+import com.eaglebank.dao.token.impl.InMemoryRevokedTokenDao;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationServiceTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    /** Clock the test can move forward */
+    private static final class MutableClock extends Clock {
+        private Instant now = T0;
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryRevokedTokenDao dao = new InMemoryRevokedTokenDao(1000);
+    private final TokenRevocationService service =
+            new TokenRevocationService(dao, Duration.ofHours(1), Duration.ofMinutes(1), clock);
+
+    @Test
+    void revokedToken_isRevokedUntilItExpires() {
+        service.revoke("jti-1", T0.plusSeconds(30));
+        assertTrue(service.isRevoked("jti-1"));
+
+        clock.now = T0.plusSeconds(30);
+        assertFalse(service.isRevoked("jti-1"));
+    }
+
+    @Test
+    void unrevokedToken_isAnsweredByFilterAlone() {
+        service.revoke("jti-1", T0.plusSeconds(30));
+
+        assertFalse(service.isRevoked("jti-2"));
+        assertFalse(service.isRevoked(null));
+
+        TokenRevocationService.Stats stats = service.stats();
+        assertEquals(1, stats.checks());
+        assertEquals(0, stats.probableHits());
+        assertEquals(1, stats.revoked());
+    }
+
+    @Test
+    void revokeById_keepsEntryForLongestTokenLifetime() {
+        service.revoke("jti-1");
+
+        clock.now = T0.plus(Duration.ofMinutes(59));
+        assertTrue(service.isRevoked("jti-1"));
+        clock.now = T0.plus(Duration.ofHours(1));
+        assertFalse(service.isRevoked("jti-1"));
+    }
+
+    @Test
+    void alreadyExpiredToken_isNotStored() {
+        service.revoke("jti-1", T0);
+        assertEquals(0, service.stats().revoked());
+    }
+
+    @Test
+    void expiredEntries_arePurgedOnceIntervalHasPassed() {
+        service.revoke("short", T0.plusSeconds(10));
+
+        clock.now = T0.plusSeconds(61);
+        service.revoke("later", T0.plusSeconds(600));
+
+        assertEquals(1, service.stats().revoked());
+        assertTrue(dao.findById("short").isEmpty());
+    }
+}
@@ -0,0 +1,197 @@
+package com.eaglebank.service.transaction;
+
+import com.eaglebank.exception.BadRequestException;
+import com.eaglebank.exception.InsufficientFundsException;
+import com.eaglebank.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final long TTL = TimeUnit.HOURS.toNanos(1);
+
+    private long now;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private IdempotencyStore store(int maxEntries) {
+        return new IdempotencyStore(maxEntries, TTL, () -> now);
+    }
+
+    private String post() {
+        return "tx-" + runs.incrementAndGet();
+    }
+
+    @Test
+    void sameKey_runsOnce_andReplaysResult() {
+        IdempotencyStore store = store(10);
+
+        assertEquals("tx-1", store.execute("usr-1", "k1", "req", this::post));
+        assertEquals("tx-1", store.execute("usr-1", "k1", "req", this::post));
+
+        assertEquals(1, runs.get());
+        IdempotencyStore.Stats stats = store.stats();
+        assertEquals(1, stats.executed());
+        assertEquals(1, stats.replayed());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    void keysAreScopedPerUser_andNullKeyAlwaysRuns() {
+        IdempotencyStore store = store(10);
+
+        assertEquals("tx-1", store.execute("usr-1", "k1", "req", this::post));
+        assertEquals("tx-2", store.execute("usr-2", "k1", "req", this::post));
+        assertEquals("tx-3", store.execute("usr-1", null, "req", this::post));
+        assertEquals("tx-4", store.execute("usr-1", null, "req", this::post));
+    }
+
+    @Test
+    void keyReusedForDifferentRequest_isRejected() {
+        IdempotencyStore store = store(10);
+        store.execute("usr-1", "k1", "req-a", this::post);
+
+        assertThrows(BadRequestException.class, () -> store.execute("usr-1", "k1", "req-b", this::post));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void failure_isNotRemembered_soRetryRunsAgain() {
+        IdempotencyStore store = store(10);
+
+        assertThrows(InsufficientFundsException.class, () -> store.execute("usr-1", "k1", "req", () -> {
+            throw new InsufficientFundsException("Insufficient funds");
+        }));
+
+        assertEquals("tx-1", store.execute("usr-1", "k1", "req", this::post));
+    }
+
+    @Test
+    void expiredEntry_runsAgain() {
+        IdempotencyStore store = store(10);
+        store.execute("usr-1", "k1", "req", this::post);
+
+        now = TTL;
+        assertEquals("tx-2", store.execute("usr-1", "k1", "req", this::post));
+    }
+
+    @Test
+    void full_evictsOldestEntry() {
+        IdempotencyStore store = store(2);
+        store.execute("usr-1", "k1", "req", this::post);
+        store.execute("usr-1", "k2", "req", this::post);
+        store.execute("usr-1", "k3", "req", this::post);
+
+        assertEquals(2, store.stats().entries());
+        assertEquals("tx-3", store.execute("usr-1", "k3", "req", this::post));
+        assertEquals("tx-4", store.execute("usr-1", "k1", "req", this::post));
+    }
+
+    @Test
+    void full_duplicateOfAStoredKey_isAnsweredWithoutEvictingIt() {
+        IdempotencyStore store = store(2);
+        store.execute("usr-1", "k1", "req", this::post);
+        store.execute("usr-1", "k2", "req", this::post);
+
+        assertEquals("tx-1", store.execute("usr-1", "k1", "req", this::post));
+        assertEquals("tx-2", store.execute("usr-1", "k2", "req", this::post));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void full_neverEvictsInFlightEntries_andRefusesNewKeysUntilOneFinishes() throws Exception {
+        IdempotencyStore store = store(2);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> inFlight = new ArrayList<>();
+        for (String key : List.of("k1", "k2")) {
+            inFlight.add(CompletableFuture.supplyAsync(() ->
+                    store.execute("usr-1", key, "req", () -> {
+                        started.countDown();
+                        await(release);
+                        return key + "-done";
+                    }), pool));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class, () -> store.execute("usr-1", "k3", "req", this::post));
+        assertEquals(2, store.stats().entries());
+        assertEquals(0, runs.get());
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute("usr-1", "k1", "req", this::post), pool);
+        release.countDown();
+        assertEquals("k1-done", duplicate.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> request : inFlight) {
+            request.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals("tx-1", store.execute("usr-1", "k3", "req", this::post));
+        assertEquals(2, store.stats().entries());
+        pool.shutdown();
+    }
+
+    @Test
+    void full_evictsCompletedEntries_behindAnInFlightOne() throws Exception {
+        IdempotencyStore store = store(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() ->
+                store.execute("usr-1", "k1", "req", () -> {
+                    started.countDown();
+                    await(release);
+                    return "k1-done";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        store.execute("usr-1", "k2", "req", this::post);
+
+        assertEquals("tx-2", store.execute("usr-1", "k3", "req", this::post));
+        assertEquals("tx-3", store.execute("usr-1", "k2", "req", this::post));
+
+        release.countDown();
+        assertEquals("k1-done", slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void duplicateWhileInFlight_waitsForOriginal() throws Exception {
+        IdempotencyStore store = store(10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute("usr-1", "k1", "req", () -> {
+                    started.countDown();
+                    await(release);
+                    return post();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute("usr-1", "k1", "req", this::post));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertEquals("tx-1", original.get(5, TimeUnit.SECONDS));
+        assertEquals("tx-1", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
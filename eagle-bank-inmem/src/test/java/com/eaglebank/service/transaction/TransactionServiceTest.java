@@ -1,21 +1,43 @@
 package com.eaglebank.service.transaction;
 
 import com.eaglebank.bo.TransactionBO;
+import com.eaglebank.bo.TransferBO;
 import com.eaglebank.dao.account.AccountDao;
+import com.eaglebank.dao.account.impl.InMemoryAccountDao;
 import com.eaglebank.dao.transaction.TransactionDao;
+import com.eaglebank.dao.transaction.impl.InMemoryTransactionDao;
+import com.eaglebank.dao.wal.DurabilityMode;
+import com.eaglebank.dao.wal.FileWriteAheadLog;
+import com.eaglebank.dao.wal.WalCodec;
+import com.eaglebank.dao.wal.WalRecordType;
+import com.eaglebank.dao.wal.WriteAheadLog;
 import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.TransactionEntity;
+import com.eaglebank.exception.BadRequestException;
 import com.eaglebank.exception.ForbiddenException;
 import com.eaglebank.exception.InsufficientFundsException;
 import com.eaglebank.exception.NotFoundException;
 import com.eaglebank.mapper.transaction.TransactionEntityMapper;
+import com.eaglebank.service.ledger.AccountLockTable;
+import com.eaglebank.util.PageCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,7 +53,7 @@ class TransactionServiceTest {
     void setUp() {
         txDao = mock(TransactionDao.class);
         accountDao = mock(AccountDao.class);
-        service = new TransactionService(txDao, accountDao, new TransactionEntityMapper());
+        service = new TransactionService(txDao, accountDao, new TransactionEntityMapper(), new AccountLockTable(16));
     }
 
     /* --------------------- createTransaction --------------------- */
@@ -44,14 +66,14 @@ class TransactionServiceTest {
         TransactionBO input = txBO("usr-1", "acc-1", "deposit", "50", "GBP", "ref-1");
         TransactionBO saved = service.createTransaction(input);
 
-        assertEquals(new BigDecimal("150"), acc.getBalance(), "balance must increase");
+        assertEquals(Money.parse("150"), acc.getBalance(), "balance must increase");
         verify(accountDao, times(1)).save(acc);
         verify(txDao, times(1)).save(any(TransactionEntity.class));
 
         assertNotNull(saved.getId());
         assertTrue(saved.getId().startsWith("tan-"));
         assertEquals("deposit", saved.getType());
-        assertEquals(new BigDecimal("50"), saved.getAmount());
+        assertEquals(Money.parse("50"), saved.getAmount());
         assertEquals("usr-1", saved.getUserId());
         assertEquals("acc-1", saved.getAccountNumber());
         assertEquals("GBP", saved.getCurrency());
@@ -67,12 +89,51 @@ class TransactionServiceTest {
         TransactionBO input = txBO("usr-1", "acc-1", "withdrawal", "40", "GBP", null);
         TransactionBO saved = service.createTransaction(input);
 
-        assertEquals(new BigDecimal("60"), acc.getBalance(), "balance must decrease");
+        assertEquals(Money.parse("60"), acc.getBalance(), "balance must decrease");
         verify(accountDao).save(acc);
         verify(txDao).save(any(TransactionEntity.class));
 
         assertEquals("withdrawal", saved.getType());
-        assertEquals(new BigDecimal("40"), saved.getAmount());
+        assertEquals(Money.parse("40"), saved.getAmount());
+    }
+
+    @Test
+    void deposit_rejectedByTransactionStore_leavesBalanceUntouched() {
+        AccountEntity acc = account("acc-1", "usr-1", "GBP", "100");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+        doThrow(new IllegalArgumentException("Transaction reference exceeds 266 bytes"))
+                .when(txDao).save(any(TransactionEntity.class));
+
+        TransactionBO input = txBO("usr-1", "acc-1", "deposit", "50", "GBP", "ref-1");
+
+        assertThrows(IllegalArgumentException.class, () -> service.createTransaction(input));
+        assertEquals(Money.parse("100"), acc.getBalance());
+        verify(accountDao, never()).save(any());
+    }
+
+    @Test
+    void transfer_logsBothLegsAndBothBalancesAsOneGroup(@TempDir Path walDir) throws Exception {
+        try (var wal = new FileWriteAheadLog(walDir, DurabilityMode.FSYNC_PER_BATCH, 10, TimeUnit.MILLISECONDS, 1 << 20)) {
+            var realAccounts = new InMemoryAccountDao(wal);
+            realAccounts.save(account("acc-1", "usr-1", "GBP", "100"));
+            realAccounts.save(account("acc-2", "usr-2", "GBP", "0"));
+            var logged = new TransactionService(new InMemoryTransactionDao(wal), realAccounts,
+                    new TransactionEntityMapper(), new AccountLockTable(16), wal, new SimpleMeterRegistry());
+
+            logged.transfer(txBO("usr-1", "acc-1", "withdrawal", "40", "GBP", "rent"), "acc-2");
+
+            List<WalRecordType> records = new ArrayList<>();
+            List<WalRecordType> grouped = new ArrayList<>();
+            wal.replay((lsn, type, payload) -> {
+                records.add(type);
+                if (type == WalRecordType.GROUP) {
+                    WalCodec.decodeGroup(payload, (part, record) -> grouped.add(part));
+                }
+            });
+            assertEquals(List.of(WalRecordType.ACCOUNT_SAVE, WalRecordType.ACCOUNT_SAVE, WalRecordType.GROUP), records);
+            assertEquals(List.of(WalRecordType.TRANSACTION_SAVE, WalRecordType.TRANSACTION_SAVE,
+                    WalRecordType.ACCOUNT_SAVE, WalRecordType.ACCOUNT_SAVE), grouped);
+        }
     }
 
     @Test
@@ -141,6 +202,272 @@ class TransactionServiceTest {
         assertThrows(IllegalArgumentException.class, () -> service.createTransaction(input));
     }
 
+    /* --------------------- createTransactions (batch) --------------------- */
+
+    @Test
+    void batch_appliesItemsInOrder_andSavesAccountOnce() {
+        AccountEntity acc = account("acc-1", "usr-1", "GBP", "10");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+
+        List<TransactionBO> saved = service.createTransactions("usr-1", "acc-1", List.of(
+                txBO("usr-1", "acc-1", "deposit", "50", "GBP", "pay-1"),
+                txBO("usr-1", "acc-1", "withdrawal", "55", "GBP", "fee"),
+                txBO("usr-1", "acc-1", "deposit", "0.25", "GBP", null)));
+
+        assertEquals(Money.parse("5.25"), acc.getBalance());
+        verify(accountDao, times(1)).findByNumber("acc-1");
+        verify(accountDao, times(1)).save(acc);
+        verify(txDao, times(1)).saveAll(argThat(list -> list.size() == 3));
+        verify(txDao, never()).save(any());
+
+        assertEquals(List.of("deposit", "withdrawal", "deposit"), saved.stream().map(TransactionBO::getType).toList());
+        assertEquals("pay-1", saved.get(0).getReference());
+        assertTrue(saved.stream().allMatch(t -> t.getId().startsWith("tan-") && "acc-1".equals(t.getAccountNumber())));
+        assertEquals(3, saved.stream().map(TransactionBO::getId).distinct().count());
+    }
+
+    @Test
+    void batch_overdrawingPartWay_throws422_andPersistsNothing() {
+        AccountEntity acc = account("acc-1", "usr-1", "GBP", "10");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+
+        assertThrows(InsufficientFundsException.class, () -> service.createTransactions("usr-1", "acc-1", List.of(
+                txBO("usr-1", "acc-1", "withdrawal", "5", "GBP", null),
+                txBO("usr-1", "acc-1", "withdrawal", "6", "GBP", null),
+                txBO("usr-1", "acc-1", "deposit", "100", "GBP", null))));
+
+        assertEquals(Money.parse("10"), acc.getBalance());
+        verify(accountDao, never()).save(any());
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void batch_invalidItem_rejectsWholeBatch() {
+        AccountEntity acc = account("acc-1", "usr-1", "GBP", "10");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+
+        assertThrows(IllegalArgumentException.class, () -> service.createTransactions("usr-1", "acc-1", List.of(
+                txBO("usr-1", "acc-1", "deposit", "5", "GBP", null),
+                txBO("usr-1", "acc-1", "deposit", "5", "USD", null))));
+
+        verify(accountDao, never()).save(any());
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void batch_forOtherUsersAccount_throws403() {
+        AccountEntity acc = account("acc-1", "owner-1", "GBP", "100");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+
+        assertThrows(ForbiddenException.class, () -> service.createTransactions("usr-2", "acc-1",
+                List.of(txBO("usr-2", "acc-1", "deposit", "10", "GBP", null))));
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void batch_empty_throws400() {
+        assertThrows(BadRequestException.class, () -> service.createTransactions("usr-1", "acc-1", List.of()));
+        verifyNoInteractions(accountDao, txDao);
+    }
+
+    @Test
+    void batch_withRealDaos_isVisibleAsOneContiguousRun() {
+        var realAccounts = new InMemoryAccountDao();
+        var realTxs = new InMemoryTransactionDao();
+        var realService = new TransactionService(realTxs, realAccounts, new TransactionEntityMapper(), new AccountLockTable(16));
+        realAccounts.save(account("acc-1", "usr-1", "GBP", "0"));
+        List<TransactionBO> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(txBO("usr-1", "acc-1", "deposit", "1", "GBP", "line-" + i));
+        }
+
+        realService.createTransactions("usr-1", "acc-1", batch);
+
+        assertEquals(Money.parse("100"), realAccounts.findByNumber("acc-1").orElseThrow().getBalance());
+        List<TransactionEntity> history = realTxs.findByAccountNumber("acc-1");
+        assertEquals(100, history.size());
+        assertEquals("line-99", history.get(0).getReference());
+        assertEquals("line-0", history.get(99).getReference());
+    }
+
+    @Test
+    void createTransaction_recordsEachPhase_andOnlyLockWaitWhenRejected() {
+        var meters = new SimpleMeterRegistry();
+        var metered = new TransactionService(txDao, accountDao, new TransactionEntityMapper(), new AccountLockTable(16),
+                WriteAheadLog.disabled(), meters);
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(account("acc-1", "usr-1", "GBP", "10")));
+
+        metered.createTransaction(txBO("usr-1", "acc-1", "deposit", "5", "GBP", null));
+        assertThrows(InsufficientFundsException.class,
+                () -> metered.createTransaction(txBO("usr-1", "acc-1", "withdrawal", "100", "GBP", null)));
+
+        assertEquals(2, meters.get(TransactionService.POSTING_METRIC).tag("phase", "lock_wait").timer().count());
+        assertEquals(1, meters.get(TransactionService.POSTING_METRIC).tag("phase", "validate").timer().count());
+        assertEquals(1, meters.get(TransactionService.POSTING_METRIC).tag("phase", "apply").timer().count());
+    }
+
+    /* --------------------- transfer --------------------- */
+
+    @Test
+    void transfer_movesMoney_andWritesTwoLinkedLegs() {
+        AccountEntity from = account("acc-1", "usr-1", "GBP", "100");
+        AccountEntity to = account("acc-2", "usr-2", "GBP", "5");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(from));
+        when(accountDao.findByNumber("acc-2")).thenReturn(Optional.of(to));
+
+        TransferBO transfer = service.transfer(txBO("usr-1", "acc-1", "withdrawal", "30", "GBP", "rent"), "acc-2");
+
+        assertEquals(Money.parse("70"), from.getBalance());
+        assertEquals(Money.parse("35"), to.getBalance());
+        verify(accountDao).save(from);
+        verify(accountDao).save(to);
+        verify(txDao).saveAll(argThat(list -> list.size() == 2));
+
+        TransactionBO debit = transfer.getDebit();
+        TransactionBO credit = transfer.getCredit();
+        assertEquals("withdrawal", debit.getType());
+        assertEquals("acc-1", debit.getAccountNumber());
+        assertEquals("usr-1", debit.getUserId());
+        assertEquals("deposit", credit.getType());
+        assertEquals("acc-2", credit.getAccountNumber());
+        assertEquals("usr-2", credit.getUserId(), "the credit leg belongs to the destination's owner");
+        assertEquals(credit.getId(), debit.getRelatedTransactionId());
+        assertEquals(debit.getId(), credit.getRelatedTransactionId());
+        assertEquals("rent", credit.getReference());
+    }
+
+    @Test
+    void transfer_insufficientFunds_throws422_andPersistsNothing() {
+        AccountEntity from = account("acc-1", "usr-1", "GBP", "10");
+        AccountEntity to = account("acc-2", "usr-2", "GBP", "0");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(from));
+        when(accountDao.findByNumber("acc-2")).thenReturn(Optional.of(to));
+
+        assertThrows(InsufficientFundsException.class,
+                () -> service.transfer(txBO("usr-1", "acc-1", "withdrawal", "10.01", "GBP", null), "acc-2"));
+        assertEquals(Money.parse("10"), from.getBalance());
+        assertEquals(Money.ZERO, to.getBalance());
+        verify(accountDao, never()).save(any());
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void transfer_fromOtherUsersAccount_throws403() {
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(account("acc-1", "owner-1", "GBP", "100")));
+
+        assertThrows(ForbiddenException.class,
+                () -> service.transfer(txBO("usr-1", "acc-1", "withdrawal", "1", "GBP", null), "acc-2"));
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void transfer_toMissingAccount_throws404() {
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(account("acc-1", "usr-1", "GBP", "100")));
+        when(accountDao.findByNumber("acc-x")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> service.transfer(txBO("usr-1", "acc-1", "withdrawal", "1", "GBP", null), "acc-x"));
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void transfer_toSameAccountOrOfZero_isRejected() {
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(account("acc-1", "usr-1", "GBP", "100")));
+        when(accountDao.findByNumber("acc-2")).thenReturn(Optional.of(account("acc-2", "usr-2", "GBP", "0")));
+
+        assertThrows(BadRequestException.class,
+                () -> service.transfer(txBO("usr-1", "acc-1", "withdrawal", "1", "GBP", null), "acc-1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.transfer(txBO("usr-1", "acc-1", "withdrawal", "0", "GBP", null), "acc-2"));
+        verifyNoInteractions(txDao);
+    }
+
+    @Test
+    void concurrentTransfers_inBothDirections_conserveMoney_andNeverDeadlock() throws Exception {
+        var realAccounts = new InMemoryAccountDao();
+        var realTxs = new InMemoryTransactionDao();
+        var realService = new TransactionService(realTxs, realAccounts, new TransactionEntityMapper(), new AccountLockTable(16));
+        int accounts = 6;
+        for (int i = 0; i < accounts; i++) {
+            realAccounts.save(account("acc-" + i, "usr-1", "GBP", "1000"));
+        }
+        AtomicInteger completed = new AtomicInteger();
+
+        runConcurrently(8, 500, () -> {
+            var random = ThreadLocalRandom.current();
+            int from = random.nextInt(accounts);
+            int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+            try {
+                realService.transfer(txBO("usr-1", "acc-" + from, "withdrawal", "7", "GBP", null), "acc-" + to);
+                completed.incrementAndGet();
+            } catch (InsufficientFundsException ignored) {
+                // a drained account is fine; money must still be conserved
+            }
+        });
+
+        Money total = Money.ZERO;
+        int legs = 0;
+        for (int i = 0; i < accounts; i++) {
+            total = total.plus(realAccounts.findByNumber("acc-" + i).orElseThrow().getBalance());
+            legs += realTxs.findByAccountNumber("acc-" + i).size();
+        }
+        assertEquals(Money.parse("6000"), total);
+        assertEquals(2 * completed.get(), legs);
+    }
+
+    /* --------------------- concurrency --------------------- */
+
+    @Test
+    void concurrentDeposits_toOneAccount_loseNoUpdates() throws Exception {
+        var realAccounts = new InMemoryAccountDao();
+        var realTxs = new InMemoryTransactionDao();
+        var realService = new TransactionService(realTxs, realAccounts, new TransactionEntityMapper(), new AccountLockTable(16));
+        realAccounts.save(account("acc-1", "usr-1", "GBP", "0"));
+
+        runConcurrently(8, 250, () -> realService.createTransaction(txBO("usr-1", "acc-1", "deposit", "1", "GBP", null)));
+
+        assertEquals(Money.parse("2000"), realAccounts.findByNumber("acc-1").orElseThrow().getBalance());
+        assertEquals(2000, realTxs.findByAccountNumber("acc-1").size());
+    }
+
+    @Test
+    void concurrentDeposits_toOneAccount_shareFsyncs(@TempDir Path walDir) throws Exception {
+        try (var wal = new FileWriteAheadLog(walDir, DurabilityMode.FSYNC_PER_BATCH, 10, TimeUnit.MILLISECONDS, 1 << 30)) {
+            var realAccounts = new InMemoryAccountDao(wal);
+            realAccounts.save(account("acc-1", "usr-1", "GBP", "0"));
+            var logged = new TransactionService(new InMemoryTransactionDao(wal), realAccounts,
+                    new TransactionEntityMapper(), new AccountLockTable(16), wal, new SimpleMeterRegistry());
+            long syncsBefore = wal.syncCount();
+
+            runConcurrently(8, 50, () -> logged.createTransaction(txBO("usr-1", "acc-1", "deposit", "1", "GBP", null)));
+
+            assertEquals(Money.parse("400"), realAccounts.findByNumber("acc-1").orElseThrow().getBalance());
+            // each posting waits for its fsync after releasing the account's lock, so the next ones join the batch
+            long syncs = wal.syncCount() - syncsBefore;
+            assertTrue(syncs < 200, "400 postings to one account took " + syncs + " fsyncs");
+        }
+    }
+
+    @Test
+    void concurrentWithdrawals_neverOverdraw() throws Exception {
+        var realAccounts = new InMemoryAccountDao();
+        var realService = new TransactionService(new InMemoryTransactionDao(), realAccounts,
+                new TransactionEntityMapper(), new AccountLockTable(16));
+        realAccounts.save(account("acc-1", "usr-1", "GBP", "100"));
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(8, 50, () -> {
+            try {
+                realService.createTransaction(txBO("usr-1", "acc-1", "withdrawal", "1", "GBP", null));
+            } catch (InsufficientFundsException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(0, realAccounts.findByNumber("acc-1").orElseThrow().getBalance().signum());
+        assertEquals(300, rejected.get(), "exactly the postings beyond the opening balance are rejected");
+    }
+
     /* --------------------- listTransactions --------------------- */
 
     @Test
@@ -149,26 +476,61 @@ class TransactionServiceTest {
         when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
 
         TransactionEntity t1 = txEntity("tan-1", "acc-1", "usr-1", "5.50", "GBP", "deposit");
-        when(txDao.findByAccountNumber("acc-1")).thenReturn(List.of(t1));
+        when(txDao.findByAccountNumber("acc-1", Long.MAX_VALUE, 101)).thenReturn(List.of(t1));
 
-        var list = service.listTransactions("usr-1", "acc-1");
+        var page = service.listTransactions("usr-1", "acc-1", null, null);
+        var list = page.getItems();
         assertEquals(1, list.size());
         assertEquals("tan-1", list.get(0).getId());
-        assertEquals(new BigDecimal("5.50"), list.get(0).getAmount());
+        assertEquals(Money.parse("5.50"), list.get(0).getAmount());
         assertEquals("deposit", list.get(0).getType());
+        assertNull(page.getNextCursor(), "single page has no next cursor");
+    }
+
+    @Test
+    void listTransactions_fullPage_returnsCursorThatResumesAfterLastRow() {
+        AccountEntity acc = account("acc-1", "usr-1", "GBP", "100");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+
+        TransactionEntity t9 = txEntity("tan-9", "acc-1", "usr-1", "1", "GBP", "deposit");
+        t9.setSequence(9);
+        TransactionEntity t8 = txEntity("tan-8", "acc-1", "usr-1", "1", "GBP", "deposit");
+        t8.setSequence(8);
+        TransactionEntity t7 = txEntity("tan-7", "acc-1", "usr-1", "1", "GBP", "deposit");
+        t7.setSequence(7);
+        when(txDao.findByAccountNumber("acc-1", Long.MAX_VALUE, 3)).thenReturn(List.of(t9, t8, t7));
+
+        var first = service.listTransactions("usr-1", "acc-1", null, 2);
+        assertEquals(List.of("tan-9", "tan-8"), first.getItems().stream().map(TransactionBO::getId).toList());
+        assertNotNull(first.getNextCursor());
+
+        when(txDao.findByAccountNumber("acc-1", 8L, 3)).thenReturn(List.of(t7));
+        var second = service.listTransactions("usr-1", "acc-1", first.getNextCursor(), 2);
+        assertEquals(List.of("tan-7"), second.getItems().stream().map(TransactionBO::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void listTransactions_malformedCursor_throws400() {
+        AccountEntity acc = account("acc-1", "usr-1", "GBP", "100");
+        when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
+
+        assertThrows(BadRequestException.class, () -> service.listTransactions("usr-1", "acc-1", "not*base64", 10));
+        assertThrows(BadRequestException.class,
+                () -> service.listTransactions("usr-1", "acc-1", PageCursor.encode("tx", "abc"), 10));
     }
 
     @Test
     void listTransactions_accountMissing_throws404() {
         when(accountDao.findByNumber("acc-x")).thenReturn(Optional.empty());
-        assertThrows(NotFoundException.class, () -> service.listTransactions("usr-1", "acc-x"));
+        assertThrows(NotFoundException.class, () -> service.listTransactions("usr-1", "acc-x", null, null));
     }
 
     @Test
     void listTransactions_notOwner_throws403() {
         AccountEntity acc = account("acc-1", "owner-1", "GBP", "100");
         when(accountDao.findByNumber("acc-1")).thenReturn(Optional.of(acc));
-        assertThrows(ForbiddenException.class, () -> service.listTransactions("usr-1", "acc-1"));
+        assertThrows(ForbiddenException.class, () -> service.listTransactions("usr-1", "acc-1", null, null));
     }
 
     /* --------------------- getTransactionForUser --------------------- */
@@ -185,7 +547,7 @@ class TransactionServiceTest {
 
         assertEquals("tan-9", bo.getId());
         assertEquals("withdrawal", bo.getType());
-        assertEquals(new BigDecimal("20"), bo.getAmount());
+        assertEquals(Money.parse("20"), bo.getAmount());
         assertEquals("usr-1", bo.getUserId());
         assertEquals("acc-1", bo.getAccountNumber());
     }
@@ -219,12 +581,35 @@ class TransactionServiceTest {
 
     /* --------------------- helpers --------------------- */
 
+    private static void runConcurrently(int threads, int perThread, Runnable posting) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        posting.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     private static AccountEntity account(String number, String ownerUserId, String currency, String balance) {
         AccountEntity a = new AccountEntity();
         a.setAccountNumber(number);
         a.setUserId(ownerUserId);
         a.setCurrency(currency);
-        a.setBalance(new BigDecimal(balance));
+        a.setBalance(Money.parse(balance));
         a.setCreated(OffsetDateTime.now().minusDays(1));
         a.setUpdated(OffsetDateTime.now().minusHours(1));
         return a;
@@ -232,7 +617,7 @@ class TransactionServiceTest {
 
     private static TransactionBO txBO(String userId, String accountNumber, String type,
                                       String amountStr, String currency, String ref) {
-        BigDecimal amt = amountStr == null ? null : new BigDecimal(amountStr);
+        Money amt = amountStr == null ? null : Money.parse(amountStr);
         return TransactionBO.builder()
                 .id(null) // service generates
                 .userId(userId)
@@ -251,7 +636,7 @@ class TransactionServiceTest {
                 .id(id)
                 .accountNumber(accountNumber)
                 .userId(userId)
-                .amount(new BigDecimal(amountStr))
+                .amount(Money.parse(amountStr))
                 .currency(currency)
                 .type(type)
                 .reference(null)
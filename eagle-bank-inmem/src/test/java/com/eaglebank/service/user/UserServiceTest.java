@@ -15,6 +15,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
@@ -77,4 +78,24 @@ class UserServiceTest {
         when(dao.findById("u2")).thenReturn(Optional.of(e));
         assertThrows(ForbiddenException.class, () -> svc.getUserForRequester("u1", "u2"));
     }
+
+    @Test
+    void updatePasswordHash_replacesHash_and_saves() {
+        UserEntity e = new UserEntity();
+        e.setId("u1");
+        e.setEmail("a@b.com");
+        e.setPasswordHash("OLD");
+        when(dao.findById("u1")).thenReturn(Optional.of(e));
+
+        svc.updatePasswordHash("u1", "NEW");
+
+        verify(dao).save(argThat(saved -> "u1".equals(saved.getId()) && "NEW".equals(saved.getPasswordHash())));
+    }
+
+    @Test
+    void updatePasswordHash_unknownUser_throwsNotFound() {
+        when(dao.findById("missing")).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> svc.updatePasswordHash("missing", "NEW"));
+        verify(dao, never()).save(any());
+    }
 }
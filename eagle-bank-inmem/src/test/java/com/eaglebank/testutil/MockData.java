@@ -4,11 +4,11 @@ import com.eaglebank.bo.AccountBO;
 import com.eaglebank.bo.TransactionBO;
 import com.eaglebank.bo.UserBO;
 import com.eaglebank.domain.AccountEntity;
+import com.eaglebank.domain.Money;
 import com.eaglebank.domain.TransactionEntity;
 import com.eaglebank.domain.UserEntity;
 import com.eaglebank.gen.model.*;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 /**
@@ -56,7 +56,7 @@ public final class MockData {
                 .build();
     }
 
-    public static AccountEntity accountEntity(String userId, String number, BigDecimal balance, String currency) {
+    public static AccountEntity accountEntity(String userId, String number, Money balance, String currency) {
         AccountEntity e = new AccountEntity();
         e.setUserId(userId);
         e.setAccountNumber(number);
@@ -66,7 +66,7 @@ public final class MockData {
         e.setUpdated(OffsetDateTime.now());
         return e;
     }
-    public static AccountBO accountBO(String userId, String accountNumber, BigDecimal balance, String currency) {
+    public static AccountBO accountBO(String userId, String accountNumber, Money balance, String currency) {
         AccountBO bo = new AccountBO();
         bo.setOwnerUserId(userId);
         bo.setAccountNumber(accountNumber);
@@ -77,7 +77,7 @@ public final class MockData {
         bo.setUpdated(OffsetDateTime.now());
         return bo;
     }
-    public static TransactionEntity txEntity(String id, String userId, String accountNumber, String type, BigDecimal amount, String currency) {
+    public static TransactionEntity txEntity(String id, String userId, String accountNumber, String type, Money amount, String currency) {
         TransactionEntity t = new TransactionEntity();
         t.setId(id);
         t.setUserId(userId);
@@ -89,7 +89,7 @@ public final class MockData {
         return t;
     }
     public static TransactionBO txBO(String userId, String accountNumber, String type,
-                                     BigDecimal amount, String currency) {
+                                     Money amount, String currency) {
         TransactionBO bo = new TransactionBO();
         bo.setUserId(userId);
         bo.setAccountNumber(accountNumber);
@@ -0,0 +1,106 @@
+package com.eaglebank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    private long now = IdGenerator.EPOCH_MILLIS + 1_000;
+
+    private long millis(long id) {
+        return id >>> (IdGenerator.NODE_BITS + IdGenerator.SEQUENCE_BITS);
+    }
+
+    private long node(long id) {
+        return (id >>> IdGenerator.SEQUENCE_BITS) & IdGenerator.MAX_NODE_ID;
+    }
+
+    private long sequence(long id) {
+        return id & ((1 << IdGenerator.SEQUENCE_BITS) - 1);
+    }
+
+    @Test
+    void id_carriesTimestampNodeAndSequence() {
+        IdGenerator generator = new IdGenerator(7, () -> now);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertEquals(1_000, millis(first));
+        assertEquals(7, node(first));
+        assertEquals(0, sequence(first));
+        assertEquals(1, sequence(second));
+    }
+
+    @Test
+    void sequenceOverflow_borrowsNextMillisecond() {
+        IdGenerator generator = new IdGenerator(0, () -> now);
+        long id = 0;
+        for (int i = 0; i <= 4096; i++) {
+            id = generator.nextId();
+        }
+        assertEquals(1_001, millis(id));
+        assertEquals(0, sequence(id));
+    }
+
+    @Test
+    void clockSteppingBack_staysMonotonic() {
+        IdGenerator generator = new IdGenerator(0, () -> now);
+        long before = generator.nextId();
+
+        now -= 5_000;
+        assertTrue(generator.nextId() > before);
+    }
+
+    @Test
+    void differentNodes_neverCollide_inSameMillisecond() {
+        IdGenerator a = new IdGenerator(1, () -> now);
+        IdGenerator b = new IdGenerator(2, () -> now);
+        assertNotEquals(a.nextId(), b.nextId());
+    }
+
+    @Test
+    void concurrentCallers_getUniqueIds() throws Exception {
+        IdGenerator generator = new IdGenerator(0, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    void format_isFixedWidthBase62_sortingLikeTheNumber() {
+        assertEquals("tan-00000000000", IdGenerator.format("tan-", 0));
+        assertEquals("tan-0000000000z", IdGenerator.format("tan-", 61));
+        assertEquals("tan-00000000010", IdGenerator.format("tan-", 62));
+        assertEquals("usr-AzL8n0Y58m7", IdGenerator.format("usr-", Long.MAX_VALUE));
+        assertTrue(IdGenerator.format("tan-", 1_000_000).compareTo(IdGenerator.format("tan-", 999_999)) > 0);
+    }
+
+    @Test
+    void staticIds_matchApiPatterns() {
+        assertTrue(IdGenerator.userId().matches("^usr-[A-Za-z0-9]{11}$"));
+        assertTrue(IdGenerator.transactionId().matches("^tan-[A-Za-z0-9]{11}$"));
+    }
+
+    @Test
+    void nodeId_outOfRange_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(-1, () -> now));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(IdGenerator.MAX_NODE_ID + 1, () -> now));
+    }
+}
@@ -0,0 +1,38 @@
+package com.eaglebank.util;
+
+import com.eaglebank.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecode_roundTrip() {
+        String cursor = PageCursor.encode("tx", "42");
+        assertFalse(cursor.contains("42"), "cursor should be opaque");
+        assertEquals("42", PageCursor.decode("tx", cursor));
+    }
+
+    @Test
+    void decode_nullOrBlank_returnsNull() {
+        assertNull(PageCursor.decode("tx", null));
+        assertNull(PageCursor.decode("tx", " "));
+    }
+
+    @Test
+    void decode_rejectsOtherKindOrGarbage() {
+        String accountCursor = PageCursor.encode("acc", "01234567");
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("tx", accountCursor));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("tx", "%%%"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("tx", PageCursor.encode("tx", "")));
+    }
+
+    @Test
+    void limit_defaultsAndClamps() {
+        assertEquals(PageCursor.DEFAULT_LIMIT, PageCursor.limit(null));
+        assertEquals(1, PageCursor.limit(0));
+        assertEquals(25, PageCursor.limit(25));
+        assertEquals(PageCursor.MAX_LIMIT, PageCursor.limit(5000));
+    }
+}
@@ -0,0 +1,79 @@
+package com.eaglebank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void newBucket_allowsBurstOfCapacity_thenReportsWait() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        assertEquals(2, bucket.tryTake(0));
+        assertEquals(1, bucket.tryTake(0));
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(-SECOND, bucket.tryTake(0));
+        assertEquals(-SECOND / 4, bucket.tryTake(SECOND * 3 / 4));
+    }
+
+    @Test
+    void tokensRefillAtSteadyRate_uptoCapacity() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryTake(0);
+        bucket.tryTake(0);
+
+        assertEquals(0, bucket.tryTake(SECOND));
+        assertTrue(bucket.tryTake(SECOND) < 0);
+
+        // long idle: refills to capacity, never beyond
+        assertEquals(1, bucket.tryTake(100 * SECOND));
+    }
+
+    @Test
+    void isFull_onceFullyRefilled() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        assertTrue(bucket.isFull(0));
+
+        bucket.tryTake(0);
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(SECOND));
+    }
+
+    @Test
+    void concurrentTakes_neverExceedCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, SECOND, 0);
+        AtomicInteger taken = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryTake(0) >= 0) {
+                        taken.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1000, taken.get());
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, SECOND, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
@@ -0,0 +1,46 @@
+package com.eaglebank.util.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtlpJsonTest {
+
+    @Test
+    void encodesAnExportTraceServiceRequest() throws Exception {
+        RecordedSpan root = new RecordedSpan(0x1L, 0xabcdefL, 0x10L, 0, "GET /v1/accounts", 1_000, 5_000, "http-1");
+        RecordedSpan child = new RecordedSpan(0x1L, 0xabcdefL, 0x20L, 0x10L, "auth-guard", 2_000, 3_000, "http-1");
+
+        JsonNode json = new ObjectMapper().readTree(OtlpJson.encode(List.of(child, root), "eagle-bank"));
+
+        JsonNode resource = json.at("/resourceSpans/0/resource/attributes/0");
+        assertEquals("service.name", resource.get("key").asText());
+        assertEquals("eagle-bank", resource.at("/value/stringValue").asText());
+
+        JsonNode spans = json.at("/resourceSpans/0/scopeSpans/0/spans");
+        assertEquals(2, spans.size());
+        JsonNode first = spans.get(0);
+        assertEquals("00000000000000010000000000abcdef", first.get("traceId").asText());
+        assertEquals("0000000000000020", first.get("spanId").asText());
+        assertEquals("0000000000000010", first.get("parentSpanId").asText());
+        assertEquals("auth-guard", first.get("name").asText());
+        assertEquals(1, first.get("kind").asInt());
+        assertEquals("2000", first.get("startTimeUnixNano").asText());
+        assertEquals("3000", first.get("endTimeUnixNano").asText());
+        assertEquals("http-1", first.at("/attributes/0/value/stringValue").asText());
+
+        JsonNode second = spans.get(1);
+        assertFalse(second.has("parentSpanId"));
+        assertEquals(2, second.get("kind").asInt());
+    }
+
+    @Test
+    void hex_isZeroPaddedAndUnsigned() {
+        assertEquals("0000000000000000", OtlpJson.hex(0));
+        assertEquals("ffffffffffffffff", OtlpJson.hex(-1));
+    }
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.util.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTraceFilterTest {
+
+    private static final int HANDLER = RequestTracer.name("handler");
+
+    private final RequestTraceFilter filter = new RequestTraceFilter();
+
+    @AfterEach
+    void tearDown() {
+        RequestTracer.configure(0, 1024);
+        RequestTracer.drain();
+    }
+
+    private void perform(String method, String route) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest(method, "/v1/accounts/01234567/transactions");
+        filter.doFilter(req, new MockHttpServletResponse(), (request, response) -> {
+            int span = RequestTracer.begin(HANDLER);
+            if (route != null) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            }
+            RequestTracer.end(span);
+        });
+    }
+
+    @Test
+    void rootSpan_isNamedAfterMethodAndRouteTemplate() throws Exception {
+        RequestTracer.configure(1, 1024);
+
+        perform("GET", "/v1/accounts/{accountNumber}/transactions");
+        perform("BREW", null);
+
+        List<String> names = RequestTracer.drain().stream().map(RecordedSpan::name).toList();
+        assertEquals(List.of("handler", "GET /v1/accounts/{accountNumber}/transactions", "handler", "OTHER unmatched"), names);
+    }
+
+    @Test
+    void unsampledRequest_stillRunsTheChain() throws Exception {
+        RequestTracer.configure(0, 1024);
+
+        perform("GET", "/v1/accounts");
+
+        assertTrue(RequestTracer.drain().isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package com.eaglebank.util.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTracerTest {
+
+    private static final int ROOT = RequestTracer.name("GET /test");
+    private static final int OUTER = RequestTracer.name("outer");
+    private static final int INNER = RequestTracer.name("inner");
+
+    @AfterEach
+    void tearDown() {
+        RequestTracer.endRequest(ROOT);
+        RequestTracer.configure(0, 1024);
+        RequestTracer.drain();
+    }
+
+    @Test
+    void samplingOff_recordsNothing() {
+        RequestTracer.configure(0, 1024);
+
+        assertFalse(RequestTracer.beginRequest());
+        assertEquals(-1, RequestTracer.begin(OUTER));
+        RequestTracer.end(-1);
+
+        assertTrue(RequestTracer.drain().isEmpty());
+    }
+
+    @Test
+    void sampledRequest_recordsNestedSpans_underOneTrace() {
+        RequestTracer.configure(1, 1024);
+
+        assertTrue(RequestTracer.beginRequest());
+        int outer = RequestTracer.begin(OUTER);
+        int inner = RequestTracer.begin(INNER);
+        RequestTracer.end(inner);
+        RequestTracer.end(outer);
+        RequestTracer.endRequest(ROOT);
+
+        List<RecordedSpan> spans = RequestTracer.drain();
+        assertEquals(List.of("inner", "outer", "GET /test"), spans.stream().map(RecordedSpan::name).toList());
+        RecordedSpan innerSpan = spans.get(0);
+        RecordedSpan outerSpan = spans.get(1);
+        RecordedSpan root = spans.get(2);
+        assertTrue(root.root());
+        assertEquals(root.spanId(), outerSpan.parentId());
+        assertEquals(outerSpan.spanId(), innerSpan.parentId());
+        assertTrue(spans.stream().allMatch(s -> s.traceHi() == root.traceHi() && s.traceLo() == root.traceLo()));
+        assertTrue(root.startEpochNanos() <= outerSpan.startEpochNanos());
+        assertTrue(outerSpan.endEpochNanos() <= root.endEpochNanos());
+        assertEquals(Thread.currentThread().getName(), root.thread());
+
+        assertTrue(RequestTracer.drain().isEmpty());
+    }
+
+    @Test
+    void spanLeftOpen_isClosedWithItsParent() {
+        RequestTracer.configure(1, 1024);
+
+        RequestTracer.beginRequest();
+        int outer = RequestTracer.begin(OUTER);
+        RequestTracer.begin(INNER);
+        RequestTracer.end(outer);
+        RequestTracer.endRequest(ROOT);
+
+        assertEquals(List.of("inner", "outer", "GET /test"), RequestTracer.drain().stream().map(RecordedSpan::name).toList());
+    }
+
+    @Test
+    void fullRing_keepsTheNewestSpans() {
+        RequestTracer.configure(1, 4);
+
+        for (int i = 0; i < 10; i++) {
+            RequestTracer.beginRequest();
+            RequestTracer.endRequest(RequestTracer.name("request-" + i));
+        }
+
+        // one slot is always left unread, as the writer may be filling it
+        assertEquals(List.of("request-7", "request-8", "request-9"),
+                RequestTracer.drain().stream().map(RecordedSpan::name).toList());
+    }
+
+    @Test
+    void threadWithoutARequest_recordsNothing() throws Exception {
+        RequestTracer.configure(1, 1024);
+        AtomicInteger handle = new AtomicInteger();
+
+        Thread worker = new Thread(() -> handle.set(RequestTracer.begin(OUTER)));
+        worker.start();
+        worker.join();
+
+        assertEquals(-1, handle.get());
+        assertTrue(RequestTracer.drain().isEmpty());
+    }
+
+    @Test
+    void configure_rejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> RequestTracer.configure(1.5, 1024));
+        assertThrows(IllegalArgumentException.class, () -> RequestTracer.configure(-0.1, 1024));
+        assertThrows(IllegalArgumentException.class, () -> RequestTracer.configure(0.5, 1000));
+    }
+}
@@ -0,0 +1,91 @@
+package com.eaglebank.util.trace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceExporterTest {
+
+    private static final int ROOT = RequestTracer.name("GET /export");
+
+    @TempDir Path dir;
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        RequestTracer.configure(1, 1024);
+        RequestTracer.drain();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTracer.configure(0, 1024);
+        RequestTracer.drain();
+    }
+
+    private static void traceOneRequest() {
+        RequestTracer.beginRequest();
+        RequestTracer.endRequest(ROOT);
+    }
+
+    @Test
+    void exportNow_appendsOneJsonLinePerExport() throws Exception {
+        Path file = dir.resolve("traces/spans.jsonl");
+        TraceExporter exporter = new TraceExporter(file.toString(), "", 1000, "eagle-bank");
+
+        traceOneRequest();
+        assertEquals(1, exporter.exportNow());
+        assertEquals(0, exporter.exportNow());
+        traceOneRequest();
+        traceOneRequest();
+        assertEquals(2, exporter.exportNow());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode spans = om.readTree(lines.get(1)).at("/resourceSpans/0/scopeSpans/0/spans");
+        assertEquals(2, spans.size());
+        assertEquals("GET /export", spans.get(0).get("name").asText());
+    }
+
+    @Test
+    void exportNow_postsToTheEndpoint_andFailsOnAnErrorStatus() throws Exception {
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        AtomicReference<Integer> status = new AtomicReference<>(200);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/traces", exchange -> {
+            received.set(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/traces";
+            TraceExporter exporter = new TraceExporter("", url, 1000, "eagle-bank");
+
+            traceOneRequest();
+            assertEquals(1, exporter.exportNow());
+            assertEquals("GET /export",
+                    om.readTree(received.get()).at("/resourceSpans/0/scopeSpans/0/spans/0/name").asText());
+
+            status.set(503);
+            traceOneRequest();
+            assertThrows(IOException.class, exporter::exportNow);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
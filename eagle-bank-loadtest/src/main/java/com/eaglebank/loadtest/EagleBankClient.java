@@ -0,0 +1,69 @@
+package com.eaglebank.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking JSON calls against a running Eagle Bank, each sent with the bearer token it is
+ * given. Responses come back whatever their status; callers decide what counts as success.
+ */
+final class EagleBankClient {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final URI base;
+  private final ObjectMapper json;
+  private final HttpClient http = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(TIMEOUT)
+          .build();
+
+  EagleBankClient(URI base, ObjectMapper json) {
+    this.base = base;
+    this.json = json;
+  }
+
+  CompletableFuture<HttpResponse<String>> post(String path, Object body, String token) {
+    try {
+      return send(request(path, token)
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body))));
+    } catch (JsonProcessingException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  CompletableFuture<HttpResponse<String>> get(String path, String token) {
+    return send(request(path, token).GET());
+  }
+
+  <T> T read(HttpResponse<String> response, Class<T> type) {
+    try {
+      return json.readValue(response.body(), type);
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json");
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder;
+  }
+
+  private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder builder) {
+    return http.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString());
+  }
+}
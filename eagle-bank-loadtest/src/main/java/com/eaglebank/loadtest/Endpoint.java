@@ -0,0 +1,17 @@
+package com.eaglebank.loadtest;
+
+/** The requests the journeys make, one latency histogram each. */
+enum Endpoint {
+  CREATE_USER("POST /v1/users"),
+  LOGIN("POST /v1/auth/login"),
+  CREATE_ACCOUNT("POST /v1/accounts"),
+  DEPOSIT("POST /v1/accounts/{accountNumber}/transactions (deposit)"),
+  WITHDRAW("POST /v1/accounts/{accountNumber}/transactions (withdrawal)"),
+  LIST_TRANSACTIONS("GET /v1/accounts/{accountNumber}/transactions");
+
+  final String route;
+
+  Endpoint(String route) {
+    this.route = route;
+  }
+}
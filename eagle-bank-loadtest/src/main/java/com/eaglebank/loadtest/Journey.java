@@ -0,0 +1,29 @@
+package com.eaglebank.loadtest;
+
+/** What one arrival does. Every journey except signup acts on a random existing customer. */
+enum Journey {
+  /** Create a user, log in, open an account and fund it */
+  SIGNUP("signup"),
+  /** Log in again, replacing the customer's token */
+  LOGIN("login"),
+  DEPOSIT("deposit"),
+  /** May be refused with 422 when the account cannot cover it */
+  WITHDRAW("withdraw"),
+  /** First page of the account's transactions */
+  LIST("list");
+
+  private final String label;
+
+  Journey(String label) {
+    this.label = label;
+  }
+
+  static Journey named(String label) {
+    for (Journey journey : values()) {
+      if (journey.label.equals(label)) {
+        return journey;
+      }
+    }
+    throw new IllegalArgumentException("Unknown journey: " + label);
+  }
+}
@@ -0,0 +1,109 @@
+package com.eaglebank.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint response times and outcomes, safe to record from any thread. Times go into an
+ * HdrHistogram {@link Recorder} in nanoseconds at three significant digits, so high percentiles
+ * keep their precision at any load. {@link #reset()} discards everything recorded so far, to drop
+ * seeding and warm-up from the measured window.
+ */
+final class LatencyStats {
+
+  /** Status passed to {@link #record} when no response arrived */
+  static final int NO_RESPONSE = -1;
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final Map<Endpoint, EndpointStats> endpoints = new EnumMap<>(Endpoint.class);
+
+  LatencyStats() {
+    for (Endpoint endpoint : Endpoint.values()) {
+      endpoints.put(endpoint, new EndpointStats());
+    }
+  }
+
+  private static final class EndpointStats {
+    final Recorder latency = new Recorder(3);
+    final LongAdder ok = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder noResponse = new LongAdder();
+  }
+
+  void record(Endpoint endpoint, long latencyNanos, int status) {
+    EndpointStats stats = endpoints.get(endpoint);
+    if (status == NO_RESPONSE) {
+      stats.noResponse.increment();
+      return;
+    }
+    stats.latency.recordValue(Math.max(0, latencyNanos));
+    if (status >= 500) {
+      stats.serverErrors.increment();
+    } else if (status >= 400) {
+      stats.clientErrors.increment();
+    } else {
+      stats.ok.increment();
+    }
+  }
+
+  void reset() {
+    for (EndpointStats stats : endpoints.values()) {
+      stats.latency.reset();
+      stats.ok.reset();
+      stats.clientErrors.reset();
+      stats.serverErrors.reset();
+      stats.noResponse.reset();
+    }
+  }
+
+  /**
+   * A table of throughput and latency per endpoint since the last reset, plus an "all" row.
+   * Throughput counts every response, whatever its status, over {@code elapsed}.
+   */
+  String report(Duration elapsed) {
+    double seconds = elapsed.toNanos() / 1e9;
+    StringBuilder out = new StringBuilder();
+    String header = "%-62s %8s %9s %7s %6s %6s %6s %9s %9s %9s %9s%n";
+    String row = "%-62s %8d %9.1f %7d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f%n";
+    out.append(String.format(header, "endpoint", "count", "req/s", "2xx/3xx", "4xx", "5xx", "none",
+            "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+    Histogram all = new Histogram(3);
+    long ok = 0, clientErrors = 0, serverErrors = 0, noResponse = 0;
+    for (Map.Entry<Endpoint, EndpointStats> entry : endpoints.entrySet()) {
+      EndpointStats stats = entry.getValue();
+      Histogram histogram = stats.latency.getIntervalHistogram();
+      if (histogram.getTotalCount() == 0 && stats.noResponse.sum() == 0) {
+        continue;
+      }
+      all.add(histogram);
+      ok += stats.ok.sum();
+      clientErrors += stats.clientErrors.sum();
+      serverErrors += stats.serverErrors.sum();
+      noResponse += stats.noResponse.sum();
+      append(out, row, entry.getKey().route, histogram, seconds,
+              stats.ok.sum(), stats.clientErrors.sum(), stats.serverErrors.sum(), stats.noResponse.sum());
+    }
+    append(out, row, "all", all, seconds, ok, clientErrors, serverErrors, noResponse);
+    return out.toString();
+  }
+
+  private static void append(StringBuilder out, String row, String name, Histogram histogram, double seconds,
+                             long ok, long clientErrors, long serverErrors, long noResponse) {
+    long count = histogram.getTotalCount();
+    out.append(String.format(row, name, count, count / seconds, ok, clientErrors, serverErrors, noResponse,
+            millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+            histogram.getMaxValue() / NANOS_PER_MILLI));
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+  }
+}
@@ -0,0 +1,119 @@
+package com.eaglebank.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * What to run: the arrival rate and its distribution, how long to warm up and measure, how many
+ * customers to create before the clock starts, and the mix of journeys each arrival is drawn from.
+ */
+record LoadProfile(double rate, boolean poisson, Duration warmup, Duration duration, int customers,
+                   Map<Journey, Integer> mix, int maxInFlight) {
+
+  static final String USAGE = """
+          Usage: java -jar eagle-bank-loadtest.jar [options] [--<application property>=<value> ...]
+            --rate=<n>            journeys started per second (default 100)
+            --arrivals=<kind>     poisson or uniform spacing between arrivals (default poisson)
+            --warmup=<time>       unmeasured run before measuring, e.g. 10s, 1m (default 10s)
+            --duration=<time>     measured run (default 30s)
+            --customers=<n>       customers signed up before warm-up (default 50)
+            --mix=<journey:w,...> journey weights (default signup:2,login:3,deposit:35,withdraw:15,list:45)
+            --max-in-flight=<n>   arrivals beyond this many open journeys are dropped and counted (default 10000)
+          Any other --name=value argument is passed to the application, e.g. --app.wal.durability=async.""";
+
+  LoadProfile {
+    if (!(rate > 0)) {
+      throw new IllegalArgumentException("--rate must be positive");
+    }
+    if (customers < 1) {
+      throw new IllegalArgumentException("--customers must be at least 1");
+    }
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("--max-in-flight must be at least 1");
+    }
+    if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+      throw new IllegalArgumentException("--mix needs at least one positive weight");
+    }
+    mix = Map.copyOf(mix);
+  }
+
+  /** The profile, and the arguments left over for the application. */
+  record Parsed(LoadProfile profile, String[] applicationArgs) {
+  }
+
+  static Parsed parse(String... args) {
+    double rate = 100;
+    boolean poisson = true;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    int customers = 50;
+    Map<Journey, Integer> mix = parseMix("signup:2,login:3,deposit:35,withdraw:15,list:45");
+    int maxInFlight = 10_000;
+    List<String> rest = new ArrayList<>();
+
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      String name = eq < 0 ? arg : arg.substring(0, eq);
+      String value = eq < 0 ? "" : arg.substring(eq + 1);
+      try {
+        switch (name) {
+          case "--rate" -> rate = Double.parseDouble(value);
+          case "--arrivals" -> poisson = switch (value) {
+            case "poisson" -> true;
+            case "uniform" -> false;
+            default -> throw new IllegalArgumentException("--arrivals must be poisson or uniform");
+          };
+          case "--warmup" -> warmup = parseDuration(value);
+          case "--duration" -> duration = parseDuration(value);
+          case "--customers" -> customers = Integer.parseInt(value);
+          case "--mix" -> mix = parseMix(value);
+          case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+          default -> rest.add(arg);
+        }
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+      }
+    }
+    return new Parsed(new LoadProfile(rate, poisson, warmup, duration, customers, mix, maxInFlight),
+            rest.toArray(String[]::new));
+  }
+
+  /** Accepts 500ms, 30s, 2m or a bare number of seconds. */
+  static Duration parseDuration(String value) {
+    String v = value.trim().toLowerCase(Locale.ROOT);
+    if (v.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+    }
+    if (v.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+    }
+    if (v.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+    }
+    return Duration.ofSeconds(Long.parseLong(v));
+  }
+
+  /** Parses {@code journey:weight} pairs; journeys left out get weight 0. */
+  static Map<Journey, Integer> parseMix(String value) {
+    Map<Journey, Integer> mix = new EnumMap<>(Journey.class);
+    for (Journey journey : Journey.values()) {
+      mix.put(journey, 0);
+    }
+    for (String pair : value.split(",")) {
+      String[] parts = pair.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("--mix entries look like deposit:35, got " + pair);
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("--mix weights cannot be negative");
+      }
+      mix.put(Journey.named(parts[0].trim()), weight);
+    }
+    return mix;
+  }
+}
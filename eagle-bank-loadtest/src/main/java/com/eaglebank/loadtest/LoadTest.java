@@ -0,0 +1,106 @@
+package com.eaglebank.loadtest;
+
+import com.eaglebank.Application;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots Eagle Bank in-process on a random port with its full security stack, signs up customers
+ * through the API, then drives an open-model mix of journeys at a fixed arrival rate and prints
+ * throughput and p50/p99/p99.9 latency per endpoint. Every request goes over HTTP with a real
+ * token, through the same filters, guards and stores as production traffic.
+ * <p>
+ * The write-ahead log and snapshots go to a temporary directory that is removed afterwards.
+ * Rate limiting is off by default, since every request comes from one address; pass
+ * {@code --app.ratelimit.enabled=true} to measure with it.
+ */
+public final class LoadTest {
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (List.of(args).contains("--help")) {
+      System.out.println(LoadProfile.USAGE);
+      return;
+    }
+    LoadProfile.Parsed parsed;
+    try {
+      parsed = LoadProfile.parse(args);
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      System.err.println(LoadProfile.USAGE);
+      System.exit(2);
+      return;
+    }
+    LoadProfile profile = parsed.profile();
+
+    Path data = Files.createTempDirectory("eagle-bank-loadtest");
+    ConfigurableApplicationContext app = new SpringApplicationBuilder(Application.class)
+            .run(withDefaults(parsed.applicationArgs(), data));
+    try {
+      int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+      var client = new EagleBankClient(URI.create("http://localhost:" + port), app.getBean(ObjectMapper.class));
+      var stats = new LatencyStats();
+      var driver = new OpenLoopDriver(client, profile, stats);
+
+      System.out.printf("Signing up %d customers on port %d%n", profile.customers(), port);
+      driver.seed();
+      if (!profile.warmup().isZero()) {
+        System.out.printf("Warming up for %ds at %.1f journeys/s%n", profile.warmup().toSeconds(), profile.rate());
+        driver.run(profile.warmup());
+      }
+      stats.reset();
+      driver.resetCounts();
+
+      System.out.printf("Measuring for %ds at %.1f journeys/s (%s arrivals)%n", profile.duration().toSeconds(),
+              profile.rate(), profile.poisson() ? "poisson" : "uniform");
+      long start = System.nanoTime();
+      driver.run(profile.duration());
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+      System.out.println();
+      System.out.print(stats.report(elapsed));
+      System.out.println();
+      System.out.print(driver.summary(profile.duration()));
+    } finally {
+      app.close();
+      FileSystemUtils.deleteRecursively(data);
+    }
+  }
+
+  /**
+   * The application arguments, preceded by the load-test defaults they do not set themselves.
+   * These are passed as arguments, not default properties, so they win over application.properties.
+   */
+  static String[] withDefaults(String[] args, Path data) {
+    Map<String, String> defaults = new LinkedHashMap<>();
+    defaults.put("server.port", "0");
+    defaults.put("spring.main.banner-mode", "off");
+    defaults.put("logging.level.root", "WARN");
+    defaults.put("app.ratelimit.enabled", "false");
+    defaults.put("app.jwt.expiration", Long.toString(Duration.ofDays(1).toMillis()));
+    defaults.put("app.wal.dir", data.resolve("wal").toString());
+    defaults.put("app.snapshot.dir", data.resolve("snapshots").toString());
+    defaults.put("app.transactions.mapped.dir", data.resolve("transactions").toString());
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      defaults.remove(arg.substring(arg.startsWith("--") ? 2 : 0, eq < 0 ? arg.length() : eq));
+    }
+    List<String> merged = new ArrayList<>();
+    defaults.forEach((name, value) -> merged.add("--" + name + "=" + value));
+    merged.addAll(List.of(args));
+    return merged.toArray(String[]::new);
+  }
+}
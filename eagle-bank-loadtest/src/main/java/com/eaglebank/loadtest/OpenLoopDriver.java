@@ -0,0 +1,264 @@
+package com.eaglebank.loadtest;
+
+import com.eaglebank.gen.model.BankAccountResponse;
+import com.eaglebank.gen.model.CreateBankAccountRequest;
+import com.eaglebank.gen.model.CreateTransactionRequest;
+import com.eaglebank.gen.model.CreateUserRequest;
+import com.eaglebank.gen.model.CreateUserRequestAddress;
+import com.eaglebank.gen.model.LoginRequest;
+import com.eaglebank.gen.model.TokenResponse;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Starts journeys on an open model: arrivals follow the profile's rate whether or not earlier
+ * journeys have finished, so a slow server builds a queue instead of slowing the load down.
+ * <p>
+ * The first request of a journey is timed from when it was scheduled to start, not from when it
+ * was sent, so time lost behind a stalled scheduler or a full connection pool shows up in the
+ * latency instead of being hidden (coordinated omission). Follow-on requests in a journey are
+ * timed from when they are sent.
+ */
+final class OpenLoopDriver {
+
+  private static final String PASSWORD = "load-test-password";
+  private static final double OPENING_DEPOSIT = 1000.00;
+  /** Bounds seeding concurrency below the password-hashing queue, which refuses work beyond it */
+  private static final int SEED_CONCURRENCY = 16;
+  private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+  private static final CompletableFuture<Boolean> FAILED = CompletableFuture.completedFuture(false);
+
+  private final EagleBankClient client;
+  private final LoadProfile profile;
+  private final LatencyStats stats;
+  private final Journey[] journeys = Journey.values();
+  private final int[] cumulativeWeights;
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong signups = new AtomicLong();
+  private final List<Customer> customers = new ArrayList<>();
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder arrivals = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder failedJourneys = new LongAdder();
+
+  OpenLoopDriver(EagleBankClient client, LoadProfile profile, LatencyStats stats) {
+    this.client = client;
+    this.profile = profile;
+    this.stats = stats;
+    this.cumulativeWeights = new int[journeys.length];
+    int total = 0;
+    for (int i = 0; i < journeys.length; i++) {
+      total += profile.mix().get(journeys[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  /** A signed-up customer with a funded account. The token is replaced by each login. */
+  private static final class Customer {
+    final String email;
+    volatile String token;
+    volatile String accountNumber;
+
+    Customer(String email) {
+      this.email = email;
+    }
+  }
+
+  /** Signs up the profile's customers, a few at a time; fails if none could be created. */
+  void seed() throws InterruptedException {
+    Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+    for (int i = 0; i < profile.customers(); i++) {
+      permits.acquire();
+      signUp(System.nanoTime()).whenComplete((ok, err) -> permits.release());
+    }
+    permits.acquire(SEED_CONCURRENCY);
+    if (customerCount() == 0) {
+      throw new IllegalStateException("No customer could be signed up; is the application healthy?");
+    }
+  }
+
+  /** Runs arrivals for {@code duration}, then waits for the journeys still open to finish. */
+  void run(Duration duration) {
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    double meanGapNanos = 1e9 / profile.rate();
+    double next = start;
+    while (next < end) {
+      long scheduled = (long) next;
+      long wait = scheduled - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      arrive(scheduled);
+      next += profile.poisson()
+              ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos
+              : meanGapNanos;
+    }
+    long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+  }
+
+  private void arrive(long scheduled) {
+    arrivals.increment();
+    if (inFlight.get() >= profile.maxInFlight()) {
+      dropped.increment();
+      return;
+    }
+    inFlight.incrementAndGet();
+    CompletableFuture<Boolean> journey;
+    try {
+      journey = start(pickJourney(), scheduled);
+    } catch (RuntimeException ex) {
+      journey = CompletableFuture.failedFuture(ex);
+    }
+    journey.whenComplete((ok, err) -> {
+      if (err != null || !ok) {
+        failedJourneys.increment();
+      }
+      inFlight.decrementAndGet();
+    });
+  }
+
+  private Journey pickJourney() {
+    int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (roll < cumulativeWeights[i]) {
+        return journeys[i];
+      }
+    }
+    throw new IllegalStateException("Weights exhausted");
+  }
+
+  private CompletableFuture<Boolean> start(Journey journey, long scheduled) {
+    if (journey == Journey.SIGNUP) {
+      return signUp(scheduled);
+    }
+    Customer customer = anyCustomer();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return switch (journey) {
+      case LOGIN -> logIn(customer, scheduled);
+      case DEPOSIT -> transact(customer, Endpoint.DEPOSIT, CreateTransactionRequest.TypeEnum.DEPOSIT,
+              random.nextInt(100, 10_000) / 100.0, scheduled);
+      case WITHDRAW -> transact(customer, Endpoint.WITHDRAW, CreateTransactionRequest.TypeEnum.WITHDRAWAL,
+              random.nextInt(100, 5_000) / 100.0, scheduled);
+      case LIST -> listTransactions(customer, scheduled);
+      case SIGNUP -> throw new IllegalStateException();
+    };
+  }
+
+  private CompletableFuture<Boolean> signUp(long scheduled) {
+    Customer customer = new Customer("load-" + runId + "-" + signups.incrementAndGet() + "@example.com");
+    CreateUserRequest user = new CreateUserRequest()
+            .name("Load Test")
+            .address(new CreateUserRequestAddress("1 Test Street", "Testtown", "Testshire", "TE1 1ST"))
+            .phoneNumber("+447700900123")
+            .email(customer.email)
+            .password(PASSWORD);
+    return send(Endpoint.CREATE_USER, scheduled, () -> client.post("/v1/users", user, null))
+            .thenCompose(res -> res.statusCode() == 201 ? logIn(customer, System.nanoTime()) : FAILED)
+            .thenCompose(ok -> ok ? openAccount(customer) : FAILED)
+            .thenCompose(ok -> ok
+                    ? transact(customer, Endpoint.DEPOSIT, CreateTransactionRequest.TypeEnum.DEPOSIT,
+                            OPENING_DEPOSIT, System.nanoTime())
+                    : FAILED)
+            .thenApply(ok -> {
+              if (ok) {
+                synchronized (customers) {
+                  customers.add(customer);
+                }
+              }
+              return ok;
+            });
+  }
+
+  private CompletableFuture<Boolean> logIn(Customer customer, long start) {
+    LoginRequest login = new LoginRequest(customer.email, PASSWORD);
+    return send(Endpoint.LOGIN, start, () -> client.post("/v1/auth/login", login, null))
+            .thenApply(res -> {
+              if (res.statusCode() != 200) {
+                return false;
+              }
+              customer.token = client.read(res, TokenResponse.class).getToken();
+              return true;
+            });
+  }
+
+  private CompletableFuture<Boolean> openAccount(Customer customer) {
+    var account = new CreateBankAccountRequest("Load test account", CreateBankAccountRequest.AccountTypeEnum.PERSONAL);
+    return send(Endpoint.CREATE_ACCOUNT, System.nanoTime(), () -> client.post("/v1/accounts", account, customer.token))
+            .thenApply(res -> {
+              if (res.statusCode() != 201) {
+                return false;
+              }
+              customer.accountNumber = client.read(res, BankAccountResponse.class).getAccountNumber();
+              return true;
+            });
+  }
+
+  private CompletableFuture<Boolean> transact(Customer customer, Endpoint endpoint,
+                                              CreateTransactionRequest.TypeEnum type, double amount, long start) {
+    var transaction = new CreateTransactionRequest()
+            .amount(amount)
+            .currency(CreateTransactionRequest.CurrencyEnum.GBP)
+            .type(type)
+            .reference("load test");
+    String path = "/v1/accounts/" + customer.accountNumber + "/transactions";
+    return send(endpoint, start, () -> client.post(path, transaction, customer.token))
+            .thenApply(res -> res.statusCode() == 201);
+  }
+
+  private CompletableFuture<Boolean> listTransactions(Customer customer, long start) {
+    String path = "/v1/accounts/" + customer.accountNumber + "/transactions?limit=20";
+    return send(Endpoint.LIST_TRANSACTIONS, start, () -> client.get(path, customer.token))
+            .thenApply(res -> res.statusCode() == 200);
+  }
+
+  /** Sends a request and records its latency from {@code start} and its outcome. */
+  private CompletableFuture<HttpResponse<String>> send(Endpoint endpoint, long start,
+                                                       Supplier<CompletableFuture<HttpResponse<String>>> request) {
+    return request.get().whenComplete((res, err) -> stats.record(endpoint, System.nanoTime() - start,
+            err == null ? res.statusCode() : LatencyStats.NO_RESPONSE));
+  }
+
+  private Customer anyCustomer() {
+    synchronized (customers) {
+      return customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+    }
+  }
+
+  int customerCount() {
+    synchronized (customers) {
+      return customers.size();
+    }
+  }
+
+  void resetCounts() {
+    arrivals.reset();
+    dropped.reset();
+    failedJourneys.reset();
+  }
+
+  /** Arrivals, dropped arrivals and failed journeys since the last {@link #resetCounts()}. */
+  String summary(Duration elapsed) {
+    long started = arrivals.sum();
+    long skipped = dropped.sum();
+    long failed = failedJourneys.sum();
+    return String.format("arrivals: %d (%.1f/s, target %.1f/s), dropped at --max-in-flight: %d, failed journeys: %d%n",
+            started, started / (elapsed.toNanos() / 1e9), profile.rate(), skipped, failed);
+  }
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyStatsTest {
+
+    private final LatencyStats stats = new LatencyStats();
+
+    /** The columns after the endpoint name: count, req/s, 2xx/3xx, 4xx, 5xx, none, p50, p99, p99.9, max */
+    private static String[] row(String report, String route) {
+        String line = report.lines().filter(l -> l.startsWith(route + " ")).findFirst().orElseThrow();
+        return line.substring(route.length()).trim().split("\\s+");
+    }
+
+    @Test
+    void report_showsCountsRateAndPercentilesPerEndpoint() {
+        for (int i = 1; i <= 1000; i++) {
+            stats.record(Endpoint.LOGIN, i * 1_000_000L, 200);
+        }
+        stats.record(Endpoint.DEPOSIT, 5_000_000L, 422);
+        stats.record(Endpoint.DEPOSIT, 7_000_000L, 503);
+        stats.record(Endpoint.DEPOSIT, 0, LatencyStats.NO_RESPONSE);
+
+        String report = stats.report(Duration.ofSeconds(10));
+
+        String[] login = row(report, Endpoint.LOGIN.route);
+        assertEquals("1000", login[0]);
+        assertEquals("100.0", login[1]);
+        assertEquals(500.0, Double.parseDouble(login[6]), 1.0);
+        assertEquals(990.0, Double.parseDouble(login[7]), 1.0);
+        assertEquals(1000.0, Double.parseDouble(login[9]), 1.0);
+
+        String[] deposit = row(report, Endpoint.DEPOSIT.route);
+        assertArrayEquals(new String[]{"2", "0.2", "0", "1", "1", "1"}, Arrays.copyOf(deposit, 6));
+        assertEquals("1002", row(report, "all")[0]);
+        assertFalse(report.contains(Endpoint.LIST_TRANSACTIONS.route));
+    }
+
+    @Test
+    void reset_discardsEarlierRecordings() {
+        stats.record(Endpoint.LOGIN, 1_000_000L, 200);
+
+        stats.reset();
+        stats.record(Endpoint.LIST_TRANSACTIONS, 1_000_000L, 200);
+
+        String report = stats.report(Duration.ofSeconds(1));
+        assertFalse(report.contains(Endpoint.LOGIN.route));
+        assertTrue(report.contains(Endpoint.LIST_TRANSACTIONS.route));
+    }
+}
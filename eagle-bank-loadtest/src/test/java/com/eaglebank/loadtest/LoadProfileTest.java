@@ -0,0 +1,57 @@
+package com.eaglebank.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadProfileTest {
+
+    @Test
+    void parse_readsOptionsAndLeavesTheRestForTheApplication() {
+        LoadProfile.Parsed parsed = LoadProfile.parse("--rate=250", "--arrivals=uniform", "--warmup=500ms",
+                "--duration=2m", "--customers=10", "--mix=deposit:1,list:3", "--app.wal.durability=async");
+
+        LoadProfile profile = parsed.profile();
+        assertEquals(250, profile.rate());
+        assertFalse(profile.poisson());
+        assertEquals(Duration.ofMillis(500), profile.warmup());
+        assertEquals(Duration.ofMinutes(2), profile.duration());
+        assertEquals(10, profile.customers());
+        assertEquals(1, profile.mix().get(Journey.DEPOSIT));
+        assertEquals(3, profile.mix().get(Journey.LIST));
+        assertEquals(0, profile.mix().get(Journey.SIGNUP));
+        assertArrayEquals(new String[]{"--app.wal.durability=async"}, parsed.applicationArgs());
+    }
+
+    @Test
+    void parse_withNoArguments_usesDefaults() {
+        LoadProfile profile = LoadProfile.parse().profile();
+
+        assertEquals(100, profile.rate());
+        assertTrue(profile.poisson());
+        assertEquals(Duration.ofSeconds(30), profile.duration());
+        assertEquals(35, profile.mix().get(Journey.DEPOSIT));
+    }
+
+    @Test
+    void parse_rejectsBadValues() {
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("--rate=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("--rate=fast"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("--arrivals=bursty"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("--mix=transfer:5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("--mix=deposit:0"));
+    }
+
+    @Test
+    void withDefaults_letsApplicationArgumentsOverrideDefaults() {
+        String[] args = LoadTest.withDefaults(new String[]{"--app.ratelimit.enabled=true"}, Path.of("/tmp/lt"));
+
+        assertTrue(List.of(args).contains("--server.port=0"));
+        assertTrue(List.of(args).contains("--app.ratelimit.enabled=true"));
+        assertFalse(List.of(args).contains("--app.ratelimit.enabled=false"));
+    }
+}